@@ -0,0 +1,52 @@
+-- =====================================================
+-- SCRIPT PARA ADICIONAR CONSTRAINT ÚNICA EM SALE_DETAILS - BUSINESS API
+-- =====================================================
+-- Este script cria a constraint única da chave composta
+-- (sale_code, product_ref_code, item_sequence) usada pela sincronização
+-- de vendas com INSERT ... ON CONFLICT DO NOTHING.
+-- Execute: psql -U glojas_user -d glojas_business -f add-sale-details-unique-constraint.sql
+-- =====================================================
+
+-- Verificar se estamos no banco correto
+SELECT current_database() as database_atual;
+
+-- =====================================================
+-- REMOÇÃO DE DUPLICATAS EXISTENTES
+-- =====================================================
+
+-- Manter apenas o registro mais antigo de cada chave composta
+DELETE FROM sale_details sd
+USING sale_details dup
+WHERE sd.sale_code = dup.sale_code
+  AND sd.product_ref_code = dup.product_ref_code
+  AND sd.item_sequence = dup.item_sequence
+  AND (sd.created_at, sd.id) > (dup.created_at, dup.id);
+
+-- =====================================================
+-- CRIAÇÃO DA CONSTRAINT ÚNICA
+-- =====================================================
+
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM information_schema.table_constraints
+        WHERE table_name = 'sale_details'
+        AND constraint_name = 'uk_sale_details_sale_item'
+    ) THEN
+        ALTER TABLE sale_details
+        ADD CONSTRAINT uk_sale_details_sale_item
+        UNIQUE (sale_code, product_ref_code, item_sequence);
+    END IF;
+END $$;
+
+-- =====================================================
+-- VERIFICAÇÃO
+-- =====================================================
+
+SELECT 'Constraint uk_sale_details_sale_item criada com sucesso!' as status
+WHERE EXISTS (
+    SELECT 1 FROM information_schema.table_constraints
+    WHERE table_name = 'sale_details'
+    AND constraint_name = 'uk_sale_details_sale_item'
+    AND constraint_type = 'UNIQUE'
+);
@@ -0,0 +1,94 @@
+-- =====================================================
+-- SCRIPT PARA CRIAR TABELAS DE BACKFILL DE SINCRONIZAÇÃO - BUSINESS API
+-- =====================================================
+-- Este script cria as tabelas de controle do backfill de vendas diárias.
+-- sync_backfill_jobs guarda cada execução e sync_backfill_chunks guarda o
+-- checkpoint de cada trecho (semana ou mês) do período.
+-- Execute: psql -U glojas_user -d glojas_business -f create-sync-backfill-tables.sql
+-- =====================================================
+
+-- Verificar se estamos no banco correto
+SELECT current_database() as database_atual;
+
+-- =====================================================
+-- CRIAÇÃO DA TABELA SYNC_BACKFILL_JOBS
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS sync_backfill_jobs (
+    -- Identificador único (UUID)
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    
+    -- Período completo do backfill
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    
+    -- Unidade de divisão do período (WEEK ou MONTH)
+    chunk_unit VARCHAR(10) NOT NULL,
+    
+    -- Situação do backfill (PENDING, RUNNING, COMPLETED, FAILED)
+    status VARCHAR(20) NOT NULL,
+    
+    -- Quantidade total de chunks
+    total_chunks INTEGER NOT NULL,
+    
+    -- Início (ou última retomada) e término da execução
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    
+    -- Auditoria
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- =====================================================
+-- CRIAÇÃO DA TABELA SYNC_BACKFILL_CHUNKS
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS sync_backfill_chunks (
+    -- Identificador único (UUID)
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    
+    -- Backfill ao qual o chunk pertence
+    job_id UUID NOT NULL REFERENCES sync_backfill_jobs(id) ON DELETE CASCADE,
+    
+    -- Intervalo do chunk (inclusivo)
+    chunk_start DATE NOT NULL,
+    chunk_end DATE NOT NULL,
+    
+    -- Situação do chunk (PENDING, RUNNING, COMPLETED, FAILED)
+    status VARCHAR(20) NOT NULL,
+    
+    -- Tentativas e resultado da sincronização
+    attempts INTEGER NOT NULL DEFAULT 0,
+    created_count INTEGER NOT NULL DEFAULT 0,
+    updated_count INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    completed_at TIMESTAMP,
+    
+    -- Auditoria
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    -- Um chunk por data de início em cada backfill
+    CONSTRAINT uk_sync_backfill_chunks_job_start UNIQUE (job_id, chunk_start)
+);
+
+-- =====================================================
+-- CRIAÇÃO DE ÍNDICES PARA OTIMIZAÇÃO
+-- =====================================================
+
+-- Índice para retomada de backfills em execução
+CREATE INDEX IF NOT EXISTS idx_sync_backfill_jobs_status 
+ON sync_backfill_jobs(status);
+
+-- Índice para busca de chunks pendentes de um backfill
+CREATE INDEX IF NOT EXISTS idx_sync_backfill_chunks_job_status 
+ON sync_backfill_chunks(job_id, status);
+
+-- =====================================================
+-- VERIFICAÇÃO
+-- =====================================================
+
+SELECT table_name, 'Tabela criada com sucesso!' as status
+FROM information_schema.tables
+WHERE table_name IN ('sync_backfill_jobs', 'sync_backfill_chunks');
@@ -0,0 +1,170 @@
+-- =====================================================
+-- SCRIPT PARA PARTICIONAR A TABELA SALE_DETAILS POR MÊS - BUSINESS API
+-- =====================================================
+-- Este script converte sale_details em uma tabela particionada por faixa
+-- mensal de sale_date (PARTITION BY RANGE). Uma partição por mês, com nome
+-- sale_details_pAAAAMM, é criada do primeiro mês com vendas até 3 meses
+-- à frente; as partições seguintes são criadas pela aplicação
+-- (SaleDetailPartitionScheduler e SaleSyncService).
+--
+-- A chave primária e a constraint única passam a incluir sale_date, exigência
+-- do PostgreSQL para tabelas particionadas.
+--
+-- Índices (replicados em todas as partições):
+--   - BRIN em sale_date (pequeno, adequado a dados inseridos em ordem de data)
+--   - B-tree em (store_code, sale_date)
+--   - B-tree único na chave de deduplicação (sale_code, product_ref_code, item_sequence, sale_date)
+--
+-- Execute com a aplicação parada:
+-- psql -U glojas_user -d glojas_business -f partition-sale-details-table.sql
+-- =====================================================
+
+-- Verificar se estamos no banco correto
+SELECT current_database() as database_atual;
+
+BEGIN;
+
+-- =====================================================
+-- RENOMEAÇÃO DA TABELA ATUAL
+-- =====================================================
+
+ALTER TABLE sale_details RENAME TO sale_details_unpartitioned;
+
+-- Liberar os nomes de índices e constraints para a nova tabela
+ALTER INDEX IF EXISTS sale_details_pkey RENAME TO sale_details_unpartitioned_pkey;
+ALTER INDEX IF EXISTS uk_sale_details_sale_item RENAME TO uk_sale_details_unpartitioned_sale_item;
+DROP INDEX IF EXISTS idx_sale_details_sale_date;
+DROP INDEX IF EXISTS idx_sale_details_sale_code;
+DROP INDEX IF EXISTS idx_sale_details_collaborator_code;
+DROP INDEX IF EXISTS idx_sale_details_store_code;
+DROP INDEX IF EXISTS idx_sale_details_product_ref_code;
+DROP INDEX IF EXISTS idx_sale_details_sale_code_item_sequence;
+DROP INDEX IF EXISTS idx_sale_details_created_at;
+DROP INDEX IF EXISTS idx_sale_details_store_date;
+
+-- =====================================================
+-- CRIAÇÃO DA TABELA PARTICIONADA
+-- =====================================================
+
+CREATE TABLE sale_details (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    sale_date TIMESTAMP NOT NULL,
+    sale_code VARCHAR(10) NOT NULL,
+    item_sequence INTEGER NOT NULL,
+    collaborator_code VARCHAR(6) NOT NULL,
+    store_code VARCHAR(6) NOT NULL,
+    product_ref_code VARCHAR(6) NOT NULL,
+    ncm VARCHAR(8),
+    quantity INTEGER NOT NULL,
+    unit_price NUMERIC(15, 2) NOT NULL,
+    total_price NUMERIC(15, 2) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT sale_details_pkey PRIMARY KEY (id, sale_date),
+    CONSTRAINT uk_sale_details_sale_item UNIQUE (sale_code, product_ref_code, item_sequence, sale_date),
+
+    CONSTRAINT fk_sale_details_collaborator FOREIGN KEY (collaborator_code)
+        REFERENCES collaborators(employee_code) ON DELETE RESTRICT ON UPDATE CASCADE,
+    CONSTRAINT fk_sale_details_store FOREIGN KEY (store_code)
+        REFERENCES stores(code) ON DELETE RESTRICT ON UPDATE CASCADE,
+    CONSTRAINT fk_sale_details_product FOREIGN KEY (product_ref_code)
+        REFERENCES products(product_ref_code) ON DELETE RESTRICT ON UPDATE CASCADE
+) PARTITION BY RANGE (sale_date);
+
+-- =====================================================
+-- CRIAÇÃO DE ÍNDICES
+-- =====================================================
+
+-- BRIN em sale_date: poucas páginas por partição, suficiente para faixas de datas
+CREATE INDEX idx_sale_details_sale_date_brin
+ON sale_details USING BRIN (sale_date) WITH (pages_per_range = 32);
+
+-- Consultas por loja e período
+CREATE INDEX idx_sale_details_store_date
+ON sale_details (store_code, sale_date);
+
+-- Verificação das foreign keys em alterações de produtos e colaboradores
+CREATE INDEX idx_sale_details_product_ref_code
+ON sale_details (product_ref_code);
+
+CREATE INDEX idx_sale_details_collaborator_code
+ON sale_details (collaborator_code);
+
+-- =====================================================
+-- CRIAÇÃO DAS PARTIÇÕES MENSAIS
+-- =====================================================
+
+DO $$
+DECLARE
+    partition_month DATE;
+    last_month DATE := (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(sale_date)), date_trunc('month', CURRENT_DATE))::date
+    INTO partition_month
+    FROM sale_details_unpartitioned;
+
+    WHILE partition_month <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF sale_details FOR VALUES FROM (%L) TO (%L)',
+            'sale_details_p' || to_char(partition_month, 'YYYYMM'),
+            partition_month,
+            (partition_month + INTERVAL '1 month')::date
+        );
+        partition_month := (partition_month + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+-- =====================================================
+-- CÓPIA DOS DADOS
+-- =====================================================
+
+INSERT INTO sale_details (id, sale_date, sale_code, item_sequence, collaborator_code, store_code,
+                          product_ref_code, ncm, quantity, unit_price, total_price, created_at, updated_at)
+SELECT id, sale_date, sale_code, item_sequence, collaborator_code, store_code,
+       product_ref_code, ncm, quantity, unit_price, total_price, created_at, updated_at
+FROM sale_details_unpartitioned;
+
+COMMENT ON TABLE sale_details IS 'Vendas detalhadas recebidas da Legacy API, particionadas por mês de sale_date';
+
+GRANT ALL PRIVILEGES ON TABLE sale_details TO glojas_user;
+
+COMMIT;
+
+ANALYZE sale_details;
+
+-- =====================================================
+-- VERIFICAÇÃO
+-- =====================================================
+
+-- Quantidade de linhas nas duas tabelas (devem ser iguais)
+SELECT
+    (SELECT COUNT(*) FROM sale_details_unpartitioned) AS linhas_originais,
+    (SELECT COUNT(*) FROM sale_details) AS linhas_particionadas;
+
+-- Partições criadas
+SELECT
+    c.relname AS particao,
+    pg_get_expr(c.relpartbound, c.oid) AS faixa
+FROM pg_inherits i
+JOIN pg_class c ON c.oid = i.inhrelid
+WHERE i.inhparent = 'sale_details'::regclass
+ORDER BY c.relname;
+
+-- Poda de partições: o plano deve ler apenas a partição do mês corrente
+EXPLAIN (COSTS OFF)
+SELECT store_code, SUM(total_price)
+FROM sale_details
+WHERE sale_date >= date_trunc('month', CURRENT_DATE)
+  AND sale_date < date_trunc('month', CURRENT_DATE) + INTERVAL '1 month'
+GROUP BY store_code;
+
+-- =====================================================
+-- REMOÇÃO DA TABELA ANTIGA
+-- =====================================================
+-- Após conferir as contagens acima:
+-- DROP TABLE sale_details_unpartitioned;
+
+SELECT '=================================================' as info;
+SELECT 'TABELA SALE_DETAILS PARTICIONADA COM SUCESSO!' as info;
+SELECT '=================================================' as info;
@@ -0,0 +1,65 @@
+package com.sysconard.business.service.exchange;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da extração do número da nova venda e da chave NFE das observações de troca.
+ *
+ * As observações sintéticas seguem os formatos tratados pelo ExchangeObservationProcessor:
+ * devolução com nota fiscal, troca com chave NFE, devolução ignorada e texto livre.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExchangeObservationProcessorBenchmark {
+
+    private static final int OBSERVATIONS = 1000;
+
+    private ExchangeObservationProcessor processor;
+    private List<String> observations;
+
+    @Setup
+    public void setUp() {
+        processor = new ExchangeObservationProcessor();
+        Random random = new Random(42);
+
+        observations = new ArrayList<>(OBSERVATIONS);
+        for (int i = 0; i < OBSERVATIONS; i++) {
+            switch (random.nextInt(4)) {
+                case 0 -> observations.add("DEVOLUCAO NOTA(S) FISCAL(IS): 001/" + (100000 + random.nextInt(900000))
+                        + " [REFERENTE A TROCA: CHAVE: 2325081657188900044059230070151" + (1000000000 + random.nextInt(999999999)) + "]");
+                case 1 -> observations.add("CANCELAMENTO/ESTORNO DEVOLUCAO NOTA(S) FISCAL(IS): 002/" + (100000 + random.nextInt(900000)));
+                case 2 -> observations.add("[REFERENTE A DEVOLUÇÃO: C.O.O: " + random.nextInt(1000) + " ECF: 001]");
+                default -> observations.add("CLIENTE TROCOU O PRODUTO POR TAMANHO DIFERENTE " + i);
+            }
+        }
+    }
+
+    @Benchmark
+    public void processObservation(Blackhole blackhole) {
+        for (String observation : observations) {
+            blackhole.consume(processor.processObservation(observation));
+        }
+    }
+}
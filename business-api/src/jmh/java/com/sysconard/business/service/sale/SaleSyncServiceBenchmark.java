@@ -0,0 +1,82 @@
+package com.sysconard.business.service.sale;
+
+import com.sysconard.business.dto.sale.SaleItemLegacyDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da remoção de duplicatas por chave composta (saleCode|productRefCode|itemSequence)
+ * executada pelo SaleSyncService antes de inserir cada janela de vendas.
+ *
+ * Entrada sintética no tamanho de produção: 500 mil itens de venda, com cerca de 2%
+ * de itens repetidos (reenvio da Legacy API).
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaleSyncServiceBenchmark {
+
+    @Param("500000")
+    public int items;
+
+    private SaleSyncService saleSyncService;
+    private List<SaleItemLegacyDTO> saleItems;
+
+    @Setup
+    public void setUp() {
+        saleSyncService = new SaleSyncService(null, null, null, null, null, null, null);
+        Random random = new Random(42);
+        OffsetDateTime saleDate = OffsetDateTime.of(2025, 6, 1, 10, 0, 0, 0, ZoneOffset.ofHours(-3));
+
+        saleItems = new ArrayList<>(items);
+        int sale = 0;
+        while (saleItems.size() < items) {
+            sale++;
+            int itemsInSale = 1 + random.nextInt(5);
+            for (int sequence = 1; sequence <= itemsInSale && saleItems.size() < items; sequence++) {
+                SaleItemLegacyDTO item = SaleItemLegacyDTO.builder()
+                        .saleDate(saleDate)
+                        .saleCode(String.format("%010d", sale))
+                        .itemSequence(sequence)
+                        .productRefCode(String.format("%08d", random.nextInt(30000)))
+                        .storeCode(String.format("%06d", 1 + random.nextInt(50)))
+                        .quantity(1 + random.nextInt(4))
+                        .unitPrice(BigDecimal.valueOf(random.nextInt(100000), 2))
+                        .build();
+                saleItems.add(item);
+                if (random.nextInt(50) == 0 && saleItems.size() < items) {
+                    saleItems.add(item);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, SaleItemLegacyDTO> deduplicateSaleItems() {
+        return saleSyncService.deduplicateSaleItems(saleItems);
+    }
+}
@@ -0,0 +1,139 @@
+package com.sysconard.business.service.sell;
+
+import com.sysconard.business.dto.sell.StoreReportByDayResponse;
+import com.sysconard.business.dto.sell.StoreReportRequest;
+import com.sysconard.business.dto.sell.StoreReportResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da montagem dos relatórios de vendas por loja no SellService:
+ * conversão da resposta da Legacy API (Map, com conversão para BigDecimal) na grade
+ * loja × dia, preenchimento das combinações ausentes dos dados locais e combinação
+ * passado + hoje.
+ *
+ * Entrada sintética no tamanho de produção: 50 lojas × 365 dias, com cerca de
+ * 10% das combinações sem venda.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SellServiceBenchmark {
+
+    @Param("50")
+    public int stores;
+
+    @Param("365")
+    public int days;
+
+    private SellService sellService;
+    private StoreReportRequest request;
+    private List<Map<String, Object>> legacyItems;
+    private List<StoreReportByDayResponse> legacyResponse;
+    private List<StoreReportResponse> pastData;
+    private List<StoreReportResponse> todayData;
+
+    @Setup
+    public void setUp() {
+        sellService = new SellService(null, null, null);
+        Random random = new Random(42);
+
+        LocalDate endDate = LocalDate.of(2025, 12, 31);
+        LocalDate startDate = endDate.minusDays(days - 1L);
+        List<String> storeCodes = new ArrayList<>(stores);
+        legacyItems = new ArrayList<>(stores * days);
+        legacyResponse = new ArrayList<>(stores * days);
+        pastData = new ArrayList<>(stores);
+        todayData = new ArrayList<>(stores);
+
+        for (int store = 1; store <= stores; store++) {
+            String storeCode = String.format("%06d", store);
+            String storeName = "LOJA " + store;
+            storeCodes.add(storeCode);
+
+            for (int day = 0; day < days; day++) {
+                if (random.nextInt(10) == 0) {
+                    continue;
+                }
+                LocalDate date = startDate.plusDays(day);
+                // Valores como o Jackson desserializa números JSON em Map: Double
+                Map<String, Object> item = new HashMap<>();
+                item.put("storeName", storeName);
+                item.put("storeCode", storeCode);
+                item.put("reportDate", date.toString());
+                item.put("danfe", random.nextInt(800000) / 100.0);
+                item.put("pdv", random.nextInt(2000000) / 100.0);
+                item.put("troca3", random.nextInt(50000) / 100.0);
+                legacyItems.add(item);
+                legacyResponse.add(StoreReportByDayResponse.builder()
+                        .storeName(storeName)
+                        .storeCode(storeCode)
+                        .reportDate(date)
+                        .danfe(BigDecimal.valueOf((Double) item.get("danfe")))
+                        .pdv(BigDecimal.valueOf((Double) item.get("pdv")))
+                        .troca(BigDecimal.valueOf((Double) item.get("troca3")))
+                        .build());
+            }
+
+            pastData.add(storeReport(storeName, storeCode, random));
+            if (store % 5 != 0) {
+                todayData.add(storeReport(storeName, storeCode, random));
+            }
+        }
+
+        request = StoreReportRequest.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .storeCodes(storeCodes)
+                .build();
+    }
+
+    @Benchmark
+    public List<StoreReportByDayResponse> toCompleteStoreReportByDay() {
+        return sellService.toCompleteStoreReportByDay(legacyItems, request);
+    }
+
+    @Benchmark
+    public List<StoreReportByDayResponse> ensureAllStoresAndDatesPresent() {
+        return sellService.ensureAllStoresAndDatesPresent(legacyResponse, request);
+    }
+
+    @Benchmark
+    public List<StoreReportResponse> combineStoreReports() {
+        return sellService.combineStoreReports(pastData, todayData, request.storeCodes());
+    }
+
+    private static StoreReportResponse storeReport(String storeName, String storeCode, Random random) {
+        return StoreReportResponse.builder()
+                .storeName(storeName)
+                .storeCode(storeCode)
+                .danfe(BigDecimal.valueOf(random.nextInt(80000000), 2))
+                .pdv(BigDecimal.valueOf(random.nextInt(200000000), 2))
+                .troca(BigDecimal.valueOf(random.nextInt(5000000), 2))
+                .build();
+    }
+}
@@ -3,32 +3,43 @@ package com.sysconard.business.client;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import com.sysconard.business.dto.config.LegacyApiResponseDTO;
 import com.sysconard.business.dto.operation.OperationKindDto;
 import com.sysconard.business.dto.store.StoreResponseDto;
 import com.sysconard.business.dto.StockPageResponseDTO;
 import com.sysconard.business.dto.StockItemResponseDTO;
+import com.sysconard.business.dto.StockMatrixRowLegacyDTO;
 import com.sysconard.business.dto.PurchaseAnalysisPageResponseDTO;
 import com.sysconard.business.dto.CriticalStockPageResponseDTO;
 import com.sysconard.business.dto.jobposition.JobPositionLegacyDTO;
 import com.sysconard.business.dto.collaborator.CollaboratorLegacyDTO;
 import com.sysconard.business.dto.sale.SaleItemLegacyDTO;
 import com.sysconard.business.dto.exchange.ExchangeLegacyDTO;
+import com.sysconard.business.enums.LegacyEndpointFamily;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Cliente para comunicação com a Legacy API
  * Encapsula todas as chamadas para o serviço legacy
  * 
+ * As chamadas passam pelas políticas de resiliência da família do endpoint
+ * (LegacyApiResilience); consultas de leitura devolvem o último resultado
+ * conhecido enquanto o circuit breaker estiver aberto.
+ * 
  * @author Business API
  * @version 1.0
  */
@@ -37,12 +48,15 @@ import java.util.Map;
 public class LegacyApiClient {
     
     private final WebClient legacyApiWebClient;
+    private final LegacyApiResilience legacyApiResilience;
     
     @Value("${legacy-api.timeout:30}")
     private Integer timeoutSeconds;
     
-    public LegacyApiClient(@Qualifier("legacyApiWebClient") WebClient legacyApiWebClient) {
+    public LegacyApiClient(@Qualifier("legacyApiWebClient") WebClient legacyApiWebClient,
+                           LegacyApiResilience legacyApiResilience) {
         this.legacyApiWebClient = legacyApiWebClient;
+        this.legacyApiResilience = legacyApiResilience;
     }
     
     /**
@@ -62,45 +76,11 @@ public class LegacyApiClient {
     public LegacyApiResponseDTO getRegisteredProducts(
             String secao, String grupo, String marca, String descricao,
             Integer page, Integer size, String sortBy, String sortDir) {
-        
-        log.info("Buscando produtos registrados na Legacy API - página: {}, tamanho: {}", page, size);
+        Mono<LegacyApiResponseDTO> request = fetchRegisteredProducts(secao, grupo, marca, descricao, page, size, sortBy, sortDir);
         
         try {
-            return legacyApiWebClient
-                    .get()
-                    .uri(uriBuilder -> {
-                        var builder = uriBuilder.path("/products/registered");
-                        
-                        // Adicionar parâmetros obrigatórios
-                        builder.queryParam("page", page != null ? page : 0);
-                        builder.queryParam("size", size != null ? size : 20);
-                        builder.queryParam("sortBy", sortBy != null ? sortBy : "codigo");
-                        builder.queryParam("sortDir", sortDir != null ? sortDir : "asc");
-                        
-                        // Adicionar filtros opcionais
-                        if (secao != null && !secao.trim().isEmpty()) {
-                            builder.queryParam("secao", secao);
-                        }
-                        if (grupo != null && !grupo.trim().isEmpty()) {
-                            builder.queryParam("grupo", grupo);
-                        }
-                        if (marca != null && !marca.trim().isEmpty()) {
-                            builder.queryParam("marca", marca);
-                        }
-                        if (descricao != null && !descricao.trim().isEmpty()) {
-                            builder.queryParam("descricao", descricao);
-                        }
-                        
-                        return builder.build();
-                    })
-                    .retrieve()
-                    .bodyToMono(LegacyApiResponseDTO.class)
-                    .timeout(Duration.ofSeconds(timeoutSeconds))
-                    .doOnSuccess(response -> log.info("Sucesso ao buscar produtos. Total encontrado: {}", 
-                            response != null ? response.getTotalElements() : "N/A"))
-                    .doOnError(error -> log.error("Erro ao buscar produtos na Legacy API", error))
-                    .block();
-                    
+            return request.block();
+            
         } catch (WebClientResponseException e) {
             log.error("Erro HTTP ao chamar Legacy API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new RuntimeException("Erro ao buscar produtos na Legacy API: " + e.getMessage(), e);
@@ -110,6 +90,82 @@ public class LegacyApiClient {
         }
     }
     
+    /**
+     * Versão não bloqueante de {@link #getRegisteredProducts}.
+     * 
+     * @param secao Filtro por seção (opcional)
+     * @param grupo Filtro por grupo (opcional)
+     * @param marca Filtro por marca (opcional)
+     * @param descricao Filtro por descrição (opcional)
+     * @param page Número da página (0-based)
+     * @param size Tamanho da página
+     * @param sortBy Campo para ordenação
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @return Mono com resposta da Legacy API
+     */
+    public Mono<LegacyApiResponseDTO> fetchRegisteredProducts(
+            String secao, String grupo, String marca, String descricao,
+            Integer page, Integer size, String sortBy, String sortDir) {
+        
+        log.info("Buscando produtos registrados na Legacy API - página: {}, tamanho: {}", page, size);
+        
+        Mono<LegacyApiResponseDTO> call = legacyApiWebClient
+                .get()
+                .uri(uriBuilder -> {
+                    var builder = uriBuilder.path("/products/registered");
+                    
+                    // Adicionar parâmetros obrigatórios
+                    builder.queryParam("page", page != null ? page : 0);
+                    builder.queryParam("size", size != null ? size : 20);
+                    builder.queryParam("sortBy", sortBy != null ? sortBy : "codigo");
+                    builder.queryParam("sortDir", sortDir != null ? sortDir : "asc");
+                    
+                    // Adicionar filtros opcionais
+                    if (secao != null && !secao.trim().isEmpty()) {
+                        builder.queryParam("secao", secao);
+                    }
+                    if (grupo != null && !grupo.trim().isEmpty()) {
+                        builder.queryParam("grupo", grupo);
+                    }
+                    if (marca != null && !marca.trim().isEmpty()) {
+                        builder.queryParam("marca", marca);
+                    }
+                    if (descricao != null && !descricao.trim().isEmpty()) {
+                        builder.queryParam("descricao", descricao);
+                    }
+                    
+                    return builder.build();
+                })
+                .retrieve()
+                .bodyToMono(LegacyApiResponseDTO.class)
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .doOnSuccess(response -> log.info("Sucesso ao buscar produtos. Total encontrado: {}", 
+                        response != null ? response.getTotalElements() : "N/A"))
+                .doOnError(error -> log.error("Erro ao buscar produtos na Legacy API", error));
+        
+        return legacyApiResilience.decorateWithFallback(LegacyEndpointFamily.CATALOG,
+                LegacyApiResilience.cacheKey("/products/registered", secao, grupo, marca, descricao, page, size, sortBy, sortDir), call);
+    }
+    
+    /**
+     * Adaptador de {@link #fetchRegisteredProducts} para CompletableFuture.
+     * 
+     * @param secao Filtro por seção (opcional)
+     * @param grupo Filtro por grupo (opcional)
+     * @param marca Filtro por marca (opcional)
+     * @param descricao Filtro por descrição (opcional)
+     * @param page Número da página (0-based)
+     * @param size Tamanho da página
+     * @param sortBy Campo para ordenação
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @return Future com resposta da Legacy API
+     */
+    public CompletableFuture<LegacyApiResponseDTO> getRegisteredProductsAsync(
+            String secao, String grupo, String marca, String descricao,
+            Integer page, Integer size, String sortBy, String sortDir) {
+        return fetchRegisteredProducts(secao, grupo, marca, descricao, page, size, sortBy, sortDir).toFuture();
+    }
+    
     /**
      * Busca tipos de operação na Legacy API
      * 
@@ -117,21 +173,11 @@ public class LegacyApiClient {
      * @throws RuntimeException Se houver erro na comunicação
      */
     public List<OperationKindDto> getOperationKinds() {
-        log.info("Buscando tipos de operação na Legacy API");
+        Mono<List<OperationKindDto>> request = fetchOperationKinds();
         
         try {
-            return legacyApiWebClient
-                    .get()
-                    .uri("/operations")
-                    .retrieve()
-                    .bodyToFlux(OperationKindDto.class)
-                    .collectList()
-                    .timeout(Duration.ofSeconds(timeoutSeconds))
-                    .doOnSuccess(response -> log.info("Sucesso ao buscar tipos de operação. Total encontrado: {}", 
-                            response != null ? response.size() : "N/A"))
-                    .doOnError(error -> log.error("Erro ao buscar tipos de operação na Legacy API", error))
-                    .block();
-                    
+            return request.block();
+            
         } catch (WebClientResponseException e) {
             log.error("Erro HTTP ao chamar Legacy API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new RuntimeException("Erro ao buscar tipos de operação na Legacy API: " + e.getMessage(), e);
@@ -141,6 +187,38 @@ public class LegacyApiClient {
         }
     }
     
+    /**
+     * Versão não bloqueante de {@link #getOperationKinds}.
+     * 
+     * @return Mono com lista de tipos de operação
+     */
+    public Mono<List<OperationKindDto>> fetchOperationKinds() {
+        log.info("Buscando tipos de operação na Legacy API");
+        
+        Mono<List<OperationKindDto>> call = legacyApiWebClient
+                .get()
+                .uri("/operations")
+                .retrieve()
+                .bodyToFlux(OperationKindDto.class)
+                .collectList()
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .doOnSuccess(response -> log.info("Sucesso ao buscar tipos de operação. Total encontrado: {}", 
+                        response != null ? response.size() : "N/A"))
+                .doOnError(error -> log.error("Erro ao buscar tipos de operação na Legacy API", error));
+        
+        return legacyApiResilience.decorateWithFallback(LegacyEndpointFamily.CATALOG,
+                LegacyApiResilience.cacheKey("/operations"), call);
+    }
+    
+    /**
+     * Adaptador de {@link #fetchOperationKinds} para CompletableFuture.
+     * 
+     * @return Future com lista de tipos de operação
+     */
+    public CompletableFuture<List<OperationKindDto>> getOperationKindsAsync() {
+        return fetchOperationKinds().toFuture();
+    }
+    
     /**
      * Busca lojas na Legacy API
      * 
@@ -148,22 +226,11 @@ public class LegacyApiClient {
      * @throws RuntimeException Se houver erro na comunicação
      */
     public List<StoreResponseDto> getStores() {
-        log.info("Buscando lojas na Legacy API");
+        Mono<List<StoreResponseDto>> request = fetchStores();
         
         try {
-            return legacyApiWebClient
-                    .get()
-                    .uri("/stores")
-                    .retrieve()
-                    .bodyToFlux(StoreResponseDto.class)
-                    .collectList()
-                    .timeout(Duration.ofSeconds(60)) // Aumentado para 60 segundos
-                    .doOnSuccess(response -> log.info("Sucesso ao buscar lojas. Total encontrado: {}", 
-                            response != null ? response.size() : "N/A"))
-                    .doOnError(error -> log.error("Erro ao buscar lojas na Legacy API", error))
-                    .onErrorReturn(List.of()) // Fallback para lista vazia em caso de erro
-                    .block();
-                    
+            return request.block();
+            
         } catch (WebClientResponseException e) {
             log.error("Erro HTTP ao chamar Legacy API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new RuntimeException("Erro ao buscar lojas na Legacy API: " + e.getMessage(), e);
@@ -173,6 +240,39 @@ public class LegacyApiClient {
         }
     }
     
+    /**
+     * Versão não bloqueante de {@link #getStores}.
+     * 
+     * @return Mono com lista de lojas com id, name e city
+     */
+    public Mono<List<StoreResponseDto>> fetchStores() {
+        log.info("Buscando lojas na Legacy API");
+        
+        Mono<List<StoreResponseDto>> call = legacyApiWebClient
+                .get()
+                .uri("/stores")
+                .retrieve()
+                .bodyToFlux(StoreResponseDto.class)
+                .collectList()
+                .timeout(Duration.ofSeconds(60)) // Aumentado para 60 segundos
+                .doOnSuccess(response -> log.info("Sucesso ao buscar lojas. Total encontrado: {}", 
+                        response != null ? response.size() : "N/A"))
+                .doOnError(error -> log.error("Erro ao buscar lojas na Legacy API", error));
+        
+        return legacyApiResilience.decorateWithFallback(LegacyEndpointFamily.CATALOG,
+                LegacyApiResilience.cacheKey("/stores"), call)
+                .onErrorReturn(List.of()); // Fallback para lista vazia em caso de erro
+    }
+    
+    /**
+     * Adaptador de {@link #fetchStores} para CompletableFuture.
+     * 
+     * @return Future com lista de lojas com id, name e city
+     */
+    public CompletableFuture<List<StoreResponseDto>> getStoresAsync() {
+        return fetchStores().toFuture();
+    }
+    
     /**
      * Busca cargos (job positions) na Legacy API
      * 
@@ -180,22 +280,11 @@ public class LegacyApiClient {
      * @throws RuntimeException Se houver erro na comunicação
      */
     public List<JobPositionLegacyDTO> getJobPositions() {
-        log.info("Buscando cargos na Legacy API");
+        Mono<List<JobPositionLegacyDTO>> request = fetchJobPositions();
         
         try {
-            return legacyApiWebClient
-                    .get()
-                    .uri("/job-positions")
-                    .retrieve()
-                    .bodyToFlux(JobPositionLegacyDTO.class)
-                    .collectList()
-                    .timeout(Duration.ofSeconds(60))
-                    .doOnSuccess(response -> log.info("Sucesso ao buscar cargos. Total encontrado: {}", 
-                            response != null ? response.size() : "N/A"))
-                    .doOnError(error -> log.error("Erro ao buscar cargos na Legacy API", error))
-                    .onErrorReturn(List.of()) // Fallback para lista vazia em caso de erro
-                    .block();
-                    
+            return request.block();
+            
         } catch (WebClientResponseException e) {
             log.error("Erro HTTP ao chamar Legacy API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new RuntimeException("Erro ao buscar cargos na Legacy API: " + e.getMessage(), e);
@@ -205,6 +294,39 @@ public class LegacyApiClient {
         }
     }
     
+    /**
+     * Versão não bloqueante de {@link #getJobPositions}.
+     * 
+     * @return Mono com lista de cargos com id e description
+     */
+    public Mono<List<JobPositionLegacyDTO>> fetchJobPositions() {
+        log.info("Buscando cargos na Legacy API");
+        
+        Mono<List<JobPositionLegacyDTO>> call = legacyApiWebClient
+                .get()
+                .uri("/job-positions")
+                .retrieve()
+                .bodyToFlux(JobPositionLegacyDTO.class)
+                .collectList()
+                .timeout(Duration.ofSeconds(60))
+                .doOnSuccess(response -> log.info("Sucesso ao buscar cargos. Total encontrado: {}", 
+                        response != null ? response.size() : "N/A"))
+                .doOnError(error -> log.error("Erro ao buscar cargos na Legacy API", error));
+        
+        return legacyApiResilience.decorateWithFallback(LegacyEndpointFamily.CATALOG,
+                LegacyApiResilience.cacheKey("/job-positions"), call)
+                .onErrorReturn(List.of()); // Fallback para lista vazia em caso de erro
+    }
+    
+    /**
+     * Adaptador de {@link #fetchJobPositions} para CompletableFuture.
+     * 
+     * @return Future com lista de cargos com id e description
+     */
+    public CompletableFuture<List<JobPositionLegacyDTO>> getJobPositionsAsync() {
+        return fetchJobPositions().toFuture();
+    }
+    
     /**
      * Busca colaboradores ativos na Legacy API
      * 
@@ -212,22 +334,11 @@ public class LegacyApiClient {
      * @throws RuntimeException Se houver erro na comunicação
      */
     public List<CollaboratorLegacyDTO> getActiveEmployees() {
-        log.info("Buscando colaboradores ativos na Legacy API");
+        Mono<List<CollaboratorLegacyDTO>> request = fetchActiveEmployees();
         
         try {
-            return legacyApiWebClient
-                    .get()
-                    .uri("/employees/active")
-                    .retrieve()
-                    .bodyToFlux(CollaboratorLegacyDTO.class)
-                    .collectList()
-                    .timeout(Duration.ofSeconds(60))
-                    .doOnSuccess(response -> log.info("Sucesso ao buscar colaboradores ativos. Total encontrado: {}", 
-                            response != null ? response.size() : "N/A"))
-                    .doOnError(error -> log.error("Erro ao buscar colaboradores ativos na Legacy API", error))
-                    .onErrorReturn(List.of()) // Fallback para lista vazia em caso de erro
-                    .block();
-                    
+            return request.block();
+            
         } catch (WebClientResponseException e) {
             log.error("Erro HTTP ao chamar Legacy API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new RuntimeException("Erro ao buscar colaboradores ativos na Legacy API: " + e.getMessage(), e);
@@ -237,6 +348,39 @@ public class LegacyApiClient {
         }
     }
     
+    /**
+     * Versão não bloqueante de {@link #getActiveEmployees}.
+     * 
+     * @return Mono com lista de colaboradores ativos com id, jobPositionCode, storeCode, name, etc.
+     */
+    public Mono<List<CollaboratorLegacyDTO>> fetchActiveEmployees() {
+        log.info("Buscando colaboradores ativos na Legacy API");
+        
+        Mono<List<CollaboratorLegacyDTO>> call = legacyApiWebClient
+                .get()
+                .uri("/employees/active")
+                .retrieve()
+                .bodyToFlux(CollaboratorLegacyDTO.class)
+                .collectList()
+                .timeout(Duration.ofSeconds(60))
+                .doOnSuccess(response -> log.info("Sucesso ao buscar colaboradores ativos. Total encontrado: {}", 
+                        response != null ? response.size() : "N/A"))
+                .doOnError(error -> log.error("Erro ao buscar colaboradores ativos na Legacy API", error));
+        
+        return legacyApiResilience.decorateWithFallback(LegacyEndpointFamily.CATALOG,
+                LegacyApiResilience.cacheKey("/employees/active"), call)
+                .onErrorReturn(List.of()); // Fallback para lista vazia em caso de erro
+    }
+    
+    /**
+     * Adaptador de {@link #fetchActiveEmployees} para CompletableFuture.
+     * 
+     * @return Future com lista de colaboradores ativos com id, jobPositionCode, storeCode, name, etc.
+     */
+    public CompletableFuture<List<CollaboratorLegacyDTO>> getActiveEmployeesAsync() {
+        return fetchActiveEmployees().toFuture();
+    }
+    
     /**
      * Busca estoque na Legacy API com filtros e paginação
      * 
@@ -247,50 +391,20 @@ public class LegacyApiClient {
      * @param size Tamanho da página
      * @param sortBy Campo para ordenação
      * @param sortDir Direção da ordenação (asc/desc)
+     * @param after Cursor da página anterior (nextCursor); quando informado, page é ignorado
+     * @param includeCount Se a Legacy API deve calcular o total de registros
      * @return Resposta da Legacy API com dados de estoque
      * @throws RuntimeException Se houver erro na comunicação
      */
     public StockPageResponseDTO getStocks(
             String refplu, String marca, String descricao, Boolean hasStock,
-            Integer page, Integer size, String sortBy, String sortDir) {
-        
-        log.info("Buscando estoque na Legacy API - página: {}, tamanho: {}, hasStock: {}", page, size, hasStock);
+            Integer page, Integer size, String sortBy, String sortDir,
+            String after, Boolean includeCount) {
+        Mono<StockPageResponseDTO> request = fetchStocks(refplu, marca, descricao, hasStock, page, size, sortBy, sortDir, after, includeCount);
         
         try {
-            return legacyApiWebClient
-                    .get()
-                    .uri(uriBuilder -> {
-                        var builder = uriBuilder.path("/stocks");
-                        
-                        // Adicionar parâmetros obrigatórios
-                        builder.queryParam("page", page != null ? page : 0);
-                        builder.queryParam("size", size != null ? size : 15);
-                        builder.queryParam("sortBy", sortBy != null ? sortBy : "refplu");
-                        builder.queryParam("sortDir", sortDir != null ? sortDir : "asc");
-                        builder.queryParam("hasStock", hasStock != null ? hasStock : true);
-                        
-                        // Adicionar filtros opcionais
-                        if (refplu != null && !refplu.trim().isEmpty()) {
-                            builder.queryParam("refplu", refplu);
-                        }
-                        if (marca != null && !marca.trim().isEmpty()) {
-                            builder.queryParam("marca", marca);
-                        }
-                        if (descricao != null && !descricao.trim().isEmpty()) {
-                            builder.queryParam("descricao", descricao);
-                        }
-                        
-                        return builder.build();
-                    })
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .timeout(Duration.ofSeconds(timeoutSeconds))
-                    .doOnSuccess(response -> log.info("Sucesso ao buscar estoque. Total encontrado: {}", 
-                            response != null ? response.get("totalElements") : "N/A"))
-                    .doOnError(error -> log.error("Erro ao buscar estoque na Legacy API", error))
-                    .map(this::convertMapToBusinessDTO)
-                    .block();
-                    
+            return request.block();
+            
         } catch (WebClientResponseException e) {
             log.error("Erro HTTP ao chamar Legacy API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new RuntimeException("Erro ao buscar estoque na Legacy API: " + e.getMessage(), e);
@@ -300,6 +414,90 @@ public class LegacyApiClient {
         }
     }
     
+    /**
+     * Versão não bloqueante de {@link #getStocks}.
+     * 
+     * @param refplu Filtro por refplu (opcional)
+     * @param marca Filtro por marca (opcional)
+     * @param descricao Filtro por descrição (opcional)
+     * @param page Número da página (0-based)
+     * @param size Tamanho da página
+     * @param sortBy Campo para ordenação
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @param after Cursor da página anterior (nextCursor); quando informado, page é ignorado
+     * @param includeCount Se a Legacy API deve calcular o total de registros
+     * @return Mono com resposta da Legacy API com dados de estoque
+     */
+    public Mono<StockPageResponseDTO> fetchStocks(
+            String refplu, String marca, String descricao, Boolean hasStock,
+            Integer page, Integer size, String sortBy, String sortDir,
+            String after, Boolean includeCount) {
+        
+        log.info("Buscando estoque na Legacy API - página: {}, tamanho: {}, hasStock: {}", page, size, hasStock);
+        
+        Mono<StockPageResponseDTO> call = legacyApiWebClient
+                .get()
+                .uri(uriBuilder -> {
+                    var builder = uriBuilder.path("/stocks");
+                    
+                    // Adicionar parâmetros obrigatórios
+                    builder.queryParam("page", page != null ? page : 0);
+                    builder.queryParam("size", size != null ? size : 15);
+                    builder.queryParam("sortBy", sortBy != null ? sortBy : "refplu");
+                    builder.queryParam("sortDir", sortDir != null ? sortDir : "asc");
+                    builder.queryParam("hasStock", hasStock != null ? hasStock : true);
+                    builder.queryParam("includeCount", includeCount != null ? includeCount : true);
+                    
+                    // Adicionar filtros opcionais
+                    if (refplu != null && !refplu.trim().isEmpty()) {
+                        builder.queryParam("refplu", refplu);
+                    }
+                    if (marca != null && !marca.trim().isEmpty()) {
+                        builder.queryParam("marca", marca);
+                    }
+                    if (descricao != null && !descricao.trim().isEmpty()) {
+                        builder.queryParam("descricao", descricao);
+                    }
+                    if (after != null && !after.trim().isEmpty()) {
+                        builder.queryParam("after", after);
+                    }
+                    
+                    return builder.build();
+                })
+                .retrieve()
+                .bodyToMono(Map.class)
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .doOnSuccess(response -> log.info("Sucesso ao buscar estoque. Total encontrado: {}", 
+                        response != null ? response.get("totalElements") : "N/A"))
+                .doOnError(error -> log.error("Erro ao buscar estoque na Legacy API", error))
+                .map(this::convertMapToBusinessDTO);
+        
+        return legacyApiResilience.decorateWithFallback(LegacyEndpointFamily.STOCK,
+                LegacyApiResilience.cacheKey("/stocks", refplu, marca, descricao, hasStock, page, size, sortBy, sortDir,
+                        after, includeCount), call);
+    }
+    
+    /**
+     * Adaptador de {@link #fetchStocks} para CompletableFuture.
+     * 
+     * @param refplu Filtro por refplu (opcional)
+     * @param marca Filtro por marca (opcional)
+     * @param descricao Filtro por descrição (opcional)
+     * @param page Número da página (0-based)
+     * @param size Tamanho da página
+     * @param sortBy Campo para ordenação
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @param after Cursor da página anterior (nextCursor); quando informado, page é ignorado
+     * @param includeCount Se a Legacy API deve calcular o total de registros
+     * @return Future com resposta da Legacy API com dados de estoque
+     */
+    public CompletableFuture<StockPageResponseDTO> getStocksAsync(
+            String refplu, String marca, String descricao, Boolean hasStock,
+            Integer page, Integer size, String sortBy, String sortDir,
+            String after, Boolean includeCount) {
+        return fetchStocks(refplu, marca, descricao, hasStock, page, size, sortBy, sortDir, after, includeCount).toFuture();
+    }
+    
     /**
      * Busca análise de compras na Legacy API com filtros e paginação
      * 
@@ -317,47 +515,11 @@ public class LegacyApiClient {
      */
     public PurchaseAnalysisPageResponseDTO getPurchaseAnalysis(
             String refplu, String descricao, String grupo, String marca, Boolean hideNoSales, Integer page, Integer size, String sortBy, String sortDir) {
-        
-        log.info("Buscando análise de compras na Legacy API - refplu: {}, descricao: {}, grupo: {}, marca: {}, hideNoSales: {}, página: {}, tamanho: {}", 
-                refplu, descricao, grupo, marca, hideNoSales, page, size);
+        Mono<PurchaseAnalysisPageResponseDTO> request = fetchPurchaseAnalysis(refplu, descricao, grupo, marca, hideNoSales, page, size, sortBy, sortDir);
         
         try {
-            return legacyApiWebClient
-                    .get()
-                    .uri(uriBuilder -> {
-                        var builder = uriBuilder.path("/purchase-analysis");
-                        
-                        // Adicionar parâmetros obrigatórios
-                        builder.queryParam("page", page != null ? page : 0);
-                        builder.queryParam("size", size != null ? size : 20);
-                        builder.queryParam("sortBy", sortBy != null ? sortBy : "refplu");
-                        builder.queryParam("sortDir", sortDir != null ? sortDir : "asc");
-                        builder.queryParam("hideNoSales", hideNoSales != null ? hideNoSales : true);
-                        
-                        // Adicionar filtros opcionais
-                        if (refplu != null && !refplu.trim().isEmpty()) {
-                            builder.queryParam("refplu", refplu);
-                        }
-                        if (descricao != null && !descricao.trim().isEmpty()) {
-                            builder.queryParam("descricao", descricao);
-                        }
-                        if (grupo != null && !grupo.trim().isEmpty()) {
-                            builder.queryParam("grupo", grupo);
-                        }
-                        if (marca != null && !marca.trim().isEmpty()) {
-                            builder.queryParam("marca", marca);
-                        }
-                        
-                        return builder.build();
-                    })
-                    .retrieve()
-                    .bodyToMono(PurchaseAnalysisPageResponseDTO.class)
-                    .timeout(Duration.ofSeconds(timeoutSeconds))
-                    .doOnSuccess(response -> log.info("Sucesso ao buscar análise de compras. Total encontrado: {}", 
-                            response != null && response.getPagination() != null ? response.getPagination().getTotalElements() : "N/A"))
-                    .doOnError(error -> log.error("Erro ao buscar análise de compras na Legacy API", error))
-                    .block();
-                    
+            return request.block();
+            
         } catch (WebClientResponseException e) {
             log.error("Erro HTTP ao chamar Legacy API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new RuntimeException("Erro ao buscar análise de compras na Legacy API: " + e.getMessage(), e);
@@ -367,27 +529,94 @@ public class LegacyApiClient {
         }
     }
     
+    /**
+     * Versão não bloqueante de {@link #getPurchaseAnalysis}.
+     * 
+     * @param refplu Filtro por refplu (opcional)
+     * @param descricao Filtro por descrição (opcional)
+     * @param grupo Filtro por grupo (opcional)
+     * @param marca Filtro por marca (opcional)
+     * @param hideNoSales Ocultar produtos sem vendas nos últimos 90 dias
+     * @param page Número da página (0-based)
+     * @param size Tamanho da página
+     * @param sortBy Campo para ordenação
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @return Mono com resposta da Legacy API com dados de análise de compras
+     */
+    public Mono<PurchaseAnalysisPageResponseDTO> fetchPurchaseAnalysis(
+            String refplu, String descricao, String grupo, String marca, Boolean hideNoSales, Integer page, Integer size, String sortBy, String sortDir) {
+        
+        log.info("Buscando análise de compras na Legacy API - refplu: {}, descricao: {}, grupo: {}, marca: {}, hideNoSales: {}, página: {}, tamanho: {}", 
+                refplu, descricao, grupo, marca, hideNoSales, page, size);
+        
+        Mono<PurchaseAnalysisPageResponseDTO> call = legacyApiWebClient
+                .get()
+                .uri(uriBuilder -> {
+                    var builder = uriBuilder.path("/purchase-analysis");
+                    
+                    // Adicionar parâmetros obrigatórios
+                    builder.queryParam("page", page != null ? page : 0);
+                    builder.queryParam("size", size != null ? size : 20);
+                    builder.queryParam("sortBy", sortBy != null ? sortBy : "refplu");
+                    builder.queryParam("sortDir", sortDir != null ? sortDir : "asc");
+                    builder.queryParam("hideNoSales", hideNoSales != null ? hideNoSales : true);
+                    
+                    // Adicionar filtros opcionais
+                    if (refplu != null && !refplu.trim().isEmpty()) {
+                        builder.queryParam("refplu", refplu);
+                    }
+                    if (descricao != null && !descricao.trim().isEmpty()) {
+                        builder.queryParam("descricao", descricao);
+                    }
+                    if (grupo != null && !grupo.trim().isEmpty()) {
+                        builder.queryParam("grupo", grupo);
+                    }
+                    if (marca != null && !marca.trim().isEmpty()) {
+                        builder.queryParam("marca", marca);
+                    }
+                    
+                    return builder.build();
+                })
+                .retrieve()
+                .bodyToMono(PurchaseAnalysisPageResponseDTO.class)
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .doOnSuccess(response -> log.info("Sucesso ao buscar análise de compras. Total encontrado: {}", 
+                        response != null && response.getPagination() != null ? response.getPagination().getTotalElements() : "N/A"))
+                .doOnError(error -> log.error("Erro ao buscar análise de compras na Legacy API", error));
+        
+        return legacyApiResilience.decorateWithFallback(LegacyEndpointFamily.STOCK,
+                LegacyApiResilience.cacheKey("/purchase-analysis", refplu, descricao, grupo, marca, hideNoSales, page, size, sortBy, sortDir), call);
+    }
+    
+    /**
+     * Adaptador de {@link #fetchPurchaseAnalysis} para CompletableFuture.
+     * 
+     * @param refplu Filtro por refplu (opcional)
+     * @param descricao Filtro por descrição (opcional)
+     * @param grupo Filtro por grupo (opcional)
+     * @param marca Filtro por marca (opcional)
+     * @param hideNoSales Ocultar produtos sem vendas nos últimos 90 dias
+     * @param page Número da página (0-based)
+     * @param size Tamanho da página
+     * @param sortBy Campo para ordenação
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @return Future com resposta da Legacy API com dados de análise de compras
+     */
+    public CompletableFuture<PurchaseAnalysisPageResponseDTO> getPurchaseAnalysisAsync(
+            String refplu, String descricao, String grupo, String marca, Boolean hideNoSales, Integer page, Integer size, String sortBy, String sortDir) {
+        return fetchPurchaseAnalysis(refplu, descricao, grupo, marca, hideNoSales, page, size, sortBy, sortDir).toFuture();
+    }
+    
     /**
      * Testa a conectividade com a Legacy API
      * 
      * @return Informações sobre o teste de conexão
      */
     public Map<String, Object> testConnection() {
-        log.info("Testando conexão com Legacy API");
+        Mono<Map<String, Object>> request = fetchConnectionTest();
         
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> response = legacyApiWebClient
-                    .get()
-                    .uri("/products/test-connection")
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .timeout(Duration.ofSeconds(timeoutSeconds))
-                    .doOnSuccess(result -> log.info("Teste de conexão com Legacy API bem-sucedido"))
-                    .doOnError(error -> log.error("Erro no teste de conexão com Legacy API", error))
-                    .block();
-                    
-            return response;
+            return request.block();
             
         } catch (WebClientResponseException e) {
             log.error("Erro HTTP no teste de conexão: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
@@ -398,6 +627,33 @@ public class LegacyApiClient {
         }
     }
     
+    /**
+     * Versão não bloqueante de {@link #testConnection}.
+     * 
+     * @return Mono com informações sobre o teste de conexão
+     */
+    public Mono<Map<String, Object>> fetchConnectionTest() {
+        log.info("Testando conexão com Legacy API");
+        
+        return legacyApiWebClient
+                .get()
+                .uri("/products/test-connection")
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .doOnSuccess(result -> log.info("Teste de conexão com Legacy API bem-sucedido"))
+                .doOnError(error -> log.error("Erro no teste de conexão com Legacy API", error));
+    }
+    
+    /**
+     * Adaptador de {@link #fetchConnectionTest} para CompletableFuture.
+     * 
+     * @return Future com informações sobre o teste de conexão
+     */
+    public CompletableFuture<Map<String, Object>> testConnectionAsync() {
+        return fetchConnectionTest().toFuture();
+    }
+    
     /**
      * Converte Map da Legacy API para StockPageResponseDTO da Business API
      * 
@@ -422,10 +678,11 @@ public class LegacyApiClient {
         
         // Criar metadados de paginação
         StockPageResponseDTO.PaginationMetadata pagination = StockPageResponseDTO.PaginationMetadata.builder()
+                // Sem contagem (includeCount=false) a Legacy API não informa total de elementos e páginas
                 .totalElements(legacyResponse.get("totalElements") != null ? 
-                    Long.valueOf(legacyResponse.get("totalElements").toString()) : 0L)
+                    Long.valueOf(legacyResponse.get("totalElements").toString()) : null)
                 .totalPages(legacyResponse.get("totalPages") != null ? 
-                    Integer.valueOf(legacyResponse.get("totalPages").toString()) : 0)
+                    Integer.valueOf(legacyResponse.get("totalPages").toString()) : null)
                 .currentPage(legacyResponse.get("currentPage") != null ? 
                     Integer.valueOf(legacyResponse.get("currentPage").toString()) : 0)
                 .pageSize(legacyResponse.get("pageSize") != null ? 
@@ -434,6 +691,8 @@ public class LegacyApiClient {
                     Boolean.valueOf(legacyResponse.get("hasNext").toString()) : false)
                 .hasPrevious(legacyResponse.get("hasPrevious") != null ? 
                     Boolean.valueOf(legacyResponse.get("hasPrevious").toString()) : false)
+                .nextCursor(legacyResponse.get("nextCursor") != null ? 
+                    legacyResponse.get("nextCursor").toString() : null)
                 .build();
         
         // Criar informações da fonte de dados
@@ -502,46 +761,11 @@ public class LegacyApiClient {
      */
     public CriticalStockPageResponseDTO getCriticalStock(
             String refplu, String descricao, String grupo, String marca, Integer page, Integer size, String sortBy, String sortDir) {
-        
-        log.info("Buscando estoque crítico na Legacy API - refplu: {}, descricao: {}, grupo: {}, marca: {}, página: {}, tamanho: {}", 
-                refplu, descricao, grupo, marca, page, size);
+        Mono<CriticalStockPageResponseDTO> request = fetchCriticalStock(refplu, descricao, grupo, marca, page, size, sortBy, sortDir);
         
         try {
-            return legacyApiWebClient
-                    .get()
-                    .uri(uriBuilder -> {
-                        var builder = uriBuilder.path("/critical-stock");
-                        
-                        // Adicionar parâmetros obrigatórios
-                        builder.queryParam("page", page != null ? page : 0);
-                        builder.queryParam("size", size != null ? size : 20);
-                        builder.queryParam("sortBy", sortBy != null ? sortBy : "diferenca");
-                        builder.queryParam("sortDir", sortDir != null ? sortDir : "desc");
-                        
-                        // Adicionar filtros opcionais
-                        if (refplu != null && !refplu.trim().isEmpty()) {
-                            builder.queryParam("refplu", refplu);
-                        }
-                        if (descricao != null && !descricao.trim().isEmpty()) {
-                            builder.queryParam("descricao", descricao);
-                        }
-                        if (grupo != null && !grupo.trim().isEmpty()) {
-                            builder.queryParam("grupo", grupo);
-                        }
-                        if (marca != null && !marca.trim().isEmpty()) {
-                            builder.queryParam("marca", marca);
-                        }
-                        
-                        return builder.build();
-                    })
-                    .retrieve()
-                    .bodyToMono(CriticalStockPageResponseDTO.class)
-                    .timeout(Duration.ofSeconds(timeoutSeconds))
-                    .doOnSuccess(response -> log.info("Sucesso ao buscar estoque crítico. Total encontrado: {}", 
-                            response != null && response.getPagination() != null ? response.getPagination().getTotalElements() : "N/A"))
-                    .doOnError(error -> log.error("Erro ao buscar estoque crítico na Legacy API", error))
-                    .block();
-                    
+            return request.block();
+            
         } catch (WebClientResponseException e) {
             log.error("Erro HTTP ao chamar Legacy API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new RuntimeException("Erro ao buscar estoque crítico na Legacy API: " + e.getMessage(), e);
@@ -551,6 +775,81 @@ public class LegacyApiClient {
         }
     }
     
+    /**
+     * Versão não bloqueante de {@link #getCriticalStock}.
+     * 
+     * @param refplu Filtro por refplu (opcional)
+     * @param descricao Filtro por descrição (opcional)
+     * @param grupo Filtro por grupo (opcional)
+     * @param marca Filtro por marca (opcional)
+     * @param page Número da página (0-based)
+     * @param size Tamanho da página
+     * @param sortBy Campo para ordenação
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @return Mono com resposta da Legacy API com dados de estoque crítico
+     */
+    public Mono<CriticalStockPageResponseDTO> fetchCriticalStock(
+            String refplu, String descricao, String grupo, String marca, Integer page, Integer size, String sortBy, String sortDir) {
+        
+        log.info("Buscando estoque crítico na Legacy API - refplu: {}, descricao: {}, grupo: {}, marca: {}, página: {}, tamanho: {}", 
+                refplu, descricao, grupo, marca, page, size);
+        
+        Mono<CriticalStockPageResponseDTO> call = legacyApiWebClient
+                .get()
+                .uri(uriBuilder -> {
+                    var builder = uriBuilder.path("/critical-stock");
+                    
+                    // Adicionar parâmetros obrigatórios
+                    builder.queryParam("page", page != null ? page : 0);
+                    builder.queryParam("size", size != null ? size : 20);
+                    builder.queryParam("sortBy", sortBy != null ? sortBy : "diferenca");
+                    builder.queryParam("sortDir", sortDir != null ? sortDir : "desc");
+                    
+                    // Adicionar filtros opcionais
+                    if (refplu != null && !refplu.trim().isEmpty()) {
+                        builder.queryParam("refplu", refplu);
+                    }
+                    if (descricao != null && !descricao.trim().isEmpty()) {
+                        builder.queryParam("descricao", descricao);
+                    }
+                    if (grupo != null && !grupo.trim().isEmpty()) {
+                        builder.queryParam("grupo", grupo);
+                    }
+                    if (marca != null && !marca.trim().isEmpty()) {
+                        builder.queryParam("marca", marca);
+                    }
+                    
+                    return builder.build();
+                })
+                .retrieve()
+                .bodyToMono(CriticalStockPageResponseDTO.class)
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .doOnSuccess(response -> log.info("Sucesso ao buscar estoque crítico. Total encontrado: {}", 
+                        response != null && response.getPagination() != null ? response.getPagination().getTotalElements() : "N/A"))
+                .doOnError(error -> log.error("Erro ao buscar estoque crítico na Legacy API", error));
+        
+        return legacyApiResilience.decorateWithFallback(LegacyEndpointFamily.STOCK,
+                LegacyApiResilience.cacheKey("/critical-stock", refplu, descricao, grupo, marca, page, size, sortBy, sortDir), call);
+    }
+    
+    /**
+     * Adaptador de {@link #fetchCriticalStock} para CompletableFuture.
+     * 
+     * @param refplu Filtro por refplu (opcional)
+     * @param descricao Filtro por descrição (opcional)
+     * @param grupo Filtro por grupo (opcional)
+     * @param marca Filtro por marca (opcional)
+     * @param page Número da página (0-based)
+     * @param size Tamanho da página
+     * @param sortBy Campo para ordenação
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @return Future com resposta da Legacy API com dados de estoque crítico
+     */
+    public CompletableFuture<CriticalStockPageResponseDTO> getCriticalStockAsync(
+            String refplu, String descricao, String grupo, String marca, Integer page, Integer size, String sortBy, String sortDir) {
+        return fetchCriticalStock(refplu, descricao, grupo, marca, page, size, sortBy, sortDir).toFuture();
+    }
+    
     /**
      * Busca itens detalhados de vendas na Legacy API
      * 
@@ -568,6 +867,36 @@ public class LegacyApiClient {
             List<String> storeCodes,
             List<String> originCodes,
             List<String> operationCodes) {
+        Mono<List<SaleItemLegacyDTO>> request = fetchSaleItemsDetails(startDate, endDate, storeCodes, originCodes, operationCodes);
+        
+        try {
+            return request.block();
+            
+        } catch (WebClientResponseException e) {
+            log.error("Erro HTTP ao chamar Legacy API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new RuntimeException("Erro ao buscar itens detalhados de vendas na Legacy API: " + e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Erro inesperado ao chamar Legacy API", e);
+            throw new RuntimeException("Erro inesperado ao buscar itens detalhados de vendas: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Versão não bloqueante de {@link #getSaleItemsDetails}.
+     * 
+     * @param startDate Data inicial (será convertida para primeiro segundo do dia)
+     * @param endDate Data final (será convertida para último segundo do dia)
+     * @param storeCodes Lista de códigos de lojas
+     * @param originCodes Lista de códigos de origem (PDV e DANFE)
+     * @param operationCodes Lista de códigos de operações
+     * @return Mono com lista de itens de venda detalhados
+     */
+    public Mono<List<SaleItemLegacyDTO>> fetchSaleItemsDetails(
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            List<String> storeCodes,
+            List<String> originCodes,
+            List<String> operationCodes) {
         
         log.info("Buscando itens detalhados de vendas na Legacy API - startDate: {}, endDate: {}, storeCodes: {}, originCodes: {}, operationCodes: {}", 
                 startDate, endDate, storeCodes != null ? storeCodes.size() : 0, originCodes != null ? originCodes.size() : 0, operationCodes != null ? operationCodes.size() : 0);
@@ -583,54 +912,174 @@ public class LegacyApiClient {
             throw new IllegalArgumentException("Lista de códigos de operação não pode ser nula ou vazia");
         }
         
+        // Formatar datas no formato esperado pela Legacy API: "yyyy-MM-dd'T'HH:mm:ss" (SEM timezone)
+        java.time.format.DateTimeFormatter formatter = java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+        String startDateStr = startDate.format(formatter);
+        String endDateStr = endDate.format(formatter);
+        
+        log.debug("Datas formatadas - startDate: {}, endDate: {}", startDateStr, endDateStr);
+        
+        Mono<List<SaleItemLegacyDTO>> call = legacyApiWebClient
+                .post()
+                .uri("/sale-items/details")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of(
+                        "startDate", startDateStr,
+                        "endDate", endDateStr,
+                        "storeCodes", storeCodes,
+                        "originCodes", originCodes,
+                        "operationCodes", operationCodes
+                ))
+                .retrieve()
+                .bodyToFlux(SaleItemLegacyDTO.class)
+                .collectList()
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .doOnSuccess(response -> log.info("Sucesso ao buscar itens detalhados de vendas. Total encontrado: {}", 
+                        response != null ? response.size() : "N/A"))
+                .doOnError(error -> log.error("Erro ao buscar itens detalhados de vendas na Legacy API", error));
+        
+        return legacyApiResilience.decorate(LegacyEndpointFamily.SYNC, call);
+    }
+    
+    /**
+     * Adaptador de {@link #fetchSaleItemsDetails} para CompletableFuture.
+     * 
+     * @param startDate Data inicial (será convertida para primeiro segundo do dia)
+     * @param endDate Data final (será convertida para último segundo do dia)
+     * @param storeCodes Lista de códigos de lojas
+     * @param originCodes Lista de códigos de origem (PDV e DANFE)
+     * @param operationCodes Lista de códigos de operações
+     * @return Future com lista de itens de venda detalhados
+     */
+    public CompletableFuture<List<SaleItemLegacyDTO>> getSaleItemsDetailsAsync(
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            List<String> storeCodes,
+            List<String> originCodes,
+            List<String> operationCodes) {
+        return fetchSaleItemsDetails(startDate, endDate, storeCodes, originCodes, operationCodes).toFuture();
+    }
+    
+    /**
+     * Busca itens detalhados de vendas na Legacy API em modo stream (NDJSON).
+     * Os itens são decodificados um a um conforme chegam, sem agregar a resposta
+     * completa em memória nem depender do limite de maxInMemorySize do WebClient.
+     * O timeout é aplicado entre itens consecutivos.
+     * 
+     * @param startDate Data inicial (será convertida para primeiro segundo do dia)
+     * @param endDate Data final (será convertida para último segundo do dia)
+     * @param storeCodes Lista de códigos de lojas
+     * @param originCodes Lista de códigos de origem (PDV e DANFE)
+     * @param operationCodes Lista de códigos de operações
+     * @return Flux de itens de venda detalhados
+     */
+    public Flux<SaleItemLegacyDTO> streamSaleItemsDetails(
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            List<String> storeCodes,
+            List<String> originCodes,
+            List<String> operationCodes) {
+        
+        log.info("Iniciando stream de itens detalhados de vendas na Legacy API - startDate: {}, endDate: {}, storeCodes: {}, originCodes: {}, operationCodes: {}", 
+                startDate, endDate, storeCodes != null ? storeCodes.size() : 0, originCodes != null ? originCodes.size() : 0, operationCodes != null ? operationCodes.size() : 0);
+        
+        // Validar que as listas não estão vazias
+        if (storeCodes == null || storeCodes.isEmpty()) {
+            throw new IllegalArgumentException("Lista de códigos de lojas não pode ser nula ou vazia");
+        }
+        if (originCodes == null || originCodes.isEmpty()) {
+            throw new IllegalArgumentException("Lista de códigos de origem não pode ser nula ou vazia");
+        }
+        if (operationCodes == null || operationCodes.isEmpty()) {
+            throw new IllegalArgumentException("Lista de códigos de operação não pode ser nula ou vazia");
+        }
+        
+        // Formatar datas no formato esperado pela Legacy API: "yyyy-MM-dd'T'HH:mm:ss" (SEM timezone)
+        java.time.format.DateTimeFormatter formatter = java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+        
+        Flux<SaleItemLegacyDTO> call = legacyApiWebClient
+                .post()
+                .uri("/sale-items/details/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(Map.of(
+                        "startDate", startDate.format(formatter),
+                        "endDate", endDate.format(formatter),
+                        "storeCodes", storeCodes,
+                        "originCodes", originCodes,
+                        "operationCodes", operationCodes
+                ))
+                .retrieve()
+                .bodyToFlux(SaleItemLegacyDTO.class)
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .doOnComplete(() -> log.info("Stream de itens detalhados de vendas concluído"))
+                .doOnError(error -> log.error("Erro no stream de itens detalhados de vendas da Legacy API", error));
+        
+        return legacyApiResilience.decorate(LegacyEndpointFamily.SYNC, call);
+    }
+    
+    /**
+     * Busca a matriz de estoque completa (refplu × loja) na Legacy API em modo stream (NDJSON).
+     * As referências são decodificadas uma a uma conforme chegam, sem agregar a resposta
+     * completa em memória. O timeout é aplicado entre itens consecutivos.
+     * 
+     * @return Flux com uma linha por referência e as quantidades por código de loja
+     */
+    public Flux<StockMatrixRowLegacyDTO> streamStockMatrix() {
+        log.info("Iniciando stream da matriz de estoque na Legacy API");
+        
+        Flux<StockMatrixRowLegacyDTO> call = legacyApiWebClient
+                .get()
+                .uri("/stocks/matrix/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(StockMatrixRowLegacyDTO.class)
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .doOnComplete(() -> log.info("Stream da matriz de estoque concluído"))
+                .doOnError(error -> log.error("Erro no stream da matriz de estoque da Legacy API", error));
+        
+        return legacyApiResilience.decorate(LegacyEndpointFamily.SYNC, call);
+    }
+    
+    /**
+     * Busca trocas realizadas na Legacy API.
+     * 
+     * @param startDate Data de início do período (formato LocalDate)
+     * @param endDate Data de fim do período (formato LocalDate)
+     * @param originCodes Lista de códigos de origem (ORICOD) para filtrar
+     * @param operationCodes Lista de códigos de operação (OPECOD) para filtrar
+     * @return Lista de trocas encontradas
+     * @throws RuntimeException Se houver erro na comunicação
+     */
+    public List<ExchangeLegacyDTO> getExchanges(
+            LocalDate startDate,
+            LocalDate endDate,
+            List<String> originCodes,
+            List<String> operationCodes) {
+        Mono<List<ExchangeLegacyDTO>> request = fetchExchanges(startDate, endDate, originCodes, operationCodes);
+        
         try {
-            // Formatar datas no formato esperado pela Legacy API: "yyyy-MM-dd'T'HH:mm:ss" (SEM timezone)
-            java.time.format.DateTimeFormatter formatter = java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-            String startDateStr = startDate.format(formatter);
-            String endDateStr = endDate.format(formatter);
-            
-            log.debug("Datas formatadas - startDate: {}, endDate: {}", startDateStr, endDateStr);
+            return request.block();
             
-            return legacyApiWebClient
-                    .post()
-                    .uri("/sale-items/details")
-                    .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
-                    .bodyValue(Map.of(
-                            "startDate", startDateStr,
-                            "endDate", endDateStr,
-                            "storeCodes", storeCodes,
-                            "originCodes", originCodes,
-                            "operationCodes", operationCodes
-                    ))
-                    .retrieve()
-                    .bodyToFlux(SaleItemLegacyDTO.class)
-                    .collectList()
-                    .timeout(Duration.ofSeconds(timeoutSeconds))
-                    .doOnSuccess(response -> log.info("Sucesso ao buscar itens detalhados de vendas. Total encontrado: {}", 
-                            response != null ? response.size() : "N/A"))
-                    .doOnError(error -> log.error("Erro ao buscar itens detalhados de vendas na Legacy API", error))
-                    .block();
-                    
         } catch (WebClientResponseException e) {
             log.error("Erro HTTP ao chamar Legacy API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("Erro ao buscar itens detalhados de vendas na Legacy API: " + e.getMessage(), e);
+            throw new RuntimeException("Erro ao buscar trocas na Legacy API: " + e.getMessage(), e);
         } catch (Exception e) {
             log.error("Erro inesperado ao chamar Legacy API", e);
-            throw new RuntimeException("Erro inesperado ao buscar itens detalhados de vendas: " + e.getMessage(), e);
+            throw new RuntimeException("Erro inesperado ao buscar trocas: " + e.getMessage(), e);
         }
     }
     
     /**
-     * Busca trocas realizadas na Legacy API.
+     * Versão não bloqueante de {@link #getExchanges}.
      * 
      * @param startDate Data de início do período (formato LocalDate)
      * @param endDate Data de fim do período (formato LocalDate)
      * @param originCodes Lista de códigos de origem (ORICOD) para filtrar
      * @param operationCodes Lista de códigos de operação (OPECOD) para filtrar
-     * @return Lista de trocas encontradas
-     * @throws RuntimeException Se houver erro na comunicação
+     * @return Mono com lista de trocas encontradas
      */
-    public List<ExchangeLegacyDTO> getExchanges(
+    public Mono<List<ExchangeLegacyDTO>> fetchExchanges(
             LocalDate startDate,
             LocalDate endDate,
             List<String> originCodes,
@@ -647,40 +1096,49 @@ public class LegacyApiClient {
             throw new IllegalArgumentException("Lista de códigos de operação não pode ser nula ou vazia");
         }
         
-        try {
-            // Formatar datas no formato esperado pela Legacy API: "yyyy-MM-dd"
-            java.time.format.DateTimeFormatter formatter = java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd");
-            String startDateStr = startDate.format(formatter);
-            String endDateStr = endDate.format(formatter);
-            
-            log.debug("Datas formatadas - startDate: {}, endDate: {}", startDateStr, endDateStr);
-            
-            return legacyApiWebClient
-                    .post()
-                    .uri("/exchanges")
-                    .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
-                    .bodyValue(Map.of(
-                            "startDate", startDateStr,
-                            "endDate", endDateStr,
-                            "originCodes", originCodes,
-                            "operationCodes", operationCodes
-                    ))
-                    .retrieve()
-                    .bodyToFlux(ExchangeLegacyDTO.class)
-                    .collectList()
-                    .timeout(Duration.ofSeconds(timeoutSeconds))
-                    .doOnSuccess(response -> log.info("Sucesso ao buscar trocas. Total encontrado: {}", 
-                            response != null ? response.size() : "N/A"))
-                    .doOnError(error -> log.error("Erro ao buscar trocas na Legacy API", error))
-                    .block();
-                    
-        } catch (WebClientResponseException e) {
-            log.error("Erro HTTP ao chamar Legacy API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("Erro ao buscar trocas na Legacy API: " + e.getMessage(), e);
-        } catch (Exception e) {
-            log.error("Erro inesperado ao chamar Legacy API", e);
-            throw new RuntimeException("Erro inesperado ao buscar trocas: " + e.getMessage(), e);
-        }
+        // Formatar datas no formato esperado pela Legacy API: "yyyy-MM-dd"
+        java.time.format.DateTimeFormatter formatter = java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        String startDateStr = startDate.format(formatter);
+        String endDateStr = endDate.format(formatter);
+        
+        log.debug("Datas formatadas - startDate: {}, endDate: {}", startDateStr, endDateStr);
+        
+        Mono<List<ExchangeLegacyDTO>> call = legacyApiWebClient
+                .post()
+                .uri("/exchanges")
+                .contentType(org.springframework.http.MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of(
+                        "startDate", startDateStr,
+                        "endDate", endDateStr,
+                        "originCodes", originCodes,
+                        "operationCodes", operationCodes
+                ))
+                .retrieve()
+                .bodyToFlux(ExchangeLegacyDTO.class)
+                .collectList()
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .doOnSuccess(response -> log.info("Sucesso ao buscar trocas. Total encontrado: {}", 
+                        response != null ? response.size() : "N/A"))
+                .doOnError(error -> log.error("Erro ao buscar trocas na Legacy API", error));
+        
+        return legacyApiResilience.decorate(LegacyEndpointFamily.SYNC, call);
+    }
+    
+    /**
+     * Adaptador de {@link #fetchExchanges} para CompletableFuture.
+     * 
+     * @param startDate Data de início do período (formato LocalDate)
+     * @param endDate Data de fim do período (formato LocalDate)
+     * @param originCodes Lista de códigos de origem (ORICOD) para filtrar
+     * @param operationCodes Lista de códigos de operação (OPECOD) para filtrar
+     * @return Future com lista de trocas encontradas
+     */
+    public CompletableFuture<List<ExchangeLegacyDTO>> getExchangesAsync(
+            LocalDate startDate,
+            LocalDate endDate,
+            List<String> originCodes,
+            List<String> operationCodes) {
+        return fetchExchanges(startDate, endDate, originCodes, operationCodes).toFuture();
     }
     
     /**
@@ -0,0 +1,78 @@
+package com.sysconard.business.client;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Filtro do WebClient da Legacy API que registra a duração de cada chamada por endpoint
+ * (legacy.client.requests, tags endpoint, method, status e outcome).
+ *
+ * O tempo é medido até o fim da leitura do corpo da resposta, e não apenas até o
+ * recebimento dos cabeçalhos, para que os endpoints em stream (NDJSON) reflitam a
+ * duração real da transferência. O endpoint é o path da requisição sem o context-path
+ * e sem query string; todas as URIs da Legacy API usam paths fixos.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+public class LegacyApiMetricsFilter implements ExchangeFilterFunction {
+
+    public static final String REQUEST_TIMER = "legacy.client.requests";
+
+    private final String contextPath;
+
+    public LegacyApiMetricsFilter(String contextPath) {
+        this.contextPath = contextPath != null ? contextPath : "";
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String endpoint = endpoint(request);
+        String method = request.method().name();
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+
+        return next.exchange(request)
+                .map(response -> {
+                    String status = String.valueOf(response.statusCode().value());
+                    String outcome = outcome(response.statusCode().value());
+                    return response.mutate()
+                            .body(body -> body.doFinally(signal -> stop(sample, endpoint, method, status,
+                                    signal == SignalType.CANCEL ? "CANCELLED" : signal == SignalType.ON_ERROR ? "ERROR" : outcome)))
+                            .build();
+                })
+                .doOnError(e -> stop(sample, endpoint, method, "NONE", "ERROR"))
+                .doOnCancel(() -> stop(sample, endpoint, method, "NONE", "CANCELLED"));
+    }
+
+    private void stop(Timer.Sample sample, String endpoint, String method, String status, String outcome) {
+        sample.stop(Metrics.timer(REQUEST_TIMER,
+                "endpoint", endpoint,
+                "method", method,
+                "status", status,
+                "outcome", outcome));
+    }
+
+    private String endpoint(ClientRequest request) {
+        String path = request.url().getPath();
+        if (!contextPath.isEmpty() && path.startsWith(contextPath)) {
+            path = path.substring(contextPath.length());
+        }
+        return path.isEmpty() ? "/" : path;
+    }
+
+    private static String outcome(int status) {
+        if (status >= 500) {
+            return "SERVER_ERROR";
+        }
+        if (status >= 400) {
+            return "CLIENT_ERROR";
+        }
+        return "SUCCESS";
+    }
+}
@@ -0,0 +1,137 @@
+package com.sysconard.business.client;
+
+import com.sysconard.business.config.CacheConfig;
+import com.sysconard.business.enums.LegacyEndpointFamily;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.RetryRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+
+/**
+ * Políticas de resiliência das chamadas à Legacy API.
+ *
+ * Cada família de endpoints ({@link LegacyEndpointFamily}) é protegida por um bulkhead
+ * (limite de chamadas simultâneas), um circuit breaker (falha rápida enquanto o SQL Server
+ * do legado está lento ou indisponível) e um retry para falhas transitórias de conexão.
+ * As instâncias são configuradas em application.yml (resilience4j.*) e suas métricas são
+ * publicadas pelo Actuator (resilience4j.circuitbreaker.*, resilience4j.bulkhead.*, resilience4j.retry.*).
+ *
+ * Para consultas de leitura, o último resultado obtido com sucesso é guardado em cache
+ * e devolvido quando a chamada é rejeitada pelo circuit breaker ou pelo bulkhead.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LegacyApiResilience {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final RetryRegistry retryRegistry;
+    private final CacheManager cacheManager;
+
+    /**
+     * Aplica bulkhead, circuit breaker e retry da família a uma chamada.
+     * O retry envolve o circuit breaker, que envolve o bulkhead: cada tentativa
+     * é contabilizada pelo circuito e ocupa uma permissão do bulkhead.
+     *
+     * @param family Família do endpoint chamado
+     * @param call Chamada à Legacy API
+     * @return Chamada protegida
+     */
+    public <T> Mono<T> decorate(LegacyEndpointFamily family, Mono<T> call) {
+        String name = family.getInstanceName();
+        return call
+                .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(name)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(name)))
+                .transformDeferred(RetryOperator.of(retryRegistry.retry(name)));
+    }
+
+    /**
+     * Aplica bulkhead e circuit breaker da família a um stream.
+     * Streams não são repetidos: uma nova tentativa reenviaria os itens já emitidos.
+     *
+     * @param family Família do endpoint chamado
+     * @param stream Stream da Legacy API
+     * @return Stream protegido
+     */
+    public <T> Flux<T> decorate(LegacyEndpointFamily family, Flux<T> stream) {
+        String name = family.getInstanceName();
+        return stream
+                .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(name)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(name)));
+    }
+
+    /**
+     * Aplica as políticas da família e guarda o resultado como último valor conhecido.
+     * Se a chamada for rejeitada (circuito aberto ou bulkhead cheio), retorna o último
+     * valor conhecido da mesma consulta; sem valor em cache, o erro é propagado.
+     *
+     * @param family Família do endpoint chamado
+     * @param cacheKey Chave da consulta (ver {@link #cacheKey})
+     * @param call Chamada à Legacy API
+     * @return Chamada protegida com fallback para o último valor conhecido
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> decorateWithFallback(LegacyEndpointFamily family, String cacheKey, Mono<T> call) {
+        Cache lastResults = cacheManager.getCache(CacheConfig.LEGACY_LAST_RESULTS_CACHE);
+        String key = family.name() + ":" + cacheKey;
+
+        return decorate(family, call)
+                .doOnNext(result -> lastResults.put(key, result))
+                .onErrorResume(LegacyApiResilience::isRejected, error -> {
+                    Cache.ValueWrapper lastResult = lastResults.get(key);
+                    if (lastResult == null || lastResult.get() == null) {
+                        return Mono.error(error);
+                    }
+                    log.warn("Legacy API indisponível para {} ({}). Retornando último resultado conhecido.",
+                            key, error.getClass().getSimpleName());
+                    return Mono.just((T) lastResult.get());
+                });
+    }
+
+    /**
+     * Monta a chave de cache de uma consulta a partir do endpoint e dos parâmetros.
+     *
+     * @param endpoint Caminho do endpoint
+     * @param params Parâmetros da consulta (aceita nulos)
+     * @return Chave da consulta
+     */
+    public static String cacheKey(String endpoint, Object... params) {
+        return endpoint + Arrays.asList(params);
+    }
+
+    /**
+     * Verifica se o erro (ou alguma de suas causas) é uma rejeição do circuit breaker
+     * ou do bulkhead, ou seja, se a Legacy API nem chegou a ser chamada.
+     *
+     * @param error Erro da chamada
+     * @return true se a chamada foi rejeitada pelas políticas de resiliência
+     */
+    public static boolean isRejected(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof CallNotPermittedException || current instanceof BulkheadFullException) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+}
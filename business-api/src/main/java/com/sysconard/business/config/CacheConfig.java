@@ -0,0 +1,104 @@
+package com.sysconard.business.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuração dos caches em memória da aplicação.
+ * Utiliza Caffeine com TTL e tamanho máximo por cache e registra estatísticas
+ * (cache.gets, cache.size, cache.evictions) expostas pelo Actuator/Micrometer.
+ * As invalidações são adiadas até o commit da transação corrente, evitando que
+ * uma leitura concorrente repopule o cache com dados ainda não confirmados.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Cache do catálogo de lojas ativas (StoreService.getAllActiveStores).
+     */
+    public static final String ACTIVE_STORES_CACHE = "activeStores";
+
+    /**
+     * Último resultado conhecido das consultas à Legacy API (LegacyApiResilience),
+     * servido enquanto o circuit breaker da família estiver aberto.
+     */
+    public static final String LEGACY_LAST_RESULTS_CACHE = "legacyLastResults";
+
+    /**
+     * Usuários autenticados por email (CustomUserDetailsService.loadUserByUsername),
+     * evitando a consulta de usuário, roles e permissões a cada requisição com JWT.
+     */
+    public static final String AUTHENTICATED_USERS_CACHE = "authenticatedUsers";
+
+    /**
+     * Instante de revogação dos tokens por email (ou "*" para todos), usado quando
+     * as autoridades são lidas das claims do JWT (JwtService.isRevoked).
+     */
+    public static final String REVOKED_TOKENS_CACHE = "revokedTokens";
+
+    @Value("${cache.stores.ttl:PT30M}")
+    private Duration storesTtl;
+
+    @Value("${cache.stores.max-size:10}")
+    private long storesMaxSize;
+
+    @Value("${cache.legacy-last-results.ttl:PT6H}")
+    private Duration legacyLastResultsTtl;
+
+    @Value("${cache.legacy-last-results.max-size:500}")
+    private long legacyLastResultsMaxSize;
+
+    @Value("${cache.authenticated-users.ttl:PT5M}")
+    private Duration authenticatedUsersTtl;
+
+    @Value("${cache.authenticated-users.max-size:1000}")
+    private long authenticatedUsersMaxSize;
+
+    @Value("${cache.revoked-tokens.ttl:PT24H}")
+    private Duration revokedTokensTtl;
+
+    @Value("${cache.revoked-tokens.max-size:10000}")
+    private long revokedTokensMaxSize;
+
+    /**
+     * Configura o CacheManager com os caches nomeados da aplicação.
+     * 
+     * @return CacheManager transacional baseado em Caffeine
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(ACTIVE_STORES_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(storesTtl)
+                .maximumSize(storesMaxSize)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(LEGACY_LAST_RESULTS_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(legacyLastResultsTtl)
+                .maximumSize(legacyLastResultsMaxSize)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(AUTHENTICATED_USERS_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(authenticatedUsersTtl)
+                .maximumSize(authenticatedUsersMaxSize)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(REVOKED_TOKENS_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(revokedTokensTtl)
+                .maximumSize(revokedTokensMaxSize)
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -1,5 +1,7 @@
 package com.sysconard.business.config;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +20,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.sysconard.business.service.security.JwtService;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Filtro de autenticação JWT que processa tokens Bearer em requisições HTTP.
@@ -26,6 +30,12 @@ import java.io.IOException;
  * válido no header Authorization. Se o token for válido, estabelece a autenticação
  * no contexto de segurança do Spring Security.
  * 
+ * O usuário é obtido pelo UserDetailsService, cujo resultado fica em cache
+ * (authenticatedUsers). Com spring.jwt.authorities-in-claims habilitado, as
+ * autoridades gravadas no token são usadas diretamente, sem consulta ao banco,
+ * até que os tokens do usuário sejam revogados. O tempo de autenticação é
+ * registrado na métrica security.jwt.authentication (tag source).
+ * 
  * @author Sistema Glojas
  * @version 1.0
  * @since 2024
@@ -37,6 +47,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private static final String BEARER_PREFIX = "Bearer ";
     private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String AUTHENTICATION_TIMER = "security.jwt.authentication";
     
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
@@ -106,21 +117,57 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * @param request Requisição HTTP
      */
     private void processJwtAuthentication(String jwtToken, HttpServletRequest request) {
-        String username = jwtService.extractUsername(jwtToken);
+        long start = System.nanoTime();
+        Claims claims = jwtService.extractAllClaims(jwtToken);
+        String username = claims != null ? claims.getSubject() : null;
         
         if (username == null || isUserAlreadyAuthenticated()) {
             log.debug("Username is null or user already authenticated, skipping JWT processing");
             return;
         }
         
+        List<String> authorities = jwtService.extractAuthorities(claims);
+        if (authorities != null && !jwtService.isRevoked(claims)) {
+            setSecurityContext(createClaimsUserDetails(username, authorities), request);
+            recordAuthenticationTime("claims", start);
+            log.debug("JWT authentication from claims successful for user: {}", username);
+            return;
+        }
+        
         UserDetails userDetails = loadUserDetails(username);
         
-        if (jwtService.validateToken(jwtToken, userDetails)) {
+        if (jwtService.validateToken(claims, userDetails)) {
             setSecurityContext(userDetails, request);
             log.debug("JWT authentication successful for user: {}", username);
         } else {
             log.warn("JWT token validation failed for user: {}", username);
         }
+        recordAuthenticationTime("user-details", start);
+    }
+    
+    /**
+     * Cria os detalhes do usuário a partir das autoridades gravadas no token.
+     * 
+     * @param username Email do usuário (subject do token)
+     * @param authorities Roles e permissões do token
+     * @return Detalhes do usuário sem consulta ao banco
+     */
+    private UserDetails createClaimsUserDetails(String username, List<String> authorities) {
+        return org.springframework.security.core.userdetails.User.withUsername(username)
+            .password("")
+            .authorities(authorities.toArray(String[]::new))
+            .build();
+    }
+    
+    /**
+     * Registra o tempo gasto para autenticar a requisição.
+     * 
+     * @param source Origem das autoridades (claims ou user-details)
+     * @param startNanos Instante inicial em nanossegundos
+     */
+    private void recordAuthenticationTime(String source, long startNanos) {
+        Metrics.timer(AUTHENTICATION_TIMER, "source", source)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
     }
     
     /**
@@ -1,18 +1,26 @@
 package com.sysconard.business.config;
 
+import com.sysconard.business.client.LegacyApiMetricsFilter;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
-
+import java.time.Duration;
 
 /**
  * Configuração do WebClient para comunicação com APIs externas
- * 
+ *
  * @author Business API
  * @version 1.0
  */
+@Slf4j
 @Configuration
 public class WebClientConfig {
 
@@ -21,38 +29,81 @@ public class WebClientConfig {
 
     @Value("${legacy-api.context-path}")
     private String legacyApiContextPath;
-    
+
     @Value("${legacy-api.timeout:30}")
     private Integer timeoutSeconds;
-    
+
+    @Value("${legacy-api.pool.max-connections:50}")
+    private Integer maxConnections;
+
+    @Value("${legacy-api.pool.pending-acquire-max-count:200}")
+    private Integer pendingAcquireMaxCount;
+
+    @Value("${legacy-api.pool.pending-acquire-timeout:PT10S}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${legacy-api.pool.max-idle-time:PT30S}")
+    private Duration maxIdleTime;
+
+    @Value("${legacy-api.pool.max-life-time:PT5M}")
+    private Duration maxLifeTime;
+
+    @Value("${legacy-api.pool.evict-interval:PT60S}")
+    private Duration evictInterval;
+
+    @Value("${legacy-api.connect-timeout-ms:5000}")
+    private Integer connectTimeoutMillis;
+
+    /**
+     * Pool de conexões HTTP dedicado à Legacy API.
+     * Limita as conexões simultâneas e a fila de aquisição, e remove em segundo plano
+     * conexões ociosas antes que o servidor as encerre.
+     *
+     * @return ConnectionProvider configurado
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider legacyApiConnectionProvider() {
+        log.info("Pool de conexões da Legacy API: maxConnections={}, pendingAcquireMaxCount={}, pendingAcquireTimeout={}, maxIdleTime={}, maxLifeTime={}",
+                maxConnections, pendingAcquireMaxCount, pendingAcquireTimeout, maxIdleTime, maxLifeTime);
+
+        return ConnectionProvider.builder("legacy-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInterval)
+                .metrics(true)
+                .build();
+    }
+
     /**
      * Bean do WebClient configurado para comunicar com a Legacy API
-     * 
+     *
+     * @param connectionProvider Pool de conexões da Legacy API
      * @return WebClient configurado
      */
     @Bean("legacyApiWebClient")
-    public WebClient legacyApiWebClient() {
-        // URL correta para Legacy API SEM o context-path (já está incluído no endpoint)
-        String correctBaseUrl = legacyApiBaseUrl;
-        
-        System.out.println("=== WEBCLIENT CONFIG DEBUG ===");
-        System.out.println("legacyApiBaseUrl value: " + legacyApiBaseUrl);
-        System.out.println("legacyApiContextPath value: " + legacyApiContextPath);
-        System.out.println("Full URL would be: " + legacyApiBaseUrl + legacyApiContextPath);
-        System.out.println("CORRECT URL: " + correctBaseUrl);
-        System.out.println("================================");
-        
+    public WebClient legacyApiWebClient(@Qualifier("legacyApiConnectionProvider") ConnectionProvider connectionProvider) {
+        log.info("WebClient da Legacy API configurado: baseUrl={}{}", legacyApiBaseUrl, legacyApiContextPath);
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .compress(true); // Accept-Encoding: gzip e descompressão transparente
+
         return WebClient.builder()
                 .baseUrl(legacyApiBaseUrl + legacyApiContextPath)  // URL completa COM context-path
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(new LegacyApiMetricsFilter(legacyApiContextPath)) // legacy.client.requests por endpoint
                 .codecs(configurer -> configurer
                         .defaultCodecs()
                         .maxInMemorySize(16 * 1024 * 1024)) // 16MB buffer
                 .build();
     }
-    
+
     /**
      * Bean genérico do WebClient para outras integrações futuras
-     * 
+     *
      * @return WebClient genérico
      */
     @Bean("genericWebClient")
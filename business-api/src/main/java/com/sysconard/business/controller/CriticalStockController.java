@@ -11,6 +11,8 @@ import com.sysconard.business.dto.CriticalStockPageResponseDTO;
 import com.sysconard.business.dto.CriticalStockSearchRequest;
 import com.sysconard.business.service.CriticalStockService;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Controller REST para estoque crítico.
  * Requer permissão buy:read para acesso.
@@ -43,7 +45,7 @@ public class CriticalStockController {
      */
     @GetMapping
     @PreAuthorize("hasAuthority('buy:read')")
-    public ResponseEntity<CriticalStockPageResponseDTO> getCriticalStock(
+    public CompletableFuture<ResponseEntity<CriticalStockPageResponseDTO>> getCriticalStock(
             @RequestParam(required = false) String refplu,
             @RequestParam(required = false) String descricao,
             @RequestParam(required = false) String grupo,
@@ -62,17 +64,20 @@ public class CriticalStockController {
                 refplu, descricao, grupo, marca, page, size, sortBy, sortDir
             );
             
-            // Buscar dados
-            CriticalStockPageResponseDTO response = criticalStockService.getCriticalStock(request);
-            
-            return ResponseEntity.ok(response);
+            // Buscar dados sem ocupar a thread da requisição
+            return criticalStockService.getCriticalStockAsync(request)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> {
+                        log.error("Erro ao processar requisição de estoque crítico", e);
+                        return ResponseEntity.status(500).build();
+                    });
             
         } catch (IllegalArgumentException e) {
             log.warn("Requisição inválida: {}", e.getMessage());
-            return ResponseEntity.badRequest().build();
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
         } catch (Exception e) {
             log.error("Erro ao processar requisição de estoque crítico", e);
-            return ResponseEntity.status(500).build();
+            return CompletableFuture.completedFuture(ResponseEntity.status(500).build());
         }
     }
 }
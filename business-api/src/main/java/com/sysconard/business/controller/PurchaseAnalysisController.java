@@ -11,6 +11,8 @@ import com.sysconard.business.dto.PurchaseAnalysisPageResponseDTO;
 import com.sysconard.business.dto.PurchaseAnalysisSearchRequest;
 import com.sysconard.business.service.PurchaseAnalysisService;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Controller REST para análise de compras.
  * Requer permissão buy:read para acesso.
@@ -44,7 +46,7 @@ public class PurchaseAnalysisController {
      */
     @GetMapping
     @PreAuthorize("hasAuthority('buy:read')")
-    public ResponseEntity<PurchaseAnalysisPageResponseDTO> getPurchaseAnalysis(
+    public CompletableFuture<ResponseEntity<PurchaseAnalysisPageResponseDTO>> getPurchaseAnalysis(
             @RequestParam(required = false) String refplu,
             @RequestParam(required = false) String descricao,
             @RequestParam(required = false) String grupo,
@@ -64,17 +66,20 @@ public class PurchaseAnalysisController {
                 refplu, descricao, grupo, marca, hideNoSales, page, size, sortBy, sortDir
             );
             
-            // Buscar dados
-            PurchaseAnalysisPageResponseDTO response = purchaseAnalysisService.getPurchaseAnalysis(request);
-            
-            return ResponseEntity.ok(response);
+            // Buscar dados sem ocupar a thread da requisição
+            return purchaseAnalysisService.getPurchaseAnalysisAsync(request)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> {
+                        log.error("Erro ao processar requisição de análise de compras", e);
+                        return ResponseEntity.status(500).build();
+                    });
             
         } catch (IllegalArgumentException e) {
             log.warn("Requisição inválida: {}", e.getMessage());
-            return ResponseEntity.badRequest().build();
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
         } catch (Exception e) {
             log.error("Erro ao processar requisição de análise de compras", e);
-            return ResponseEntity.status(500).build();
+            return CompletableFuture.completedFuture(ResponseEntity.status(500).build());
         }
     }
 }
@@ -11,6 +11,8 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Controller REST para operações de estoque na Business API
  * Expõe endpoints que consomem a Legacy API e aplicam regras de negócio
@@ -39,13 +41,16 @@ public class StockController {
      * @param hasStock Filtrar apenas produtos com estoque total > 0 (padrão: true)
      * @param page Número da página (0-based, padrão: 0)
      * @param size Tamanho da página (padrão: 15, máximo: 100)
-     * @param sortBy Campo para ordenação - aceita: refplu, marca, descricao, loj1-loj14, total (padrão: refplu)
+     * @param sortBy Campo para ordenação - aceita: refplu, marca, descricao, lojN, total (padrão: refplu)
      * @param sortDir Direção da ordenação (asc/desc, padrão: asc)
-     * @return Estoque com metadados da Business API
+     * @param after Cursor retornado em pagination.nextCursor; busca a página seguinte sem percorrer as anteriores (page é ignorado)
+     * @param includeCount Se o total de registros deve ser calculado (padrão: true); false apenas indica se há próxima página
+     * @param live Consulta direta à Legacy API em vez do snapshot local (padrão: false)
+     * @return Estoque com metadados da Business API (processado de forma assíncrona)
      */
     @GetMapping
     @PreAuthorize("hasAuthority('stock:read')")
-    public ResponseEntity<StockPageResponseDTO> getStocks(
+    public CompletableFuture<ResponseEntity<StockPageResponseDTO>> getStocks(
             @RequestParam(required = false) String refplu,
             @RequestParam(required = false) String marca,
             @RequestParam(required = false) String descricao,
@@ -53,7 +58,10 @@ public class StockController {
             @RequestParam(defaultValue = "0") @Min(0) Integer page,
             @RequestParam(defaultValue = "15") @Min(1) @Max(100) Integer size,
             @RequestParam(defaultValue = "refplu") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") Boolean includeCount,
+            @RequestParam(defaultValue = "false") Boolean live) {
         
         log.info("Recebida requisição para buscar estoque - página: {}, tamanho: {}, hasStock: {}", page, size, hasStock);
         
@@ -64,20 +72,20 @@ public class StockController {
         
         // Criar request object
         StockSearchRequest request = new StockSearchRequest(
-                refplu, marca, descricao, hasStock, page, size, sortBy, sortDir.toLowerCase());
-        
-        StockPageResponseDTO response = stockService.getStocks(request);
-        
-        // Retornar status HTTP baseado no resultado
-        if ("ERROR".equals(response.getStatus())) {
-            log.warn("Erro na busca de estoque: {}", response.getMessage());
-            return ResponseEntity.status(500).body(response);
-        }
-        
-        log.info("Busca de estoque concluída com sucesso. Total encontrado: {}", 
-                response.getPagination().getTotalElements());
+                refplu, marca, descricao, hasStock, page, size, sortBy, sortDir.toLowerCase(), after, includeCount, live);
         
-        return ResponseEntity.ok(response);
+        return stockService.getStocksAsync(request).thenApply(response -> {
+            // Retornar status HTTP baseado no resultado
+            if ("ERROR".equals(response.getStatus())) {
+                log.warn("Erro na busca de estoque: {}", response.getMessage());
+                return ResponseEntity.status(500).body(response);
+            }
+            
+            log.info("Busca de estoque concluída com sucesso. Total encontrado: {}", 
+                    response.getPagination().getTotalElements());
+            
+            return ResponseEntity.ok(response);
+        });
     }
     
     /**
@@ -0,0 +1,137 @@
+package com.sysconard.business.controller.analytics;
+
+import com.sysconard.business.dto.analytics.BrandShareResponse;
+import com.sysconard.business.dto.analytics.RollupRebuildResponse;
+import com.sysconard.business.dto.analytics.SellerRankingResponse;
+import com.sysconard.business.dto.analytics.TopProductResponse;
+import com.sysconard.business.service.analytics.SalesAnalyticsService;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller REST para as análises de vendas sobre os agregados de sale_details:
+ * produtos mais vendidos, participação de marcas e ranking de vendedores em
+ * qualquer período.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+@Validated
+public class SalesAnalyticsController {
+
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    /**
+     * Endpoint para obter os produtos mais vendidos no período.
+     *
+     * @param startDate Data de início do período (obrigatório)
+     * @param endDate Data de fim do período (obrigatório)
+     * @param storeCode Código da loja (opcional, null = todas as lojas)
+     * @param orderBy Critério do ranking: value (padrão) ou quantity
+     * @param limit Quantidade de produtos (padrão 10)
+     * @return Ranking de produtos
+     */
+    @GetMapping("/top-products")
+    @PreAuthorize("hasAuthority('sell:read')")
+    public ResponseEntity<List<TopProductResponse>> getTopProducts(
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String storeCode,
+            @RequestParam(defaultValue = "value") String orderBy,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        log.info("Recebida solicitação de produtos mais vendidos: startDate={}, endDate={}, storeCode={}, orderBy={}, limit={}",
+                startDate, endDate, storeCode, orderBy, limit);
+
+        boolean orderByQuantity = switch (orderBy) {
+            case "quantity" -> true;
+            case "value" -> false;
+            default -> throw new IllegalArgumentException("Critério de ordenação inválido: " + orderBy);
+        };
+
+        return ResponseEntity.ok(
+                salesAnalyticsService.getTopProducts(startDate, endDate, storeCode, orderByQuantity, limit));
+    }
+
+    /**
+     * Endpoint para obter a participação de cada marca no valor vendido no período.
+     *
+     * @param startDate Data de início do período (obrigatório)
+     * @param endDate Data de fim do período (obrigatório)
+     * @param storeCode Código da loja (opcional, null = todas as lojas)
+     * @param section Seção dos produtos (opcional, null = todas)
+     * @return Marcas com seus totais e participação
+     */
+    @GetMapping("/brand-share")
+    @PreAuthorize("hasAuthority('sell:read')")
+    public ResponseEntity<List<BrandShareResponse>> getBrandShare(
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String storeCode,
+            @RequestParam(required = false) String section) {
+
+        log.info("Recebida solicitação de participação de marcas: startDate={}, endDate={}, storeCode={}, section={}",
+                startDate, endDate, storeCode, section);
+
+        return ResponseEntity.ok(salesAnalyticsService.getBrandShare(startDate, endDate, storeCode, section));
+    }
+
+    /**
+     * Endpoint para obter o ranking de vendedores no período.
+     *
+     * @param startDate Data de início do período (obrigatório)
+     * @param endDate Data de fim do período (obrigatório)
+     * @param storeCode Código da loja (opcional, null = todas as lojas)
+     * @param limit Quantidade de vendedores (padrão 10)
+     * @return Ranking de vendedores por valor vendido
+     */
+    @GetMapping("/seller-ranking")
+    @PreAuthorize("hasAuthority('sell:read')")
+    public ResponseEntity<List<SellerRankingResponse>> getSellerRanking(
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String storeCode,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        log.info("Recebida solicitação de ranking de vendedores: startDate={}, endDate={}, storeCode={}, limit={}",
+                startDate, endDate, storeCode, limit);
+
+        return ResponseEntity.ok(salesAnalyticsService.getSellerRanking(startDate, endDate, storeCode, limit));
+    }
+
+    /**
+     * Endpoint para reconstruir os agregados dos meses do período a partir de sale_details.
+     *
+     * @param startDate Data de início do período (obrigatório)
+     * @param endDate Data de fim do período (obrigatório)
+     * @return Resultado da reconstrução
+     */
+    @PostMapping("/rollups/rebuild")
+    @PreAuthorize("hasAuthority('sync:execute')")
+    public ResponseEntity<RollupRebuildResponse> rebuildRollups(
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        log.info("Recebida solicitação de reconstrução dos agregados de vendas: startDate={}, endDate={}",
+                startDate, endDate);
+
+        return ResponseEntity.ok(salesAnalyticsService.rebuildRollups(startDate, endDate));
+    }
+}
@@ -0,0 +1,172 @@
+package com.sysconard.business.controller.export;
+
+import com.sysconard.business.dto.export.ExportJobResponse;
+import com.sysconard.business.dto.export.ExportRequest;
+import com.sysconard.business.enums.ExportFormat;
+import com.sysconard.business.enums.ExportReport;
+import com.sysconard.business.service.export.ExportJobService;
+import com.sysconard.business.service.export.ExportService;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Controller REST para exportação de relatórios em CSV ou XLSX.
+ *
+ * A exportação direta grava o arquivo na resposta enquanto as linhas são lidas,
+ * limitada a export.sync.max-days nos relatórios por período. Períodos maiores
+ * são exportados em segundo plano e baixados quando concluídos.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@RestController
+@RequestMapping("/exports")
+@RequiredArgsConstructor
+@Validated
+@PreAuthorize("hasAnyAuthority('sell:read','stock:read','buy:read')")
+public class ExportController {
+
+    private final ExportService exportService;
+    private final ExportJobService exportJobService;
+
+    /**
+     * Endpoint de exportação direta de um relatório.
+     * A permissão exigida depende do relatório (sell:read, stock:read ou buy:read).
+     *
+     * @param report Relatório (daily-sales, monthly-sales, sale-details, stock, purchase-analysis ou critical-stock)
+     * @param format Formato do arquivo (csv ou xlsx, padrão csv)
+     * @param response Resposta HTTP onde o arquivo é gravado
+     */
+    @GetMapping("/{report}")
+    public void export(
+            @PathVariable String report,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String storeCode,
+            @RequestParam(required = false) String refplu,
+            @RequestParam(required = false) String marca,
+            @RequestParam(required = false) String descricao,
+            @RequestParam(required = false) String grupo,
+            @RequestParam(required = false, defaultValue = "true") Boolean hasStock,
+            @RequestParam(required = false, defaultValue = "true") Boolean hideNoSales,
+            Authentication authentication,
+            HttpServletResponse response) throws IOException {
+
+        ExportRequest request = ExportRequest.builder()
+                .report(parseReport(report))
+                .format(parseFormat(format))
+                .startDate(startDate)
+                .endDate(endDate)
+                .storeCode(storeCode)
+                .refplu(refplu)
+                .marca(marca)
+                .descricao(descricao)
+                .grupo(grupo)
+                .hasStock(hasStock)
+                .hideNoSales(hideNoSales)
+                .build();
+
+        log.info("Recebida solicitação de exportação: relatório={}, formato={}, período={} a {}, usuário={}",
+                request.report(), request.format(), startDate, endDate, authentication.getName());
+
+        exportService.validate(request, authentication);
+        exportService.validateSync(request);
+
+        response.setContentType(request.format().getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(exportService.fileName(request), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        response.setHeader("X-Accel-Buffering", "no");
+
+        exportService.export(request, response.getOutputStream(), null);
+        response.flushBuffer();
+    }
+
+    /**
+     * Endpoint para exportação em segundo plano, sem limite de período.
+     *
+     * @param request Relatório, formato e filtros
+     * @return Situação inicial da exportação (202 Accepted)
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ExportJobResponse> startJob(@Valid @RequestBody ExportRequest request,
+                                                     Authentication authentication) {
+        log.info("Recebida solicitação de exportação em segundo plano: relatório={}, formato={}, usuário={}",
+                request.report(), request.format(), authentication.getName());
+
+        exportService.validate(request, authentication);
+        ExportJobResponse response = exportJobService.start(request, authentication.getName());
+        return ResponseEntity.accepted().body(response);
+    }
+
+    /**
+     * Endpoint de situação de uma exportação em segundo plano.
+     *
+     * @param jobId Identificador da exportação
+     * @return Situação da exportação ou 404 se não existir
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ExportJobResponse> getJobStatus(@PathVariable UUID jobId, Authentication authentication) {
+        return exportJobService.getStatus(jobId, authentication.getName())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint de download do arquivo de uma exportação concluída.
+     *
+     * @param jobId Identificador da exportação
+     * @return Arquivo ou 404 se não existir, não estiver concluída ou tiver expirado
+     */
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> download(@PathVariable UUID jobId, Authentication authentication) {
+        return exportJobService.getFile(jobId, authentication.getName())
+                .map(file -> ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                .filename(file.fileName(), StandardCharsets.UTF_8)
+                                .build()
+                                .toString())
+                        .<Resource>body(new FileSystemResource(file.path())))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static ExportReport parseReport(String report) {
+        try {
+            return ExportReport.valueOf(report.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Relatório inválido para exportação: " + report);
+        }
+    }
+
+    private static ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato inválido: " + format + " (csv ou xlsx)");
+        }
+    }
+}
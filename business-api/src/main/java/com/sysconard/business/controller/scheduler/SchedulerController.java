@@ -1,7 +1,10 @@
 package com.sysconard.business.controller.scheduler;
 
-import com.sysconard.business.service.scheduler.DailySalesSchedulerService;
-import com.sysconard.business.service.scheduler.MonthlySalesSchedulerService;
+import com.sysconard.business.dto.scheduler.JobRunResponse;
+import com.sysconard.business.enums.JobRunStatus;
+import com.sysconard.business.enums.JobTrigger;
+import com.sysconard.business.enums.SchedulerJob;
+import com.sysconard.business.service.scheduler.SalesJobOrchestrator;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,11 +14,14 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Controller REST para operações de agendamento e execução manual de processos.
- * Fornece endpoints para execução manual de sincronização e envio de emails.
+ * Fornece endpoints para execução manual de sincronização e envio de emails
+ * e para o histórico das execuções da cadeia de jobs de vendas.
  * 
  * @author Business API
  * @version 1.0
@@ -27,12 +33,12 @@ import java.util.Map;
 @CrossOrigin(origins = "http://localhost:3000")
 public class SchedulerController {
     
-    private final DailySalesSchedulerService dailySalesSchedulerService;
-    private final MonthlySalesSchedulerService monthlySalesSchedulerService;
+    private final SalesJobOrchestrator salesJobOrchestrator;
     
     /**
      * Endpoint para execução manual do processo de sincronização e envio de emails.
-     * Útil para testes e execução sob demanda.
+     * Executa a cadeia completa a partir da sincronização diária e aguarda sua conclusão;
+     * se a mesma cadeia já estiver em andamento, aguarda a execução existente.
      * 
      * @param date Data específica para execução (opcional, usa dia anterior se não informada)
      * @return Resposta com status da execução
@@ -46,38 +52,13 @@ public class SchedulerController {
         
         log.info("Recebida solicitação de execução manual do processo de vendas diárias: date={}", date);
         
-        try {
-            dailySalesSchedulerService.executeManualSyncAndEmail(date);
-            
-            LocalDate targetDate = date != null ? date : LocalDate.now().minusDays(1);
-            
-            Map<String, Object> response = Map.of(
-                "success", true,
-                "message", "Processo executado com sucesso",
-                "targetDate", targetDate.toString(),
-                "executedAt", java.time.LocalDateTime.now().toString()
-            );
-            
-            log.info("Execução manual concluída com sucesso para data: {}", targetDate);
-            
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            log.error("Erro durante execução manual: {}", e.getMessage(), e);
-            
-            Map<String, Object> response = Map.of(
-                "success", false,
-                "message", "Erro durante execução: " + e.getMessage(),
-                "executedAt", java.time.LocalDateTime.now().toString()
-            );
-            
-            return ResponseEntity.status(500).body(response);
-        }
+        LocalDate targetDate = date != null ? date : LocalDate.now().minusDays(1);
+        return executeAndWait(SchedulerJob.DAILY_SALES_SYNC, targetDate, "Processo executado com sucesso");
     }
     
     /**
      * Endpoint para execução manual do processo de sincronização mensal e envio de emails.
-     * Útil para testes e execução sob demanda.
+     * Executa a cadeia a partir da sincronização mensal (mensal → anual → emails) para o dia anterior.
      * 
      * @return Resposta com status da execução
      */
@@ -87,21 +68,101 @@ public class SchedulerController {
         
         log.info("Recebida solicitação de execução manual do processo de vendas mensais");
         
+        return executeAndWait(SchedulerJob.MONTHLY_SALES_SYNC, LocalDate.now().minusDays(1),
+                "Processo de sincronização mensal executado com sucesso");
+    }
+    
+    /**
+     * Endpoint para disparo manual de um job e dos jobs seguintes da cadeia
+     * (daily-sales-sync → monthly-sales-sync → yearly-sales-sync → sales-email).
+     * Não inicia uma execução duplicada: se a mesma cadeia já estiver em andamento,
+     * nesta ou em outra instância, retorna a execução existente com joined=true.
+     * 
+     * @param jobName Nome do job inicial
+     * @param date Dia de vendas (opcional, usa dia anterior se não informado)
+     * @return Execução iniciada ou em andamento (202)
+     */
+    @PostMapping("/jobs/{jobName}/trigger")
+    @PreAuthorize("hasAuthority('SYSTEM_ADMIN')")
+    public ResponseEntity<JobRunResponse> triggerJob(
+            @PathVariable String jobName,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate date) {
+        
+        SchedulerJob job = SchedulerJob.fromJobName(jobName);
+        LocalDate targetDate = date != null ? date : LocalDate.now().minusDays(1);
+        log.info("Recebida solicitação de disparo do job {} para {}", jobName, targetDate);
+        
+        SalesJobOrchestrator.PipelineSubmission submission = 
+                salesJobOrchestrator.submit(job, targetDate, JobTrigger.MANUAL);
+        
+        return salesJobOrchestrator.getRun(submission.runId())
+                .map(run -> ResponseEntity.accepted().body(run.toBuilder().joined(submission.joined()).build()))
+                .orElse(ResponseEntity.accepted().build());
+    }
+    
+    /**
+     * Endpoint para consultar uma execução da cadeia com a duração de cada job.
+     * 
+     * @param runId Identificador da execução
+     * @return Execução ou 404
+     */
+    @GetMapping("/runs/{runId}")
+    @PreAuthorize("hasAuthority('SYSTEM_ADMIN')")
+    public ResponseEntity<JobRunResponse> getRun(@PathVariable UUID runId) {
+        return salesJobOrchestrator.getRun(runId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Endpoint para consultar o histórico recente de execuções da cadeia.
+     * 
+     * @param limit Quantidade máxima de execuções (padrão 20)
+     * @return Execuções mais recentes
+     */
+    @GetMapping("/runs")
+    @PreAuthorize("hasAuthority('SYSTEM_ADMIN')")
+    public ResponseEntity<List<JobRunResponse>> getRecentRuns(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(salesJobOrchestrator.getRecentRuns(Math.min(limit, 200)));
+    }
+    
+    /**
+     * Executa a cadeia a partir de um job e aguarda sua conclusão.
+     */
+    private ResponseEntity<Map<String, Object>> executeAndWait(SchedulerJob job, LocalDate targetDate, String successMessage) {
         try {
-            monthlySalesSchedulerService.executeManualMonthlySalesSync();
+            SalesJobOrchestrator.PipelineSubmission submission = 
+                    salesJobOrchestrator.submit(job, targetDate, JobTrigger.MANUAL);
+            JobRunResponse run = submission.completion().join();
+            
+            if (run.status() != JobRunStatus.COMPLETED) {
+                Map<String, Object> response = Map.of(
+                    "success", false,
+                    "message", "Erro durante execução: " + run.message(),
+                    "runId", run.runId().toString(),
+                    "executedAt", java.time.LocalDateTime.now().toString()
+                );
+                return ResponseEntity.status(500).body(response);
+            }
             
             Map<String, Object> response = Map.of(
                 "success", true,
-                "message", "Processo de sincronização mensal executado com sucesso",
+                "message", successMessage,
+                "targetDate", targetDate.toString(),
+                "runId", run.runId().toString(),
+                "joined", submission.joined(),
                 "executedAt", java.time.LocalDateTime.now().toString()
             );
             
-            log.info("Execução manual de vendas mensais concluída com sucesso");
+            log.info("Execução manual concluída com sucesso: job={}, data={}", job.getJobName(), targetDate);
             
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            log.error("Erro durante execução manual de vendas mensais: {}", e.getMessage(), e);
+            log.error("Erro durante execução manual: {}", e.getMessage(), e);
             
             Map<String, Object> response = Map.of(
                 "success", false,
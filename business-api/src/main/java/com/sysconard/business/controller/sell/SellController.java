@@ -4,15 +4,18 @@ import java.util.List;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.sysconard.business.dto.sell.DailySalesReportResponse;
 import com.sysconard.business.dto.sell.StoreReportRequest;
@@ -25,6 +28,7 @@ import com.sysconard.business.dto.sell.YearlySalesReportResponse;
 import com.sysconard.business.service.sell.DailySalesReportService;
 import com.sysconard.business.service.sell.SellService;
 import com.sysconard.business.service.sell.CurrentDailySalesService;
+import com.sysconard.business.service.sell.CurrentDailySalesStreamService;
 import com.sysconard.business.service.sell.SalesChartService;
 import com.sysconard.business.service.sell.MonthlySalesReportService;
 import com.sysconard.business.service.sell.MonthlySalesChartService;
@@ -55,6 +59,7 @@ public class SellController {
     private final SellService sellService;
     private final DailySalesReportService dailySalesReportService;
     private final CurrentDailySalesService currentDailySalesService;
+    private final CurrentDailySalesStreamService currentDailySalesStreamService;
     private final SalesChartService salesChartService;
     private final MonthlySalesReportService monthlySalesReportService;
     private final MonthlySalesChartService monthlySalesChartService;
@@ -91,8 +96,8 @@ public class SellController {
     
     /**
      * Endpoint para obter relatório de vendas por loja e por dia.
-     * Consome a Legacy API para retornar dados agregados de DANFE, PDV e TROCA3
-     * separados por dia dentro do período solicitado.
+     * Retorna dados agregados de DANFE, PDV e TROCA3 separados por dia dentro do período
+     * solicitado: dias já sincronizados vêm da tabela local, os demais da Legacy API.
      * 
      * @param request DTO com todos os parâmetros necessários para o relatório
      * @return Lista de dados agregados por loja e por dia
@@ -106,7 +111,7 @@ public class SellController {
                 request.startDate(), request.endDate(), request.storeCodes());
         
         try {
-            List<StoreReportByDayResponse> report = sellService.getStoreReportByDay(request);
+            List<StoreReportByDayResponse> report = sellService.getStoreReportByDayWithFallback(request);
             
             log.info("Relatório de vendas por dia processado com sucesso: {} registros retornados", report.size());
             
@@ -185,6 +190,29 @@ public class SellController {
         }
     }
     
+    /**
+     * Endpoint de eventos (Server-Sent Events) com as vendas do dia atual.
+     * Envia todas as lojas ao conectar e, a cada atualização do servidor, apenas as
+     * lojas cujos valores mudaram. Na reconexão, o cabeçalho Last-Event-ID faz com que
+     * somente os eventos perdidos sejam reenviados.
+     * 
+     * @param lastEventId Último id de evento recebido pelo cliente (opcional)
+     * @return Conexão de eventos com os eventos snapshot e stores
+     */
+    @GetMapping(value = "/current-daily-sales/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('sell:read')")
+    public ResponseEntity<SseEmitter> streamCurrentDailySales(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        
+        log.info("Recebida conexão ao canal de vendas do dia atual: lastEventId={}", lastEventId);
+        
+        // Desabilita o buffer de proxies (nginx) para que os eventos cheguem assim que enviados
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(currentDailySalesStreamService.subscribe(lastEventId));
+    }
+    
     /**
      * Endpoint para obter dados de vendas para gráficos.
      * Retorna dados agregados por dia para alimentar gráficos de vendas.
@@ -1,11 +1,16 @@
 package com.sysconard.business.controller.sync;
 
+import com.sysconard.business.dto.sync.DailySalesBackfillRequest;
+import com.sysconard.business.dto.sync.DailySalesBackfillResponse;
 import com.sysconard.business.dto.sync.DailySalesSyncRequest;
 import com.sysconard.business.dto.sync.DailySalesSyncResponse;
 import com.sysconard.business.dto.sync.MonthlySalesSyncRequest;
 import com.sysconard.business.dto.sync.MonthlySalesSyncResponse;
+import com.sysconard.business.dto.sync.StockSnapshotResponse;
 import com.sysconard.business.dto.sync.YearlySalesSyncRequest;
 import com.sysconard.business.dto.sync.YearlySalesSyncResponse;
+import com.sysconard.business.service.stock.StockSnapshotService;
+import com.sysconard.business.service.sync.DailySalesBackfillService;
 import com.sysconard.business.service.sync.DailySalesSyncService;
 import com.sysconard.business.service.sync.MonthlySalesSyncService;
 import com.sysconard.business.service.sync.YearlySalesSyncService;
@@ -18,6 +23,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 /**
  * Controller REST para operações de sincronização de dados.
  * Fornece endpoints para sincronização de vendas diárias e outras operações de sincronização.
@@ -33,8 +40,10 @@ import org.springframework.web.bind.annotation.*;
 public class SyncController {
     
     private final DailySalesSyncService dailySalesSyncService;
+    private final DailySalesBackfillService dailySalesBackfillService;
     private final MonthlySalesSyncService monthlySalesSyncService;
     private final YearlySalesSyncService yearlySalesSyncService;
+    private final StockSnapshotService stockSnapshotService;
     
     /**
      * Endpoint para sincronização manual de vendas diárias.
@@ -68,6 +77,59 @@ public class SyncController {
         }
     }
     
+    /**
+     * Endpoint para backfill de vendas diárias em períodos longos.
+     * Divide o período em chunks semanais ou mensais, executados em segundo plano
+     * com paralelismo limitado e confirmados individualmente.
+     * 
+     * @param request DTO com período do backfill e unidade de divisão opcional
+     * @return Progresso inicial do backfill (202 Accepted)
+     */
+    @PostMapping("/daily-sales/backfill")
+    @PreAuthorize("hasAuthority('sync:execute')")
+    public ResponseEntity<DailySalesBackfillResponse> startDailySalesBackfill(
+            @Valid @RequestBody DailySalesBackfillRequest request) {
+        
+        log.info("Recebida solicitação de backfill de vendas diárias: startDate={}, endDate={}, chunkUnit={}", 
+                request.startDate(), request.endDate(), request.chunkUnit());
+        
+        DailySalesBackfillResponse response = dailySalesBackfillService.startBackfill(request);
+        return ResponseEntity.accepted().body(response);
+    }
+    
+    /**
+     * Endpoint de progresso de um backfill de vendas diárias.
+     * 
+     * @param jobId Identificador do backfill
+     * @return Progresso do backfill ou 404 se não existir
+     */
+    @GetMapping("/daily-sales/backfill/{jobId}")
+    @PreAuthorize("hasAuthority('sync:read')")
+    public ResponseEntity<DailySalesBackfillResponse> getDailySalesBackfillStatus(@PathVariable UUID jobId) {
+        log.debug("Consultando progresso do backfill de vendas diárias: jobId={}", jobId);
+        
+        return dailySalesBackfillService.getBackfillStatus(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    /**
+     * Endpoint para retomar um backfill de vendas diárias a partir do último checkpoint.
+     * Apenas os chunks ainda não concluídos são reexecutados.
+     * 
+     * @param jobId Identificador do backfill
+     * @return Progresso do backfill retomado ou 404 se não existir
+     */
+    @PostMapping("/daily-sales/backfill/{jobId}/resume")
+    @PreAuthorize("hasAuthority('sync:execute')")
+    public ResponseEntity<DailySalesBackfillResponse> resumeDailySalesBackfill(@PathVariable UUID jobId) {
+        log.info("Recebida solicitação de retomada do backfill de vendas diárias: jobId={}", jobId);
+        
+        return dailySalesBackfillService.resumeBackfill(jobId)
+                .map(response -> ResponseEntity.accepted().body(response))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     /**
      * Endpoint para sincronização de vendas mensais.
      * Agrega vendas diárias por mês e loja, salvando na tabela monthly_sells.
@@ -133,6 +195,41 @@ public class SyncController {
         }
     }
     
+    /**
+     * Endpoint para atualização manual do snapshot local de estoque.
+     * Lê a matriz de estoque da Legacy API; o snapshot anterior continua sendo
+     * servido até a conclusão.
+     * 
+     * @return Resultado da atualização (409 se já houver uma em andamento)
+     */
+    @PostMapping("/stock-snapshot")
+    @PreAuthorize("hasAuthority('sync:execute')")
+    public ResponseEntity<StockSnapshotResponse> refreshStockSnapshot() {
+        log.info("Recebida solicitação de atualização do snapshot de estoque");
+        
+        try {
+            return ResponseEntity.ok(stockSnapshotService.refreshSnapshot());
+        } catch (IllegalStateException e) {
+            log.warn("Atualização do snapshot de estoque recusada: {}", e.getMessage());
+            return ResponseEntity.status(409).build();
+        }
+    }
+    
+    /**
+     * Endpoint de situação do snapshot local de estoque.
+     * 
+     * @return Snapshot servido (ou a última tentativa) ou 404 se nunca houve atualização
+     */
+    @GetMapping("/stock-snapshot")
+    @PreAuthorize("hasAuthority('sync:read')")
+    public ResponseEntity<StockSnapshotResponse> getStockSnapshotStatus() {
+        log.debug("Consultando situação do snapshot de estoque");
+        
+        return stockSnapshotService.getStatus()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     /**
      * Endpoint de status/health check para o serviço de sincronização.
      * Útil para monitoramento e verificação da disponibilidade do serviço.
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 /**
  * DTO de resposta para item de estoque na Business API
  * Representa um produto com suas quantidades por loja
@@ -108,4 +110,10 @@ public class StockItemResponseDTO {
      * Soma de loj1 + loj2 + ... + loj14
      */
     private Long total;
+    
+    /**
+     * Quantidade por código de loja, sem limite de lojas
+     * Preenchido apenas quando a resposta vem do snapshot local (lojas sem estoque são omitidas)
+     */
+    private Map<String, Long> quantities;
 }
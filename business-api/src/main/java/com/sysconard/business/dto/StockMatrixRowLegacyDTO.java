@@ -0,0 +1,42 @@
+package com.sysconard.business.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO para receber uma linha da matriz de estoque da Legacy API (GET /stocks/matrix/stream).
+ * As quantidades são indexadas pelo código da loja (6 dígitos); lojas sem estoque são omitidas.
+ * 
+ * @author Business API
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMatrixRowLegacyDTO {
+    
+    /**
+     * Código PLU da referência
+     */
+    private String refplu;
+    
+    /**
+     * Nome da marca
+     */
+    private String marca;
+    
+    /**
+     * Descrição do produto
+     */
+    private String descricao;
+    
+    /**
+     * Quantidade em estoque por código de loja
+     */
+    private Map<String, Long> quantities;
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * DTO de resposta paginada para estoque na Business API
@@ -51,6 +52,16 @@ public class StockPageResponseDTO {
      */
     private String message;
     
+    /**
+     * Códigos das lojas na ordem das colunas loj1, loj2, ... (apenas no snapshot local)
+     */
+    private List<String> storeCodes;
+    
+    /**
+     * Origem e atualização dos dados
+     */
+    private Freshness freshness;
+    
     /**
      * Metadados de paginação
      */
@@ -65,6 +76,24 @@ public class StockPageResponseDTO {
         private Integer pageSize;
         private Boolean hasNext;
         private Boolean hasPrevious;
+        /** Cursor para a próxima página (parâmetro after); null na última página */
+        private String nextCursor;
+    }
+    
+    /**
+     * Origem e atualização dos dados
+     * source: "snapshot" (snapshot local) ou "live" (consulta direta à Legacy API)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Freshness {
+        private String source;
+        private UUID snapshotId;
+        private LocalDateTime snapshotAt;
+        private Long ageSeconds;
+        private Boolean stale;
     }
     
     /**
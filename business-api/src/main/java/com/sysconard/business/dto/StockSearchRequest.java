@@ -18,7 +18,10 @@ public record StockSearchRequest(
     @Min(0) int page,
     @Min(1) @Max(100) int size,
     String sortBy,
-    String sortDir
+    String sortDir,
+    String after,
+    Boolean includeCount,
+    Boolean live
 ) {
     /**
      * Construtor compacto para validações
@@ -42,16 +45,21 @@ public record StockSearchRequest(
         if (sortDir == null || sortDir.trim().isEmpty()) {
             sortDir = "asc";
         }
+        if (after != null && after.trim().isEmpty()) {
+            after = null;
+        }
+        if (includeCount == null) {
+            includeCount = true;
+        }
+        if (live == null) {
+            live = false;
+        }
         
         // Validar valores permitidos para sortBy
-        String[] validSortFields = {
-            "refplu", "marca", "descricao", 
-            "loj1", "loj2", "loj3", "loj4", "loj5", "loj6", "loj7", 
-            "loj8", "loj9", "loj10", "loj11", "loj12", "loj13", "loj14",
-            "total"
-        };
+        // Colunas de loja (lojN) não têm limite: o snapshot local atende qualquer número de lojas
+        String[] validSortFields = {"refplu", "marca", "descricao", "total"};
         
-        boolean isValidSortBy = false;
+        boolean isValidSortBy = sortBy.toLowerCase().matches("loj[1-9]\\d*");
         for (String field : validSortFields) {
             if (field.equalsIgnoreCase(sortBy)) {
                 isValidSortBy = true;
@@ -62,7 +70,7 @@ public record StockSearchRequest(
         if (!isValidSortBy) {
             throw new IllegalArgumentException(
                 "Campo de ordenação inválido: " + sortBy + 
-                ". Valores válidos: refplu, marca, descricao, loj1-loj14, total"
+                ". Valores válidos: refplu, marca, descricao, lojN, total"
             );
         }
     }
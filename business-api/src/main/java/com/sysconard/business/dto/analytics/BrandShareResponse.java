@@ -0,0 +1,25 @@
+package com.sysconard.business.dto.analytics;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+/**
+ * Record para resposta da participação de uma marca nas vendas do período.
+ * 
+ * @param brand Marca (vazia para produtos sem marca)
+ * @param quantity Quantidade vendida
+ * @param totalValue Valor vendido
+ * @param sharePercentage Percentual do valor vendido no período (duas casas decimais)
+ * 
+ * @author Business API
+ * @version 1.0
+ */
+@Builder
+public record BrandShareResponse(
+    String brand,
+    long quantity,
+    BigDecimal totalValue,
+    BigDecimal sharePercentage
+) {
+}
@@ -0,0 +1,24 @@
+package com.sysconard.business.dto.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Record para resposta da reconstrução dos agregados de vendas.
+ * 
+ * @param startDate Primeiro dia reconstruído (início do mês)
+ * @param endDate Último dia reconstruído (fim do mês)
+ * @param deleted Agregados removidos
+ * @param written Agregados gravados
+ * @param durationMs Duração em milissegundos
+ * 
+ * @author Business API
+ * @version 1.0
+ */
+public record RollupRebuildResponse(
+    LocalDate startDate,
+    LocalDate endDate,
+    int deleted,
+    int written,
+    long durationMs
+) {
+}
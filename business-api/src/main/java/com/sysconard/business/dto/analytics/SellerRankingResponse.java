@@ -0,0 +1,29 @@
+package com.sysconard.business.dto.analytics;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+/**
+ * Record para resposta de um colaborador no ranking de vendedores.
+ * 
+ * @param position Posição no ranking (a partir de 1)
+ * @param collaboratorCode Código do colaborador
+ * @param collaboratorName Nome do colaborador
+ * @param quantity Quantidade vendida
+ * @param totalValue Valor vendido
+ * @param itemCount Itens de venda
+ * 
+ * @author Business API
+ * @version 1.0
+ */
+@Builder
+public record SellerRankingResponse(
+    int position,
+    String collaboratorCode,
+    String collaboratorName,
+    long quantity,
+    BigDecimal totalValue,
+    long itemCount
+) {
+}
@@ -0,0 +1,29 @@
+package com.sysconard.business.dto.analytics;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+/**
+ * Record para resposta de um produto no ranking de mais vendidos.
+ * 
+ * @param position Posição no ranking (a partir de 1)
+ * @param productRefCode Código de referência do produto
+ * @param description Descrição do produto
+ * @param brand Marca do produto
+ * @param quantity Quantidade vendida no período
+ * @param totalValue Valor vendido no período
+ * 
+ * @author Business API
+ * @version 1.0
+ */
+@Builder
+public record TopProductResponse(
+    int position,
+    String productRefCode,
+    String description,
+    String brand,
+    long quantity,
+    BigDecimal totalValue
+) {
+}
@@ -1,10 +1,13 @@
 package com.sysconard.business.dto.dashboard;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * DTO de resposta para resumo do dashboard.
  * Contém métricas principais para exibição na página inicial.
+ * Métricas que falharam ou excederam o tempo limite são retornadas zeradas
+ * e listadas em unavailableMetrics.
  * Utiliza Record para simplicidade e imutabilidade.
  * 
  * @author Business API
@@ -14,7 +17,8 @@ public record DashboardSummaryResponse(
     BigDecimal totalSalesToday,
     BigDecimal totalSalesMonth,
     BigDecimal totalSalesYear,
-    Integer activeStoresCount
+    Integer activeStoresCount,
+    List<String> unavailableMetrics
 ) {
     
     /**
@@ -34,5 +38,6 @@ public record DashboardSummaryResponse(
         if (activeStoresCount == null) {
             activeStoresCount = 0;
         }
+        unavailableMetrics = unavailableMetrics != null ? List.copyOf(unavailableMetrics) : List.of();
     }
 }
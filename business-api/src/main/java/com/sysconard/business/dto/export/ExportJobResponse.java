@@ -0,0 +1,46 @@
+package com.sysconard.business.dto.export;
+
+import com.sysconard.business.enums.ExportFormat;
+import com.sysconard.business.enums.ExportJobStatus;
+import com.sysconard.business.enums.ExportReport;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Record para resposta de progresso de uma exportação em segundo plano.
+ * 
+ * @param jobId Identificador da exportação
+ * @param report Relatório exportado
+ * @param format Formato do arquivo
+ * @param status Situação atual da exportação
+ * @param rowsWritten Linhas gravadas até o momento
+ * @param fileName Nome do arquivo para download
+ * @param fileSize Tamanho do arquivo em bytes (após a conclusão)
+ * @param downloadUrl Caminho para download, relativo ao context-path (após a conclusão)
+ * @param errorMessage Mensagem de erro (em caso de falha)
+ * @param createdAt Data e hora da solicitação
+ * @param startedAt Data e hora do início da execução
+ * @param finishedAt Data e hora de término
+ * @param expiresAt Data e hora a partir da qual o arquivo é removido
+ * 
+ * @author Business API
+ * @version 1.0
+ */
+@Builder
+public record ExportJobResponse(
+    UUID jobId,
+    ExportReport report,
+    ExportFormat format,
+    ExportJobStatus status,
+    long rowsWritten,
+    String fileName,
+    Long fileSize,
+    String downloadUrl,
+    String errorMessage,
+    LocalDateTime createdAt,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    LocalDateTime expiresAt
+) {}
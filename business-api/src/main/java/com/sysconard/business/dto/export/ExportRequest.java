@@ -0,0 +1,73 @@
+package com.sysconard.business.dto.export;
+
+import com.sysconard.business.enums.ExportFormat;
+import com.sysconard.business.enums.ExportReport;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * Record para requisição de exportação de um relatório em CSV ou XLSX.
+ * Cada relatório usa apenas os filtros que lhe dizem respeito: período e loja
+ * para vendas; refplu, marca, descrição e grupo para estoque e compras.
+ * 
+ * @param report Relatório exportado (obrigatório)
+ * @param format Formato do arquivo (padrão CSV)
+ * @param startDate Data de início do período (relatórios de vendas)
+ * @param endDate Data de fim do período (relatórios de vendas)
+ * @param storeCode Código da loja (opcional, null = todas as lojas ativas)
+ * @param refplu Filtro por REFPLU (opcional)
+ * @param marca Filtro por marca (opcional)
+ * @param descricao Filtro por descrição (opcional)
+ * @param grupo Filtro por grupo (opcional, análise de compras e estoque crítico)
+ * @param hasStock Apenas referências com estoque (estoque, padrão true)
+ * @param hideNoSales Ocultar produtos sem vendas em 90 dias (análise de compras, padrão true)
+ * 
+ * @author Business API
+ * @version 1.0
+ */
+@Builder
+public record ExportRequest(
+    @NotNull(message = "Relatório é obrigatório")
+    ExportReport report,
+    
+    ExportFormat format,
+    
+    LocalDate startDate,
+    
+    LocalDate endDate,
+    
+    @Size(max = 6, message = "Código da loja deve ter no máximo 6 caracteres")
+    String storeCode,
+    
+    @Size(max = 6, message = "REFPLU deve ter no máximo 6 caracteres")
+    String refplu,
+    
+    @Size(max = 100, message = "Marca deve ter no máximo 100 caracteres")
+    String marca,
+    
+    @Size(max = 100, message = "Descrição deve ter no máximo 100 caracteres")
+    String descricao,
+    
+    @Size(max = 100, message = "Grupo deve ter no máximo 100 caracteres")
+    String grupo,
+    
+    Boolean hasStock,
+    
+    Boolean hideNoSales
+) {
+    /**
+     * Construtor compacto com validações e valores padrão
+     */
+    public ExportRequest {
+        format = format != null ? format : ExportFormat.CSV;
+        hasStock = hasStock != null ? hasStock : true;
+        hideNoSales = hideNoSales != null ? hideNoSales : true;
+        
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Data de início não pode ser posterior à data de fim");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.sysconard.business.dto.scheduler;
+
+import com.sysconard.business.entity.scheduler.JobRun;
+import com.sysconard.business.enums.JobRunStatus;
+import com.sysconard.business.enums.JobTrigger;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Record para resposta de uma execução de job agendado.
+ * 
+ * @param runId Identificador da execução
+ * @param jobName Nome do job ou da cadeia
+ * @param runDate Dia de vendas processado
+ * @param trigger Origem da execução
+ * @param status Situação da execução
+ * @param owner Instância que executou
+ * @param created Registros criados
+ * @param updated Registros atualizados
+ * @param storesProcessed Lojas processadas
+ * @param message Mensagem de erro ou motivo de ter sido ignorada
+ * @param startedAt Data e hora de início
+ * @param finishedAt Data e hora de término
+ * @param durationMs Duração em milissegundos
+ * @param joined true se a solicitação foi associada a uma execução já em andamento
+ * @param steps Jobs executados pela cadeia
+ * 
+ * @author Business API
+ * @version 1.0
+ */
+@Builder(toBuilder = true)
+public record JobRunResponse(
+    UUID runId,
+    String jobName,
+    LocalDate runDate,
+    JobTrigger trigger,
+    JobRunStatus status,
+    String owner,
+    int created,
+    int updated,
+    int storesProcessed,
+    String message,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    Long durationMs,
+    boolean joined,
+    List<JobRunResponse> steps
+) {
+    /**
+     * Constrói a resposta a partir do registro de histórico.
+     * 
+     * @param run Execução persistida
+     * @param steps Jobs da cadeia (vazio para um job individual)
+     * @return Resposta da execução
+     */
+    public static JobRunResponse from(JobRun run, List<JobRunResponse> steps) {
+        return JobRunResponse.builder()
+                .runId(run.getId())
+                .jobName(run.getJobName())
+                .runDate(run.getRunDate())
+                .trigger(run.getTrigger())
+                .status(run.getStatus())
+                .owner(run.getOwner())
+                .created(run.getCreatedCount())
+                .updated(run.getUpdatedCount())
+                .storesProcessed(run.getStoresProcessed())
+                .message(run.getMessage())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .durationMs(run.getDurationMs())
+                .steps(steps)
+                .build();
+    }
+}
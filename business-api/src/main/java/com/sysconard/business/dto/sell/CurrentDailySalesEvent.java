@@ -0,0 +1,33 @@
+package com.sysconard.business.dto.sell;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Record para os eventos do canal de vendas do dia atual (Server-Sent Events).
+ * No evento "snapshot" contém todas as lojas ativas; no evento "stores" contém
+ * apenas as lojas cujos valores mudaram desde o evento anterior.
+ *
+ * @param date Dia das vendas
+ * @param stores Linhas do relatório de vendas do dia por loja
+ * @param fetchedAt Momento em que os dados foram obtidos da Legacy API
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Builder
+public record CurrentDailySalesEvent(
+    LocalDate date,
+    List<DailySalesReportResponse> stores,
+    LocalDateTime fetchedAt
+) {
+    /**
+     * Construtor compacto com validações e inicializações
+     */
+    public CurrentDailySalesEvent {
+        stores = stores != null ? List.copyOf(stores) : List.of();
+    }
+}
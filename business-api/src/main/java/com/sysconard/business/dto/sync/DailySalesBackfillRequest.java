@@ -0,0 +1,48 @@
+package com.sysconard.business.dto.sync;
+
+import com.sysconard.business.enums.BackfillChunkUnit;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+/**
+ * Record para requisição de backfill de vendas diárias.
+ * O período informado é dividido em chunks semanais ou mensais,
+ * sincronizados e confirmados de forma independente.
+ * 
+ * @param startDate Data de início do período do backfill (obrigatório)
+ * @param endDate Data de fim do período do backfill (obrigatório)
+ * @param chunkUnit Unidade de divisão do período (opcional, usa o padrão configurado)
+ * 
+ * @author Business API
+ * @version 1.0
+ */
+@Builder
+public record DailySalesBackfillRequest(
+    @NotNull(message = "Data de início é obrigatória")
+    LocalDate startDate,
+    
+    @NotNull(message = "Data de fim é obrigatória")
+    LocalDate endDate,
+    
+    BackfillChunkUnit chunkUnit
+) {
+    /**
+     * Construtor compacto com validações customizadas.
+     * Aplica as mesmas regras de período da sincronização diária.
+     */
+    public DailySalesBackfillRequest {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Data de início não pode ser posterior à data de fim");
+        }
+        
+        if (startDate != null && startDate.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Data de início não pode ser futura");
+        }
+        
+        if (endDate != null && endDate.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Data de fim não pode ser futura");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.sysconard.business.dto.sync;
+
+import com.sysconard.business.enums.BackfillChunkUnit;
+import com.sysconard.business.enums.BackfillStatus;
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Record para resposta de progresso de um backfill de vendas diárias.
+ * 
+ * @param jobId Identificador do backfill
+ * @param status Situação atual do backfill
+ * @param startDate Data de início do período completo
+ * @param endDate Data de fim do período completo
+ * @param chunkUnit Unidade de divisão do período
+ * @param totalChunks Quantidade total de chunks
+ * @param completedChunks Chunks concluídos
+ * @param failedChunks Chunks que falharam após todas as tentativas
+ * @param runningChunks Chunks em execução
+ * @param pendingChunks Chunks aguardando execução
+ * @param created Total de registros criados pelos chunks concluídos
+ * @param updated Total de registros atualizados pelos chunks concluídos
+ * @param startedAt Data e hora do início (ou da última retomada)
+ * @param finishedAt Data e hora de término
+ * @param chunks Progresso individual de cada chunk
+ * 
+ * @author Business API
+ * @version 1.0
+ */
+@Builder
+public record DailySalesBackfillResponse(
+    UUID jobId,
+    BackfillStatus status,
+    LocalDate startDate,
+    LocalDate endDate,
+    BackfillChunkUnit chunkUnit,
+    int totalChunks,
+    int completedChunks,
+    int failedChunks,
+    int runningChunks,
+    int pendingChunks,
+    int created,
+    int updated,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    List<ChunkProgress> chunks
+) {
+    /**
+     * Percentual de chunks concluídos.
+     * 
+     * @return Percentual entre 0 e 100
+     */
+    public double getProgressPercentage() {
+        return totalChunks == 0 ? 100.0 : (completedChunks * 100.0) / totalChunks;
+    }
+    
+    /**
+     * Progresso de um chunk do backfill.
+     * 
+     * @param chunkStart Primeiro dia do chunk
+     * @param chunkEnd Último dia do chunk
+     * @param status Situação do chunk
+     * @param attempts Tentativas realizadas
+     * @param created Registros criados
+     * @param updated Registros atualizados
+     * @param lastError Último erro ocorrido
+     * @param completedAt Data e hora de conclusão
+     */
+    public record ChunkProgress(
+        LocalDate chunkStart,
+        LocalDate chunkEnd,
+        BackfillStatus status,
+        int attempts,
+        int created,
+        int updated,
+        String lastError,
+        LocalDateTime completedAt
+    ) {}
+}
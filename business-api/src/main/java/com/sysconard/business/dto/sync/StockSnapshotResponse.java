@@ -0,0 +1,33 @@
+package com.sysconard.business.dto.sync;
+
+import com.sysconard.business.enums.StockSnapshotStatus;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Record para resposta de uma atualização do snapshot local de estoque.
+ * 
+ * @param snapshotId Identificador do snapshot
+ * @param status Situação da atualização
+ * @param itemCount Quantidade de referências gravadas
+ * @param storeCount Quantidade de lojas com estoque
+ * @param startedAt Data e hora do início da leitura na Legacy API
+ * @param finishedAt Data e hora de conclusão
+ * @param errorMessage Mensagem de erro da atualização que falhou
+ * 
+ * @author Business API
+ * @version 1.0
+ */
+@Builder
+public record StockSnapshotResponse(
+    UUID snapshotId,
+    StockSnapshotStatus status,
+    long itemCount,
+    int storeCount,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt,
+    String errorMessage
+) {
+}
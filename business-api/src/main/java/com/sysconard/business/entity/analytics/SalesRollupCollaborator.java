@@ -0,0 +1,89 @@
+package com.sysconard.business.entity.analytics;
+
+import com.sysconard.business.enums.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidade SalesRollupCollaborator que representa o total de vendas de um período
+ * (dia ou mês) por loja e colaborador, agregado a partir de sale_details.
+ * Mantida incrementalmente a cada lote de vendas inserido (SaleDetailRepositoryImpl).
+ */
+@Entity
+@Table(
+    name = "sales_rollup_collaborators",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_sales_rollup_collaborators_key",
+        columnNames = {"granularity", "period_start", "store_code", "collaborator_code"}
+    )
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesRollupCollaborator {
+
+    /**
+     * Identificador único do agregado.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * Granularidade do período (DAY ou MONTH).
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 5)
+    private RollupGranularity granularity;
+
+    /**
+     * Primeiro dia do período.
+     */
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    /**
+     * Código da loja.
+     */
+    @Column(name = "store_code", nullable = false, length = 6)
+    private String storeCode;
+
+    /**
+     * Código do colaborador.
+     */
+    @Column(name = "collaborator_code", nullable = false, length = 6)
+    private String collaboratorCode;
+
+    /**
+     * Quantidade vendida.
+     */
+    @Column(nullable = false)
+    private long quantity;
+
+    /**
+     * Valor total vendido.
+     */
+    @Column(name = "total_value", nullable = false, precision = 18, scale = 2)
+    private BigDecimal totalValue;
+
+    /**
+     * Itens de venda agregados.
+     */
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    /**
+     * Data e hora da última atualização do agregado.
+     */
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,138 @@
+package com.sysconard.business.entity.email;
+
+import com.sysconard.business.enums.OutboundEmailStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Entidade OutboundEmail que representa uma mensagem na fila de envio de emails.
+ * Cada mensagem é enviada em uma única transação SMTP para todos os seus destinatários;
+ * o conteúdo HTML é renderizado uma vez por relatório, antes do enfileiramento.
+ */
+@Entity
+@Table(name = "outbound_emails",
+       indexes = @Index(name = "idx_outbound_emails_status_next_attempt", columnList = "status, next_attempt_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboundEmail {
+
+    /**
+     * Identificador único da mensagem.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * Assunto do email.
+     */
+    @Column(nullable = false, length = 255)
+    private String subject;
+
+    /**
+     * Conteúdo HTML do email.
+     */
+    @Column(name = "html_body", nullable = false, columnDefinition = "TEXT")
+    private String htmlBody;
+
+    /**
+     * Endereços dos destinatários separados por vírgula.
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String recipients;
+
+    /**
+     * Situação atual da mensagem.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboundEmailStatus status;
+
+    /**
+     * Quantidade de tentativas de envio já realizadas.
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * Data e hora a partir da qual a mensagem pode ser enviada (ou reenviada).
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Mensagem do último erro ocorrido, quando houver.
+     */
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /**
+     * Instância que reservou a mensagem para envio (SENDING).
+     */
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    /**
+     * Data e hora da reserva para envio.
+     */
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    /**
+     * Data e hora do envio.
+     */
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    /**
+     * Data e hora de criação do registro.
+     */
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    /**
+     * Data e hora da última atualização do registro.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Lista de destinatários da mensagem.
+     *
+     * @return Endereços dos destinatários
+     */
+    public List<String> getRecipientList() {
+        return Arrays.stream(recipients.split(","))
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Define automaticamente os campos de auditoria antes da persistência.
+     */
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    /**
+     * Atualiza automaticamente o campo updatedAt antes de cada modificação.
+     */
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,140 @@
+package com.sysconard.business.entity.export;
+
+import com.sysconard.business.enums.ExportFormat;
+import com.sysconard.business.enums.ExportJobStatus;
+import com.sysconard.business.enums.ExportReport;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidade ExportJob que representa uma exportação de relatório executada em segundo plano.
+ * O arquivo gerado fica em export.jobs.dir até expiresAt e só pode ser baixado
+ * pelo usuário que solicitou a exportação.
+ */
+@Entity
+@Table(name = "export_jobs",
+       indexes = @Index(name = "idx_export_jobs_status_updated_at", columnList = "status, updated_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJob {
+
+    /**
+     * Identificador único da exportação.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * Relatório exportado.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private ExportReport report;
+
+    /**
+     * Formato do arquivo.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ExportFormat format;
+
+    /**
+     * Filtros da requisição em JSON.
+     */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String parameters;
+
+    /**
+     * Email do usuário que solicitou a exportação.
+     */
+    @Column(name = "requested_by", nullable = false, length = 255)
+    private String requestedBy;
+
+    /**
+     * Situação atual da exportação.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ExportJobStatus status;
+
+    /**
+     * Linhas gravadas até o momento.
+     */
+    @Column(name = "rows_written", nullable = false)
+    private long rowsWritten;
+
+    /**
+     * Nome do arquivo para download.
+     */
+    @Column(name = "file_name", nullable = false, length = 255)
+    private String fileName;
+
+    /**
+     * Tamanho do arquivo gerado em bytes.
+     */
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    /**
+     * Mensagem de erro, em caso de falha.
+     */
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    /**
+     * Data e hora do início da execução.
+     */
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    /**
+     * Data e hora de término da execução.
+     */
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Data e hora a partir da qual o arquivo é removido.
+     */
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    /**
+     * Data e hora de criação do registro.
+     */
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    /**
+     * Data e hora da última atualização do registro.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Define automaticamente os campos de auditoria antes da persistência.
+     */
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    /**
+     * Atualiza automaticamente o campo updatedAt antes de cada modificação.
+     */
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
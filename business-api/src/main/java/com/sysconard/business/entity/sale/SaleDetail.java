@@ -15,9 +15,21 @@ import java.util.UUID;
  * Utiliza Lombok para reduzir boilerplate e melhorar manutenibilidade.
  * Usa UUID como chave primária para melhor distribuição e segurança.
  * Inclui campos de auditoria para rastreamento de criação e atualização.
+ * A chave composta (saleCode, productRefCode, itemSequence) é única e permite
+ * inserções em lote com {@code ON CONFLICT DO NOTHING}; a constraint inclui sale_date
+ * porque a tabela é particionada por mês nessa coluna
+ * (ver scripts/partition-sale-details-table.sql). Consultas devem filtrar sale_date
+ * para que o PostgreSQL leia apenas as partições do período.
  */
 @Entity
-@Table(name = "sale_details")
+@Table(
+    name = "sale_details",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_sale_details_sale_item",
+        columnNames = {"sale_code", "product_ref_code", "item_sequence", "sale_date"}
+    ),
+    indexes = @Index(name = "idx_sale_details_store_date", columnList = "store_code, sale_date")
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -0,0 +1,51 @@
+package com.sysconard.business.entity.scheduler;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade JobLease que representa a posse temporária de um job agendado.
+ * Apenas a instância dona de uma lease válida executa o job; a lease é
+ * renovada enquanto o job executa e expira sozinha se a instância cair.
+ */
+@Entity
+@Table(name = "job_leases")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLease {
+
+    /**
+     * Nome do job (ex: daily-sales-sync).
+     */
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    /**
+     * Identificador da execução dona da lease (instância + execução).
+     */
+    @Column(nullable = false, length = 200)
+    private String owner;
+
+    /**
+     * Data e hora em que a lease foi obtida.
+     */
+    @Column(name = "acquired_at", nullable = false)
+    private LocalDateTime acquiredAt;
+
+    /**
+     * Data e hora em que a lease expira se não for renovada.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,130 @@
+package com.sysconard.business.entity.scheduler;
+
+import com.sysconard.business.enums.JobRunStatus;
+import com.sysconard.business.enums.JobTrigger;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidade JobRun que representa uma execução de job agendado.
+ * A execução da cadeia (pipeline) e cada job executado nela possuem
+ * seu próprio registro; os jobs apontam para a execução da cadeia em pipelineRunId.
+ */
+@Entity
+@Table(name = "job_runs",
+       indexes = {
+           @Index(name = "idx_job_runs_job_run_date", columnList = "job_name, run_date"),
+           @Index(name = "idx_job_runs_pipeline", columnList = "pipeline_run_id")
+       })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobRun {
+
+    /**
+     * Identificador único da execução.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * Nome do job ou da cadeia executada.
+     */
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    /**
+     * Dia de vendas processado pela execução.
+     */
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    /**
+     * Job inicial da cadeia (somente na execução da própria cadeia).
+     */
+    @Column(name = "start_job", length = 100)
+    private String startJob;
+
+    /**
+     * Execução da cadeia à qual o job pertence (nulo na própria cadeia).
+     */
+    @Column(name = "pipeline_run_id")
+    private UUID pipelineRunId;
+
+    /**
+     * Origem da execução.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "run_trigger", nullable = false, length = 20)
+    private JobTrigger trigger;
+
+    /**
+     * Situação atual da execução.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private JobRunStatus status;
+
+    /**
+     * Instância que executou o job.
+     */
+    @Column(nullable = false, length = 200)
+    private String owner;
+
+    /**
+     * Registros criados pelo job, quando aplicável.
+     */
+    @Column(name = "created_count", nullable = false)
+    private int createdCount;
+
+    /**
+     * Registros atualizados pelo job, quando aplicável.
+     */
+    @Column(name = "updated_count", nullable = false)
+    private int updatedCount;
+
+    /**
+     * Lojas processadas pelo job, quando aplicável.
+     */
+    @Column(name = "stores_processed", nullable = false)
+    private int storesProcessed;
+
+    /**
+     * Mensagem de erro ou motivo da execução ter sido ignorada.
+     */
+    @Column(length = 1000)
+    private String message;
+
+    /**
+     * Data e hora de início.
+     */
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    /**
+     * Data e hora de término.
+     */
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Última confirmação de atividade da cadeia em execução, renovada pela instância que a executa.
+     */
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    /**
+     * Duração da execução em milissegundos.
+     */
+    @Column(name = "duration_ms")
+    private Long durationMs;
+}
@@ -18,7 +18,8 @@ import java.util.UUID;
  * Campos monetários utilizam BigDecimal para precisão em cálculos financeiros.
  */
 @Entity
-@Table(name = "monthly_sells")
+@Table(name = "monthly_sells",
+       uniqueConstraints = @UniqueConstraint(name = "idx_monthly_sells_store_year_month", columnNames = {"store_id", "year_month"}))
 @Data
 @Builder
 @NoArgsConstructor
@@ -18,7 +18,8 @@ import java.util.UUID;
  * Campos monetários utilizam BigDecimal para precisão em cálculos financeiros.
  */
 @Entity
-@Table(name = "year_sells")
+@Table(name = "year_sells",
+       uniqueConstraints = @UniqueConstraint(name = "idx_year_sells_store_year", columnNames = {"store_id", "year"}))
 @Data
 @Builder
 @NoArgsConstructor
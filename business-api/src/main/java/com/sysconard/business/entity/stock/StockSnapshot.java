@@ -0,0 +1,100 @@
+package com.sysconard.business.entity.stock;
+
+import com.sysconard.business.enums.StockSnapshotStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidade StockSnapshot que representa uma atualização do snapshot local de estoque.
+ * As linhas da matriz (StockSnapshotItem e StockSnapshotQuantity) são gravadas com o
+ * identificador do snapshot; as consultas leem apenas o último snapshot concluído,
+ * de forma que uma atualização em andamento nunca é visível parcialmente.
+ */
+@Entity
+@Table(name = "stock_snapshots")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshot {
+
+    /**
+     * Identificador único do snapshot.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * Situação atual da atualização.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StockSnapshotStatus status;
+
+    /**
+     * Quantidade de referências (refplu) gravadas.
+     */
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    /**
+     * Quantidade de lojas com estoque no snapshot.
+     */
+    @Column(name = "store_count", nullable = false)
+    private int storeCount;
+
+    /**
+     * Data e hora do início da leitura na Legacy API.
+     */
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    /**
+     * Data e hora de conclusão da atualização.
+     */
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Mensagem de erro da atualização que falhou.
+     */
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    /**
+     * Data e hora de criação do registro.
+     */
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    /**
+     * Data e hora da última atualização do registro.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Define automaticamente os campos de auditoria antes da persistência.
+     */
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    /**
+     * Atualiza automaticamente o campo updatedAt antes de cada modificação.
+     */
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
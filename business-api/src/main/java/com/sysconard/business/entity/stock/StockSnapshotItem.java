@@ -0,0 +1,77 @@
+package com.sysconard.business.entity.stock;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Entidade StockSnapshotItem que representa uma referência (refplu) do snapshot de estoque.
+ * Guarda os dados do produto e o total em estoque; as quantidades por loja ficam em
+ * StockSnapshotQuantity, sem limite de lojas.
+ * Os índices seguem as ordenações e filtros da tela de estoque dentro de um snapshot.
+ * As linhas são gravadas em lote por SQL nativo (StockSnapshotItemRepositoryImpl).
+ */
+@Entity
+@Table(
+    name = "stock_snapshot_items",
+    indexes = {
+        @Index(name = "idx_stock_snapshot_items_brand", columnList = "snapshot_id, brand"),
+        @Index(name = "idx_stock_snapshot_items_description", columnList = "snapshot_id, description"),
+        @Index(name = "idx_stock_snapshot_items_total", columnList = "snapshot_id, total_quantity")
+    }
+)
+@IdClass(StockSnapshotItem.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshotItem {
+
+    /**
+     * Snapshot ao qual a linha pertence.
+     */
+    @Id
+    @Column(name = "snapshot_id", nullable = false)
+    private UUID snapshotId;
+
+    /**
+     * Código PLU da referência.
+     */
+    @Id
+    @Column(nullable = false, length = 20)
+    private String refplu;
+
+    /**
+     * Nome da marca.
+     */
+    @Column(length = 100)
+    private String brand;
+
+    /**
+     * Descrição do produto.
+     */
+    @Column(length = 255)
+    private String description;
+
+    /**
+     * Soma das quantidades de todas as lojas.
+     */
+    @Column(name = "total_quantity", nullable = false)
+    private long totalQuantity;
+
+    /**
+     * Chave composta (snapshotId, refplu).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID snapshotId;
+        private String refplu;
+    }
+}
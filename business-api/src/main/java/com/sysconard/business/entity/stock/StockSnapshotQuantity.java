@@ -0,0 +1,69 @@
+package com.sysconard.business.entity.stock;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Entidade StockSnapshotQuantity que representa a quantidade de uma referência em uma loja.
+ * A matriz refplu × loja é guardada em formato longo (uma linha por loja com estoque),
+ * o que permite qualquer número de lojas. O índice por loja e quantidade atende à
+ * ordenação por coluna de loja.
+ * As linhas são gravadas em lote por SQL nativo (StockSnapshotItemRepositoryImpl).
+ */
+@Entity
+@Table(
+    name = "stock_snapshot_quantities",
+    indexes = @Index(name = "idx_stock_snapshot_quantities_store", columnList = "snapshot_id, store_code, quantity")
+)
+@IdClass(StockSnapshotQuantity.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshotQuantity {
+
+    /**
+     * Snapshot ao qual a linha pertence.
+     */
+    @Id
+    @Column(name = "snapshot_id", nullable = false)
+    private UUID snapshotId;
+
+    /**
+     * Código PLU da referência.
+     */
+    @Id
+    @Column(nullable = false, length = 20)
+    private String refplu;
+
+    /**
+     * Código da loja (6 dígitos).
+     */
+    @Id
+    @Column(name = "store_code", nullable = false, length = 6)
+    private String storeCode;
+
+    /**
+     * Quantidade em estoque na loja.
+     */
+    @Column(nullable = false)
+    private long quantity;
+
+    /**
+     * Chave composta (snapshotId, refplu, storeCode).
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID snapshotId;
+        private String refplu;
+        private String storeCode;
+    }
+}
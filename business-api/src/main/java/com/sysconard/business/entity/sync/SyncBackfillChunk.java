@@ -0,0 +1,121 @@
+package com.sysconard.business.entity.sync;
+
+import com.sysconard.business.enums.BackfillStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidade SyncBackfillChunk que representa um trecho do período de um backfill.
+ * Cada chunk é sincronizado em sua própria transação e seu status funciona
+ * como checkpoint: chunks COMPLETED não são reprocessados na retomada.
+ */
+@Entity
+@Table(name = "sync_backfill_chunks",
+       uniqueConstraints = @UniqueConstraint(name = "uk_sync_backfill_chunks_job_start",
+                                             columnNames = {"job_id", "chunk_start"}),
+       indexes = @Index(name = "idx_sync_backfill_chunks_job_status", columnList = "job_id, status"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncBackfillChunk {
+
+    /**
+     * Identificador único do chunk.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * Identificador do backfill ao qual o chunk pertence.
+     */
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+
+    /**
+     * Primeiro dia do chunk (inclusivo).
+     */
+    @Column(name = "chunk_start", nullable = false)
+    private LocalDate chunkStart;
+
+    /**
+     * Último dia do chunk (inclusivo).
+     */
+    @Column(name = "chunk_end", nullable = false)
+    private LocalDate chunkEnd;
+
+    /**
+     * Situação atual do chunk.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BackfillStatus status;
+
+    /**
+     * Quantidade de tentativas de sincronização já realizadas.
+     */
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * Registros de vendas diárias criados pelo chunk.
+     */
+    @Column(name = "created_count", nullable = false)
+    private int createdCount;
+
+    /**
+     * Registros de vendas diárias atualizados pelo chunk.
+     */
+    @Column(name = "updated_count", nullable = false)
+    private int updatedCount;
+
+    /**
+     * Mensagem do último erro ocorrido, quando houver.
+     */
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /**
+     * Data e hora de conclusão do chunk.
+     */
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /**
+     * Data e hora de criação do registro.
+     */
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    /**
+     * Data e hora da última atualização do registro.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Define automaticamente os campos de auditoria antes da persistência.
+     */
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    /**
+     * Atualiza automaticamente o campo updatedAt antes de cada modificação.
+     */
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,109 @@
+package com.sysconard.business.entity.sync;
+
+import com.sysconard.business.enums.BackfillChunkUnit;
+import com.sysconard.business.enums.BackfillStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidade SyncBackfillJob que representa uma execução de backfill de vendas diárias.
+ * O período solicitado é dividido em chunks (SyncBackfillChunk) que são
+ * sincronizados e confirmados de forma independente, permitindo retomar
+ * a execução a partir do último chunk concluído.
+ */
+@Entity
+@Table(name = "sync_backfill_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncBackfillJob {
+
+    /**
+     * Identificador único do backfill.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * Data de início do período completo do backfill.
+     */
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    /**
+     * Data de fim do período completo do backfill.
+     */
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    /**
+     * Unidade utilizada para dividir o período em chunks.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "chunk_unit", nullable = false, length = 10)
+    private BackfillChunkUnit chunkUnit;
+
+    /**
+     * Situação atual do backfill.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BackfillStatus status;
+
+    /**
+     * Quantidade total de chunks gerados para o período.
+     */
+    @Column(name = "total_chunks", nullable = false)
+    private int totalChunks;
+
+    /**
+     * Data e hora do início (ou da última retomada) da execução.
+     */
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    /**
+     * Data e hora de término da execução.
+     */
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /**
+     * Data e hora de criação do registro.
+     */
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    /**
+     * Data e hora da última atualização do registro.
+     */
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Define automaticamente os campos de auditoria antes da persistência.
+     */
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    /**
+     * Atualiza automaticamente o campo updatedAt antes de cada modificação.
+     */
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,6 @@
+package com.sysconard.business.enums;
+
+public enum BackfillChunkUnit {
+    WEEK,
+    MONTH
+}
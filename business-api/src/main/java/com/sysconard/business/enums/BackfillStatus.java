@@ -0,0 +1,8 @@
+package com.sysconard.business.enums;
+
+public enum BackfillStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,19 @@
+package com.sysconard.business.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Formato de arquivo de uma exportação de relatório.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    /** Texto separado por vírgulas (RFC 4180), UTF-8 */
+    CSV("text/csv;charset=UTF-8", "csv"),
+    /** Planilha do Excel gravada em streaming */
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String contentType;
+    private final String extension;
+}
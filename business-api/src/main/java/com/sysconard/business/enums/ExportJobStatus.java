@@ -0,0 +1,11 @@
+package com.sysconard.business.enums;
+
+/**
+ * Situação de uma exportação de relatório executada em segundo plano.
+ */
+public enum ExportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
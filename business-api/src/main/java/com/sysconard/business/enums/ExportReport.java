@@ -0,0 +1,13 @@
+package com.sysconard.business.enums;
+
+/**
+ * Relatórios disponíveis para exportação em CSV ou XLSX.
+ */
+public enum ExportReport {
+    DAILY_SALES,
+    MONTHLY_SALES,
+    SALE_DETAILS,
+    STOCK,
+    PURCHASE_ANALYSIS,
+    CRITICAL_STOCK
+}
@@ -0,0 +1,8 @@
+package com.sysconard.business.enums;
+
+public enum JobRunStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    SKIPPED
+}
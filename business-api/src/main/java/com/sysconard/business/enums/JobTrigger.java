@@ -0,0 +1,6 @@
+package com.sysconard.business.enums;
+
+public enum JobTrigger {
+    SCHEDULED,
+    MANUAL
+}
@@ -0,0 +1,24 @@
+package com.sysconard.business.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Famílias de endpoints da Legacy API.
+ * Cada família possui circuit breaker, bulkhead e retry próprios (resilience4j.*.instances),
+ * de forma que a lentidão de uma consulta não bloqueie as demais.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LegacyEndpointFamily {
+    /** Relatórios de vendas por loja e por dia */
+    SALES("legacySales"),
+    /** Estoque, estoque crítico e análise de compras */
+    STOCK("legacyStock"),
+    /** Produtos, lojas, tipos de operação, cargos e funcionários */
+    CATALOG("legacyCatalog"),
+    /** Itens de venda detalhados e trocas usados pelas sincronizações */
+    SYNC("legacySync");
+
+    private final String instanceName;
+}
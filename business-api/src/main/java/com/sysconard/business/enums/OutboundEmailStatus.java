@@ -0,0 +1,8 @@
+package com.sysconard.business.enums;
+
+public enum OutboundEmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.sysconard.business.enums;
+
+/**
+ * Granularidade do período de um agregado de vendas (rollup).
+ */
+public enum RollupGranularity {
+    DAY,
+    MONTH
+}
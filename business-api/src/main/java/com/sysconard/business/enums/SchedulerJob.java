@@ -0,0 +1,49 @@
+package com.sysconard.business.enums;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Jobs agendados de vendas, na ordem da cadeia de dependências
+ * (diário → mensal → anual → emails). Uma execução iniciada em um job
+ * percorre também todos os jobs seguintes da cadeia.
+ */
+public enum SchedulerJob {
+    DAILY_SALES_SYNC("daily-sales-sync"),
+    MONTHLY_SALES_SYNC("monthly-sales-sync"),
+    YEARLY_SALES_SYNC("yearly-sales-sync"),
+    SALES_EMAIL("sales-email");
+
+    private final String jobName;
+
+    SchedulerJob(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    /**
+     * Jobs executados a partir deste, incluindo ele mesmo.
+     *
+     * @return Cadeia de jobs em ordem de execução
+     */
+    public List<SchedulerJob> chain() {
+        return Arrays.asList(values()).subList(ordinal(), values().length);
+    }
+
+    /**
+     * Busca um job pelo nome usado na API e no histórico.
+     *
+     * @param jobName Nome do job (ex: daily-sales-sync)
+     * @return Job correspondente
+     * @throws IllegalArgumentException se o nome não corresponder a nenhum job
+     */
+    public static SchedulerJob fromJobName(String jobName) {
+        return Arrays.stream(values())
+                .filter(job -> job.jobName.equals(jobName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Job desconhecido: " + jobName));
+    }
+}
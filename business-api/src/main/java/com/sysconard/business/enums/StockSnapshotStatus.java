@@ -0,0 +1,10 @@
+package com.sysconard.business.enums;
+
+/**
+ * Situação de uma atualização do snapshot local de estoque.
+ */
+public enum StockSnapshotStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,76 @@
+package com.sysconard.business.repository.analytics;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Decomposição de um período nos agregados mais grossos que o respondem:
+ * meses completos lidos dos agregados mensais e os dias restantes do início e do
+ * fim do período lidos dos agregados diários.
+ *
+ * Um trecho vazio é representado com início posterior ao fim, o que mantém os
+ * parâmetros da consulta fixos.
+ *
+ * @param monthFrom Primeiro dia do primeiro mês completo
+ * @param monthTo Primeiro dia do último mês completo
+ * @param headFrom Primeiro dia avulso do início do período
+ * @param headTo Último dia avulso do início do período
+ * @param tailFrom Primeiro dia avulso do fim do período
+ * @param tailTo Último dia avulso do fim do período
+ *
+ * @author Business API
+ * @version 1.0
+ */
+public record RollupRangePlan(
+    LocalDate monthFrom,
+    LocalDate monthTo,
+    LocalDate headFrom,
+    LocalDate headTo,
+    LocalDate tailFrom,
+    LocalDate tailTo
+) {
+
+    /**
+     * Planeja a leitura de um período.
+     *
+     * @param startDate Primeiro dia (inclusive)
+     * @param endDate Último dia (inclusive)
+     * @return Plano de leitura
+     */
+    public static RollupRangePlan of(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Data inicial não pode ser posterior à data final");
+        }
+
+        YearMonth firstFull = startDate.getDayOfMonth() == 1
+                ? YearMonth.from(startDate)
+                : YearMonth.from(startDate).plusMonths(1);
+        YearMonth lastFull = endDate.equals(YearMonth.from(endDate).atEndOfMonth())
+                ? YearMonth.from(endDate)
+                : YearMonth.from(endDate).minusMonths(1);
+
+        if (firstFull.isAfter(lastFull)) {
+            // Nenhum mês completo: todos os dias vêm dos agregados diários
+            return new RollupRangePlan(
+                    endDate.plusDays(1), endDate,
+                    startDate, endDate,
+                    endDate.plusDays(1), endDate);
+        }
+
+        LocalDate monthFrom = firstFull.atDay(1);
+        LocalDate monthTo = lastFull.atDay(1);
+        return new RollupRangePlan(
+                monthFrom, monthTo,
+                startDate, monthFrom.minusDays(1),
+                lastFull.atEndOfMonth().plusDays(1), endDate);
+    }
+
+    /**
+     * Indica se o plano usa agregados mensais.
+     *
+     * @return true se há pelo menos um mês completo
+     */
+    public boolean usesMonthlyRollups() {
+        return !monthFrom.isAfter(monthTo);
+    }
+}
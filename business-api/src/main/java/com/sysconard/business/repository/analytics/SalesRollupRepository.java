@@ -0,0 +1,244 @@
+package com.sysconard.business.repository.analytics;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Operações de manutenção e consulta dos agregados de vendas
+ * (sales_rollup_categories, sales_rollup_products e sales_rollup_collaborators).
+ *
+ * Os agregados existem em duas granularidades, DAY e MONTH, e são atualizados com
+ * INSERT ... ON CONFLICT DO UPDATE somando os itens recebidos. O mesmo SQL de
+ * atualização é usado pela inserção incremental (a partir das linhas inseridas em
+ * sale_details) e pela reconstrução de um período (a partir de sale_details).
+ *
+ * As consultas leem os meses completos dos agregados mensais e os dias avulsos dos
+ * agregados diários ({@link RollupRangePlan}), sempre pela constraint única, que começa
+ * por (granularity, period_start).
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Repository
+public class SalesRollupRepository {
+
+    /**
+     * Colunas que a origem das linhas precisa fornecer aos comandos de atualização.
+     */
+    public static final String SOURCE_COLUMNS =
+            "sale_date, store_code, product_ref_code, collaborator_code, quantity, total_price";
+
+    private static final String PERIOD_COLUMNS =
+            "g.granularity, " +
+            "CASE WHEN g.granularity = 'DAY' THEN CAST(s.sale_date AS DATE) " +
+            "ELSE CAST(date_trunc('month', s.sale_date) AS DATE) END AS period_start";
+
+    private static final String GRANULARITIES = "CROSS JOIN (VALUES ('DAY'), ('MONTH')) AS g(granularity) ";
+
+    private static final String RANGE_FILTER =
+            "((r.granularity = 'MONTH' AND r.period_start BETWEEN :monthFrom AND :monthTo) " +
+            "OR (r.granularity = 'DAY' AND (r.period_start BETWEEN :headFrom AND :headTo " +
+            "OR r.period_start BETWEEN :tailFrom AND :tailTo))) " +
+            "AND r.store_code IN (:storeCodes) ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Comando que soma as linhas da origem aos agregados por loja, seção, grupo e marca.
+     *
+     * @param source Tabela, CTE ou subconsulta com {@link #SOURCE_COLUMNS}
+     * @return SQL nativo do PostgreSQL
+     */
+    public static String upsertCategoriesSql(String source) {
+        return "INSERT INTO sales_rollup_categories AS r (id, granularity, period_start, store_code, section, " +
+               "group_name, brand, quantity, total_value, item_count, updated_at) " +
+               "SELECT gen_random_uuid(), a.*, CURRENT_TIMESTAMP FROM (" +
+               "SELECT " + PERIOD_COLUMNS + ", s.store_code, COALESCE(p.section, '') AS section, " +
+               "COALESCE(p.\"group\", '') AS group_name, COALESCE(p.brand, '') AS brand, " +
+               "SUM(s.quantity) AS quantity, SUM(s.total_price) AS total_value, COUNT(*) AS item_count " +
+               "FROM " + source + " s " +
+               "LEFT JOIN products p ON p.product_ref_code = s.product_ref_code " +
+               GRANULARITIES +
+               "GROUP BY 1, 2, 3, 4, 5, 6 ORDER BY 1, 2, 3, 4, 5, 6) a " +
+               "ON CONFLICT (granularity, period_start, store_code, section, group_name, brand) DO UPDATE SET " +
+               "quantity = r.quantity + EXCLUDED.quantity, " +
+               "total_value = r.total_value + EXCLUDED.total_value, " +
+               "item_count = r.item_count + EXCLUDED.item_count, " +
+               "updated_at = EXCLUDED.updated_at";
+    }
+
+    /**
+     * Comando que soma as linhas da origem aos agregados por loja e produto.
+     *
+     * @param source Tabela, CTE ou subconsulta com {@link #SOURCE_COLUMNS}
+     * @return SQL nativo do PostgreSQL
+     */
+    public static String upsertProductsSql(String source) {
+        return "INSERT INTO sales_rollup_products AS r (id, granularity, period_start, store_code, " +
+               "product_ref_code, quantity, total_value, updated_at) " +
+               "SELECT gen_random_uuid(), a.*, CURRENT_TIMESTAMP FROM (" +
+               "SELECT " + PERIOD_COLUMNS + ", s.store_code, s.product_ref_code, " +
+               "SUM(s.quantity) AS quantity, SUM(s.total_price) AS total_value " +
+               "FROM " + source + " s " +
+               GRANULARITIES +
+               "GROUP BY 1, 2, 3, 4 ORDER BY 1, 2, 3, 4) a " +
+               "ON CONFLICT (granularity, period_start, store_code, product_ref_code) DO UPDATE SET " +
+               "quantity = r.quantity + EXCLUDED.quantity, " +
+               "total_value = r.total_value + EXCLUDED.total_value, " +
+               "updated_at = EXCLUDED.updated_at";
+    }
+
+    /**
+     * Comando que soma as linhas da origem aos agregados por loja e colaborador.
+     *
+     * @param source Tabela, CTE ou subconsulta com {@link #SOURCE_COLUMNS}
+     * @return SQL nativo do PostgreSQL
+     */
+    public static String upsertCollaboratorsSql(String source) {
+        return "INSERT INTO sales_rollup_collaborators AS r (id, granularity, period_start, store_code, " +
+               "collaborator_code, quantity, total_value, item_count, updated_at) " +
+               "SELECT gen_random_uuid(), a.*, CURRENT_TIMESTAMP FROM (" +
+               "SELECT " + PERIOD_COLUMNS + ", s.store_code, s.collaborator_code, " +
+               "SUM(s.quantity) AS quantity, SUM(s.total_price) AS total_value, COUNT(*) AS item_count " +
+               "FROM " + source + " s " +
+               GRANULARITIES +
+               "GROUP BY 1, 2, 3, 4 ORDER BY 1, 2, 3, 4) a " +
+               "ON CONFLICT (granularity, period_start, store_code, collaborator_code) DO UPDATE SET " +
+               "quantity = r.quantity + EXCLUDED.quantity, " +
+               "total_value = r.total_value + EXCLUDED.total_value, " +
+               "item_count = r.item_count + EXCLUDED.item_count, " +
+               "updated_at = EXCLUDED.updated_at";
+    }
+
+    /**
+     * Remove os agregados diários e mensais com início no período.
+     *
+     * @param from Primeiro dia (inclusive)
+     * @param to Dia seguinte ao último (exclusive)
+     * @return Quantidade de agregados removidos
+     */
+    public int deleteRange(LocalDate from, LocalDate to) {
+        int deleted = 0;
+        for (String table : List.of("sales_rollup_categories", "sales_rollup_products", "sales_rollup_collaborators")) {
+            deleted += entityManager.createNativeQuery(
+                    "DELETE FROM " + table + " WHERE period_start >= :from AND period_start < :to")
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .executeUpdate();
+        }
+        return deleted;
+    }
+
+    /**
+     * Recalcula os agregados a partir de sale_details. O filtro por sale_date limita
+     * a leitura às partições do período.
+     *
+     * @param from Primeiro dia (inclusive)
+     * @param to Dia seguinte ao último (exclusive)
+     * @return Quantidade de agregados gravados
+     */
+    public int rebuildRange(LocalDate from, LocalDate to) {
+        String source = "(SELECT " + SOURCE_COLUMNS + " FROM sale_details " +
+                        "WHERE sale_date >= :from AND sale_date < :to)";
+        int written = 0;
+        for (String sql : List.of(upsertCategoriesSql(source), upsertProductsSql(source), upsertCollaboratorsSql(source))) {
+            written += entityManager.createNativeQuery(sql)
+                    .setParameter("from", from.atStartOfDay())
+                    .setParameter("to", to.atStartOfDay())
+                    .executeUpdate();
+        }
+        return written;
+    }
+
+    /**
+     * Produtos mais vendidos no período.
+     * Colunas: product_ref_code, product_description, brand, quantity, total_value.
+     *
+     * @param plan Agregados lidos
+     * @param storeCodes Lojas consideradas
+     * @param orderByQuantity true para ordenar por quantidade, false por valor
+     * @param limit Quantidade de produtos
+     * @return Linhas do ranking
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findTopProducts(RollupRangePlan plan, Collection<String> storeCodes,
+                                          boolean orderByQuantity, int limit) {
+        String orderColumn = orderByQuantity ? "quantity" : "total_value";
+        Query query = entityManager.createNativeQuery(
+                "WITH totals AS (" +
+                "SELECT r.product_ref_code, SUM(r.quantity) AS quantity, SUM(r.total_value) AS total_value " +
+                "FROM sales_rollup_products r WHERE " + RANGE_FILTER +
+                "GROUP BY r.product_ref_code ORDER BY " + orderColumn + " DESC LIMIT :limit) " +
+                "SELECT t.product_ref_code, p.product_description, p.brand, t.quantity, t.total_value " +
+                "FROM totals t LEFT JOIN products p ON p.product_ref_code = t.product_ref_code " +
+                "ORDER BY t." + orderColumn + " DESC, t.product_ref_code");
+        bindRange(query, plan, storeCodes);
+        query.setParameter("limit", limit);
+        return query.getResultList();
+    }
+
+    /**
+     * Vendas por marca no período, da maior para a menor.
+     * Colunas: brand, quantity, total_value.
+     *
+     * @param plan Agregados lidos
+     * @param storeCodes Lojas consideradas
+     * @param section Seção dos produtos (null = todas)
+     * @return Linhas por marca
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findBrandTotals(RollupRangePlan plan, Collection<String> storeCodes, String section) {
+        Query query = entityManager.createNativeQuery(
+                "SELECT r.brand, SUM(r.quantity) AS quantity, SUM(r.total_value) AS total_value " +
+                "FROM sales_rollup_categories r WHERE " + RANGE_FILTER +
+                (section != null ? "AND r.section = :section " : "") +
+                "GROUP BY r.brand ORDER BY total_value DESC, r.brand");
+        bindRange(query, plan, storeCodes);
+        if (section != null) {
+            query.setParameter("section", section);
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Colaboradores com maior valor vendido no período.
+     * Colunas: collaborator_code, name, quantity, total_value, item_count.
+     *
+     * @param plan Agregados lidos
+     * @param storeCodes Lojas consideradas
+     * @param limit Quantidade de colaboradores
+     * @return Linhas do ranking
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findSellerRanking(RollupRangePlan plan, Collection<String> storeCodes, int limit) {
+        Query query = entityManager.createNativeQuery(
+                "WITH totals AS (" +
+                "SELECT r.collaborator_code, SUM(r.quantity) AS quantity, SUM(r.total_value) AS total_value, " +
+                "SUM(r.item_count) AS item_count " +
+                "FROM sales_rollup_collaborators r WHERE " + RANGE_FILTER +
+                "GROUP BY r.collaborator_code ORDER BY total_value DESC LIMIT :limit) " +
+                "SELECT t.collaborator_code, c.name, t.quantity, t.total_value, t.item_count " +
+                "FROM totals t LEFT JOIN collaborators c ON c.employee_code = t.collaborator_code " +
+                "ORDER BY t.total_value DESC, t.collaborator_code");
+        bindRange(query, plan, storeCodes);
+        query.setParameter("limit", limit);
+        return query.getResultList();
+    }
+
+    private static void bindRange(Query query, RollupRangePlan plan, Collection<String> storeCodes) {
+        query.setParameter("monthFrom", plan.monthFrom());
+        query.setParameter("monthTo", plan.monthTo());
+        query.setParameter("headFrom", plan.headFrom());
+        query.setParameter("headTo", plan.headTo());
+        query.setParameter("tailFrom", plan.tailFrom());
+        query.setParameter("tailTo", plan.tailTo());
+        query.setParameter("storeCodes", storeCodes);
+    }
+}
@@ -0,0 +1,68 @@
+package com.sysconard.business.repository.email;
+
+import com.sysconard.business.entity.email.OutboundEmail;
+import com.sysconard.business.enums.OutboundEmailStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository para operações de acesso a dados da entidade OutboundEmail.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, UUID> {
+
+    /**
+     * Bloqueia as mensagens pendentes cujo próximo envio já venceu, em ordem de criação.
+     * Linhas bloqueadas por outra transação são ignoradas (SKIP LOCKED), de forma que
+     * workers concorrentes nunca recebam a mesma mensagem.
+     *
+     * @param now Data e hora atual
+     * @param limit Quantidade máxima de mensagens
+     * @return Mensagens bloqueadas para envio
+     */
+    @Query(value = """
+        SELECT * FROM outbound_emails
+        WHERE status = 'PENDING' AND next_attempt_at <= :now
+        ORDER BY created_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<OutboundEmail> lockDuePending(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Conta as mensagens em uma determinada situação.
+     *
+     * @param status Situação desejada
+     * @return Quantidade de mensagens
+     */
+    long countByStatus(OutboundEmailStatus status);
+
+    /**
+     * Devolve à fila as mensagens em envio reservadas pela instância informada ou
+     * cuja reserva é anterior ao limite (instância encerrada durante o envio).
+     * Mensagens em envio por outras instâncias dentro do limite não são afetadas.
+     *
+     * @param owner Instância cujas reservas são devolvidas (null para apenas as reservas vencidas)
+     * @param claimedBefore Data e hora limite da reserva
+     * @param updatedAt Data e hora da atualização
+     * @return Quantidade de mensagens devolvidas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE OutboundEmail e SET e.status = com.sysconard.business.enums.OutboundEmailStatus.PENDING, " +
+           "e.claimedBy = NULL, e.claimedAt = NULL, e.updatedAt = :updatedAt " +
+           "WHERE e.status = com.sysconard.business.enums.OutboundEmailStatus.SENDING " +
+           "AND (e.claimedBy = :owner OR e.claimedAt < :claimedBefore " +
+           "OR (e.claimedAt IS NULL AND e.updatedAt < :claimedBefore))")
+    int releaseSending(@Param("owner") String owner, @Param("claimedBefore") LocalDateTime claimedBefore,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+}
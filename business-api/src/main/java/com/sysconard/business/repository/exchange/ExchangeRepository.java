@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,6 +36,16 @@ public interface ExchangeRepository extends JpaRepository<Exchange, UUID>, JpaSp
      */
     boolean existsByDocumentCodeAndStoreCode(String documentCode, String storeCode);
     
+    /**
+     * Busca trocas por um conjunto de códigos de documento.
+     * Utilizado na sincronização para carregar em uma única consulta as trocas
+     * existentes de um lote; o par (documentCode, storeCode) é resolvido em memória.
+     * 
+     * @param documentCodes Códigos de documento do lote
+     * @return Lista de trocas com algum dos códigos informados
+     */
+    List<Exchange> findByDocumentCodeIn(Collection<String> documentCodes);
+    
     /**
      * Busca trocas por período de data de emissão.
      * 
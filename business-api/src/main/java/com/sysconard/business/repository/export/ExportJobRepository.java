@@ -0,0 +1,62 @@
+package com.sysconard.business.repository.export;
+
+import com.sysconard.business.entity.export.ExportJob;
+import com.sysconard.business.enums.ExportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository para operações de acesso a dados da entidade ExportJob.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJob, UUID> {
+
+    /**
+     * Atualiza as linhas gravadas de uma exportação em execução, sem carregar a entidade.
+     * O updatedAt também indica que a exportação continua ativa. Executado em transação
+     * própria, pois é chamado durante a leitura das linhas, dentro da transação somente leitura
+     * da origem do relatório.
+     *
+     * @param id Identificador da exportação
+     * @param rowsWritten Linhas gravadas até o momento
+     * @param updatedAt Data e hora da atualização
+     * @return Quantidade de registros atualizados
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE ExportJob j SET j.rowsWritten = :rowsWritten, j.updatedAt = :updatedAt WHERE j.id = :id")
+    int updateProgress(@Param("id") UUID id, @Param("rowsWritten") long rowsWritten,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Busca exportações concluídas cujo arquivo já expirou.
+     *
+     * @param status Situação desejada
+     * @param now Data e hora atual
+     * @return Exportações expiradas
+     */
+    List<ExportJob> findByStatusAndExpiresAtBefore(ExportJobStatus status, LocalDateTime now);
+
+    /**
+     * Busca exportações sem atualização desde a data informada.
+     * Utilizado para encerrar exportações interrompidas pelo reinício da instância.
+     *
+     * @param statuses Situações desejadas
+     * @param updatedAt Data e hora limite da última atualização
+     * @return Exportações sem atualização
+     */
+    List<ExportJob> findByStatusInAndUpdatedAtBefore(Collection<ExportJobStatus> statuses, LocalDateTime updatedAt);
+}
@@ -0,0 +1,176 @@
+package com.sysconard.business.repository.sale;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Operações de DDL e leitura sobre as partições mensais da tabela sale_details
+ * (PARTITION BY RANGE (sale_date), ver scripts/partition-sale-details-table.sql).
+ *
+ * Cada partição cobre um mês e se chama sale_details_pAAAAMM. Os nomes usados nos
+ * comandos são sempre gerados a partir do mês, nunca recebidos de fora.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Repository
+public class SaleDetailPartitionRepository {
+
+    public static final String PARENT_TABLE = "sale_details";
+
+    private static final String PARTITION_PREFIX = PARENT_TABLE + "_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    /**
+     * Colunas exportadas no arquivamento, na ordem do arquivo.
+     */
+    public static final List<String> COLUMNS = List.of(
+            "id", "sale_date", "sale_code", "item_sequence", "collaborator_code", "store_code",
+            "product_ref_code", "ncm", "quantity", "unit_price", "total_price", "created_at", "updated_at");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Verifica se sale_details já foi convertida em tabela particionada.
+     *
+     * @return true se a tabela é particionada
+     */
+    public boolean isPartitioned() {
+        Object result = entityManager.createNativeQuery(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass('" + PARENT_TABLE + "'))")
+                .getSingleResult();
+        return Boolean.TRUE.equals(result);
+    }
+
+    /**
+     * Meses das partições anexadas a sale_details. Partições fora do padrão de nome
+     * (criadas manualmente) são ignoradas.
+     *
+     * @return Meses com partição
+     */
+    @SuppressWarnings("unchecked")
+    public List<YearMonth> findPartitionMonths() {
+        List<String> names = entityManager.createNativeQuery(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass('" + PARENT_TABLE + "')")
+                .getResultList();
+        return names.stream()
+                .map(SaleDetailPartitionRepository::monthOf)
+                .flatMap(Optional::stream)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Serializa a criação de partições entre instâncias até o fim da transação.
+     */
+    public void lockPartitionDdl() {
+        entityManager.createNativeQuery(
+                "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtext('" + PARENT_TABLE + "_partitions'))) l")
+                .getSingleResult();
+    }
+
+    /**
+     * Cria a partição de um mês. A tabela é criada fora da hierarquia e então anexada:
+     * ATTACH PARTITION bloqueia sale_details apenas em SHARE UPDATE EXCLUSIVE, sem
+     * interromper leituras e inserções, ao contrário de CREATE TABLE ... PARTITION OF.
+     * Índices, chave primária e foreign keys da tabela pai são replicados na partição.
+     *
+     * @param month Mês da partição
+     */
+    public void createPartition(YearMonth month) {
+        String name = partitionName(month);
+        entityManager.createNativeQuery(
+                "CREATE TABLE IF NOT EXISTS " + name + " (LIKE " + PARENT_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)")
+                .executeUpdate();
+        entityManager.createNativeQuery(
+                "ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + name +
+                " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')")
+                .executeUpdate();
+    }
+
+    /**
+     * Desanexa a partição de um mês, que passa a ser uma tabela comum.
+     *
+     * @param month Mês da partição
+     */
+    public void detachPartition(YearMonth month) {
+        entityManager.createNativeQuery(
+                "ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + partitionName(month))
+                .executeUpdate();
+    }
+
+    /**
+     * Remove a tabela de uma partição já desanexada.
+     *
+     * @param month Mês da partição
+     */
+    public void dropPartitionTable(YearMonth month) {
+        entityManager.createNativeQuery("DROP TABLE IF EXISTS " + partitionName(month)).executeUpdate();
+    }
+
+    /**
+     * Quantidade de linhas da partição de um mês.
+     *
+     * @param month Mês da partição
+     * @return Linhas da partição
+     */
+    public long countRows(YearMonth month) {
+        Number count = (Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM " + partitionName(month))
+                .getSingleResult();
+        return count.longValue();
+    }
+
+    /**
+     * Lê as linhas da partição de um mês em stream, com as colunas de {@link #COLUMNS}.
+     * Deve ser consumido dentro de uma transação para que o driver use cursor.
+     *
+     * @param month Mês da partição
+     * @param fetchSize Linhas buscadas por ida ao banco
+     * @return Linhas da partição
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Object[]> streamRows(YearMonth month, int fetchSize) {
+        return entityManager.createNativeQuery(
+                "SELECT " + String.join(", ", COLUMNS) + " FROM " + partitionName(month))
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream();
+    }
+
+    /**
+     * Nome da partição de um mês (sale_details_pAAAAMM).
+     *
+     * @param month Mês da partição
+     * @return Nome da tabela
+     */
+    public static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * Mês de uma partição a partir do nome.
+     *
+     * @param partitionName Nome da tabela
+     * @return Mês, ou vazio se o nome não segue o padrão
+     */
+    public static Optional<YearMonth> monthOf(String partitionName) {
+        if (partitionName == null || !partitionName.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -14,9 +14,10 @@ import java.util.UUID;
  * Repository para operações de acesso a dados da entidade SaleDetail.
  * Estende JpaRepository para operações CRUD básicas e define métodos customizados.
  * Utiliza queries otimizadas para verificação de duplicatas em lote.
+ * Inserções em lote com descarte de duplicatas são fornecidas por {@link SaleDetailRepositoryCustom}.
  */
 @Repository
-public interface SaleDetailRepository extends JpaRepository<SaleDetail, UUID> {
+public interface SaleDetailRepository extends JpaRepository<SaleDetail, UUID>, SaleDetailRepositoryCustom {
     
     /**
      * Verifica se existe uma venda detalhada com a chave composta especificada.
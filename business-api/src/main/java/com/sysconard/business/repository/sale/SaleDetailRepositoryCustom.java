@@ -0,0 +1,44 @@
+package com.sysconard.business.repository.sale;
+
+import com.sysconard.business.entity.sale.SaleDetail;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Interface customizada para operações da entidade SaleDetail que requerem
+ * SQL nativo do PostgreSQL: escrita em lote e leitura em stream para exportação.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+public interface SaleDetailRepositoryCustom {
+
+    /**
+     * Insere um lote de vendas detalhadas em um único comando
+     * {@code INSERT ... ON CONFLICT DO NOTHING}.
+     * Registros cuja chave composta (sale_code, product_ref_code, item_sequence)
+     * já existe no banco são ignorados pelo próprio PostgreSQL.
+     *
+     * @param saleDetails Lote de vendas detalhadas a inserir
+     * @return Quantidade de registros efetivamente inseridos
+     */
+    int insertIgnoringDuplicates(List<SaleDetail> saleDetails);
+
+    /**
+     * Lê em stream os itens de venda do período, com a descrição do produto, ordenados
+     * por data, loja, venda e item. O filtro por sale_date limita a leitura às partições
+     * do período. Deve ser consumido dentro de uma transação para que o driver use cursor.
+     * Colunas: sale_date, store_code, sale_code, item_sequence, collaborator_code,
+     * product_ref_code, product_description, ncm, quantity, unit_price, total_price.
+     *
+     * @param from Início do período (inclusive)
+     * @param to Fim do período (exclusive)
+     * @param storeCodes Lojas exportadas
+     * @param fetchSize Linhas buscadas por ida ao banco
+     * @return Itens de venda do período
+     */
+    Stream<Object[]> streamForExport(LocalDateTime from, LocalDateTime to, Collection<String> storeCodes, int fetchSize);
+}
@@ -0,0 +1,160 @@
+package com.sysconard.business.repository.sale;
+
+import com.sysconard.business.entity.sale.SaleDetail;
+import com.sysconard.business.repository.analytics.SalesRollupRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Implementação customizada do SaleDetailRepository para inserções em lote.
+ *
+ * Monta um único INSERT multi-valores por lote e delega ao PostgreSQL a detecção
+ * de duplicatas através da constraint única uk_sale_details_sale_item,
+ * eliminando a consulta de existência item a item. O ON CONFLICT não nomeia as
+ * colunas: na tabela particionada a constraint inclui sale_date (chave de partição)
+ * e o mesmo comando funciona antes e depois da migração.
+ *
+ * Com analytics.rollups.enabled, o INSERT é executado em uma CTE com RETURNING e as
+ * linhas efetivamente inseridas são somadas, no mesmo comando, aos agregados de vendas
+ * (SalesRollupRepository): duplicatas ignoradas não alteram os agregados.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Repository
+public class SaleDetailRepositoryImpl implements SaleDetailRepositoryCustom {
+
+    /**
+     * Quantidade de parâmetros vinculados por linha inserida.
+     */
+    private static final int PARAMETERS_PER_ROW = 11;
+
+    /**
+     * Limite de linhas por comando, mantendo o total de parâmetros
+     * abaixo do limite de 32767 do protocolo do PostgreSQL.
+     */
+    private static final int MAX_ROWS_PER_STATEMENT = 32767 / PARAMETERS_PER_ROW;
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO sale_details (id, sale_date, sale_code, item_sequence, collaborator_code, " +
+            "store_code, product_ref_code, ncm, quantity, unit_price, total_price, created_at, updated_at) VALUES ";
+
+    private static final String INSERT_SUFFIX =
+            " ON CONFLICT DO NOTHING";
+
+    private static final String ROLLUP_SUFFIX =
+            " RETURNING " + SalesRollupRepository.SOURCE_COLUMNS + "), " +
+            "rollup_categories AS (" + SalesRollupRepository.upsertCategoriesSql("inserted") + "), " +
+            "rollup_products AS (" + SalesRollupRepository.upsertProductsSql("inserted") + "), " +
+            "rollup_collaborators AS (" + SalesRollupRepository.upsertCollaboratorsSql("inserted") + ") " +
+            "SELECT COUNT(*) FROM inserted";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${analytics.rollups.enabled:true}")
+    private boolean rollupsEnabled;
+
+    @Override
+    public int insertIgnoringDuplicates(List<SaleDetail> saleDetails) {
+        if (saleDetails == null || saleDetails.isEmpty()) {
+            return 0;
+        }
+
+        int inserted = 0;
+        for (int from = 0; from < saleDetails.size(); from += MAX_ROWS_PER_STATEMENT) {
+            int to = Math.min(from + MAX_ROWS_PER_STATEMENT, saleDetails.size());
+            inserted += executeInsert(saleDetails.subList(from, to));
+        }
+
+        log.debug("Lote de vendas detalhadas executado - enviados: {}, inseridos: {}", saleDetails.size(), inserted);
+        return inserted;
+    }
+
+    /**
+     * Executa um único INSERT multi-valores para as linhas informadas.
+     *
+     * @param saleDetails Linhas do comando (no máximo MAX_ROWS_PER_STATEMENT)
+     * @return Quantidade de registros inseridos
+     */
+    private int executeInsert(List<SaleDetail> saleDetails) {
+        Query nativeQuery = entityManager.createNativeQuery(rollupsEnabled
+                ? "WITH inserted AS (" + buildInsertQuery(saleDetails.size()) + ROLLUP_SUFFIX
+                : buildInsertQuery(saleDetails.size()));
+
+        int position = 1;
+        for (SaleDetail saleDetail : saleDetails) {
+            nativeQuery.setParameter(position++, saleDetail.getId() != null ? saleDetail.getId() : UUID.randomUUID());
+            nativeQuery.setParameter(position++, saleDetail.getSaleDate());
+            nativeQuery.setParameter(position++, saleDetail.getSaleCode());
+            nativeQuery.setParameter(position++, saleDetail.getItemSequence());
+            nativeQuery.setParameter(position++, saleDetail.getCollaboratorCode());
+            nativeQuery.setParameter(position++, saleDetail.getStoreCode());
+            nativeQuery.setParameter(position++, saleDetail.getProductRefCode());
+            nativeQuery.setParameter(position++, saleDetail.getNcm());
+            nativeQuery.setParameter(position++, saleDetail.getQuantity());
+            nativeQuery.setParameter(position++, saleDetail.getUnitPrice());
+            nativeQuery.setParameter(position++, saleDetail.getTotalPrice());
+        }
+
+        if (rollupsEnabled) {
+            return ((Number) nativeQuery.getSingleResult()).intValue();
+        }
+        return nativeQuery.executeUpdate();
+    }
+
+    /**
+     * Constrói o comando INSERT multi-valores com parâmetros posicionais.
+     *
+     * @param rows Quantidade de linhas do lote
+     * @return SQL nativo do PostgreSQL
+     */
+    private String buildInsertQuery(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * 96 + INSERT_SUFFIX.length());
+        sql.append(INSERT_PREFIX);
+
+        int position = 1;
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                sql.append(", ");
+            }
+            sql.append('(');
+            for (int column = 0; column < PARAMETERS_PER_ROW; column++) {
+                sql.append('?').append(position++).append(", ");
+            }
+            sql.append("CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)");
+        }
+
+        sql.append(INSERT_SUFFIX);
+        return sql.toString();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<Object[]> streamForExport(LocalDateTime from, LocalDateTime to, Collection<String> storeCodes,
+                                            int fetchSize) {
+        return entityManager.createNativeQuery(
+                "SELECT sd.sale_date, sd.store_code, sd.sale_code, sd.item_sequence, sd.collaborator_code, " +
+                "sd.product_ref_code, p.product_description, sd.ncm, sd.quantity, sd.unit_price, sd.total_price " +
+                "FROM sale_details sd LEFT JOIN products p ON p.product_ref_code = sd.product_ref_code " +
+                "WHERE sd.sale_date >= :from AND sd.sale_date < :to AND sd.store_code IN (:storeCodes) " +
+                "ORDER BY sd.sale_date, sd.store_code, sd.sale_code, sd.item_sequence")
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setParameter("storeCodes", storeCodes)
+                .setHint("org.hibernate.fetchSize", fetchSize)
+                .setHint("org.hibernate.readOnly", true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,82 @@
+package com.sysconard.business.repository.scheduler;
+
+import com.sysconard.business.entity.scheduler.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository para operações de acesso a dados da entidade JobLease.
+ * As operações são atômicas no Postgres, de forma que duas instâncias
+ * nunca obtenham a mesma lease ao mesmo tempo.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Obtém a lease de um job se ela não existir ou estiver expirada.
+     *
+     * @param jobName Nome do job
+     * @param owner Identificador da execução
+     * @param now Data e hora atual
+     * @param expiresAt Expiração da lease obtida
+     * @return 1 se a lease foi obtida, 0 se outra execução a possui
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO job_leases (job_name, owner, acquired_at, expires_at)
+        VALUES (:jobName, :owner, :now, :expiresAt)
+        ON CONFLICT (job_name) DO UPDATE
+        SET owner = EXCLUDED.owner, acquired_at = EXCLUDED.acquired_at, expires_at = EXCLUDED.expires_at
+        WHERE job_leases.expires_at < :now
+        """, nativeQuery = true)
+    int tryAcquire(
+        @Param("jobName") String jobName,
+        @Param("owner") String owner,
+        @Param("now") LocalDateTime now,
+        @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    /**
+     * Prorroga a lease enquanto o job executa.
+     *
+     * @param jobName Nome do job
+     * @param owner Identificador da execução dona da lease
+     * @param expiresAt Nova expiração
+     * @return 1 se a lease foi renovada, 0 se ela não pertence mais à execução
+     */
+    @Modifying
+    @Query("UPDATE JobLease l SET l.expiresAt = :expiresAt WHERE l.jobName = :jobName AND l.owner = :owner")
+    int renew(
+        @Param("jobName") String jobName,
+        @Param("owner") String owner,
+        @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    /**
+     * Libera a lease ao fim do job.
+     *
+     * @param jobName Nome do job
+     * @param owner Identificador da execução dona da lease
+     * @return Quantidade de leases removidas
+     */
+    @Modifying
+    @Query("DELETE FROM JobLease l WHERE l.jobName = :jobName AND l.owner = :owner")
+    int release(@Param("jobName") String jobName, @Param("owner") String owner);
+
+    /**
+     * Verifica se há uma lease válida para o job.
+     *
+     * @param jobName Nome do job
+     * @param now Data e hora atual
+     * @return true se outra execução possui o job
+     */
+    boolean existsByJobNameAndExpiresAtAfter(String jobName, LocalDateTime now);
+}
@@ -0,0 +1,102 @@
+package com.sysconard.business.repository.scheduler;
+
+import com.sysconard.business.entity.scheduler.JobRun;
+import com.sysconard.business.enums.JobRunStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository para operações de acesso a dados da entidade JobRun.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, UUID> {
+
+    /**
+     * Busca a execução mais recente de um job para um dia de vendas em uma situação.
+     * Utilizado para não repetir jobs já concluídos por outra instância.
+     *
+     * @param jobName Nome do job
+     * @param runDate Dia de vendas
+     * @param status Situação desejada
+     * @return Execução mais recente, se houver
+     */
+    Optional<JobRun> findFirstByJobNameAndRunDateAndStatusOrderByStartedAtDesc(
+            String jobName, LocalDate runDate, JobRunStatus status);
+
+    /**
+     * Busca as conclusões de um job para um dia de vendas feitas por cadeias iniciadas antes
+     * de uma cadeia e concluídas depois do início dela (cadeias sobrepostas), da mais recente
+     * para a mais antiga.
+     *
+     * @param jobName Nome do job
+     * @param runDate Dia de vendas
+     * @param pipelineStartedAt Início da cadeia atual
+     * @param pageable Quantidade de execuções
+     * @return Execuções concluídas do job
+     */
+    @Query("SELECT s FROM JobRun s, JobRun p WHERE p.id = s.pipelineRunId " +
+           "AND s.jobName = :jobName AND s.runDate = :runDate " +
+           "AND s.status = com.sysconard.business.enums.JobRunStatus.COMPLETED " +
+           "AND p.startedAt < :pipelineStartedAt AND s.finishedAt >= :pipelineStartedAt " +
+           "ORDER BY s.finishedAt DESC")
+    List<JobRun> findCompletedByOverlappingPipelines(@Param("jobName") String jobName,
+                                                     @Param("runDate") LocalDate runDate,
+                                                     @Param("pipelineStartedAt") LocalDateTime pipelineStartedAt,
+                                                     Pageable pageable);
+
+    /**
+     * Busca a execução mais recente de uma cadeia em andamento em qualquer instância,
+     * considerando apenas as que confirmaram atividade após o limite informado.
+     *
+     * @param jobName Nome da cadeia
+     * @param startJob Job inicial da cadeia
+     * @param runDate Dia de vendas
+     * @param status Situação desejada
+     * @param heartbeatAt Data e hora limite da última confirmação de atividade
+     * @return Execução em andamento, se houver
+     */
+    Optional<JobRun> findFirstByJobNameAndStartJobAndRunDateAndStatusAndHeartbeatAtAfterOrderByStartedAtDesc(
+            String jobName, String startJob, LocalDate runDate, JobRunStatus status, LocalDateTime heartbeatAt);
+
+    /**
+     * Registra a confirmação de atividade de uma cadeia em execução.
+     *
+     * @param id Execução da cadeia
+     * @param heartbeatAt Data e hora da confirmação
+     * @return Quantidade de registros atualizados
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE JobRun r SET r.heartbeatAt = :heartbeatAt WHERE r.id = :id")
+    int heartbeat(@Param("id") UUID id, @Param("heartbeatAt") LocalDateTime heartbeatAt);
+
+    /**
+     * Busca os jobs executados por uma execução da cadeia, em ordem de início.
+     *
+     * @param pipelineRunId Execução da cadeia
+     * @return Jobs da cadeia
+     */
+    List<JobRun> findByPipelineRunIdOrderByStartedAtAsc(UUID pipelineRunId);
+
+    /**
+     * Busca o histórico de execuções das cadeias, das mais recentes para as mais antigas.
+     *
+     * @param pageable Quantidade de execuções
+     * @return Execuções das cadeias
+     */
+    List<JobRun> findByPipelineRunIdIsNullOrderByStartedAtDesc(Pageable pageable);
+}
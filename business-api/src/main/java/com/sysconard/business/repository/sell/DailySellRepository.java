@@ -5,12 +5,16 @@ import com.sysconard.business.dto.sell.StoreReportResponse;
 import com.sysconard.business.entity.sell.DailySell;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository para operações de acesso a dados da entidade DailySell.
@@ -56,6 +60,22 @@ public interface DailySellRepository extends JpaRepository<DailySell, UUID> {
         @Param("endDate") LocalDate endDate
     );
     
+    /**
+     * Busca registros de vendas diárias de várias lojas no período.
+     * Utilizado como fallback do relatório por dia quando a Legacy API está indisponível.
+     * 
+     * @param storeCodes Códigos das lojas
+     * @param startDate Data de início do período
+     * @param endDate Data de fim do período
+     * @return Lista de registros ordenada por loja e data
+     */
+    @Query("SELECT d FROM DailySell d WHERE d.storeCode IN :storeCodes AND d.date BETWEEN :startDate AND :endDate ORDER BY d.storeCode, d.date")
+    List<DailySell> findByStoreCodesAndDateBetween(
+        @Param("storeCodes") List<String> storeCodes,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate
+    );
+    
     /**
      * Busca um registro específico por loja e data.
      * Utilizado para verificar existência de registro específico.
@@ -189,4 +209,29 @@ public interface DailySellRepository extends JpaRepository<DailySell, UUID> {
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate
     );
+    
+    /**
+     * Percorre as vendas diárias do período para exportação, por data e loja.
+     * Retorna apenas colunas (sem entidades gerenciadas), lidas do cursor em lotes,
+     * de forma que a memória utilizada não dependa do tamanho do período.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * Colunas: date, storeCode, storeName, danfe, pdv, exchange, total.
+     * 
+     * @param startDate Data de início do período
+     * @param endDate Data de fim do período
+     * @param storeCodes Lojas exportadas
+     * @return Stream das linhas do período
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT d.date, d.storeCode, d.storeName, d.danfe, d.pdv, d.exchange, d.total FROM DailySell d " +
+           "WHERE d.date BETWEEN :startDate AND :endDate AND d.storeCode IN :storeCodes " +
+           "ORDER BY d.date, d.storeCode")
+    Stream<Object[]> streamForExport(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("storeCodes") List<String> storeCodes
+    );
 }
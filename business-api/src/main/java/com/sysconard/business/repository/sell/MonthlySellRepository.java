@@ -2,14 +2,21 @@ package com.sysconard.business.repository.sell;
 
 import com.sysconard.business.entity.sell.MonthlySell;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository para operações de acesso a dados da entidade MonthlySell.
@@ -178,4 +185,79 @@ public interface MonthlySellRepository extends JpaRepository<MonthlySell, UUID>
      */
     @Query("SELECT COALESCE(SUM(m.total), 0) FROM MonthlySell m WHERE m.yearMonth = :yearMonth")
     BigDecimal sumTotalByYearMonth(@Param("yearMonth") String yearMonth);
+    
+    /**
+     * Aplica um delta ao total de um registro mensal de forma atômica.
+     * Utilizado pelo rollup incremental a partir das vendas diárias.
+     * 
+     * @param storeId ID da loja
+     * @param yearMonth Ano e mês no formato YYYY-MM
+     * @param storeName Nome atual da loja
+     * @param delta Diferença a ser somada ao total
+     * @param updatedAt Data e hora da atualização
+     * @return Quantidade de registros atualizados (0 se o registro não existir)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE MonthlySell m SET m.total = m.total + :delta, m.storeName = :storeName, m.updatedAt = :updatedAt " +
+           "WHERE m.storeId = :storeId AND m.yearMonth = :yearMonth")
+    int incrementTotal(
+        @Param("storeId") UUID storeId,
+        @Param("yearMonth") String yearMonth,
+        @Param("storeName") String storeName,
+        @Param("delta") BigDecimal delta,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+    
+    /**
+     * Cria o registro mensal de uma loja somando as vendas diárias já persistidas do mês.
+     * Se outro processo criar o registro concorrentemente, nada é inserido.
+     * 
+     * @param storeId ID da loja
+     * @param storeCode Código da loja
+     * @param storeName Nome atual da loja
+     * @param yearMonth Ano e mês no formato YYYY-MM
+     * @param monthStart Primeiro dia do mês
+     * @param monthEnd Último dia do mês
+     * @return Quantidade de registros inseridos (0 em caso de conflito)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO monthly_sells (id, store_id, store_code, store_name, year_month, total, created_at, updated_at)
+        SELECT gen_random_uuid(), :storeId, :storeCode, :storeName, :yearMonth,
+               COALESCE(SUM(d.total), 0), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+        FROM daily_sells d
+        WHERE d.store_id = :storeId AND d.date BETWEEN :monthStart AND :monthEnd
+        ON CONFLICT (store_id, year_month) DO NOTHING
+        """, nativeQuery = true)
+    int insertFromDailySells(
+        @Param("storeId") UUID storeId,
+        @Param("storeCode") String storeCode,
+        @Param("storeName") String storeName,
+        @Param("yearMonth") String yearMonth,
+        @Param("monthStart") LocalDate monthStart,
+        @Param("monthEnd") LocalDate monthEnd
+    );
+    
+    /**
+     * Percorre as vendas mensais do período para exportação, por mês e loja.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * Colunas: yearMonth, storeCode, storeName, total.
+     * 
+     * @param startYearMonth Ano/mês inicial no formato YYYY-MM
+     * @param endYearMonth Ano/mês final no formato YYYY-MM
+     * @param storeCodes Lojas exportadas
+     * @return Stream das linhas do período
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT m.yearMonth, m.storeCode, m.storeName, m.total FROM MonthlySell m " +
+           "WHERE m.yearMonth BETWEEN :startYearMonth AND :endYearMonth AND m.storeCode IN :storeCodes " +
+           "ORDER BY m.yearMonth, m.storeCode")
+    Stream<Object[]> streamForExport(
+        @Param("startYearMonth") String startYearMonth,
+        @Param("endYearMonth") String endYearMonth,
+        @Param("storeCodes") List<String> storeCodes
+    );
 }
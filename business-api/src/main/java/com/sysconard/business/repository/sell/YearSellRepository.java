@@ -2,11 +2,13 @@ package com.sysconard.business.repository.sell;
 
 import com.sysconard.business.entity.sell.YearSell;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -149,4 +151,56 @@ public interface YearSellRepository extends JpaRepository<YearSell, UUID> {
      */
     @Query("SELECT COALESCE(SUM(y.total), 0) FROM YearSell y WHERE y.year = :year")
     BigDecimal sumTotalByYear(@Param("year") Integer year);
+    
+    /**
+     * Aplica um delta ao total de um registro anual de forma atômica.
+     * Utilizado pelo rollup incremental a partir das vendas diárias.
+     * 
+     * @param storeId ID da loja
+     * @param year Ano
+     * @param storeName Nome atual da loja
+     * @param delta Diferença a ser somada ao total
+     * @param updatedAt Data e hora da atualização
+     * @return Quantidade de registros atualizados (0 se o registro não existir)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE YearSell y SET y.total = y.total + :delta, y.storeName = :storeName, y.updatedAt = :updatedAt " +
+           "WHERE y.storeId = :storeId AND y.year = :year")
+    int incrementTotal(
+        @Param("storeId") UUID storeId,
+        @Param("year") Integer year,
+        @Param("storeName") String storeName,
+        @Param("delta") BigDecimal delta,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+    
+    /**
+     * Cria o registro anual de uma loja somando os registros mensais já persistidos do ano.
+     * Se outro processo criar o registro concorrentemente, nada é inserido.
+     * 
+     * @param storeId ID da loja
+     * @param storeCode Código da loja
+     * @param storeName Nome atual da loja
+     * @param year Ano
+     * @param firstYearMonth Primeiro mês do ano no formato YYYY-MM
+     * @param lastYearMonth Último mês do ano no formato YYYY-MM
+     * @return Quantidade de registros inseridos (0 em caso de conflito)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        INSERT INTO year_sells (id, store_id, store_code, store_name, year, total, created_at, updated_at)
+        SELECT gen_random_uuid(), :storeId, :storeCode, :storeName, :year,
+               COALESCE(SUM(m.total), 0), CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+        FROM monthly_sells m
+        WHERE m.store_id = :storeId AND m.year_month BETWEEN :firstYearMonth AND :lastYearMonth
+        ON CONFLICT (store_id, year) DO NOTHING
+        """, nativeQuery = true)
+    int insertFromMonthlySells(
+        @Param("storeId") UUID storeId,
+        @Param("storeCode") String storeCode,
+        @Param("storeName") String storeName,
+        @Param("year") Integer year,
+        @Param("firstYearMonth") String firstYearMonth,
+        @Param("lastYearMonth") String lastYearMonth
+    );
 }
@@ -0,0 +1,17 @@
+package com.sysconard.business.repository.stock;
+
+import com.sysconard.business.entity.stock.StockSnapshotItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository para operações de acesso a dados do snapshot local de estoque.
+ * A gravação em lote e as consultas paginadas ficam em StockSnapshotItemRepositoryCustom.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Repository
+public interface StockSnapshotItemRepository extends JpaRepository<StockSnapshotItem, StockSnapshotItem.Key>,
+        StockSnapshotItemRepositoryCustom {
+}
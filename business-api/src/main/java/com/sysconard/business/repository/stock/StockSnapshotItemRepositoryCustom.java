@@ -0,0 +1,108 @@
+package com.sysconard.business.repository.stock;
+
+import com.sysconard.business.entity.stock.StockSnapshotItem;
+import com.sysconard.business.entity.stock.StockSnapshotQuantity;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Interface customizada para gravação em lote e consultas do snapshot de estoque
+ * que requerem SQL nativo do PostgreSQL.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+public interface StockSnapshotItemRepositoryCustom {
+
+    /**
+     * Insere um lote de referências do snapshot em um único comando multi-valores.
+     *
+     * @param items Referências a inserir
+     * @return Quantidade de registros inseridos
+     */
+    int insertItems(List<StockSnapshotItem> items);
+
+    /**
+     * Insere um lote de quantidades por loja do snapshot em um único comando multi-valores.
+     *
+     * @param quantities Quantidades a inserir
+     * @return Quantidade de registros inseridos
+     */
+    int insertQuantities(List<StockSnapshotQuantity> quantities);
+
+    /**
+     * Busca uma página de referências do snapshot com filtros e ordenação.
+     *
+     * @param snapshotId Snapshot consultado
+     * @param refplu Filtro por refplu (opcional, contém)
+     * @param marca Filtro por marca (opcional, contém)
+     * @param descricaoPattern Padrão LIKE em maiúsculas para descrição ou marca (opcional)
+     * @param hasStock Filtrar apenas referências com estoque total > 0
+     * @param sortBy Coluna de ordenação: refplu, marca, descricao, total ou store
+     * @param sortStoreCode Código da loja quando sortBy = store
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @param offset Quantidade de linhas a pular
+     * @param limit Quantidade máxima de linhas
+     * @return Referências da página, na ordem pedida
+     */
+    List<StockSnapshotItem> searchItems(UUID snapshotId, String refplu, String marca, String descricaoPattern,
+                                        boolean hasStock, String sortBy, String sortStoreCode, String sortDir,
+                                        int offset, int limit);
+
+    /**
+     * Busca as referências do snapshot seguintes a um refplu, em ordem de refplu
+     * (paginação por chave, sem OFFSET), usada na exportação do estoque.
+     *
+     * @param snapshotId Snapshot consultado
+     * @param refplu Filtro por refplu (opcional, contém)
+     * @param marca Filtro por marca (opcional, contém)
+     * @param descricaoPattern Padrão LIKE em maiúsculas para descrição ou marca (opcional)
+     * @param hasStock Filtrar apenas referências com estoque total > 0
+     * @param afterRefplu Último refplu da página anterior (null = primeira página)
+     * @param limit Quantidade máxima de linhas
+     * @return Referências da página, em ordem de refplu
+     */
+    List<StockSnapshotItem> findItemsAfter(UUID snapshotId, String refplu, String marca, String descricaoPattern,
+                                           boolean hasStock, String afterRefplu, int limit);
+
+    /**
+     * Conta as referências do snapshot que atendem aos filtros.
+     *
+     * @param snapshotId Snapshot consultado
+     * @param refplu Filtro por refplu (opcional, contém)
+     * @param marca Filtro por marca (opcional, contém)
+     * @param descricaoPattern Padrão LIKE em maiúsculas para descrição ou marca (opcional)
+     * @param hasStock Filtrar apenas referências com estoque total > 0
+     * @return Total de referências
+     */
+    long countItems(UUID snapshotId, String refplu, String marca, String descricaoPattern, boolean hasStock);
+
+    /**
+     * Busca as quantidades por loja das referências informadas.
+     *
+     * @param snapshotId Snapshot consultado
+     * @param refplus Referências da página
+     * @return Quantidades por loja (apenas lojas com estoque)
+     */
+    List<StockSnapshotQuantity> findQuantities(UUID snapshotId, Collection<String> refplus);
+
+    /**
+     * Remove as linhas (referências e quantidades) dos snapshots concluídos ou com falha
+     * iniciados antes da data informada. Snapshots em execução não são afetados.
+     *
+     * @param startedAt Início do snapshot recém-concluído
+     * @return Quantidade de referências removidas
+     */
+    int deleteRowsOfFinishedBefore(LocalDateTime startedAt);
+
+    /**
+     * Remove as linhas (referências e quantidades) de um snapshot.
+     *
+     * @param snapshotId Snapshot a remover
+     * @return Quantidade de referências removidas
+     */
+    int deleteRows(UUID snapshotId);
+}
@@ -0,0 +1,267 @@
+package com.sysconard.business.repository.stock;
+
+import com.sysconard.business.entity.stock.StockSnapshotItem;
+import com.sysconard.business.entity.stock.StockSnapshotQuantity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Implementação customizada do StockSnapshotItemRepository.
+ *
+ * A gravação monta um único INSERT multi-valores por lote, como em
+ * SaleDetailRepositoryImpl. As consultas montam o WHERE apenas com os filtros
+ * informados e ordenam por colunas indexadas dentro do snapshot; a ordenação por
+ * loja junta somente as quantidades da loja pedida.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Repository
+public class StockSnapshotItemRepositoryImpl implements StockSnapshotItemRepositoryCustom {
+
+    private static final int ITEM_PARAMETERS_PER_ROW = 5;
+    private static final int QUANTITY_PARAMETERS_PER_ROW = 4;
+
+    /**
+     * Limite de parâmetros vinculados por comando do protocolo do PostgreSQL.
+     */
+    private static final int MAX_PARAMETERS = 32767;
+
+    private static final String INSERT_ITEMS_PREFIX =
+            "INSERT INTO stock_snapshot_items (snapshot_id, refplu, brand, description, total_quantity) VALUES ";
+
+    private static final String INSERT_QUANTITIES_PREFIX =
+            "INSERT INTO stock_snapshot_quantities (snapshot_id, refplu, store_code, quantity) VALUES ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertItems(List<StockSnapshotItem> items) {
+        int inserted = 0;
+        int rowsPerStatement = MAX_PARAMETERS / ITEM_PARAMETERS_PER_ROW;
+        for (int from = 0; from < items.size(); from += rowsPerStatement) {
+            List<StockSnapshotItem> rows = items.subList(from, Math.min(from + rowsPerStatement, items.size()));
+            Query nativeQuery = entityManager.createNativeQuery(
+                    buildInsertQuery(INSERT_ITEMS_PREFIX, rows.size(), ITEM_PARAMETERS_PER_ROW));
+
+            int position = 1;
+            for (StockSnapshotItem item : rows) {
+                nativeQuery.setParameter(position++, item.getSnapshotId());
+                nativeQuery.setParameter(position++, item.getRefplu());
+                nativeQuery.setParameter(position++, item.getBrand());
+                nativeQuery.setParameter(position++, item.getDescription());
+                nativeQuery.setParameter(position++, item.getTotalQuantity());
+            }
+            inserted += nativeQuery.executeUpdate();
+        }
+        return inserted;
+    }
+
+    @Override
+    public int insertQuantities(List<StockSnapshotQuantity> quantities) {
+        int inserted = 0;
+        int rowsPerStatement = MAX_PARAMETERS / QUANTITY_PARAMETERS_PER_ROW;
+        for (int from = 0; from < quantities.size(); from += rowsPerStatement) {
+            List<StockSnapshotQuantity> rows = quantities.subList(from, Math.min(from + rowsPerStatement, quantities.size()));
+            Query nativeQuery = entityManager.createNativeQuery(
+                    buildInsertQuery(INSERT_QUANTITIES_PREFIX, rows.size(), QUANTITY_PARAMETERS_PER_ROW));
+
+            int position = 1;
+            for (StockSnapshotQuantity quantity : rows) {
+                nativeQuery.setParameter(position++, quantity.getSnapshotId());
+                nativeQuery.setParameter(position++, quantity.getRefplu());
+                nativeQuery.setParameter(position++, quantity.getStoreCode());
+                nativeQuery.setParameter(position++, quantity.getQuantity());
+            }
+            inserted += nativeQuery.executeUpdate();
+        }
+        return inserted;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<StockSnapshotItem> searchItems(UUID snapshotId, String refplu, String marca, String descricaoPattern,
+                                               boolean hasStock, String sortBy, String sortStoreCode, String sortDir,
+                                               int offset, int limit) {
+        boolean byStore = "store".equals(sortBy);
+
+        StringBuilder sql = new StringBuilder("SELECT i.* FROM stock_snapshot_items i ");
+        if (byStore) {
+            sql.append("LEFT JOIN stock_snapshot_quantities q ON q.snapshot_id = i.snapshot_id ")
+               .append("AND q.refplu = i.refplu AND q.store_code = :sortStoreCode ");
+        }
+        appendWhere(sql, refplu, marca, descricaoPattern, hasStock);
+        sql.append("ORDER BY ").append(buildOrderBy(sortBy, sortDir)).append(" LIMIT :limit OFFSET :offset");
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString(), StockSnapshotItem.class);
+        setWhereParameters(nativeQuery, snapshotId, refplu, marca, descricaoPattern);
+        if (byStore) {
+            nativeQuery.setParameter("sortStoreCode", sortStoreCode);
+        }
+        nativeQuery.setParameter("limit", limit);
+        nativeQuery.setParameter("offset", offset);
+
+        return nativeQuery.getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<StockSnapshotItem> findItemsAfter(UUID snapshotId, String refplu, String marca, String descricaoPattern,
+                                                  boolean hasStock, String afterRefplu, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT i.* FROM stock_snapshot_items i ");
+        appendWhere(sql, refplu, marca, descricaoPattern, hasStock);
+        if (afterRefplu != null) {
+            sql.append("AND i.refplu > :afterRefplu ");
+        }
+        sql.append("ORDER BY i.refplu LIMIT :limit");
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString(), StockSnapshotItem.class);
+        setWhereParameters(nativeQuery, snapshotId, refplu, marca, descricaoPattern);
+        if (afterRefplu != null) {
+            nativeQuery.setParameter("afterRefplu", afterRefplu);
+        }
+        nativeQuery.setParameter("limit", limit);
+
+        return nativeQuery.getResultList();
+    }
+
+    @Override
+    public long countItems(UUID snapshotId, String refplu, String marca, String descricaoPattern, boolean hasStock) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM stock_snapshot_items i ");
+        appendWhere(sql, refplu, marca, descricaoPattern, hasStock);
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString());
+        setWhereParameters(nativeQuery, snapshotId, refplu, marca, descricaoPattern);
+
+        return ((Number) nativeQuery.getSingleResult()).longValue();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<StockSnapshotQuantity> findQuantities(UUID snapshotId, Collection<String> refplus) {
+        if (refplus == null || refplus.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createNativeQuery(
+                        "SELECT * FROM stock_snapshot_quantities WHERE snapshot_id = :snapshotId AND refplu IN (:refplus)",
+                        StockSnapshotQuantity.class)
+                .setParameter("snapshotId", snapshotId)
+                .setParameter("refplus", refplus)
+                .getResultList();
+    }
+
+    @Override
+    public int deleteRowsOfFinishedBefore(LocalDateTime startedAt) {
+        String finishedBefore = "SELECT s.id FROM stock_snapshots s "
+                + "WHERE s.status IN ('COMPLETED', 'FAILED') AND s.started_at < :startedAt";
+        entityManager.createNativeQuery("DELETE FROM stock_snapshot_quantities WHERE snapshot_id IN (" + finishedBefore + ")")
+                .setParameter("startedAt", startedAt)
+                .executeUpdate();
+        return entityManager.createNativeQuery("DELETE FROM stock_snapshot_items WHERE snapshot_id IN (" + finishedBefore + ")")
+                .setParameter("startedAt", startedAt)
+                .executeUpdate();
+    }
+
+    @Override
+    public int deleteRows(UUID snapshotId) {
+        entityManager.createNativeQuery("DELETE FROM stock_snapshot_quantities WHERE snapshot_id = :snapshotId")
+                .setParameter("snapshotId", snapshotId)
+                .executeUpdate();
+        return entityManager.createNativeQuery("DELETE FROM stock_snapshot_items WHERE snapshot_id = :snapshotId")
+                .setParameter("snapshotId", snapshotId)
+                .executeUpdate();
+    }
+
+    /**
+     * Adiciona o WHERE com o snapshot e apenas os filtros informados.
+     */
+    private void appendWhere(StringBuilder sql, String refplu, String marca, String descricaoPattern, boolean hasStock) {
+        sql.append("WHERE i.snapshot_id = :snapshotId ");
+        if (refplu != null) {
+            sql.append("AND i.refplu ILIKE :refplu ");
+        }
+        if (marca != null) {
+            sql.append("AND i.brand ILIKE :marca ");
+        }
+        if (descricaoPattern != null) {
+            sql.append("AND (UPPER(i.description) LIKE :descricao OR UPPER(i.brand) LIKE :descricao) ");
+        }
+        if (hasStock) {
+            sql.append("AND i.total_quantity > 0 ");
+        }
+    }
+
+    /**
+     * Define os parâmetros do WHERE montado por {@link #appendWhere}.
+     */
+    private void setWhereParameters(Query query, UUID snapshotId, String refplu, String marca, String descricaoPattern) {
+        query.setParameter("snapshotId", snapshotId);
+        if (refplu != null) {
+            query.setParameter("refplu", "%" + refplu + "%");
+        }
+        if (marca != null) {
+            query.setParameter("marca", "%" + marca + "%");
+        }
+        if (descricaoPattern != null) {
+            query.setParameter("descricao", descricaoPattern);
+        }
+    }
+
+    /**
+     * Constrói o ORDER BY a partir de colunas conhecidas, com refplu como desempate.
+     * Nulos ficam no início em ordem crescente, como no SQL Server do legado.
+     *
+     * @param sortBy Coluna de ordenação: refplu, marca, descricao, total ou store
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @return Cláusula ORDER BY sem a palavra-chave
+     */
+    private String buildOrderBy(String sortBy, String sortDir) {
+        boolean desc = "desc".equalsIgnoreCase(sortDir);
+        String direction = desc ? "DESC" : "ASC";
+        String nulls = desc ? " NULLS LAST" : " NULLS FIRST";
+
+        return switch (sortBy) {
+            case "marca" -> "i.brand " + direction + nulls + ", i.refplu ASC";
+            case "descricao" -> "i.description " + direction + nulls + ", i.refplu ASC";
+            case "total" -> "i.total_quantity " + direction + ", i.refplu ASC";
+            case "store" -> "COALESCE(q.quantity, 0) " + direction + ", i.refplu ASC";
+            default -> "i.refplu " + direction;
+        };
+    }
+
+    /**
+     * Constrói o comando INSERT multi-valores com parâmetros posicionais.
+     *
+     * @param prefix INSERT com a lista de colunas
+     * @param rows Quantidade de linhas do lote
+     * @param parametersPerRow Quantidade de colunas por linha
+     * @return SQL nativo do PostgreSQL
+     */
+    private String buildInsertQuery(String prefix, int rows, int parametersPerRow) {
+        StringBuilder sql = new StringBuilder(prefix.length() + rows * parametersPerRow * 6);
+        sql.append(prefix);
+
+        int position = 1;
+        for (int row = 0; row < rows; row++) {
+            sql.append(row > 0 ? ", (" : "(");
+            for (int column = 0; column < parametersPerRow; column++) {
+                if (column > 0) {
+                    sql.append(", ");
+                }
+                sql.append('?').append(position++);
+            }
+            sql.append(')');
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.sysconard.business.repository.stock;
+
+import com.sysconard.business.entity.stock.StockSnapshot;
+import com.sysconard.business.enums.StockSnapshotStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository para operações de acesso a dados da entidade StockSnapshot.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, UUID> {
+
+    /**
+     * Busca o snapshot mais recente em uma determinada situação.
+     * Com COMPLETED, retorna o snapshot servido pelas consultas de estoque.
+     *
+     * @param status Situação desejada
+     * @return Snapshot mais recente na situação informada
+     */
+    Optional<StockSnapshot> findFirstByStatusOrderByStartedAtDesc(StockSnapshotStatus status);
+
+    /**
+     * Busca snapshots em uma determinada situação sem atualização desde a data informada.
+     * Utilizado para encerrar atualizações interrompidas em qualquer instância.
+     *
+     * @param status Situação desejada
+     * @param updatedAt Data e hora limite da última atualização
+     * @return Lista de snapshots sem atualização
+     */
+    List<StockSnapshot> findByStatusAndUpdatedAtBefore(StockSnapshotStatus status, LocalDateTime updatedAt);
+
+    /**
+     * Registra o progresso de um snapshot em execução.
+     *
+     * @param id Identificador do snapshot
+     * @param updatedAt Data e hora da atualização
+     * @return Quantidade de registros atualizados
+     */
+    @Modifying
+    @Query("UPDATE StockSnapshot s SET s.updatedAt = :updatedAt WHERE s.id = :id")
+    int touch(@Param("id") UUID id, @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,46 @@
+package com.sysconard.business.repository.sync;
+
+import com.sysconard.business.entity.sync.SyncBackfillChunk;
+import com.sysconard.business.enums.BackfillStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository para operações de acesso a dados da entidade SyncBackfillChunk.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Repository
+public interface SyncBackfillChunkRepository extends JpaRepository<SyncBackfillChunk, UUID> {
+
+    /**
+     * Busca todos os chunks de um backfill em ordem cronológica.
+     *
+     * @param jobId Identificador do backfill
+     * @return Lista de chunks do backfill
+     */
+    List<SyncBackfillChunk> findByJobIdOrderByChunkStartAsc(UUID jobId);
+
+    /**
+     * Busca os chunks de um backfill que ainda não foram concluídos.
+     * Utilizado para retomar a execução a partir do último checkpoint.
+     *
+     * @param jobId Identificador do backfill
+     * @param status Situação a ser desconsiderada (COMPLETED)
+     * @return Lista de chunks pendentes em ordem cronológica
+     */
+    List<SyncBackfillChunk> findByJobIdAndStatusNotOrderByChunkStartAsc(UUID jobId, BackfillStatus status);
+
+    /**
+     * Conta os chunks de um backfill em uma determinada situação.
+     *
+     * @param jobId Identificador do backfill
+     * @param status Situação desejada
+     * @return Quantidade de chunks
+     */
+    long countByJobIdAndStatus(UUID jobId, BackfillStatus status);
+}
@@ -0,0 +1,28 @@
+package com.sysconard.business.repository.sync;
+
+import com.sysconard.business.entity.sync.SyncBackfillJob;
+import com.sysconard.business.enums.BackfillStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository para operações de acesso a dados da entidade SyncBackfillJob.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Repository
+public interface SyncBackfillJobRepository extends JpaRepository<SyncBackfillJob, UUID> {
+
+    /**
+     * Busca backfills em uma determinada situação.
+     * Utilizado na inicialização para retomar execuções interrompidas.
+     *
+     * @param status Situação desejada
+     * @return Lista de backfills na situação informada
+     */
+    List<SyncBackfillJob> findByStatusOrderByCreatedAtAsc(BackfillStatus status);
+}
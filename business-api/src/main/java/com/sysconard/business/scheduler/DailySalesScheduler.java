@@ -2,6 +2,10 @@ package com.sysconard.business.scheduler;
 
 import com.sysconard.business.dto.sync.DailySalesSyncRequest;
 import com.sysconard.business.dto.sync.DailySalesSyncResponse;
+import com.sysconard.business.enums.JobTrigger;
+import com.sysconard.business.enums.SchedulerJob;
+import com.sysconard.business.service.scheduler.JobLeaseService;
+import com.sysconard.business.service.scheduler.SalesJobOrchestrator;
 import com.sysconard.business.service.sync.DailySalesSyncService;
 
 import lombok.RequiredArgsConstructor;
@@ -10,11 +14,14 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.UUID;
 
 /**
  * Scheduler responsável pela execução automática da sincronização de vendas diárias.
- * Executa diariamente às 01:00 AM para sincronizar os dados do dia anterior.
+ * Executa diariamente às 01:00 AM a cadeia de jobs de vendas do dia anterior
+ * (único agendamento da cadeia).
  * Pode ser habilitado/desabilitado via configuração no application.yml.
  * 
  * @author Business API
@@ -30,46 +37,30 @@ import java.time.LocalDate;
 )
 public class DailySalesScheduler {
     
+    private static final String WEEKLY_JOB_NAME = "weekly-sales-correction";
+    private static final Duration WEEKLY_LEASE_TTL = Duration.ofHours(2);
+    
     private final DailySalesSyncService dailySalesSyncService;
+    private final SalesJobOrchestrator salesJobOrchestrator;
+    private final JobLeaseService jobLeaseService;
     
     /**
-     * Executa a sincronização automática de vendas diárias.
+     * Inicia a cadeia agendada de jobs de vendas para o dia anterior:
+     * diário → mensal → anual → emails (SalesJobOrchestrator).
      * Agenda: Todo dia às 01:00 AM (cron: "0 0 1 * * *")
-     * Sincroniza sempre os dados do dia anterior.
+     * Em um cluster, cada job da cadeia executa uma única vez por dia de vendas.
      */
     @Scheduled(cron = "${sync.daily-sales.schedule.cron:0 0 1 * * *}")
     public void syncYesterdayData() {
-        log.info("Iniciando sincronização automática de vendas diárias");
-        
         LocalDate yesterday = LocalDate.now().minusDays(1);
         
         try {
-            // Criar requisição para o dia anterior
-            DailySalesSyncRequest request = DailySalesSyncRequest.builder()
-                    .startDate(yesterday)
-                    .endDate(yesterday)
-                    .build();
-            
-            log.info("Executando sincronização automática para data: {}", yesterday);
-            
-            // Executar sincronização
-            DailySalesSyncResponse response = dailySalesSyncService.syncDailySales(request);
-            
-            log.info("Sincronização automática concluída com sucesso: " +
-                    "data={}, criados={}, atualizados={}, lojas={}", 
-                    yesterday, response.created(), response.updated(), response.storesProcessed());
-            
-            // Log de métricas para monitoramento
-            logSyncMetrics(response, yesterday);
-            
+            SalesJobOrchestrator.PipelineSubmission submission = 
+                    salesJobOrchestrator.submit(SchedulerJob.DAILY_SALES_SYNC, yesterday, JobTrigger.SCHEDULED);
+            log.info("Cadeia agendada de jobs de vendas iniciada: data={}, run={}", yesterday, submission.runId());
         } catch (Exception e) {
-            log.error("Erro durante sincronização automática para data {}: {}", 
+            log.error("Erro ao iniciar a cadeia agendada de jobs de vendas para data {}: {}", 
                      yesterday, e.getMessage(), e);
-            
-            // Aqui poderia ser implementado:
-            // - Envio de alertas por email/slack
-            // - Tentativas de retry
-            // - Métricas de erro para monitoramento
             logSyncError(yesterday, e);
         }
     }
@@ -86,6 +77,12 @@ public class DailySalesScheduler {
         matchIfMissing = false
     )
     public void syncWeeklyCorrection() {
+        String owner = UUID.randomUUID().toString();
+        if (!jobLeaseService.tryAcquire(WEEKLY_JOB_NAME, owner, WEEKLY_LEASE_TTL)) {
+            log.info("Sincronização semanal de correção em execução em outra instância, ignorando");
+            return;
+        }
+        
         log.info("Iniciando sincronização semanal de correção");
         
         LocalDate endDate = LocalDate.now().minusDays(1);
@@ -111,18 +108,8 @@ public class DailySalesScheduler {
             
             logSyncError(startDate, e);
         }
-    }
-    
-    /**
-     * Registra métricas de sucesso da sincronização para monitoramento.
-     * 
-     * @param response Resposta da sincronização
-     * @param date Data processada
-     */
-    private void logSyncMetrics(DailySalesSyncResponse response, LocalDate date) {
-        log.info("SYNC_METRICS: date={}, created={}, updated={}, total_processed={}, stores={}, success=true",
-                date, response.created(), response.updated(), 
-                response.getTotalProcessed(), response.storesProcessed());
+        // A lease não é liberada: expira após WEEKLY_LEASE_TTL, de forma que as demais
+        // instâncias disparadas pelo mesmo cron não repitam a correção
     }
     
     /**
@@ -0,0 +1,125 @@
+package com.sysconard.business.scheduler;
+
+import com.sysconard.business.repository.sale.SaleDetailPartitionRepository;
+import com.sysconard.business.service.sale.SaleDetailPartitionArchiver;
+import com.sysconard.business.service.sale.SaleDetailPartitionService;
+import com.sysconard.business.service.scheduler.JobLeaseService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Scheduler responsável pela manutenção das partições mensais de sale_details.
+ * Na inicialização e diariamente cria as partições do mês corrente e dos próximos
+ * months-ahead meses; se o arquivamento estiver habilitado, exporta para arquivos
+ * gzip e desanexa as partições anteriores ao horizonte de retenção.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(
+    name = "sync.sale-details.partitioning.enabled",
+    havingValue = "true",
+    matchIfMissing = true
+)
+public class SaleDetailPartitionScheduler {
+
+    private static final String JOB_NAME = "sale-details-partition-maintenance";
+    private static final Duration LEASE_TTL = Duration.ofHours(1);
+
+    private final SaleDetailPartitionService partitionService;
+    private final SaleDetailPartitionArchiver partitionArchiver;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${sync.sale-details.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${sync.sale-details.partitioning.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${sync.sale-details.partitioning.archive.retention-months:36}")
+    private int retentionMonths;
+
+    @Value("${sync.sale-details.partitioning.archive.drop-after-archive:true}")
+    private boolean dropAfterArchive;
+
+    /**
+     * Cria as partições futuras assim que a aplicação inicia.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createUpcomingPartitionsOnStartup() {
+        try {
+            createUpcomingPartitions();
+        } catch (Exception e) {
+            log.error("Erro ao criar partições futuras de sale_details: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Manutenção diária das partições.
+     * Agenda: Todo dia às 03:30 (cron: "0 30 3 * * *")
+     */
+    @Scheduled(cron = "${sync.sale-details.partitioning.maintenance-cron:0 30 3 * * *}")
+    public void maintainPartitions() {
+        String owner = UUID.randomUUID().toString();
+        if (!jobLeaseService.tryAcquire(JOB_NAME, owner, LEASE_TTL)) {
+            log.info("Manutenção de partições de sale_details em execução em outra instância, ignorando");
+            return;
+        }
+
+        try {
+            createUpcomingPartitions();
+            if (archiveEnabled) {
+                archiveExpiredPartitions();
+            }
+        } catch (Exception e) {
+            log.error("Erro na manutenção de partições de sale_details: {}", e.getMessage(), e);
+        }
+        // A lease não é liberada: expira após LEASE_TTL, de forma que as demais
+        // instâncias disparadas pelo mesmo cron não repitam a manutenção
+    }
+
+    private void createUpcomingPartitions() {
+        LocalDate today = LocalDate.now();
+        int created = partitionService.ensurePartitions(today, today.plusMonths(Math.max(0, monthsAhead)));
+        if (created > 0) {
+            log.info("{} partição(ões) futura(s) de sale_details criada(s)", created);
+        }
+    }
+
+    /**
+     * Arquiva, uma por vez, as partições anteriores ao horizonte de retenção. Uma falha
+     * interrompe o arquivamento; a partição com falha permanece anexada e é retomada
+     * na próxima execução.
+     */
+    private void archiveExpiredPartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(Math.max(1, retentionMonths));
+        List<YearMonth> expired = partitionService.findPartitionsBefore(cutoff);
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        log.info("Arquivando {} partição(ões) de sale_details anteriores a {}", expired.size(), cutoff);
+        for (YearMonth month : expired) {
+            long rows = partitionArchiver.exportPartition(month);
+            partitionService.retirePartition(month, rows, dropAfterArchive);
+            log.info("Partição {} desanexada{}", SaleDetailPartitionRepository.partitionName(month),
+                    dropAfterArchive ? " e removida" : "");
+        }
+    }
+}
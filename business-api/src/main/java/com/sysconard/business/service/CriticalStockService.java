@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
 
 import com.sysconard.business.client.LegacyApiClient;
 import com.sysconard.business.dto.CriticalStockPageResponseDTO;
@@ -11,6 +12,8 @@ import com.sysconard.business.dto.CriticalStockSearchRequest;
 
 import jakarta.validation.Valid;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service para estoque crítico.
  * Responsável por consumir a Legacy API e aplicar validações.
@@ -34,32 +37,41 @@ public class CriticalStockService {
      * @throws RuntimeException Se houver erro na comunicação com Legacy API
      */
     public CriticalStockPageResponseDTO getCriticalStock(@Valid CriticalStockSearchRequest request) {
-        log.info("Buscando estoque crítico: refplu={}, descricao={}, grupo={}, marca={}, page={}, size={}, sortBy={}, sortDir={}",
-                request.refplu(), request.descricao(), request.grupo(), request.marca(), request.page(), request.size(), request.sortBy(), request.sortDir());
-        
         try {
-            // Chamar Legacy API
-            CriticalStockPageResponseDTO response = legacyApiClient.getCriticalStock(
-                request.refplu(),
-                request.descricao(),
-                request.grupo(),
-                request.marca(),
-                request.page(),
-                request.size(),
-                request.sortBy(),
-                request.sortDir()
-            );
-            
-            log.info("Estoque crítico obtido com sucesso: {} itens de {} total",
-                    response.getContent().size(), 
-                    response.getPagination().getTotalElements());
-            
-            return response;
+            return fetchCriticalStock(request).block();
             
         } catch (Exception e) {
             log.error("Erro ao buscar estoque crítico", e);
             throw new RuntimeException("Erro ao buscar estoque crítico: " + e.getMessage(), e);
         }
     }
+    
+    /**
+     * Versão assíncrona de {@link #getCriticalStock}.
+     * Não ocupa a thread da requisição enquanto aguarda a Legacy API.
+     * 
+     * @param request Requisição de busca validada
+     * @return Future com a resposta paginada; conclui com RuntimeException em caso de erro
+     */
+    public CompletableFuture<CriticalStockPageResponseDTO> getCriticalStockAsync(@Valid CriticalStockSearchRequest request) {
+        return fetchCriticalStock(request)
+                .onErrorMap(e -> {
+                    log.error("Erro ao buscar estoque crítico", e);
+                    return new RuntimeException("Erro ao buscar estoque crítico: " + e.getMessage(), e);
+                })
+                .toFuture();
+    }
+    
+    private Mono<CriticalStockPageResponseDTO> fetchCriticalStock(CriticalStockSearchRequest request) {
+        log.info("Buscando estoque crítico: refplu={}, descricao={}, grupo={}, marca={}, page={}, size={}, sortBy={}, sortDir={}",
+                request.refplu(), request.descricao(), request.grupo(), request.marca(), request.page(), request.size(), request.sortBy(), request.sortDir());
+        
+        return legacyApiClient.fetchCriticalStock(
+                        request.refplu(), request.descricao(), request.grupo(), request.marca(),
+                        request.page(), request.size(), request.sortBy(), request.sortDir())
+                .doOnNext(response -> log.info("Estoque crítico obtido com sucesso: {} itens de {} total",
+                        response.getContent().size(), 
+                        response.getPagination().getTotalElements()));
+    }
 }
 
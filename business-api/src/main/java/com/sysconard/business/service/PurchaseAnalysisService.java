@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
 
 import com.sysconard.business.client.LegacyApiClient;
 import com.sysconard.business.dto.PurchaseAnalysisPageResponseDTO;
@@ -11,6 +12,8 @@ import com.sysconard.business.dto.PurchaseAnalysisSearchRequest;
 
 import jakarta.validation.Valid;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service para análise de compras.
  * Responsável por consumir a Legacy API e aplicar validações.
@@ -34,33 +37,41 @@ public class PurchaseAnalysisService {
      * @throws RuntimeException Se houver erro na comunicação com Legacy API
      */
     public PurchaseAnalysisPageResponseDTO getPurchaseAnalysis(@Valid PurchaseAnalysisSearchRequest request) {
-        log.info("Buscando análise de compras: refplu={}, descricao={}, grupo={}, marca={}, hideNoSales={}, page={}, size={}, sortBy={}, sortDir={}",
-                request.refplu(), request.descricao(), request.grupo(), request.marca(), request.hideNoSales(), request.page(), request.size(), request.sortBy(), request.sortDir());
-        
         try {
-            // Chamar Legacy API
-            PurchaseAnalysisPageResponseDTO response = legacyApiClient.getPurchaseAnalysis(
-                request.refplu(),
-                request.descricao(),
-                request.grupo(),
-                request.marca(),
-                request.hideNoSales(),
-                request.page(),
-                request.size(),
-                request.sortBy(),
-                request.sortDir()
-            );
-            
-            log.info("Análise de compras obtida com sucesso: {} itens de {} total",
-                    response.getContent().size(), 
-                    response.getPagination().getTotalElements());
-            
-            return response;
+            return fetchPurchaseAnalysis(request).block();
             
         } catch (Exception e) {
             log.error("Erro ao buscar análise de compras", e);
             throw new RuntimeException("Erro ao buscar análise de compras: " + e.getMessage(), e);
         }
     }
+    
+    /**
+     * Versão assíncrona de {@link #getPurchaseAnalysis}.
+     * Não ocupa a thread da requisição enquanto aguarda a Legacy API.
+     * 
+     * @param request Requisição de busca validada
+     * @return Future com a resposta paginada; conclui com RuntimeException em caso de erro
+     */
+    public CompletableFuture<PurchaseAnalysisPageResponseDTO> getPurchaseAnalysisAsync(@Valid PurchaseAnalysisSearchRequest request) {
+        return fetchPurchaseAnalysis(request)
+                .onErrorMap(e -> {
+                    log.error("Erro ao buscar análise de compras", e);
+                    return new RuntimeException("Erro ao buscar análise de compras: " + e.getMessage(), e);
+                })
+                .toFuture();
+    }
+    
+    private Mono<PurchaseAnalysisPageResponseDTO> fetchPurchaseAnalysis(PurchaseAnalysisSearchRequest request) {
+        log.info("Buscando análise de compras: refplu={}, descricao={}, grupo={}, marca={}, hideNoSales={}, page={}, size={}, sortBy={}, sortDir={}",
+                request.refplu(), request.descricao(), request.grupo(), request.marca(), request.hideNoSales(), request.page(), request.size(), request.sortBy(), request.sortDir());
+        
+        return legacyApiClient.fetchPurchaseAnalysis(
+                        request.refplu(), request.descricao(), request.grupo(), request.marca(),
+                        request.hideNoSales(), request.page(), request.size(), request.sortBy(), request.sortDir())
+                .doOnNext(response -> log.info("Análise de compras obtida com sucesso: {} itens de {} total",
+                        response.getContent().size(), 
+                        response.getPagination().getTotalElements()));
+    }
 }
 
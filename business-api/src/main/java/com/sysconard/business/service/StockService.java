@@ -3,17 +3,25 @@ package com.sysconard.business.service;
 import com.sysconard.business.client.LegacyApiClient;
 import com.sysconard.business.dto.StockPageResponseDTO;
 import com.sysconard.business.dto.StockSearchRequest;
+import com.sysconard.business.service.stock.StockSnapshotService;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Serviço de negócio para operações com estoque
  * Orquestra chamadas para APIs externas e aplica regras de negócio
  * 
+ * As buscas são atendidas pelo snapshot local de estoque (StockSnapshotService).
+ * A Legacy API é consultada diretamente quando solicitado (live), na paginação
+ * por cursor (after) ou enquanto não houver snapshot concluído.
+ * 
  * @author Business API
  * @version 1.0
  */
@@ -22,9 +30,11 @@ import java.util.Collections;
 public class StockService {
     
     private final LegacyApiClient legacyApiClient;
+    private final StockSnapshotService stockSnapshotService;
     
-    public StockService(LegacyApiClient legacyApiClient) {
+    public StockService(LegacyApiClient legacyApiClient, StockSnapshotService stockSnapshotService) {
         this.legacyApiClient = legacyApiClient;
+        this.stockSnapshotService = stockSnapshotService;
     }
     
     /**
@@ -34,64 +44,120 @@ public class StockService {
      * @return Resposta formatada da Business API
      */
     public StockPageResponseDTO getStocks(StockSearchRequest request) {
+        return fetchStocks(request).block();
+    }
+    
+    /**
+     * Versão assíncrona de {@link #getStocks}.
+     * Não ocupa a thread da requisição enquanto aguarda a Legacy API.
+     * 
+     * @param request Dados da requisição de busca
+     * @return Future com a resposta formatada da Business API (status ERROR em caso de falha)
+     */
+    public CompletableFuture<StockPageResponseDTO> getStocksAsync(StockSearchRequest request) {
+        return fetchStocks(request).toFuture();
+    }
+    
+    private Mono<StockPageResponseDTO> fetchStocks(StockSearchRequest request) {
         
-        log.info("Iniciando busca de estoque com filtros - refplu: {}, marca: {}, descricao: {}, hasStock: {}", 
-                request.refplu(), request.marca(), request.descricao(), request.hasStock());
+        log.info("Iniciando busca de estoque com filtros - refplu: {}, marca: {}, descricao: {}, hasStock: {}, live: {}", 
+                request.refplu(), request.marca(), request.descricao(), request.hasStock(), request.live());
         
-        try {
-            // Buscar dados na Legacy API
-            StockPageResponseDTO legacyResponse = legacyApiClient.getStocks(
-                    request.refplu(), request.marca(), request.descricao(), request.hasStock(),
-                    request.page(), request.size(), request.sortBy(), request.sortDir());
-            
-            // Aplicar regras de negócio (por enquanto apenas transformação)
-            var stocks = legacyResponse.getContent() != null ? 
-                    legacyResponse.getContent() : Collections.<com.sysconard.business.dto.StockItemResponseDTO>emptyList();
-            
-            // Construir resposta da Business API
-            return StockPageResponseDTO.builder()
-                    .content(stocks)
-                    .pagination(StockPageResponseDTO.PaginationMetadata.builder()
-                            .totalElements(legacyResponse.getPagination().getTotalElements())
-                            .totalPages(legacyResponse.getPagination().getTotalPages())
-                            .currentPage(legacyResponse.getPagination().getCurrentPage())
-                            .pageSize(legacyResponse.getPagination().getPageSize())
-                            .hasNext(legacyResponse.getPagination().getHasNext())
-                            .hasPrevious(legacyResponse.getPagination().getHasPrevious())
-                            .build())
-                    .dataSource(StockPageResponseDTO.DataSourceInfo.builder()
-                            .source("legacy-api")
-                            .version("1.0")
-                            .endpoint("/stocks")
-                            .build())
-                    .timestamp(LocalDateTime.now())
-                    .status("SUCCESS")
-                    .message("Estoque encontrado com sucesso")
-                    .build();
-                    
-        } catch (Exception e) {
-            log.error("Erro ao buscar estoque", e);
-            
-            // Retornar resposta de erro
-            return StockPageResponseDTO.builder()
-                    .content(Collections.emptyList())
-                    .pagination(StockPageResponseDTO.PaginationMetadata.builder()
-                            .totalElements(0L)
-                            .totalPages(0)
-                            .currentPage(request.page())
-                            .pageSize(request.size())
-                            .hasNext(false)
-                            .hasPrevious(false)
-                            .build())
-                    .dataSource(StockPageResponseDTO.DataSourceInfo.builder()
-                            .source("legacy-api")
-                            .version("1.0")
-                            .endpoint("/stocks")
-                            .build())
-                    .timestamp(LocalDateTime.now())
-                    .status("ERROR")
-                    .message("Erro ao buscar estoque: " + e.getMessage())
-                    .build();
+        if (Boolean.TRUE.equals(request.live()) || request.after() != null) {
+            return fetchLiveStocks(request);
         }
+        
+        // Consultar o snapshot local fora da thread do chamador; sem snapshot, consultar a Legacy API
+        return Mono.fromCallable(() -> stockSnapshotService.searchStocks(request))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(snapshot -> snapshot.map(Mono::just).orElseGet(() -> {
+                    log.info("Nenhum snapshot de estoque concluído; consultando a Legacy API");
+                    return fetchLiveStocks(request);
+                }))
+                .onErrorResume(e -> {
+                    log.error("Erro ao buscar estoque no snapshot local", e);
+                    return Mono.just(toErrorResponse(request, e));
+                });
+    }
+    
+    private Mono<StockPageResponseDTO> fetchLiveStocks(StockSearchRequest request) {
+        // Buscar dados na Legacy API
+        return legacyApiClient.fetchStocks(
+                        request.refplu(), request.marca(), request.descricao(), request.hasStock(),
+                        request.page(), request.size(), request.sortBy(), request.sortDir(),
+                        request.after(), request.includeCount())
+                .map(this::toBusinessResponse)
+                .onErrorResume(e -> {
+                    log.error("Erro ao buscar estoque", e);
+                    return Mono.just(toErrorResponse(request, e));
+                });
+    }
+    
+    /**
+     * Constrói a resposta da Business API a partir da resposta da Legacy API
+     * 
+     * @param legacyResponse Resposta da Legacy API
+     * @return Resposta formatada da Business API
+     */
+    private StockPageResponseDTO toBusinessResponse(StockPageResponseDTO legacyResponse) {
+        // Aplicar regras de negócio (por enquanto apenas transformação)
+        var stocks = legacyResponse.getContent() != null ? 
+                legacyResponse.getContent() : Collections.<com.sysconard.business.dto.StockItemResponseDTO>emptyList();
+        
+        // Construir resposta da Business API
+        return StockPageResponseDTO.builder()
+                .content(stocks)
+                .pagination(StockPageResponseDTO.PaginationMetadata.builder()
+                        .totalElements(legacyResponse.getPagination().getTotalElements())
+                        .totalPages(legacyResponse.getPagination().getTotalPages())
+                        .currentPage(legacyResponse.getPagination().getCurrentPage())
+                        .pageSize(legacyResponse.getPagination().getPageSize())
+                        .hasNext(legacyResponse.getPagination().getHasNext())
+                        .hasPrevious(legacyResponse.getPagination().getHasPrevious())
+                        .nextCursor(legacyResponse.getPagination().getNextCursor())
+                        .build())
+                .dataSource(StockPageResponseDTO.DataSourceInfo.builder()
+                        .source("legacy-api")
+                        .version("1.0")
+                        .endpoint("/stocks")
+                        .build())
+                .freshness(StockPageResponseDTO.Freshness.builder()
+                        .source("live")
+                        .ageSeconds(0L)
+                        .stale(false)
+                        .build())
+                .timestamp(LocalDateTime.now())
+                .status("SUCCESS")
+                .message("Estoque encontrado com sucesso")
+                .build();
+    }
+    
+    /**
+     * Constrói a resposta de erro da Business API
+     * 
+     * @param request Dados da requisição de busca
+     * @param e Erro ocorrido
+     * @return Resposta com status ERROR
+     */
+    private StockPageResponseDTO toErrorResponse(StockSearchRequest request, Throwable e) {
+        return StockPageResponseDTO.builder()
+                .content(Collections.emptyList())
+                .pagination(StockPageResponseDTO.PaginationMetadata.builder()
+                        .totalElements(0L)
+                        .totalPages(0)
+                        .currentPage(request.page())
+                        .pageSize(request.size())
+                        .hasNext(false)
+                        .hasPrevious(false)
+                        .build())
+                .dataSource(StockPageResponseDTO.DataSourceInfo.builder()
+                        .source("legacy-api")
+                        .version("1.0")
+                        .endpoint("/stocks")
+                        .build())
+                .timestamp(LocalDateTime.now())
+                .status("ERROR")
+                .message("Erro ao buscar estoque: " + e.getMessage())
+                .build();
     }
 }
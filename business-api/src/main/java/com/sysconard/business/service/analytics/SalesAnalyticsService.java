@@ -0,0 +1,232 @@
+package com.sysconard.business.service.analytics;
+
+import com.sysconard.business.dto.analytics.BrandShareResponse;
+import com.sysconard.business.dto.analytics.RollupRebuildResponse;
+import com.sysconard.business.dto.analytics.SellerRankingResponse;
+import com.sysconard.business.dto.analytics.TopProductResponse;
+import com.sysconard.business.dto.store.StoreResponseDto;
+import com.sysconard.business.repository.analytics.RollupRangePlan;
+import com.sysconard.business.repository.analytics.SalesRollupRepository;
+import com.sysconard.business.service.store.StoreService;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Serviço responsável pelas consultas analíticas de vendas (produtos mais vendidos,
+ * participação de marcas e ranking de vendedores) sobre os agregados mantidos a partir
+ * de sale_details.
+ *
+ * Cada consulta lê os meses completos do período dos agregados mensais e apenas os dias
+ * avulsos do início e do fim dos agregados diários ({@link RollupRangePlan}), de forma
+ * que períodos de vários anos leem poucas linhas por loja.
+ *
+ * Métrica: analytics.query.duration (tags query e rollup: month quando há meses
+ * completos, day caso contrário).
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class SalesAnalyticsService {
+
+    public static final String QUERY_TIMER = "analytics.query.duration";
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final StoreService storeService;
+
+    @Value("${analytics.max-limit:100}")
+    private int maxLimit;
+
+    /**
+     * Produtos mais vendidos no período.
+     *
+     * @param startDate Data inicial (inclusive)
+     * @param endDate Data final (inclusive)
+     * @param storeCode Loja (null = todas as lojas ativas)
+     * @param orderByQuantity true para ordenar por quantidade, false por valor
+     * @param limit Quantidade de produtos
+     * @return Ranking de produtos
+     */
+    public List<TopProductResponse> getTopProducts(LocalDate startDate, LocalDate endDate, String storeCode,
+                                                   boolean orderByQuantity, int limit) {
+        int validLimit = validateLimit(limit);
+        RollupRangePlan plan = RollupRangePlan.of(startDate, endDate);
+        List<String> storeCodes = resolveStoreCodes(storeCode);
+        if (storeCodes.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object[]> rows = timed("top-products", plan,
+                () -> salesRollupRepository.findTopProducts(plan, storeCodes, orderByQuantity, validLimit));
+
+        List<TopProductResponse> ranking = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ranking.add(TopProductResponse.builder()
+                    .position(ranking.size() + 1)
+                    .productRefCode((String) row[0])
+                    .description((String) row[1])
+                    .brand((String) row[2])
+                    .quantity(toLong(row[3]))
+                    .totalValue(toBigDecimal(row[4]))
+                    .build());
+        }
+        return ranking;
+    }
+
+    /**
+     * Participação de cada marca no valor vendido no período.
+     *
+     * @param startDate Data inicial (inclusive)
+     * @param endDate Data final (inclusive)
+     * @param storeCode Loja (null = todas as lojas ativas)
+     * @param section Seção dos produtos (null = todas)
+     * @return Marcas da maior para a menor participação
+     */
+    public List<BrandShareResponse> getBrandShare(LocalDate startDate, LocalDate endDate, String storeCode,
+                                                  String section) {
+        RollupRangePlan plan = RollupRangePlan.of(startDate, endDate);
+        List<String> storeCodes = resolveStoreCodes(storeCode);
+        if (storeCodes.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object[]> rows = timed("brand-share", plan,
+                () -> salesRollupRepository.findBrandTotals(plan, storeCodes, section));
+
+        BigDecimal total = rows.stream()
+                .map(row -> toBigDecimal(row[2]))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return rows.stream()
+                .map(row -> {
+                    BigDecimal value = toBigDecimal(row[2]);
+                    return BrandShareResponse.builder()
+                            .brand((String) row[0])
+                            .quantity(toLong(row[1]))
+                            .totalValue(value)
+                            .sharePercentage(total.signum() == 0
+                                    ? BigDecimal.ZERO
+                                    : value.multiply(ONE_HUNDRED).divide(total, 2, RoundingMode.HALF_UP))
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * Colaboradores com maior valor vendido no período.
+     *
+     * @param startDate Data inicial (inclusive)
+     * @param endDate Data final (inclusive)
+     * @param storeCode Loja (null = todas as lojas ativas)
+     * @param limit Quantidade de colaboradores
+     * @return Ranking de vendedores
+     */
+    public List<SellerRankingResponse> getSellerRanking(LocalDate startDate, LocalDate endDate, String storeCode,
+                                                        int limit) {
+        int validLimit = validateLimit(limit);
+        RollupRangePlan plan = RollupRangePlan.of(startDate, endDate);
+        List<String> storeCodes = resolveStoreCodes(storeCode);
+        if (storeCodes.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object[]> rows = timed("seller-ranking", plan,
+                () -> salesRollupRepository.findSellerRanking(plan, storeCodes, validLimit));
+
+        List<SellerRankingResponse> ranking = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ranking.add(SellerRankingResponse.builder()
+                    .position(ranking.size() + 1)
+                    .collaboratorCode((String) row[0])
+                    .collaboratorName((String) row[1])
+                    .quantity(toLong(row[2]))
+                    .totalValue(toBigDecimal(row[3]))
+                    .itemCount(toLong(row[4]))
+                    .build());
+        }
+        return ranking;
+    }
+
+    /**
+     * Reconstrói os agregados dos meses que contêm o período a partir de sale_details.
+     * Usado na carga inicial e após alterações de classificação de produtos.
+     *
+     * @param startDate Data inicial
+     * @param endDate Data final
+     * @return Resultado da reconstrução
+     */
+    @Transactional
+    public RollupRebuildResponse rebuildRollups(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Data inicial não pode ser posterior à data final");
+        }
+        LocalDate from = YearMonth.from(startDate).atDay(1);
+        LocalDate to = YearMonth.from(endDate).plusMonths(1).atDay(1);
+
+        log.info("Reconstruindo agregados de vendas: {} a {}", from, to.minusDays(1));
+        long start = System.nanoTime();
+        int deleted = salesRollupRepository.deleteRange(from, to);
+        int written = salesRollupRepository.rebuildRange(from, to);
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+
+        log.info("Agregados de vendas reconstruídos: {} a {}, removidos={}, gravados={}, duração={}ms",
+                from, to.minusDays(1), deleted, written, durationMs);
+        return new RollupRebuildResponse(from, to.minusDays(1), deleted, written, durationMs);
+    }
+
+    /**
+     * Lojas consultadas: a loja informada, validada entre as lojas ativas, ou todas elas.
+     */
+    private List<String> resolveStoreCodes(String storeCode) {
+        List<String> activeStoreCodes = storeService.getAllActiveStores().stream()
+                .map(StoreResponseDto::getCode)
+                .toList();
+        if (storeCode == null || storeCode.isBlank()) {
+            return activeStoreCodes;
+        }
+        if (!activeStoreCodes.contains(storeCode)) {
+            throw new IllegalArgumentException("Loja não permitida para o usuário: " + storeCode);
+        }
+        return List.of(storeCode);
+    }
+
+    private int validateLimit(int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + maxLimit);
+        }
+        return limit;
+    }
+
+    private <T> T timed(String query, RollupRangePlan plan, Supplier<T> supplier) {
+        return Metrics.timer(QUERY_TIMER, "query", query, "rollup", plan.usesMonthlyRollups() ? "month" : "day")
+                .record(supplier);
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
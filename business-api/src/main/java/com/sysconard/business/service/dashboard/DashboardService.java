@@ -7,14 +7,29 @@ import com.sysconard.business.repository.sell.MonthlySellRepository;
 import com.sysconard.business.repository.sell.YearSellRepository;
 import com.sysconard.business.service.sell.CurrentDailySalesService;
 import com.sysconard.business.service.store.StoreService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Serviço responsável por fornecer dados consolidados para o dashboard.
@@ -36,9 +51,61 @@ public class DashboardService {
     
     private static final DateTimeFormatter YEAR_MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
     
+    /**
+     * Threads da métrica de vendas de hoje, separadas das demais: o tempo limite não
+     * libera a thread bloqueada na Legacy API, e uma atualização lenta do snapshot
+     * não deve ocupar as threads das consultas locais.
+     */
+    private ExecutorService todayExecutor;
+    
+    /**
+     * Threads das métricas locais (totais mensal, anual e contagem de lojas).
+     */
+    private ExecutorService metricsExecutor;
+    
+    @Value("${dashboard.metrics.today-threads:4}")
+    private int todayThreads = 4;
+    
+    @Value("${dashboard.metrics.threads:8}")
+    private int metricThreads = 8;
+    
+    @Value("${dashboard.metrics.today-timeout:PT5S}")
+    private Duration todayTimeout = Duration.ofSeconds(5);
+    
+    @Value("${dashboard.metrics.timeout:PT3S}")
+    private Duration metricTimeout = Duration.ofSeconds(3);
+    
+    @PostConstruct
+    void initExecutors() {
+        todayExecutor = newExecutor("dashboard-today-", todayThreads);
+        metricsExecutor = newExecutor("dashboard-metric-", metricThreads);
+    }
+    
+    @PreDestroy
+    void shutdownExecutors() {
+        todayExecutor.shutdownNow();
+        metricsExecutor.shutdownNow();
+    }
+    
+    private static ExecutorService newExecutor(String namePrefix, int threads) {
+        return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger threadCounter = new AtomicInteger();
+            
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, namePrefix + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+    
     /**
      * Obtém resumo completo do dashboard com todas as métricas principais.
-     * Agrega dados de vendas e contagem de lojas ativas em uma única operação.
+     * As quatro métricas são calculadas em paralelo, cada uma com seu tempo limite,
+     * de forma que a latência do resumo é a da métrica mais lenta. Uma métrica que
+     * falha ou excede o tempo limite é retornada zerada e listada em unavailableMetrics,
+     * sem afetar as demais.
      * 
      * @return Resumo consolidado do dashboard
      */
@@ -46,21 +113,31 @@ public class DashboardService {
         log.info("Gerando resumo do dashboard");
         
         try {
+            Set<String> unavailableMetrics = ConcurrentHashMap.newKeySet();
+            
             // Obter métricas em paralelo para melhor performance
-            BigDecimal totalSalesToday = getTotalSalesToday();
-            BigDecimal totalSalesMonth = getTotalSalesMonth();
-            BigDecimal totalSalesYear = getTotalSalesYear();
-            Integer activeStoresCount = getActiveStoresCount();
+            CompletableFuture<BigDecimal> totalSalesToday = supplyMetric("totalSalesToday",
+                    this::getTotalSalesToday, todayExecutor, todayTimeout, BigDecimal.ZERO, unavailableMetrics);
+            CompletableFuture<BigDecimal> totalSalesMonth = supplyMetric("totalSalesMonth",
+                    this::getTotalSalesMonth, metricsExecutor, metricTimeout, BigDecimal.ZERO, unavailableMetrics);
+            CompletableFuture<BigDecimal> totalSalesYear = supplyMetric("totalSalesYear",
+                    this::getTotalSalesYear, metricsExecutor, metricTimeout, BigDecimal.ZERO, unavailableMetrics);
+            CompletableFuture<Integer> activeStoresCount = supplyMetric("activeStoresCount",
+                    this::getActiveStoresCount, metricsExecutor, metricTimeout, 0, unavailableMetrics);
+            
+            CompletableFuture.allOf(totalSalesToday, totalSalesMonth, totalSalesYear, activeStoresCount).join();
             
             DashboardSummaryResponse summary = new DashboardSummaryResponse(
-                totalSalesToday,
-                totalSalesMonth,
-                totalSalesYear,
-                activeStoresCount
+                totalSalesToday.join(),
+                totalSalesMonth.join(),
+                totalSalesYear.join(),
+                activeStoresCount.join(),
+                unavailableMetrics.stream().sorted().toList()
             );
             
-            log.info("Resumo do dashboard gerado com sucesso: vendas hoje={}, mês={}, ano={}, lojas={}", 
-                    totalSalesToday, totalSalesMonth, totalSalesYear, activeStoresCount);
+            log.info("Resumo do dashboard gerado com sucesso: vendas hoje={}, mês={}, ano={}, lojas={}, indisponíveis={}", 
+                    summary.totalSalesToday(), summary.totalSalesMonth(), summary.totalSalesYear(),
+                    summary.activeStoresCount(), summary.unavailableMetrics());
             
             return summary;
             
@@ -70,6 +147,34 @@ public class DashboardService {
         }
     }
     
+    /**
+     * Executa uma métrica no executor informado com tempo limite.
+     * Em caso de erro ou tempo esgotado, retorna o valor padrão e registra a métrica como indisponível.
+     * 
+     * @param metric Nome da métrica
+     * @param supplier Cálculo da métrica
+     * @param executor Executor da métrica
+     * @param timeout Tempo limite da métrica
+     * @param fallback Valor retornado quando a métrica não está disponível
+     * @param unavailableMetrics Métricas indisponíveis nesta requisição
+     * @return Future com o valor da métrica ou o valor padrão
+     */
+    private <T> CompletableFuture<T> supplyMetric(String metric, Supplier<T> supplier, ExecutorService executor,
+                                                  Duration timeout, T fallback, Set<String> unavailableMetrics) {
+        return CompletableFuture.supplyAsync(supplier, executor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        log.warn("Métrica {} do dashboard excedeu o tempo limite de {}ms", metric, timeout.toMillis());
+                    } else {
+                        log.error("Erro ao calcular métrica {} do dashboard: {}", metric, cause.getMessage(), cause);
+                    }
+                    unavailableMetrics.add(metric);
+                    return fallback;
+                });
+    }
+    
     /**
      * Calcula total de vendas do dia atual.
      * Utiliza o serviço de vendas em tempo real para dados sempre atualizados.
@@ -79,20 +184,14 @@ public class DashboardService {
     private BigDecimal getTotalSalesToday() {
         log.debug("Calculando total de vendas do dia atual");
         
-        try {
-            List<DailySalesReportResponse> dailySales = currentDailySalesService.getCurrentDailySales();
-            
-            BigDecimal total = dailySales.stream()
-                    .map(DailySalesReportResponse::total)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            log.debug("Total de vendas do dia atual: {}", total);
-            return total;
-            
-        } catch (Exception e) {
-            log.error("Erro ao calcular vendas do dia atual: {}", e.getMessage(), e);
-            return BigDecimal.ZERO;
-        }
+        List<DailySalesReportResponse> dailySales = currentDailySalesService.getCurrentDailySales();
+        
+        BigDecimal total = dailySales.stream()
+                .map(DailySalesReportResponse::total)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        
+        log.debug("Total de vendas do dia atual: {}", total);
+        return total;
     }
     
     /**
@@ -104,17 +203,11 @@ public class DashboardService {
     private BigDecimal getTotalSalesMonth() {
         log.debug("Calculando total de vendas do mês atual");
         
-        try {
-            String currentYearMonth = LocalDate.now().format(YEAR_MONTH_FORMATTER);
-            BigDecimal total = monthlySellRepository.sumTotalByYearMonth(currentYearMonth);
-            
-            log.debug("Total de vendas do mês atual ({}): {}", currentYearMonth, total);
-            return total;
-            
-        } catch (Exception e) {
-            log.error("Erro ao calcular vendas do mês atual: {}", e.getMessage(), e);
-            return BigDecimal.ZERO;
-        }
+        String currentYearMonth = LocalDate.now().format(YEAR_MONTH_FORMATTER);
+        BigDecimal total = monthlySellRepository.sumTotalByYearMonth(currentYearMonth);
+        
+        log.debug("Total de vendas do mês atual ({}): {}", currentYearMonth, total);
+        return total;
     }
     
     /**
@@ -126,17 +219,11 @@ public class DashboardService {
     private BigDecimal getTotalSalesYear() {
         log.debug("Calculando total de vendas do ano atual");
         
-        try {
-            Integer currentYear = LocalDate.now().getYear();
-            BigDecimal total = yearSellRepository.sumTotalByYear(currentYear);
-            
-            log.debug("Total de vendas do ano atual ({}): {}", currentYear, total);
-            return total;
-            
-        } catch (Exception e) {
-            log.error("Erro ao calcular vendas do ano atual: {}", e.getMessage(), e);
-            return BigDecimal.ZERO;
-        }
+        Integer currentYear = LocalDate.now().getYear();
+        BigDecimal total = yearSellRepository.sumTotalByYear(currentYear);
+        
+        log.debug("Total de vendas do ano atual ({}): {}", currentYear, total);
+        return total;
     }
     
     /**
@@ -148,16 +235,10 @@ public class DashboardService {
     private Integer getActiveStoresCount() {
         log.debug("Contando lojas ativas");
         
-        try {
-            List<StoreResponseDto> activeStores = storeService.getAllActiveStores();
-            Integer count = activeStores.size();
-            
-            log.debug("Número de lojas ativas: {}", count);
-            return count;
-            
-        } catch (Exception e) {
-            log.error("Erro ao contar lojas ativas: {}", e.getMessage(), e);
-            return 0;
-        }
+        List<StoreResponseDto> activeStores = storeService.getAllActiveStores();
+        Integer count = activeStores.size();
+        
+        log.debug("Número de lojas ativas: {}", count);
+        return count;
     }
 }
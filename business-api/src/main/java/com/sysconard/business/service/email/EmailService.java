@@ -4,16 +4,12 @@ import com.sysconard.business.dto.email.DailySalesEmailData;
 import com.sysconard.business.dto.email.MonthlySalesEmailData;
 import com.sysconard.business.dto.sell.DailySalesReportResponse;
 import com.sysconard.business.dto.sell.MonthlySalesReportResponse;
+import com.sysconard.business.entity.email.OutboundEmail;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import java.math.BigDecimal;
 import java.text.NumberFormat;
 import java.time.format.DateTimeFormatter;
@@ -23,6 +19,8 @@ import java.util.Locale;
 /**
  * Serviço responsável pelo envio de emails do sistema.
  * Implementa formatação HTML e envio de notificações de vendas.
+ * Os relatórios são renderizados uma vez e enfileirados (OutboundEmailQueue);
+ * a entrega SMTP acontece em segundo plano no OutboundEmailDispatcher.
  * Segue os princípios de Clean Code com responsabilidades bem definidas.
  * 
  * @author Business API
@@ -33,10 +31,8 @@ import java.util.Locale;
 @RequiredArgsConstructor
 public class EmailService {
     
-    private final JavaMailSender mailSender;
-    
-    @Value("${spring.mail.default-from:fcostanardi@gmail.com}")
-    private String defaultFrom;
+    private final OutboundEmailQueue outboundEmailQueue;
+    private final OutboundEmailDispatcher outboundEmailDispatcher;
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
@@ -47,7 +43,7 @@ public class EmailService {
      * 
      * @param recipients Lista de endereços de email dos destinatários
      * @param emailData Dados do relatório de vendas
-     * @throws RuntimeException se houver erro no envio
+     * @throws RuntimeException se houver erro no enfileiramento
      */
     public void sendDailySalesReport(List<String> recipients, DailySalesEmailData emailData) {
         if (recipients == null || recipients.isEmpty()) {
@@ -60,24 +56,14 @@ public class EmailService {
             return;
         }
         
-        log.info("Enviando relatório de vendas diárias para {} destinatários", recipients.size());
+        log.info("Enfileirando relatório de vendas diárias para {} destinatários", recipients.size());
         
         try {
             String htmlContent = buildDailySalesHtmlContent(emailData);
             String subject = String.format("Relatório de Vendas Diárias - %s", 
                     emailData.date().format(DATE_FORMATTER));
             
-            for (String recipient : recipients) {
-                try {
-                    sendEmail(recipient, subject, htmlContent);
-                    log.info("Email enviado com sucesso para: {}", recipient);
-                } catch (Exception e) {
-                    log.error("Erro ao enviar email para {}: {}", recipient, e.getMessage(), e);
-                    // Continua para o próximo destinatário
-                }
-            }
-            
-            log.info("Processo de envio de emails concluído");
+            enqueue(subject, htmlContent, recipients);
             
         } catch (Exception e) {
             log.error("Erro geral no envio de relatório de vendas: {}", e.getMessage(), e);
@@ -86,23 +72,19 @@ public class EmailService {
     }
     
     /**
-     * Envia um email individual.
+     * Enfileira o email já renderizado e solicita a entrega em segundo plano.
+     * O conteúdo HTML é gravado uma vez por mensagem da fila, e cada mensagem
+     * atende vários destinatários.
      * 
-     * @param to Endereço do destinatário
      * @param subject Assunto do email
      * @param htmlContent Conteúdo HTML do email
-     * @throws MessagingException se houver erro no envio
+     * @param recipients Endereços dos destinatários
      */
-    private void sendEmail(String to, String subject, String htmlContent) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-        
-        helper.setFrom(defaultFrom);
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(htmlContent, true); // true indica que é HTML
-        
-        mailSender.send(message);
+    private void enqueue(String subject, String htmlContent, List<String> recipients) {
+        List<OutboundEmail> messages = outboundEmailQueue.enqueue(subject, htmlContent, recipients);
+        log.info("Email '{}' enfileirado: {} mensagem(ns) para {} destinatários", 
+                subject, messages.size(), recipients.size());
+        outboundEmailDispatcher.requestDispatch();
     }
     
     /**
@@ -221,7 +203,7 @@ public class EmailService {
      * 
      * @param recipients Lista de endereços de email dos destinatários
      * @param emailData Dados do relatório de vendas mensais
-     * @throws RuntimeException se houver erro no envio
+     * @throws RuntimeException se houver erro no enfileiramento
      */
     public void sendMonthlySalesEmail(List<String> recipients, MonthlySalesEmailData emailData) {
         if (recipients == null || recipients.isEmpty()) {
@@ -234,23 +216,13 @@ public class EmailService {
             return;
         }
         
-        log.info("Enviando relatório de vendas mensais para {} destinatários", recipients.size());
+        log.info("Enfileirando relatório de vendas mensais para {} destinatários", recipients.size());
         
         try {
             String htmlContent = buildMonthlySalesHtmlContent(emailData);
             String subject = buildMonthlySalesSubject(emailData);
             
-            for (String recipient : recipients) {
-                try {
-                    sendEmail(recipient, subject, htmlContent);
-                    log.info("Email mensal enviado com sucesso para: {}", recipient);
-                } catch (Exception e) {
-                    log.error("Erro ao enviar email mensal para {}: {}", recipient, e.getMessage(), e);
-                    // Continua para o próximo destinatário
-                }
-            }
-            
-            log.info("Processo de envio de emails mensais concluído");
+            enqueue(subject, htmlContent, recipients);
             
         } catch (Exception e) {
             log.error("Erro geral no envio de relatório de vendas mensais: {}", e.getMessage(), e);
@@ -0,0 +1,278 @@
+package com.sysconard.business.service.email;
+
+import com.sysconard.business.entity.email.OutboundEmail;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço responsável pela entrega dos emails enfileirados em outbound_emails.
+ *
+ * Um pool fixo de workers reserva lotes de até batch-size mensagens e envia cada lote
+ * por uma única conexão SMTP (JavaMailSender.send(MimeMessage...)); cada mensagem vai
+ * para todos os seus destinatários em uma só transação SMTP. Falhas são reagendadas
+ * com backoff exponencial pelo OutboundEmailQueue.
+ *
+ * A fila é verificada a cada poll-interval e logo após cada enfileiramento, sem bloquear
+ * quem enfileirou: a sincronização agendada termina independentemente da entrega.
+ *
+ * Métricas: email.outbound.queue.depth (mensagens pendentes),
+ * email.outbound.send.duration (envio de um lote, tag outcome) e
+ * email.outbound.messages (mensagens por outcome: sent, retry, failed).
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboundEmailDispatcher {
+
+    public static final String QUEUE_DEPTH_GAUGE = "email.outbound.queue.depth";
+    public static final String SEND_TIMER = "email.outbound.send.duration";
+    public static final String MESSAGES_COUNTER = "email.outbound.messages";
+
+    private final OutboundEmailQueue outboundEmailQueue;
+    private final JavaMailSender mailSender;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    @Value("${email.outbound.enabled:true}")
+    private boolean enabled;
+
+    @Value("${email.outbound.workers:2}")
+    private int workers;
+
+    @Value("${email.outbound.batch-size:20}")
+    private int batchSize;
+
+    @Value("${spring.mail.default-from:fcostanardi@gmail.com}")
+    private String defaultFrom;
+
+    private ExecutorService workerExecutor;
+    private Semaphore freeWorkers;
+
+    @PostConstruct
+    void initExecutor() {
+        int threads = Math.max(1, workers);
+        AtomicInteger threadCounter = new AtomicInteger();
+        workerExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "email-dispatch-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        freeWorkers = new Semaphore(threads);
+        Metrics.gauge(QUEUE_DEPTH_GAUGE, queueDepth);
+        log.info("Dispatcher de emails inicializado: workers={}, lote={}", threads, batchSize);
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        // Mensagens em envio permanecem SENDING e voltam à fila na próxima inicialização
+        workerExecutor.shutdownNow();
+    }
+
+    /**
+     * Devolve à fila, na inicialização, as mensagens interrompidas durante o envio.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void releaseInterruptedMessages() {
+        try {
+            int released = outboundEmailQueue.releaseInterrupted();
+            if (released > 0) {
+                log.info("{} email(s) interrompido(s) devolvido(s) à fila de envio", released);
+            }
+        } catch (Exception e) {
+            log.error("Erro ao devolver emails interrompidos à fila: {}", e.getMessage(), e);
+        }
+        requestDispatch();
+    }
+
+    /**
+     * Verificação periódica da fila: devolve reservas vencidas, entrega mensagens cujo
+     * reenvio venceu e atualiza a métrica de profundidade da fila.
+     */
+    @Scheduled(fixedDelayString = "${email.outbound.poll-interval:PT15S}",
+               initialDelayString = "${email.outbound.poll-interval:PT15S}")
+    public void pollQueue() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int released = outboundEmailQueue.releaseExpiredClaims();
+            if (released > 0) {
+                log.warn("{} email(s) com reserva vencida devolvido(s) à fila de envio", released);
+            }
+            queueDepth.set(outboundEmailQueue.countPending());
+        } catch (Exception e) {
+            log.warn("Erro ao verificar a fila de emails: {}", e.getMessage());
+        }
+        dispatchPending();
+    }
+
+    /**
+     * Solicita a entrega das mensagens pendentes sem bloquear a thread chamadora.
+     */
+    public void requestDispatch() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            workerExecutor.execute(this::dispatchPending);
+        } catch (RejectedExecutionException e) {
+            log.debug("Dispatcher de emails encerrado, solicitação de envio ignorada");
+        }
+    }
+
+    /**
+     * Reserva lotes de mensagens enquanto houver workers livres e os entrega em segundo plano.
+     */
+    void dispatchPending() {
+        while (freeWorkers.tryAcquire()) {
+            List<OutboundEmail> batch;
+            try {
+                batch = outboundEmailQueue.claimDue(Math.max(1, batchSize));
+            } catch (Exception e) {
+                freeWorkers.release();
+                log.error("Erro ao reservar emails para envio: {}", e.getMessage(), e);
+                return;
+            }
+            if (batch.isEmpty()) {
+                freeWorkers.release();
+                return;
+            }
+            try {
+                workerExecutor.execute(() -> runBatch(batch));
+            } catch (RejectedExecutionException e) {
+                freeWorkers.release();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Entrega um lote e, ao liberar o worker, continua drenando a fila.
+     */
+    private void runBatch(List<OutboundEmail> batch) {
+        try {
+            sendBatch(batch);
+        } catch (Exception e) {
+            log.error("Erro inesperado no envio de {} email(s): {}", batch.size(), e.getMessage(), e);
+        } finally {
+            freeWorkers.release();
+        }
+        if (!Thread.currentThread().isInterrupted()) {
+            dispatchPending();
+        }
+    }
+
+    /**
+     * Envia um lote de mensagens por uma única conexão SMTP e registra o resultado
+     * de cada mensagem na fila.
+     *
+     * @param batch Mensagens reservadas (SENDING)
+     */
+    void sendBatch(List<OutboundEmail> batch) {
+        Map<MimeMessage, OutboundEmail> byMessage = new LinkedHashMap<>();
+        List<OutboundEmail> sent = new ArrayList<>();
+        List<OutboundEmail> failed = new ArrayList<>();
+        Map<OutboundEmail, Exception> errors = new IdentityHashMap<>();
+
+        for (OutboundEmail email : batch) {
+            try {
+                byMessage.put(buildMessage(email), email);
+            } catch (Exception e) {
+                failed.add(email);
+                errors.put(email, e);
+            }
+        }
+
+        if (!byMessage.isEmpty()) {
+            Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+            String outcome = "success";
+            try {
+                mailSender.send(byMessage.keySet().toArray(new MimeMessage[0]));
+                sent.addAll(byMessage.values());
+            } catch (MailSendException e) {
+                // Falha parcial: apenas as mensagens listadas falharam
+                outcome = "partial";
+                Map<Object, Exception> failedMessages = e.getFailedMessages();
+                for (Map.Entry<MimeMessage, OutboundEmail> entry : byMessage.entrySet()) {
+                    Exception error = failedMessages.get(entry.getKey());
+                    if (error != null || failedMessages.isEmpty()) {
+                        failed.add(entry.getValue());
+                        errors.put(entry.getValue(), error != null ? error : e);
+                    } else {
+                        sent.add(entry.getValue());
+                    }
+                }
+            } catch (Exception e) {
+                outcome = "error";
+                for (OutboundEmail email : byMessage.values()) {
+                    failed.add(email);
+                    errors.put(email, e);
+                }
+            } finally {
+                sample.stop(Metrics.timer(SEND_TIMER, "outcome", outcome));
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            outboundEmailQueue.markSent(sent);
+            Metrics.counter(MESSAGES_COUNTER, "outcome", "sent").increment(sent.size());
+            log.info("{} email(s) enviado(s) em uma conexão SMTP", sent.size());
+        }
+
+        for (OutboundEmail email : failed) {
+            Exception error = errors.get(email);
+            boolean retry = outboundEmailQueue.markFailed(email, error);
+            Metrics.counter(MESSAGES_COUNTER, "outcome", retry ? "retry" : "failed").increment();
+            log.warn("Falha no envio do email '{}' para {} (tentativa {}, {}): {}",
+                    email.getSubject(), email.getRecipients(), email.getAttempts(),
+                    retry ? "reagendado" : "descartado", error.getMessage());
+        }
+    }
+
+    /**
+     * Monta a mensagem MIME: destinatários em cópia oculta, para que cada destinatário
+     * não veja os demais endereços da mesma transação SMTP.
+     */
+    private MimeMessage buildMessage(OutboundEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(defaultFrom);
+        helper.setTo(defaultFrom);
+        helper.setBcc(email.getRecipientList().toArray(new String[0]));
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getHtmlBody(), true);
+
+        return message;
+    }
+}
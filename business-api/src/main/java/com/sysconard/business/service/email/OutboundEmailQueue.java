@@ -0,0 +1,212 @@
+package com.sysconard.business.service.email;
+
+import com.sysconard.business.entity.email.OutboundEmail;
+import com.sysconard.business.enums.OutboundEmailStatus;
+import com.sysconard.business.repository.email.OutboundEmailRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Etapas transacionais da fila de envio de emails (tabela outbound_emails).
+ * O enfileiramento divide os destinatários em mensagens de até max-recipients-per-message
+ * endereços, todas com o mesmo conteúdo já renderizado; a reserva de mensagens para envio
+ * usa SELECT ... FOR UPDATE SKIP LOCKED e marca as mensagens como SENDING, registrando a
+ * instância e o momento da reserva. Mensagens em SENDING só voltam à fila se reservadas
+ * por esta instância (na inicialização) ou após email.outbound.claim-timeout.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboundEmailQueue {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboundEmailRepository outboundEmailRepository;
+
+    @Value("${email.outbound.max-recipients-per-message:50}")
+    private int maxRecipientsPerMessage;
+
+    @Value("${email.outbound.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${email.outbound.retry-backoff:PT1M}")
+    private Duration retryBackoff;
+
+    @Value("${email.outbound.max-retry-backoff:PT30M}")
+    private Duration maxRetryBackoff;
+
+    @Value("${email.outbound.claim-timeout:PT30M}")
+    private Duration claimTimeout;
+
+    @Value("${scheduler.jobs.instance-id:}")
+    private String configuredInstanceId;
+
+    private String instanceId;
+
+    @PostConstruct
+    void init() {
+        instanceId = StringUtils.hasText(configuredInstanceId) ? configuredInstanceId.trim() : defaultInstanceId();
+    }
+
+    /**
+     * Enfileira um email para uma lista de destinatários.
+     *
+     * @param subject Assunto do email
+     * @param htmlContent Conteúdo HTML já renderizado
+     * @param recipients Endereços dos destinatários
+     * @return Mensagens enfileiradas
+     */
+    @Transactional
+    public List<OutboundEmail> enqueue(String subject, String htmlContent, List<String> recipients) {
+        List<String> addresses = recipients.stream()
+                .filter(address -> address != null && !address.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+        int chunkSize = Math.max(1, maxRecipientsPerMessage);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<OutboundEmail> messages = new ArrayList<>();
+        for (int from = 0; from < addresses.size(); from += chunkSize) {
+            List<String> chunk = addresses.subList(from, Math.min(from + chunkSize, addresses.size()));
+            messages.add(OutboundEmail.builder()
+                    .subject(subject)
+                    .htmlBody(htmlContent)
+                    .recipients(String.join(",", chunk))
+                    .status(OutboundEmailStatus.PENDING)
+                    .nextAttemptAt(now)
+                    .build());
+        }
+        return outboundEmailRepository.saveAll(messages);
+    }
+
+    /**
+     * Reserva para envio as mensagens pendentes cujo próximo envio já venceu.
+     *
+     * @param limit Quantidade máxima de mensagens
+     * @return Mensagens marcadas como SENDING
+     */
+    @Transactional
+    public List<OutboundEmail> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboundEmail> due = outboundEmailRepository.lockDuePending(now, limit);
+        for (OutboundEmail email : due) {
+            email.setStatus(OutboundEmailStatus.SENDING);
+            email.setAttempts(email.getAttempts() + 1);
+            email.setClaimedBy(instanceId);
+            email.setClaimedAt(now);
+        }
+        return outboundEmailRepository.saveAll(due);
+    }
+
+    /**
+     * Marca as mensagens como enviadas.
+     *
+     * @param emails Mensagens enviadas
+     */
+    @Transactional
+    public void markSent(List<OutboundEmail> emails) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboundEmail email : emails) {
+            email.setStatus(OutboundEmailStatus.SENT);
+            email.setSentAt(now);
+            email.setLastError(null);
+        }
+        outboundEmailRepository.saveAll(emails);
+    }
+
+    /**
+     * Registra a falha de envio de uma mensagem: agenda nova tentativa com backoff
+     * exponencial ou, esgotadas as tentativas, marca a mensagem como FAILED.
+     *
+     * @param email Mensagem com falha
+     * @param error Erro ocorrido
+     * @return true se uma nova tentativa foi agendada
+     */
+    @Transactional
+    public boolean markFailed(OutboundEmail email, Exception error) {
+        email.setLastError(truncate(error.getMessage()));
+        boolean retry = email.getAttempts() < Math.max(1, maxAttempts);
+        email.setClaimedBy(null);
+        email.setClaimedAt(null);
+        if (retry) {
+            email.setStatus(OutboundEmailStatus.PENDING);
+            email.setNextAttemptAt(LocalDateTime.now().plus(backoff(email.getAttempts())));
+        } else {
+            email.setStatus(OutboundEmailStatus.FAILED);
+        }
+        outboundEmailRepository.save(email);
+        return retry;
+    }
+
+    /**
+     * Devolve à fila, na inicialização, as mensagens reservadas por esta instância antes do
+     * encerramento e as reservas vencidas de qualquer instância.
+     *
+     * @return Quantidade de mensagens devolvidas
+     */
+    @Transactional
+    public int releaseInterrupted() {
+        LocalDateTime now = LocalDateTime.now();
+        return outboundEmailRepository.releaseSending(instanceId, now.minus(claimTimeout), now);
+    }
+
+    /**
+     * Devolve à fila as mensagens com reserva vencida (instância encerrada durante o envio).
+     *
+     * @return Quantidade de mensagens devolvidas
+     */
+    @Transactional
+    public int releaseExpiredClaims() {
+        LocalDateTime now = LocalDateTime.now();
+        return outboundEmailRepository.releaseSending(null, now.minus(claimTimeout), now);
+    }
+
+    /**
+     * Quantidade de mensagens aguardando envio.
+     *
+     * @return Mensagens PENDING
+     */
+    public long countPending() {
+        return outboundEmailRepository.countByStatus(OutboundEmailStatus.PENDING);
+    }
+
+    /**
+     * Intervalo até a próxima tentativa: retry-backoff dobrado a cada tentativa,
+     * limitado a max-retry-backoff.
+     */
+    Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(Math.max(0, attempts - 1), 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown-host";
+        }
+        return host + ":" + ManagementFactory.getRuntimeMXBean().getPid();
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
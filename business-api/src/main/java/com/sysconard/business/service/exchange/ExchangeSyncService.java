@@ -6,6 +6,7 @@ import com.sysconard.business.dto.exchange.ExchangeSyncRequest;
 import com.sysconard.business.dto.exchange.ExchangeSyncResponse;
 import com.sysconard.business.entity.exchange.Exchange;
 import com.sysconard.business.repository.exchange.ExchangeRepository;
+import com.sysconard.business.service.sync.SyncMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,8 +15,12 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Serviço responsável pela sincronização de trocas da Legacy API.
@@ -34,9 +39,16 @@ public class ExchangeSyncService {
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
+    /**
+     * Quantidade máxima de códigos de documento por consulta de pré-carga.
+     */
+    private static final int PREFETCH_CHUNK_SIZE = 1000;
+    
     /**
      * Sincroniza trocas da Legacy API para o banco de dados.
      * Processa observações para extrair informações de nova venda e chave NFE.
+     * Carrega as trocas existentes do lote em uma única consulta e persiste
+     * criações e atualizações em lote, sem consulta nem save por linha.
      * 
      * @param request Requisição de sincronização com datas inicial e final
      * @return Resposta com estatísticas da sincronização
@@ -48,12 +60,13 @@ public class ExchangeSyncService {
         
         try {
             // 1. Chamar Legacy API
-            List<ExchangeLegacyDTO> legacyExchanges = legacyApiClient.getExchanges(
-                    request.startDate(),
-                    request.endDate(),
-                    request.originCodes(),
-                    request.operationCodes()
-            );
+            List<ExchangeLegacyDTO> legacyExchanges = SyncMetrics.timeStage(SyncMetrics.EXCHANGE, "fetch",
+                    () -> legacyApiClient.getExchanges(
+                            request.startDate(),
+                            request.endDate(),
+                            request.originCodes(),
+                            request.operationCodes()
+                    ));
             
             log.info("Trocas recebidas da Legacy API: {}", 
                     legacyExchanges != null ? legacyExchanges.size() : 0);
@@ -70,39 +83,44 @@ public class ExchangeSyncService {
                 );
             }
             
-            // 2. Processar cada troca
-            int created = 0;
+            // 2. Pré-carregar trocas existentes do lote
+            SyncMetrics.recordCount(SyncMetrics.EXCHANGE, "received", legacyExchanges.size());
+            Map<String, Exchange> existingExchanges = SyncMetrics.timeStage(SyncMetrics.EXCHANGE, "compare",
+                    () -> findExistingExchanges(legacyExchanges));
+            
+            log.debug("Trocas já existentes no banco para o lote: {}", existingExchanges.size());
+            
+            // 3. Processar observações e separar criação/atualização em memória
+            Map<String, Exchange> toCreate = new LinkedHashMap<>();
+            Map<String, Exchange> toUpdate = new LinkedHashMap<>();
             int updated = 0;
             int skipped = 0;
             
             for (ExchangeLegacyDTO legacyExchange : legacyExchanges) {
                 try {
+                    // Validar campos obrigatórios antes de entrar no lote
+                    validateRequiredFields(legacyExchange);
+                    
                     // Processar observação para extrair dados
                     ExchangeObservationProcessor.ProcessedObservationResult processed = 
                             observationProcessor.processObservation(legacyExchange.getObservation());
                     
-                    // Verificar se já existe
-                    Optional<Exchange> existingExchange = exchangeRepository
-                            .findByDocumentCodeAndStoreCode(
-                                    legacyExchange.getDocumentCode(),
-                                    legacyExchange.getStoreCode()
-                            );
+                    String key = buildExchangeKey(legacyExchange.getDocumentCode(), legacyExchange.getStoreCode());
+                    Exchange existing = existingExchanges.get(key);
+                    Exchange pending = toCreate.get(key);
                     
-                    if (existingExchange.isPresent()) {
+                    if (existing != null) {
                         // Atualizar existente
-                        Exchange exchange = existingExchange.get();
-                        updateExchangeFromLegacy(exchange, legacyExchange, processed);
-                        exchangeRepository.save(exchange);
+                        updateExchangeFromLegacy(existing, legacyExchange, processed);
+                        toUpdate.put(key, existing);
+                        updated++;
+                    } else if (pending != null) {
+                        // Documento repetido no próprio lote: atualizar o registro pendente
+                        updateExchangeFromLegacy(pending, legacyExchange, processed);
                         updated++;
-                        log.debug("Troca atualizada: documentCode={}, storeCode={}", 
-                                legacyExchange.getDocumentCode(), legacyExchange.getStoreCode());
                     } else {
                         // Criar novo
-                        Exchange exchange = createExchangeFromLegacy(legacyExchange, processed);
-                        exchangeRepository.save(exchange);
-                        created++;
-                        log.debug("Troca criada: documentCode={}, storeCode={}", 
-                                legacyExchange.getDocumentCode(), legacyExchange.getStoreCode());
+                        toCreate.put(key, createExchangeFromLegacy(legacyExchange, processed));
                     }
                     
                 } catch (Exception e) {
@@ -115,6 +133,21 @@ public class ExchangeSyncService {
                 }
             }
             
+            // 4. Persistir em lote (JDBC batching do Hibernate)
+            int created = toCreate.size();
+            SyncMetrics.timeStage(SyncMetrics.EXCHANGE, "persist", () -> {
+                if (!toCreate.isEmpty()) {
+                    exchangeRepository.saveAll(toCreate.values());
+                }
+                if (!toUpdate.isEmpty()) {
+                    exchangeRepository.saveAll(toUpdate.values());
+                }
+                exchangeRepository.flush();
+            });
+            SyncMetrics.recordCount(SyncMetrics.EXCHANGE, "created", created);
+            SyncMetrics.recordCount(SyncMetrics.EXCHANGE, "updated", updated);
+            SyncMetrics.recordCount(SyncMetrics.EXCHANGE, "skipped", skipped);
+            
             log.info("Sincronização concluída - criadas: {}, atualizadas: {}, ignoradas: {}", 
                     created, updated, skipped);
             
@@ -133,6 +166,62 @@ public class ExchangeSyncService {
         }
     }
     
+    /**
+     * Carrega em lote as trocas já existentes para os documentos recebidos.
+     * Consulta por códigos de documento em blocos e indexa pelo par (documentCode, storeCode).
+     * 
+     * @param legacyExchanges Trocas recebidas da Legacy API
+     * @return Mapa de chave (documentCode|storeCode) para troca existente
+     */
+    private Map<String, Exchange> findExistingExchanges(List<ExchangeLegacyDTO> legacyExchanges) {
+        List<String> documentCodes = legacyExchanges.stream()
+                .map(ExchangeLegacyDTO::getDocumentCode)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        
+        Map<String, Exchange> existingExchanges = new HashMap<>();
+        
+        for (int from = 0; from < documentCodes.size(); from += PREFETCH_CHUNK_SIZE) {
+            int to = Math.min(from + PREFETCH_CHUNK_SIZE, documentCodes.size());
+            for (Exchange exchange : exchangeRepository.findByDocumentCodeIn(documentCodes.subList(from, to))) {
+                existingExchanges.put(buildExchangeKey(exchange.getDocumentCode(), exchange.getStoreCode()), exchange);
+            }
+        }
+        
+        return existingExchanges;
+    }
+    
+    /**
+     * Valida os campos obrigatórios da troca.
+     * Como a persistência é feita em lote, uma linha inválida que chegasse ao banco
+     * derrubaria o lote inteiro; por isso é descartada (contada como ignorada) aqui.
+     * 
+     * @param legacyExchange DTO da Legacy API
+     * @throws IllegalArgumentException se algum campo obrigatório estiver ausente
+     */
+    private void validateRequiredFields(ExchangeLegacyDTO legacyExchange) {
+        if (legacyExchange.getDocumentCode() == null || legacyExchange.getStoreCode() == null) {
+            throw new IllegalArgumentException("Código do documento e código da loja são obrigatórios");
+        }
+        if (legacyExchange.getOperationCode() == null || legacyExchange.getOriginCode() == null 
+                || legacyExchange.getEmployeeCode() == null || legacyExchange.getIssueDate() == null) {
+            throw new IllegalArgumentException("Operação, origem, colaborador e data de emissão são obrigatórios");
+        }
+    }
+    
+    /**
+     * Cria a chave de identificação única de uma troca.
+     * Formato: documentCode|storeCode
+     * 
+     * @param documentCode Código do documento
+     * @param storeCode Código da loja
+     * @return Chave composta
+     */
+    private String buildExchangeKey(String documentCode, String storeCode) {
+        return documentCode + "|" + storeCode;
+    }
+    
     /**
      * Cria uma entidade Exchange a partir de um DTO da Legacy API.
      * 
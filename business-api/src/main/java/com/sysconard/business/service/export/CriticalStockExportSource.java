@@ -0,0 +1,88 @@
+package com.sysconard.business.service.export;
+
+import com.sysconard.business.dto.CriticalStockItemResponseDTO;
+import com.sysconard.business.dto.CriticalStockPageResponseDTO;
+import com.sysconard.business.dto.CriticalStockSearchRequest;
+import com.sysconard.business.dto.export.ExportRequest;
+import com.sysconard.business.enums.ExportReport;
+import com.sysconard.business.service.CriticalStockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Exportação do estoque crítico, lida da Legacy API página a página.
+ *
+ * Cada página é uma requisição curta à Legacy API, ordenada por refplu; nenhuma
+ * conexão do legado fica presa enquanto o arquivo é gravado.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class CriticalStockExportSource implements ReportExportSource {
+
+    /**
+     * Maior página aceita pela Legacy API.
+     */
+    private static final int LEGACY_MAX_PAGE_SIZE = 1000;
+
+    private static final List<String> COLUMNS = List.of("Grupo", "Part number", "Marca", "REFPLU", "Descrição",
+            "Custo de reposição", "Preço de venda", "Vendas 90 dias", "Vendas 60 dias", "Vendas 30 dias",
+            "Vendas mês atual", "Estoque", "Média mensal", "Diferença");
+
+    private final CriticalStockService criticalStockService;
+
+    @Value("${export.page-size:1000}")
+    private int pageSize;
+
+    @Override
+    public ExportReport report() {
+        return ExportReport.CRITICAL_STOCK;
+    }
+
+    @Override
+    public String requiredAuthority() {
+        return "buy:read";
+    }
+
+    @Override
+    public void validate(ExportRequest request) {
+        // Filtros opcionais, validados pelo tamanho em ExportRequest
+    }
+
+    @Override
+    public List<String> columns(ExportRequest request) {
+        return COLUMNS;
+    }
+
+    @Override
+    public void export(ExportRequest request, ExportRowConsumer rows) throws IOException {
+        int size = Math.min(pageSize, LEGACY_MAX_PAGE_SIZE);
+        for (int page = 0; ; page++) {
+            CriticalStockPageResponseDTO response = criticalStockService.getCriticalStock(
+                    new CriticalStockSearchRequest(request.refplu(), request.descricao(), request.grupo(),
+                            request.marca(), page, size, "refplu", "asc"));
+
+            List<CriticalStockItemResponseDTO> content = response.getContent();
+            if (content == null || content.isEmpty()) {
+                return;
+            }
+            for (CriticalStockItemResponseDTO item : content) {
+                rows.accept(Arrays.asList(item.getDescricaoGrupo(), item.getCodigoPartNumber(),
+                        item.getDescricaoMarca(), item.getRefplu(), item.getDescricaoProduto(),
+                        item.getCustoReposicao(), item.getPrecoVenda(), item.getVendas90Dias(),
+                        item.getVendas60Dias(), item.getVendas30Dias(), item.getVendasMesAtual(),
+                        item.getEstoque(), item.getMediaMensal(), item.getDiferenca()));
+            }
+            if (response.getPagination() == null || response.getPagination().isLast() || content.size() < size) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.sysconard.business.service.export;
+
+import com.sysconard.business.dto.export.ExportRequest;
+import com.sysconard.business.enums.ExportReport;
+import com.sysconard.business.repository.sell.DailySellRepository;
+import com.sysconard.business.service.store.StoreService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exportação das vendas diárias por loja (daily_sells), lidas em stream do banco local.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class DailySalesExportSource implements ReportExportSource {
+
+    private static final List<String> COLUMNS =
+            List.of("Data", "Código da loja", "Loja", "DANFE", "PDV", "Troca", "Total");
+
+    private final DailySellRepository dailySellRepository;
+    private final StoreService storeService;
+
+    @Override
+    public ExportReport report() {
+        return ExportReport.DAILY_SALES;
+    }
+
+    @Override
+    public String requiredAuthority() {
+        return "sell:read";
+    }
+
+    @Override
+    public boolean isPeriodBased() {
+        return true;
+    }
+
+    @Override
+    public void validate(ExportRequest request) {
+        ExportSupport.requirePeriod(request);
+        ExportSupport.resolveStoreCodes(storeService, request.storeCode());
+    }
+
+    @Override
+    public List<String> columns(ExportRequest request) {
+        return COLUMNS;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(ExportRequest request, ExportRowConsumer rows) throws IOException {
+        List<String> storeCodes = ExportSupport.resolveStoreCodes(storeService, request.storeCode());
+        if (storeCodes.isEmpty()) {
+            return;
+        }
+        try (Stream<Object[]> stream = dailySellRepository.streamForExport(
+                request.startDate(), request.endDate(), storeCodes)) {
+            Iterator<Object[]> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                rows.accept(Arrays.asList(iterator.next()));
+            }
+        }
+    }
+}
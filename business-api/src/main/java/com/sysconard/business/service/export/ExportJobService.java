@@ -0,0 +1,286 @@
+package com.sysconard.business.service.export;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sysconard.business.dto.export.ExportJobResponse;
+import com.sysconard.business.dto.export.ExportRequest;
+import com.sysconard.business.entity.export.ExportJob;
+import com.sysconard.business.enums.ExportJobStatus;
+import com.sysconard.business.repository.export.ExportJobRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serviço responsável pelas exportações de relatórios em segundo plano.
+ *
+ * Exportações acima do limite da exportação direta (períodos longos de vendas) são
+ * registradas na tabela export_jobs e executadas por um pool fixo de threads. O arquivo
+ * é gravado em export.jobs.dir com extensão .part e renomeado ao final, de forma que
+ * um download nunca receba um arquivo incompleto. Em ambientes com mais de uma
+ * instância, export.jobs.dir deve ser um diretório compartilhado.
+ *
+ * Arquivos expirados são removidos periodicamente; exportações sem atualização por
+ * export.jobs.stale-after (instância encerrada durante a execução) são marcadas como falha.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final String PART_SUFFIX = ".part";
+
+    private final ExportService exportService;
+    private final ExportJobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${export.jobs.workers:2}")
+    private int workers;
+
+    @Value("${export.jobs.dir:./exports}")
+    private String jobsDir;
+
+    @Value("${export.jobs.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${export.jobs.stale-after:PT30M}")
+    private Duration staleAfter;
+
+    private ExecutorService jobExecutor;
+
+    @PostConstruct
+    void initExecutor() {
+        int threads = Math.max(1, workers);
+        AtomicInteger threadCounter = new AtomicInteger();
+        jobExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "export-job-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Executor de exportações inicializado: workers={}, diretório={}", threads, jobsDir);
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        jobExecutor.shutdownNow();
+    }
+
+    /**
+     * Registra uma exportação e inicia sua execução em segundo plano.
+     * A permissão e os filtros devem ter sido validados pelo ExportService.
+     *
+     * @param request Requisição de exportação já validada
+     * @param username Email do usuário que solicitou a exportação
+     * @return Situação inicial da exportação
+     */
+    public ExportJobResponse start(ExportRequest request, String username) {
+        ExportJob job = jobRepository.save(ExportJob.builder()
+                .report(request.report())
+                .format(request.format())
+                .parameters(toJson(request))
+                .requestedBy(username)
+                .status(ExportJobStatus.PENDING)
+                .fileName(exportService.fileName(request))
+                .build());
+
+        log.info("Exportação em segundo plano criada: jobId={}, relatório={}, formato={}, usuário={}",
+                job.getId(), job.getReport(), job.getFormat(), username);
+
+        jobExecutor.execute(() -> run(job.getId(), request));
+        return buildResponse(job);
+    }
+
+    /**
+     * Obtém a situação de uma exportação do usuário.
+     *
+     * @param jobId Identificador da exportação
+     * @param username Email do usuário autenticado
+     * @return Situação da exportação, ou vazio se não existir ou pertencer a outro usuário
+     */
+    public Optional<ExportJobResponse> getStatus(UUID jobId, String username) {
+        return findOwnJob(jobId, username).map(this::buildResponse);
+    }
+
+    /**
+     * Obtém o arquivo de uma exportação concluída do usuário.
+     *
+     * @param jobId Identificador da exportação
+     * @param username Email do usuário autenticado
+     * @return Exportação e caminho do arquivo, ou vazio se não existir, não estiver concluída ou tiver expirado
+     */
+    public Optional<ExportFile> getFile(UUID jobId, String username) {
+        return findOwnJob(jobId, username)
+                .filter(job -> job.getStatus() == ExportJobStatus.COMPLETED)
+                .map(job -> new ExportFile(job.getFileName(), filePath(job)))
+                .filter(file -> Files.isRegularFile(file.path()));
+    }
+
+    /**
+     * Remove os arquivos expirados e encerra exportações interrompidas.
+     */
+    @Scheduled(fixedDelayString = "${export.jobs.cleanup-interval:PT15M}",
+               initialDelayString = "${export.jobs.cleanup-interval:PT15M}")
+    public void cleanup() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+
+            List<ExportJob> expired = jobRepository.findByStatusAndExpiresAtBefore(ExportJobStatus.COMPLETED, now);
+            for (ExportJob job : expired) {
+                Files.deleteIfExists(filePath(job));
+                jobRepository.delete(job);
+            }
+
+            List<ExportJob> stale = jobRepository.findByStatusInAndUpdatedAtBefore(
+                    List.of(ExportJobStatus.PENDING, ExportJobStatus.RUNNING), now.minus(staleAfter));
+            for (ExportJob job : stale) {
+                Files.deleteIfExists(partPath(job));
+                job.setStatus(ExportJobStatus.FAILED);
+                job.setErrorMessage("Exportação interrompida sem atualização desde " + job.getUpdatedAt());
+                job.setFinishedAt(now);
+                jobRepository.save(job);
+            }
+
+            if (!expired.isEmpty() || !stale.isEmpty()) {
+                log.info("Limpeza de exportações: {} arquivo(s) expirado(s) removido(s), {} exportação(ões) interrompida(s)",
+                        expired.size(), stale.size());
+            }
+        } catch (Exception e) {
+            log.error("Erro na limpeza de exportações: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Executa a exportação gravando o arquivo temporário e o renomeando ao final.
+     */
+    private void run(UUID jobId, ExportRequest request) {
+        ExportJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        job.setStatus(ExportJobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job = jobRepository.save(job);
+
+        Path part = partPath(job);
+        try {
+            Files.createDirectories(part.getParent());
+            long rows;
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                rows = exportService.export(request, out,
+                        written -> jobRepository.updateProgress(jobId, written, LocalDateTime.now()));
+            }
+            Path file = filePath(job);
+            Files.move(part, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            LocalDateTime finishedAt = LocalDateTime.now();
+            job.setStatus(ExportJobStatus.COMPLETED);
+            job.setRowsWritten(rows);
+            job.setFileSize(Files.size(file));
+            job.setFinishedAt(finishedAt);
+            job.setExpiresAt(finishedAt.plus(ttl));
+            jobRepository.save(job);
+
+            log.info("Exportação {} concluída: {} linhas, {} bytes", jobId, rows, job.getFileSize());
+
+        } catch (Exception e) {
+            log.error("Falha na exportação {}: {}", jobId, e.getMessage(), e);
+            deleteQuietly(part);
+
+            job.setStatus(ExportJobStatus.FAILED);
+            job.setErrorMessage(truncate(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName()));
+            job.setFinishedAt(LocalDateTime.now());
+            jobRepository.save(job);
+        }
+    }
+
+    private Optional<ExportJob> findOwnJob(UUID jobId, String username) {
+        return jobRepository.findById(jobId)
+                .filter(job -> job.getRequestedBy().equals(username));
+    }
+
+    private Path filePath(ExportJob job) {
+        return Paths.get(jobsDir).resolve(job.getId() + "." + job.getFormat().getExtension());
+    }
+
+    private Path partPath(ExportJob job) {
+        return Paths.get(jobsDir).resolve(job.getId() + "." + job.getFormat().getExtension() + PART_SUFFIX);
+    }
+
+    private String toJson(ExportRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Filtros de exportação inválidos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Constrói a resposta de situação da exportação.
+     */
+    private ExportJobResponse buildResponse(ExportJob job) {
+        return ExportJobResponse.builder()
+                .jobId(job.getId())
+                .report(job.getReport())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .rowsWritten(job.getRowsWritten())
+                .fileName(job.getFileName())
+                .fileSize(job.getFileSize())
+                .downloadUrl(job.getStatus() == ExportJobStatus.COMPLETED
+                        ? "/exports/jobs/" + job.getId() + "/download" : null)
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .expiresAt(job.getExpiresAt())
+                .build();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o arquivo temporário {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * Arquivo de uma exportação concluída.
+     *
+     * @param fileName Nome do arquivo para download
+     * @param path Caminho do arquivo em export.jobs.dir
+     */
+    public record ExportFile(String fileName, Path path) {}
+}
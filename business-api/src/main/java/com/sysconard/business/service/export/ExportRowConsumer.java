@@ -0,0 +1,19 @@
+package com.sysconard.business.service.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Recebe as linhas produzidas por uma {@link ReportExportSource}.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface ExportRowConsumer {
+
+    /**
+     * @param values Valores da linha, na ordem das colunas
+     */
+    void accept(List<?> values) throws IOException;
+}
@@ -0,0 +1,36 @@
+package com.sysconard.business.service.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Gravação sequencial das linhas de uma exportação em um formato de arquivo.
+ * As linhas são gravadas no destino à medida que chegam; a implementação mantém
+ * em memória no máximo uma janela limitada de linhas.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+public interface ExportRowWriter extends Closeable {
+
+    /**
+     * Grava a linha de cabeçalho.
+     *
+     * @param columns Nomes das colunas
+     */
+    void writeHeader(List<String> columns) throws IOException;
+
+    /**
+     * Grava uma linha de valores, na ordem das colunas do cabeçalho.
+     * Valores suportados: texto, números, LocalDate, LocalDateTime e null.
+     *
+     * @param values Valores da linha
+     */
+    void writeRow(List<?> values) throws IOException;
+
+    /**
+     * Conclui o arquivo no destino. Não fecha o destino.
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,165 @@
+package com.sysconard.business.service.export;
+
+import com.sysconard.business.dto.export.ExportRequest;
+import com.sysconard.business.enums.ExportFormat;
+import com.sysconard.business.enums.ExportReport;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * Serviço responsável pela exportação de relatórios em CSV ou XLSX.
+ *
+ * As linhas de cada relatório vêm de uma {@link ReportExportSource} e são gravadas
+ * no destino assim que lidas ({@link CsvExportWriter} ou {@link XlsxExportWriter}),
+ * de forma que a memória utilizada não dependa da quantidade de linhas. Exportações
+ * síncronas de relatórios por período são limitadas a export.sync.max-days; períodos
+ * maiores são exportados em segundo plano ({@link ExportJobService}).
+ *
+ * Métricas: export.duration (tags report, format e outcome) e export.rows (tags report e format).
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    public static final String DURATION_TIMER = "export.duration";
+    public static final String ROWS_COUNTER = "export.rows";
+
+    private final Map<ExportReport, ReportExportSource> sources = new EnumMap<>(ExportReport.class);
+
+    @Value("${export.xlsx.window-size:500}")
+    private int xlsxWindowSize;
+
+    @Value("${export.sync.max-days:92}")
+    private long syncMaxDays;
+
+    @Value("${export.progress-interval:10000}")
+    private long progressInterval;
+
+    public ExportService(List<ReportExportSource> exportSources) {
+        exportSources.forEach(source -> sources.put(source.report(), source));
+    }
+
+    /**
+     * Verifica a permissão do usuário para o relatório e os filtros da requisição.
+     *
+     * @param request Requisição de exportação
+     * @param authentication Usuário autenticado
+     * @throws AccessDeniedException se o usuário não tiver a permissão do relatório
+     * @throws IllegalArgumentException se os filtros forem inválidos
+     */
+    public void validate(ExportRequest request, Authentication authentication) {
+        ReportExportSource source = source(request.report());
+        boolean allowed = authentication != null && authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(source.requiredAuthority()::equals);
+        if (!allowed) {
+            throw new AccessDeniedException("Sem permissão para exportar o relatório " + request.report());
+        }
+        source.validate(request);
+    }
+
+    /**
+     * Verifica o limite de dias da exportação síncrona.
+     *
+     * @param request Requisição de exportação já validada
+     * @throws IllegalArgumentException se o período exceder o limite
+     */
+    public void validateSync(ExportRequest request) {
+        if (!source(request.report()).isPeriodBased()) {
+            return;
+        }
+        long days = ChronoUnit.DAYS.between(request.startDate(), request.endDate()) + 1;
+        if (days > syncMaxDays) {
+            throw new IllegalArgumentException("Período de " + days + " dias acima do limite de " + syncMaxDays
+                    + " dias para exportação direta. Utilize a exportação em segundo plano (POST /exports/jobs)");
+        }
+    }
+
+    /**
+     * Nome do arquivo exportado, com o relatório e o período.
+     *
+     * @param request Requisição de exportação
+     * @return Nome do arquivo com extensão
+     */
+    public String fileName(ExportRequest request) {
+        StringBuilder name = new StringBuilder(request.report().name().toLowerCase(Locale.ROOT));
+        if (request.startDate() != null && request.endDate() != null) {
+            name.append('_').append(request.startDate()).append('_').append(request.endDate());
+        }
+        return name.append('.').append(request.format().getExtension()).toString();
+    }
+
+    /**
+     * Exporta o relatório para o destino informado. O destino não é fechado.
+     *
+     * @param request Requisição de exportação já validada
+     * @param out Destino do arquivo
+     * @param progress Recebe a quantidade de linhas gravadas a cada export.progress-interval linhas (opcional)
+     * @return Quantidade de linhas gravadas, sem o cabeçalho
+     */
+    public long export(ExportRequest request, OutputStream out, LongConsumer progress) throws IOException {
+        ReportExportSource source = source(request.report());
+        String report = request.report().name();
+        String format = request.format().name();
+
+        long start = System.nanoTime();
+        long[] rowCount = {0};
+        String outcome = "error";
+        try (ExportRowWriter writer = createWriter(request.format(), out)) {
+            writer.writeHeader(source.columns(request));
+            source.export(request, values -> {
+                writer.writeRow(values);
+                rowCount[0]++;
+                if (progress != null && rowCount[0] % progressInterval == 0) {
+                    progress.accept(rowCount[0]);
+                }
+            });
+            writer.finish();
+            outcome = "success";
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            Timer.builder(DURATION_TIMER)
+                    .tags("report", report, "format", format, "outcome", outcome)
+                    .register(Metrics.globalRegistry)
+                    .record(durationNanos, TimeUnit.NANOSECONDS);
+            Metrics.counter(ROWS_COUNTER, "report", report, "format", format).increment(rowCount[0]);
+            log.info("Exportação {} em {}: {} linhas em {}ms ({})",
+                    report, format, rowCount[0], durationNanos / 1_000_000, outcome);
+        }
+        return rowCount[0];
+    }
+
+    private ExportRowWriter createWriter(ExportFormat format, OutputStream out) {
+        return switch (format) {
+            case CSV -> new CsvExportWriter(out);
+            case XLSX -> new XlsxExportWriter(out, xlsxWindowSize);
+        };
+    }
+
+    private ReportExportSource source(ExportReport report) {
+        ReportExportSource source = sources.get(report);
+        if (source == null) {
+            throw new IllegalArgumentException("Relatório não disponível para exportação: " + report);
+        }
+        return source;
+    }
+}
@@ -0,0 +1,56 @@
+package com.sysconard.business.service.export;
+
+import com.sysconard.business.dto.export.ExportRequest;
+import com.sysconard.business.dto.store.StoreResponseDto;
+import com.sysconard.business.service.store.StoreService;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Validações e conversões compartilhadas pelas origens de exportação.
+ */
+final class ExportSupport {
+
+    private ExportSupport() {
+    }
+
+    /**
+     * Exige o período dos relatórios de vendas.
+     */
+    static void requirePeriod(ExportRequest request) {
+        if (request.startDate() == null || request.endDate() == null) {
+            throw new IllegalArgumentException("Data de início e data de fim são obrigatórias para o relatório "
+                    + request.report());
+        }
+    }
+
+    /**
+     * Lojas exportadas: a loja informada, validada entre as lojas ativas, ou todas elas.
+     */
+    static List<String> resolveStoreCodes(StoreService storeService, String storeCode) {
+        List<String> activeStoreCodes = storeService.getAllActiveStores().stream()
+                .map(StoreResponseDto::getCode)
+                .toList();
+        if (storeCode == null || storeCode.isBlank()) {
+            return activeStoreCodes;
+        }
+        if (!activeStoreCodes.contains(storeCode)) {
+            throw new IllegalArgumentException("Loja não permitida para o usuário: " + storeCode);
+        }
+        return List.of(storeCode);
+    }
+
+    static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    static BigDecimal toBigDecimal(Object value) {
+        if (value == null || value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+}
@@ -0,0 +1,70 @@
+package com.sysconard.business.service.export;
+
+import com.sysconard.business.dto.export.ExportRequest;
+import com.sysconard.business.enums.ExportReport;
+import com.sysconard.business.repository.sell.MonthlySellRepository;
+import com.sysconard.business.service.store.StoreService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exportação das vendas mensais por loja (monthly_sells) dos meses do período.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class MonthlySalesExportSource implements ReportExportSource {
+
+    private static final List<String> COLUMNS = List.of("Mês", "Código da loja", "Loja", "Total");
+
+    private final MonthlySellRepository monthlySellRepository;
+    private final StoreService storeService;
+
+    @Override
+    public ExportReport report() {
+        return ExportReport.MONTHLY_SALES;
+    }
+
+    @Override
+    public String requiredAuthority() {
+        return "sell:read";
+    }
+
+    @Override
+    public void validate(ExportRequest request) {
+        ExportSupport.requirePeriod(request);
+        ExportSupport.resolveStoreCodes(storeService, request.storeCode());
+    }
+
+    @Override
+    public List<String> columns(ExportRequest request) {
+        return COLUMNS;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(ExportRequest request, ExportRowConsumer rows) throws IOException {
+        List<String> storeCodes = ExportSupport.resolveStoreCodes(storeService, request.storeCode());
+        if (storeCodes.isEmpty()) {
+            return;
+        }
+        try (Stream<Object[]> stream = monthlySellRepository.streamForExport(
+                YearMonth.from(request.startDate()).toString(), YearMonth.from(request.endDate()).toString(),
+                storeCodes)) {
+            Iterator<Object[]> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                rows.accept(Arrays.asList(iterator.next()));
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.sysconard.business.service.export;
+
+import com.sysconard.business.dto.export.ExportRequest;
+import com.sysconard.business.enums.ExportReport;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Origem das linhas de um relatório exportável.
+ *
+ * Cada implementação lê seus dados em partes (stream de repositório com cursor ou
+ * páginas), entregando cada linha ao consumidor assim que lida, sem acumular o
+ * relatório em memória.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+public interface ReportExportSource {
+
+    /**
+     * Relatório produzido por esta origem.
+     */
+    ExportReport report();
+
+    /**
+     * Permissão exigida para exportar o relatório (a mesma da consulta em tela).
+     */
+    String requiredAuthority();
+
+    /**
+     * Indica se o relatório é filtrado por período, sujeito ao limite de dias da
+     * exportação síncrona.
+     */
+    default boolean isPeriodBased() {
+        return false;
+    }
+
+    /**
+     * Valida os filtros da requisição.
+     *
+     * @param request Requisição de exportação
+     * @throws IllegalArgumentException se os filtros forem inválidos
+     */
+    void validate(ExportRequest request);
+
+    /**
+     * Nomes das colunas do arquivo.
+     *
+     * @param request Requisição de exportação
+     * @return Colunas, na ordem dos valores das linhas
+     */
+    List<String> columns(ExportRequest request);
+
+    /**
+     * Lê as linhas do relatório e as entrega ao consumidor, na ordem do arquivo.
+     *
+     * @param request Requisição de exportação
+     * @param rows Consumidor das linhas
+     */
+    void export(ExportRequest request, ExportRowConsumer rows) throws IOException;
+}
@@ -0,0 +1,114 @@
+package com.sysconard.business.service.export;
+
+import com.sysconard.business.dto.export.ExportRequest;
+import com.sysconard.business.dto.store.StoreResponseDto;
+import com.sysconard.business.entity.stock.StockSnapshot;
+import com.sysconard.business.entity.stock.StockSnapshotItem;
+import com.sysconard.business.entity.stock.StockSnapshotQuantity;
+import com.sysconard.business.enums.ExportReport;
+import com.sysconard.business.enums.StockSnapshotStatus;
+import com.sysconard.business.repository.stock.StockSnapshotItemRepository;
+import com.sysconard.business.repository.stock.StockSnapshotRepository;
+import com.sysconard.business.service.stock.StockSnapshotService;
+import com.sysconard.business.service.store.StoreService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exportação da matriz de estoque (refplu × loja) do snapshot local mais recente.
+ *
+ * As referências são lidas em páginas por refplu (paginação por chave), cada página
+ * em uma consulta curta, com uma coluna por loja ativa.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class StockExportSource implements ReportExportSource {
+
+    private final StockSnapshotRepository snapshotRepository;
+    private final StockSnapshotItemRepository itemRepository;
+    private final StoreService storeService;
+
+    @Value("${export.page-size:1000}")
+    private int pageSize;
+
+    @Override
+    public ExportReport report() {
+        return ExportReport.STOCK;
+    }
+
+    @Override
+    public String requiredAuthority() {
+        return "stock:read";
+    }
+
+    @Override
+    public void validate(ExportRequest request) {
+        if (snapshotRepository.findFirstByStatusOrderByStartedAtDesc(StockSnapshotStatus.COMPLETED).isEmpty()) {
+            throw new IllegalArgumentException("Snapshot de estoque ainda não disponível para exportação");
+        }
+    }
+
+    @Override
+    public List<String> columns(ExportRequest request) {
+        List<String> columns = new ArrayList<>(List.of("REFPLU", "Marca", "Descrição"));
+        storeCodes().forEach(storeCode -> columns.add("Loja " + storeCode));
+        columns.add("Total");
+        return columns;
+    }
+
+    @Override
+    public void export(ExportRequest request, ExportRowConsumer rows) throws IOException {
+        StockSnapshot snapshot = snapshotRepository.findFirstByStatusOrderByStartedAtDesc(StockSnapshotStatus.COMPLETED)
+                .orElseThrow(() -> new IllegalStateException("Snapshot de estoque ainda não disponível para exportação"));
+        List<String> storeCodes = storeCodes();
+        String descricaoPattern = StockSnapshotService.buildDescricaoPattern(request.descricao());
+
+        String after = null;
+        while (true) {
+            List<StockSnapshotItem> items = itemRepository.findItemsAfter(snapshot.getId(), request.refplu(),
+                    request.marca(), descricaoPattern, Boolean.TRUE.equals(request.hasStock()), after, pageSize);
+            if (items.isEmpty()) {
+                return;
+            }
+
+            Map<String, Map<String, Long>> quantitiesByRefplu = new HashMap<>();
+            for (StockSnapshotQuantity quantity : itemRepository.findQuantities(snapshot.getId(),
+                    items.stream().map(StockSnapshotItem::getRefplu).toList())) {
+                quantitiesByRefplu.computeIfAbsent(quantity.getRefplu(), key -> new HashMap<>())
+                        .put(quantity.getStoreCode(), quantity.getQuantity());
+            }
+
+            for (StockSnapshotItem item : items) {
+                Map<String, Long> quantities = quantitiesByRefplu.getOrDefault(item.getRefplu(), Map.of());
+                List<Object> row = new ArrayList<>(storeCodes.size() + 4);
+                row.add(item.getRefplu());
+                row.add(item.getBrand());
+                row.add(item.getDescription());
+                storeCodes.forEach(storeCode -> row.add(quantities.getOrDefault(storeCode, 0L)));
+                row.add(item.getTotalQuantity());
+                rows.accept(row);
+            }
+
+            if (items.size() < pageSize) {
+                return;
+            }
+            after = items.get(items.size() - 1).getRefplu();
+        }
+    }
+
+    private List<String> storeCodes() {
+        return storeService.getAllActiveStores().stream()
+                .map(StoreResponseDto::getCode)
+                .toList();
+    }
+}
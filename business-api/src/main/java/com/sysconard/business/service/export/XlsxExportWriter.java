@@ -0,0 +1,133 @@
+package com.sysconard.business.service.export;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Gravação de exportações em XLSX com o modelo de streaming do Apache POI (SXSSF).
+ *
+ * Apenas as últimas linhas da janela ficam em memória; as anteriores são descarregadas
+ * em arquivos temporários compactados, de forma que a memória utilizada não dependa da
+ * quantidade de linhas. Ao atingir o limite de linhas de uma planilha do Excel, uma nova
+ * planilha é criada com o mesmo cabeçalho.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+public class XlsxExportWriter implements ExportRowWriter {
+
+    static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    private static final int MAX_CELL_LENGTH = 32_767;
+    private static final String SHEET_NAME = "Dados";
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private final CellStyle headerStyle;
+    private final CellStyle dateStyle;
+    private final CellStyle dateTimeStyle;
+
+    private List<String> header;
+    private SXSSFSheet sheet;
+    private int sheetCount;
+    private int nextRow;
+
+    /**
+     * @param out Destino do arquivo
+     * @param windowSize Linhas mantidas em memória
+     */
+    public XlsxExportWriter(OutputStream out, int windowSize) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(windowSize);
+        this.workbook.setCompressTempFiles(true);
+
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        this.headerStyle = workbook.createCellStyle();
+        this.headerStyle.setFont(bold);
+
+        short dateFormat = workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy");
+        this.dateStyle = workbook.createCellStyle();
+        this.dateStyle.setDataFormat(dateFormat);
+
+        short dateTimeFormat = workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy hh:mm:ss");
+        this.dateTimeStyle = workbook.createCellStyle();
+        this.dateTimeStyle.setDataFormat(dateTimeFormat);
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) {
+        header = List.copyOf(columns);
+        newSheet();
+    }
+
+    @Override
+    public void writeRow(List<?> values) {
+        if (sheet == null || nextRow >= MAX_ROWS_PER_SHEET) {
+            newSheet();
+        }
+        Row row = sheet.createRow(nextRow++);
+        for (int i = 0; i < values.size(); i++) {
+            setValue(row.createCell(i), values.get(i));
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (sheet == null) {
+            newSheet();
+        }
+        workbook.write(out);
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Remove os arquivos temporários da janela
+        workbook.dispose();
+        workbook.close();
+    }
+
+    private void newSheet() {
+        sheetCount++;
+        sheet = workbook.createSheet(sheetCount == 1 ? SHEET_NAME : SHEET_NAME + " " + sheetCount);
+        nextRow = 0;
+        if (header != null) {
+            Row row = sheet.createRow(nextRow++);
+            for (int i = 0; i < header.size(); i++) {
+                Cell cell = row.createCell(i);
+                cell.setCellValue(header.get(i));
+                cell.setCellStyle(headerStyle);
+            }
+            sheet.createFreezePane(0, 1);
+        }
+    }
+
+    private void setValue(Cell cell, Object value) {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else if (value instanceof LocalDate date) {
+            cell.setCellValue(date);
+            cell.setCellStyle(dateStyle);
+        } else if (value instanceof LocalDateTime dateTime) {
+            cell.setCellValue(dateTime);
+            cell.setCellStyle(dateTimeStyle);
+        } else {
+            String text = value.toString();
+            cell.setCellValue(text.length() > MAX_CELL_LENGTH ? text.substring(0, MAX_CELL_LENGTH) : text);
+        }
+    }
+}
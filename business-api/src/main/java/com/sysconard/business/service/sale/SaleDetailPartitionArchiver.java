@@ -0,0 +1,115 @@
+package com.sysconard.business.service.sale;
+
+import com.sysconard.business.repository.sale.SaleDetailPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exporta partições de sale_details para arquivos CSV compactados (gzip) em archive-dir,
+ * um arquivo por mês (sale_details_pAAAAMM.csv.gz).
+ *
+ * O arquivo é gravado em um temporário e movido ao final, de forma que um arquivo com
+ * o nome final está sempre completo.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SaleDetailPartitionArchiver {
+
+    private static final int FETCH_SIZE = 5000;
+
+    private final SaleDetailPartitionRepository partitionRepository;
+
+    @Value("${sync.sale-details.partitioning.archive.dir:./archive/sale-details}")
+    private String archiveDir;
+
+    /**
+     * Exporta as linhas da partição de um mês.
+     *
+     * @param month Mês da partição
+     * @return Quantidade de linhas exportadas
+     */
+    @Transactional(readOnly = true)
+    public long exportPartition(YearMonth month) {
+        String name = SaleDetailPartitionRepository.partitionName(month);
+        Path target = Paths.get(archiveDir).resolve(name + ".csv.gz");
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        long rows = 0;
+        try {
+            Files.createDirectories(target.getParent());
+            try (Stream<Object[]> stream = partitionRepository.streamRows(month, FETCH_SIZE);
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(
+                         new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+                writer.write(String.join(",", SaleDetailPartitionRepository.COLUMNS));
+                writer.write('\n');
+                Iterator<Object[]> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    writeRow(writer, iterator.next());
+                    rows++;
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Erro ao arquivar a partição " + name, e);
+        }
+
+        log.info("Partição {} arquivada em {}: {} linhas", name, target, rows);
+        return rows;
+    }
+
+    static void writeRow(Writer writer, Object[] row) throws IOException {
+        for (int column = 0; column < row.length; column++) {
+            if (column > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(row[column]));
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Valor no formato CSV: nulo vira campo vazio; valores com vírgula, aspas ou
+     * quebra de linha são colocados entre aspas.
+     */
+    static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Não foi possível remover o arquivo temporário {}: {}", path, e.getMessage());
+        }
+    }
+}
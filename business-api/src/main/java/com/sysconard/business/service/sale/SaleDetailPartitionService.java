@@ -0,0 +1,167 @@
+package com.sysconard.business.service.sale;
+
+import com.sysconard.business.repository.sale.SaleDetailPartitionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serviço responsável pelas partições mensais de sale_details.
+ *
+ * Mantém em memória os meses que já possuem partição, de forma que a verificação
+ * feita a cada sincronização não consulte o banco. Partições ausentes são criadas em
+ * uma transação própria, serializada entre instâncias por advisory lock.
+ *
+ * Enquanto o script scripts/partition-sale-details-table.sql não for executado,
+ * sale_details continua sendo uma tabela comum e as operações deste serviço não fazem nada.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SaleDetailPartitionService {
+
+    private final SaleDetailPartitionRepository partitionRepository;
+
+    private final Set<YearMonth> knownMonths = ConcurrentHashMap.newKeySet();
+    private volatile Boolean partitioned;
+
+    /**
+     * Garante que existam partições para todos os meses do período.
+     *
+     * Deve ser chamado antes de qualquer escrita da transação chamadora: anexar uma
+     * partição replica as foreign keys de sale_details e precisa de SHARE ROW EXCLUSIVE
+     * nas tabelas referenciadas (stores, products, collaborators).
+     *
+     * @param startDate Primeiro dia do período
+     * @param endDate Último dia do período
+     * @return Quantidade de partições criadas
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int ensurePartitions(LocalDate startDate, LocalDate endDate) {
+        if (!isPartitioned()) {
+            return 0;
+        }
+        List<YearMonth> missing = missingMonths(YearMonth.from(startDate), YearMonth.from(endDate));
+        if (missing.isEmpty()) {
+            return 0;
+        }
+
+        partitionRepository.lockPartitionDdl();
+        List<YearMonth> existing = partitionRepository.findPartitionMonths();
+        knownMonths.addAll(existing);
+
+        List<YearMonth> created = new ArrayList<>();
+        for (YearMonth month : missing) {
+            if (existing.contains(month)) {
+                continue;
+            }
+            partitionRepository.createPartition(month);
+            created.add(month);
+            log.info("Partição {} criada", SaleDetailPartitionRepository.partitionName(month));
+        }
+        rememberAfterCommit(created);
+        return created.size();
+    }
+
+    /**
+     * Meses com partição anteriores a um mês limite, do mais antigo para o mais recente.
+     *
+     * @param cutoff Primeiro mês mantido
+     * @return Meses anteriores ao limite
+     */
+    @Transactional(readOnly = true)
+    public List<YearMonth> findPartitionsBefore(YearMonth cutoff) {
+        if (!isPartitioned()) {
+            return List.of();
+        }
+        return partitionRepository.findPartitionMonths().stream()
+                .filter(month -> month.isBefore(cutoff))
+                .toList();
+    }
+
+    /**
+     * Desanexa a partição de um mês já exportado e, opcionalmente, remove sua tabela.
+     * A quantidade de linhas é conferida após o DETACH, com a partição bloqueada; se
+     * divergir do arquivo exportado, a transação é desfeita e a partição permanece anexada.
+     *
+     * @param month Mês da partição
+     * @param archivedRows Linhas gravadas no arquivo
+     * @param drop true para remover a tabela desanexada
+     */
+    @Transactional
+    public void retirePartition(YearMonth month, long archivedRows, boolean drop) {
+        partitionRepository.detachPartition(month);
+        long rows = partitionRepository.countRows(month);
+        if (rows != archivedRows) {
+            throw new IllegalStateException(String.format(
+                    "Partição %s possui %d linhas, mas %d foram arquivadas",
+                    SaleDetailPartitionRepository.partitionName(month), rows, archivedRows));
+        }
+        if (drop) {
+            partitionRepository.dropPartitionTable(month);
+        }
+        knownMonths.remove(month);
+    }
+
+    /**
+     * Verifica (uma única vez) se sale_details é particionada.
+     *
+     * @return true se a tabela é particionada
+     */
+    public boolean isPartitioned() {
+        Boolean current = partitioned;
+        if (current == null) {
+            current = partitionRepository.isPartitioned();
+            partitioned = current;
+            if (!current) {
+                log.warn("sale_details não é particionada; execute scripts/partition-sale-details-table.sql " +
+                        "para habilitar partições mensais");
+            }
+        }
+        return current;
+    }
+
+    private List<YearMonth> missingMonths(YearMonth first, YearMonth last) {
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            if (!knownMonths.contains(month)) {
+                missing.add(month);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Registra os meses criados somente após o commit, para que uma transação
+     * desfeita não deixe meses sem partição marcados como existentes.
+     */
+    private void rememberAfterCommit(List<YearMonth> created) {
+        if (created.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            knownMonths.addAll(created);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                knownMonths.addAll(created);
+            }
+        });
+    }
+}
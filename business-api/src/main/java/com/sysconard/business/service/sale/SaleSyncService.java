@@ -14,11 +14,16 @@ import com.sysconard.business.repository.origin.EventOriginRepository;
 import com.sysconard.business.repository.product.ProductRepository;
 import com.sysconard.business.repository.sale.SaleDetailRepository;
 import com.sysconard.business.repository.store.StoreRepository;
+import com.sysconard.business.service.sync.SyncMetrics;
 import com.sysconard.business.entity.store.Store;
-import lombok.RequiredArgsConstructor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -29,11 +34,14 @@ import java.util.stream.Collectors;
  * Serviço responsável pela sincronização de vendas da Legacy API.
  * Implementa a lógica de negócio para sincronização de produtos e vendas detalhadas.
  * Segue os princípios de Clean Code com responsabilidades bem definidas.
+ * 
+ * Cada janela do stream é gravada e confirmada em sua própria transação: uma falha
+ * no meio de um período longo preserva as janelas já gravadas (a reexecução é segura,
+ * pois produtos e vendas existentes são ignorados), e conexão e locks ficam retidos
+ * apenas durante a gravação de uma janela.
  */
 @Slf4j
 @Service
-@Transactional
-@RequiredArgsConstructor
 public class SaleSyncService {
     
     private final LegacyApiClient legacyApiClient;
@@ -41,10 +49,40 @@ public class SaleSyncService {
     private final SaleDetailRepository saleDetailRepository;
     private final OperationRepository operationRepository;
     private final EventOriginRepository eventOriginRepository;
-    private final StoreRepository storeRepository; // Adicionar esta linha
+    private final StoreRepository storeRepository;
+    private final SaleDetailPartitionService saleDetailPartitionService;
+    private final TransactionTemplate windowTransaction;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${sync.sale-details.batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${sync.sale-details.stream-window-size:5000}")
+    private int streamWindowSize;
+    
+    public SaleSyncService(LegacyApiClient legacyApiClient, ProductRepository productRepository,
+                           SaleDetailRepository saleDetailRepository, OperationRepository operationRepository,
+                           EventOriginRepository eventOriginRepository, StoreRepository storeRepository,
+                           SaleDetailPartitionService saleDetailPartitionService,
+                           PlatformTransactionManager transactionManager) {
+        this.legacyApiClient = legacyApiClient;
+        this.productRepository = productRepository;
+        this.saleDetailRepository = saleDetailRepository;
+        this.operationRepository = operationRepository;
+        this.eventOriginRepository = eventOriginRepository;
+        this.storeRepository = storeRepository;
+        this.saleDetailPartitionService = saleDetailPartitionService;
+        this.windowTransaction = new TransactionTemplate(transactionManager);
+        this.windowTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
     
     /**
      * Sincroniza vendas da Legacy API para o banco de dados.
+     * Consome os itens em stream da Legacy API e persiste cada janela de tamanho fixo
+     * assim que é recebida, em uma transação por janela, mantendo o consumo de memória
+     * constante em períodos longos.
      * Processa produtos únicos e vendas detalhadas com validação de duplicatas.
      * 
      * @param request Requisição de sincronização com datas inicial e final
@@ -56,6 +94,9 @@ public class SaleSyncService {
                 request.startDate(), request.endDate());
         
         try {
+            // 0. Garantir as partições mensais do período antes de qualquer escrita
+            saleDetailPartitionService.ensurePartitions(request.startDate(), request.endDate());
+            
             // 1. Preparar parâmetros
             LocalDateTime startDateTime = request.startDate().atStartOfDay();
             LocalDateTime endDateTime = request.endDate().atTime(23, 59, 59);
@@ -67,43 +108,63 @@ public class SaleSyncService {
             log.info("Parâmetros preparados - storeCodes: {}, originCodes: {}, operationCodes: {}", 
                     storeCodes.size(), originCodes.size(), operationCodes.size());
             
-            // 2. Chamar Legacy API
-            List<SaleItemLegacyDTO> saleItems = legacyApiClient.getSaleItemsDetails(
+            // 2. Consumir stream da Legacy API em janelas de tamanho fixo
+            int windowSize = Math.max(1, streamWindowSize);
+            Set<String> receivedProductRefCodes = new HashSet<>();
+            int totalItemsReceived = 0;
+            int productsInserted = 0;
+            int salesInserted = 0;
+            int windowIndex = 0;
+            
+            Iterable<List<SaleItemLegacyDTO>> windows = legacyApiClient.streamSaleItemsDetails(
                     startDateTime,
                     endDateTime,
                     storeCodes,
                     originCodes, // Agora é List<String>
                     operationCodes
-            );
+            ).buffer(windowSize).toIterable(1);
+            
+            for (List<SaleItemLegacyDTO> window : windows) {
+                windowIndex++;
+                totalItemsReceived += window.size();
+                
+                // 3. Processar produtos únicos da janela
+                window.stream()
+                        .map(SaleItemLegacyDTO::getProductRefCode)
+                        .filter(Objects::nonNull)
+                        .forEach(receivedProductRefCodes::add);
+                // 4. Gravar produtos novos e vendas da janela em uma transação própria
+                WindowResult result = persistWindow(window);
+                int windowProductsInserted = result.productsInserted();
+                int windowSalesInserted = result.salesInserted();
+                productsInserted += windowProductsInserted;
+                salesInserted += windowSalesInserted;
+                
+                log.info("Janela {} persistida - itens: {}, produtos inseridos: {}, vendas inseridas: {}, total recebido: {}", 
+                        windowIndex, window.size(), windowProductsInserted, windowSalesInserted, totalItemsReceived);
+            }
             
-            log.info("Itens de venda recebidos da Legacy API: {}", 
-                    saleItems != null ? saleItems.size() : 0);
+            log.info("Itens de venda recebidos da Legacy API: {}", totalItemsReceived);
+            SyncMetrics.recordCount(SyncMetrics.SALE, "received", totalItemsReceived);
+            SyncMetrics.recordCount(SyncMetrics.SALE, "products-inserted", productsInserted);
+            SyncMetrics.recordCount(SyncMetrics.SALE, "sales-inserted", salesInserted);
             
-            if (saleItems == null || saleItems.isEmpty()) {
+            if (totalItemsReceived == 0) {
                 log.warn("Nenhum item de venda encontrado na Legacy API");
                 return new SaleSyncResponse(0, 0, 0, 0, 0, LocalDateTime.now());
             }
             
-            // 3. Processar produtos únicos
-            int productsInserted = processProducts(saleItems);
-            int productsSkipped = saleItems.stream()
-                    .map(SaleItemLegacyDTO::getProductRefCode)
-                    .collect(Collectors.toSet())
-                    .size() - productsInserted;
+            int productsSkipped = receivedProductRefCodes.size() - productsInserted;
+            int salesSkipped = totalItemsReceived - salesInserted;
             
             log.info("Produtos processados - inseridos: {}, ignorados: {}", 
                     productsInserted, productsSkipped);
-            
-            // 4. Processar vendas com validação de duplicatas
-            int salesInserted = processSales(saleItems);
-            int salesSkipped = saleItems.size() - salesInserted;
-            
             log.info("Vendas processadas - inseridas: {}, ignoradas: {}", 
                     salesInserted, salesSkipped);
             
             // 5. Retornar resposta com estatísticas
             SaleSyncResponse response = new SaleSyncResponse(
-                    saleItems.size(),
+                    totalItemsReceived,
                     productsInserted,
                     productsSkipped,
                     salesInserted,
@@ -122,6 +183,27 @@ public class SaleSyncService {
         }
     }
     
+    /**
+     * Grava os produtos novos e as vendas de uma janela e confirma a transação.
+     * O contexto de persistência é limpo ao final para que as entidades da janela
+     * não se acumulem ao longo do stream.
+     * 
+     * @param window Itens de venda da janela
+     * @return Quantidades inseridas na janela
+     */
+    private WindowResult persistWindow(List<SaleItemLegacyDTO> window) {
+        return windowTransaction.execute(status -> {
+            try {
+                int products = SyncMetrics.timeStage(SyncMetrics.SALE, "products", () -> processProducts(window));
+                int sales = SyncMetrics.timeStage(SyncMetrics.SALE, "sales", () -> processSales(window));
+                entityManager.flush();
+                return new WindowResult(products, sales);
+            } finally {
+                entityManager.clear();
+            }
+        });
+    }
+    
     /**
      * Prepara lista de códigos de lojas buscando todas as stores do banco de dados local.
      * 
@@ -292,7 +374,9 @@ public class SaleSyncService {
     
     /**
      * Processa vendas detalhadas da lista de itens de venda.
-     * Verifica duplicatas por chave composta (saleCode + productRefCode + itemSequence) e insere as novas.
+     * Remove duplicatas do próprio lote pela chave composta (saleCode + productRefCode + itemSequence)
+     * e insere em blocos com INSERT ... ON CONFLICT DO NOTHING, deixando a constraint única
+     * do banco descartar as vendas já existentes sem consulta item a item.
      * 
      * @param saleItems Lista de itens de venda da Legacy API
      * @return Quantidade de vendas inseridas
@@ -300,74 +384,38 @@ public class SaleSyncService {
     private int processSales(List<SaleItemLegacyDTO> saleItems) {
         log.debug("Processando vendas detalhadas");
         
-        // Criar conjunto de chaves compostas para verificação
-        Set<String> compositeKeys = saleItems.stream()
-                .map(item -> createCompositeKey(
-                        item.getSaleCode(),
-                        item.getProductRefCode(),
-                        item.getItemSequence()
-                ))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-        
-        log.debug("Chaves compostas únicas encontradas: {}", compositeKeys.size());
+        Map<String, SaleItemLegacyDTO> uniqueSaleItems = deduplicateSaleItems(saleItems);
         
-        // Verificar quais vendas já existem no banco
-        Set<String> existingKeys = new HashSet<>();
+        log.debug("Chaves compostas únicas encontradas: {}", uniqueSaleItems.size());
         
-        for (SaleItemLegacyDTO item : saleItems) {
-            if (item.getSaleCode() != null && 
-                item.getProductRefCode() != null && 
-                item.getItemSequence() != null) {
-                
-                boolean exists = saleDetailRepository.existsBySaleCodeAndProductRefCodeAndItemSequence(
-                        item.getSaleCode(),
-                        item.getProductRefCode(),
-                        item.getItemSequence()
-                );
-                
-                if (exists) {
-                    existingKeys.add(createCompositeKey(
-                            item.getSaleCode(),
-                            item.getProductRefCode(),
-                            item.getItemSequence()
-                    ));
-                }
-            }
-        }
-        
-        log.debug("Vendas já existentes no banco: {}", existingKeys.size());
-        
-        // Filtrar vendas novas
-        List<SaleItemLegacyDTO> newSaleItems = saleItems.stream()
-                .filter(item -> {
-                    String key = createCompositeKey(
-                            item.getSaleCode(),
-                            item.getProductRefCode(),
-                            item.getItemSequence()
-                    );
-                    return key != null && !existingKeys.contains(key);
-                })
-                .collect(Collectors.toList());
-        
-        log.debug("Vendas novas para inserir: {}", newSaleItems.size());
-        
-        if (newSaleItems.isEmpty()) {
+        if (uniqueSaleItems.isEmpty()) {
             return 0;
         }
         
-        // Criar vendas detalhadas
-        List<SaleDetail> newSaleDetails = newSaleItems.stream()
+        List<SaleDetail> saleDetails = uniqueSaleItems.values().stream()
                 .map(this::mapToSaleDetail)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
         
-        // Inserir vendas novas em lote
-        saleDetailRepository.saveAll(newSaleDetails);
+        int chunkSize = Math.max(1, batchSize);
+        int totalChunks = (saleDetails.size() + chunkSize - 1) / chunkSize;
+        int totalInserted = 0;
         
-        log.info("Vendas inseridas com sucesso: {}", newSaleDetails.size());
+        for (int chunkIndex = 0; chunkIndex < totalChunks; chunkIndex++) {
+            int from = chunkIndex * chunkSize;
+            int to = Math.min(from + chunkSize, saleDetails.size());
+            List<SaleDetail> chunk = saleDetails.subList(from, to);
+            
+            int inserted = saleDetailRepository.insertIgnoringDuplicates(chunk);
+            totalInserted += inserted;
+            
+            log.info("Lote {}/{} de vendas processado - enviadas: {}, inseridas: {}, ignoradas: {}", 
+                    chunkIndex + 1, totalChunks, chunk.size(), inserted, chunk.size() - inserted);
+        }
         
-        return newSaleDetails.size();
+        log.info("Vendas inseridas com sucesso: {}", totalInserted);
+        
+        return totalInserted;
     }
     
     /**
@@ -401,6 +449,28 @@ public class SaleSyncService {
         }
     }
     
+    /**
+     * Mantém apenas a primeira ocorrência de cada chave composta do lote.
+     * Itens sem saleCode, productRefCode ou itemSequence são descartados.
+     * 
+     * @param saleItems Lista de itens de venda da Legacy API
+     * @return Itens únicos indexados pela chave composta, na ordem de chegada
+     */
+    Map<String, SaleItemLegacyDTO> deduplicateSaleItems(List<SaleItemLegacyDTO> saleItems) {
+        Map<String, SaleItemLegacyDTO> uniqueSaleItems = new LinkedHashMap<>();
+        for (SaleItemLegacyDTO item : saleItems) {
+            String key = createCompositeKey(
+                    item.getSaleCode(),
+                    item.getProductRefCode(),
+                    item.getItemSequence()
+            );
+            if (key != null) {
+                uniqueSaleItems.putIfAbsent(key, item);
+            }
+        }
+        return uniqueSaleItems;
+    }
+    
     /**
      * Cria uma chave composta para identificação única de uma venda.
      * Formato: saleCode|productRefCode|itemSequence
@@ -416,5 +486,9 @@ public class SaleSyncService {
         }
         return saleCode + "|" + productRefCode + "|" + itemSequence;
     }
+    
+    /**
+     * Quantidades inseridas em uma janela do stream.
+     */
+    private record WindowResult(int productsInserted, int salesInserted) {}
 }
-
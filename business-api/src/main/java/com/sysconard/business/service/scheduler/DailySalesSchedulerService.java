@@ -12,8 +12,6 @@ import com.sysconard.business.service.sync.DailySalesSyncService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -21,9 +19,9 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Serviço responsável pela execução agendada de sincronização e envio de emails.
- * Executa diariamente às 04:00 UTC (01:00 GMT-3) para sincronizar vendas do dia anterior
- * e enviar relatórios por email para destinatários cadastrados.
+ * Serviço responsável pelas etapas diárias da cadeia de jobs de vendas:
+ * sincronização do dia e envio do relatório por email para destinatários cadastrados.
+ * O agendamento e a execução única por cluster ficam a cargo do SalesJobOrchestrator.
  * Segue os princípios de Clean Code com responsabilidades bem definidas.
  * 
  * @author Business API
@@ -39,76 +37,52 @@ public class DailySalesSchedulerService {
     private final DailySellRepository dailySellRepository;
     private final EmailService emailService;
     
-    @Value("${sync.daily-sales.schedule.enabled:true}")
-    private boolean schedulerEnabled;
-    
     /**
-     * Executa o processo agendado de sincronização e envio de emails.
-     * Executado diariamente às 04:00 UTC (01:00 GMT-3) conforme configuração do cron.
+     * Executa a sincronização de vendas para o dia especificado.
+     * Etapa daily-sales-sync da cadeia de jobs (SalesJobOrchestrator).
+     * 
+     * @param date Data para sincronização
+     * @return Resposta da sincronização
      */
-    @Scheduled(cron = "${sync.daily-sales.schedule.cron:0 0 1 * * *}")
-    public void executeDailySalesSyncAndEmail() {
-        log.info("=== Iniciando processo agendado de sincronização e envio de emails ===");
-        
-        if (!schedulerEnabled) {
-            log.info("Scheduler de vendas diárias está desabilitado. Pulando execução.");
-            return;
-        }
+    public DailySalesSyncResponse syncDailySales(LocalDate date) {
+        log.debug("Executando sincronização para a data: {}", date);
         
         try {
-            // Passo 1: Calcular data anterior
-            LocalDate previousDay = LocalDate.now().minusDays(1);
-            log.info("Sincronizando vendas do dia: {}", previousDay);
-            
-            // Passo 2: Executar sincronização
-            DailySalesSyncResponse syncResponse = executeSync(previousDay);
+            DailySalesSyncRequest request = new DailySalesSyncRequest(date, date);
+            DailySalesSyncResponse syncResponse = dailySalesSyncService.syncDailySales(request);
             log.info("Sincronização concluída: {} criados, {} atualizados, {} lojas processadas", 
                     syncResponse.created(), syncResponse.updated(), syncResponse.storesProcessed());
-            
-            // Passo 3: Buscar destinatários
-            List<String> recipients = getRecipients();
-            if (recipients.isEmpty()) {
-                log.info("Nenhum destinatário cadastrado para notificação. Processo concluído.");
-                return;
-            }
-            log.info("Encontrados {} destinatários para notificação", recipients.size());
-            
-            // Passo 4: Buscar dados de vendas
-            List<DailySalesReportResponse> salesData = getSalesData(previousDay);
-            if (salesData.isEmpty()) {
-                log.warn("Nenhum dado de vendas encontrado para o dia {}. Enviando relatório vazio.", previousDay);
-            }
-            
-            // Passo 5: Preparar dados do email
-            DailySalesEmailData emailData = new DailySalesEmailData(previousDay, salesData, syncResponse);
-            
-            // Passo 6: Enviar emails
-            emailService.sendDailySalesReport(recipients, emailData);
-            
-            log.info("=== Processo agendado concluído com sucesso ===");
-            
+            return syncResponse;
         } catch (Exception e) {
-            log.error("Erro durante execução do processo agendado: {}", e.getMessage(), e);
-            // Não relançar a exceção para não quebrar o scheduler
+            log.error("Erro durante sincronização para data {}: {}", date, e.getMessage(), e);
+            throw new RuntimeException("Falha na sincronização de vendas", e);
         }
     }
     
     /**
-     * Executa a sincronização de vendas para o dia especificado.
+     * Enfileira o relatório de vendas diárias para os destinatários cadastrados.
+     * Etapa sales-email da cadeia de jobs (SalesJobOrchestrator).
      * 
-     * @param date Data para sincronização
-     * @return Resposta da sincronização
+     * @param date Data do relatório
+     * @param syncResponse Estatísticas da sincronização do dia
+     * @return Quantidade de destinatários
      */
-    private DailySalesSyncResponse executeSync(LocalDate date) {
-        log.debug("Executando sincronização para a data: {}", date);
+    public int sendDailySalesEmail(LocalDate date, DailySalesSyncResponse syncResponse) {
+        List<String> recipients = getRecipients();
+        if (recipients.isEmpty()) {
+            log.info("Nenhum destinatário cadastrado para notificação de vendas diárias");
+            return 0;
+        }
+        log.info("Encontrados {} destinatários para notificação", recipients.size());
         
-        try {
-            DailySalesSyncRequest request = new DailySalesSyncRequest(date, date);
-            return dailySalesSyncService.syncDailySales(request);
-        } catch (Exception e) {
-            log.error("Erro durante sincronização para data {}: {}", date, e.getMessage(), e);
-            throw new RuntimeException("Falha na sincronização de vendas", e);
+        List<DailySalesReportResponse> salesData = getSalesData(date);
+        if (salesData.isEmpty()) {
+            log.warn("Nenhum dado de vendas encontrado para o dia {}. Enviando relatório vazio.", date);
         }
+        
+        DailySalesEmailData emailData = new DailySalesEmailData(date, salesData, syncResponse);
+        emailService.sendDailySalesReport(recipients, emailData);
+        return recipients.size();
     }
     
     /**
@@ -156,47 +130,4 @@ public class DailySalesSchedulerService {
             return List.of(); // Retorna lista vazia para não quebrar o processo
         }
     }
-    
-    /**
-     * Método para execução manual do processo (para testes).
-     * Pode ser chamado via endpoint ou teste unitário.
-     * 
-     * @param date Data específica para execução (opcional, usa dia anterior se null)
-     */
-    public void executeManualSyncAndEmail(LocalDate date) {
-        log.info("=== Executando processo manual de sincronização e envio de emails ===");
-        
-        LocalDate targetDate = date != null ? date : LocalDate.now().minusDays(1);
-        log.info("Data alvo para execução manual: {}", targetDate);
-        
-        try {
-            // Executar sincronização
-            DailySalesSyncResponse syncResponse = executeSync(targetDate);
-            log.info("Sincronização manual concluída: {} criados, {} atualizados", 
-                    syncResponse.created(), syncResponse.updated());
-            
-            // Buscar destinatários
-            List<String> recipients = getRecipients();
-            log.info("Destinatários para execução manual: {}", recipients);
-            
-            // Buscar dados de vendas
-            List<DailySalesReportResponse> salesData = getSalesData(targetDate);
-            log.info("Dados de vendas para execução manual: {} lojas", salesData.size());
-            
-            // Preparar e enviar email
-            if (!recipients.isEmpty()) {
-                DailySalesEmailData emailData = new DailySalesEmailData(targetDate, salesData, syncResponse);
-                emailService.sendDailySalesReport(recipients, emailData);
-                log.info("Email enviado com sucesso para {} destinatários", recipients.size());
-            } else {
-                log.warn("Nenhum destinatário encontrado para execução manual");
-            }
-            
-            log.info("=== Processo manual concluído com sucesso ===");
-            
-        } catch (Exception e) {
-            log.error("Erro durante execução manual: {}", e.getMessage(), e);
-            throw e; // Relança exceção para execução manual
-        }
-    }
 }
@@ -0,0 +1,73 @@
+package com.sysconard.business.service.scheduler;
+
+import com.sysconard.business.repository.scheduler.JobLeaseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Operações transacionais sobre as leases dos jobs agendados (tabela job_leases).
+ * Cada operação confirma sua própria transação, para que a posse do job fique
+ * visível às demais instâncias imediatamente.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class JobLeaseService {
+
+    private final JobLeaseRepository jobLeaseRepository;
+
+    /**
+     * Tenta obter a lease de um job.
+     *
+     * @param jobName Nome do job
+     * @param owner Identificador da execução
+     * @param ttl Validade da lease sem renovação
+     * @return true se a lease foi obtida
+     */
+    @Transactional
+    public boolean tryAcquire(String jobName, String owner, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        return jobLeaseRepository.tryAcquire(jobName, owner, now, now.plus(ttl)) > 0;
+    }
+
+    /**
+     * Prorroga a lease de um job em execução.
+     *
+     * @param jobName Nome do job
+     * @param owner Identificador da execução
+     * @param ttl Nova validade a partir de agora
+     * @return true se a lease ainda pertence à execução
+     */
+    @Transactional
+    public boolean renew(String jobName, String owner, Duration ttl) {
+        return jobLeaseRepository.renew(jobName, owner, LocalDateTime.now().plus(ttl)) > 0;
+    }
+
+    /**
+     * Libera a lease de um job.
+     *
+     * @param jobName Nome do job
+     * @param owner Identificador da execução
+     */
+    @Transactional
+    public void release(String jobName, String owner) {
+        jobLeaseRepository.release(jobName, owner);
+    }
+
+    /**
+     * Verifica se outra execução possui uma lease válida para o job.
+     *
+     * @param jobName Nome do job
+     * @return true se o job está em execução em alguma instância
+     */
+    @Transactional(readOnly = true)
+    public boolean isHeld(String jobName) {
+        return jobLeaseRepository.existsByJobNameAndExpiresAtAfter(jobName, LocalDateTime.now());
+    }
+}
@@ -13,7 +13,6 @@ import com.sysconard.business.service.sync.MonthlySalesSyncService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -23,12 +22,15 @@ import java.util.Locale;
 import java.util.Optional;
 
 /**
- * Serviço responsável pelo agendamento e execução da sincronização de vendas mensais.
- * Executa diariamente às 04:30 UTC (01:30 GMT-3) com lógica especial para o primeiro dia do mês.
+ * Serviço responsável pelas etapas mensais da cadeia de jobs de vendas
+ * (SalesJobOrchestrator), executadas após a sincronização diária.
  * 
- * Lógica de datas:
- * - Dia 1 do mês: processa fechamento do mês anterior
- * - Outros dias: processa atualização do mês atual
+ * Lógica de datas, a partir do dia de vendas processado (ontem):
+ * - Último dia do mês (execução no dia 1): fechamento do mês
+ * - Outros dias: atualização do mês corrente
+ * 
+ * Os totais mensais já são atualizados incrementalmente a cada sincronização diária,
+ * de forma que a etapa de sincronização apenas verifica e corrige divergências.
  * 
  * @author Business API
  * @version 1.0
@@ -47,84 +49,73 @@ public class MonthlySalesSchedulerService {
     private boolean scheduleEnabled;
     
     /**
-     * Executa a sincronização agendada de vendas mensais.
-     * Executado diariamente às 04:30 UTC (01:30 GMT-3) via @Scheduled.
+     * Indica se as etapas mensais devem rodar nas execuções agendadas.
+     * 
+     * @return true se o agendamento mensal está habilitado
      */
-    @Scheduled(cron = "${sync.monthly-sales.schedule.cron}")
-    public void executeScheduledMonthlySalesSync() {
-        if (!scheduleEnabled) {
-            log.debug("Scheduler de vendas mensais desabilitado");
-            return;
-        }
+    public boolean isScheduleEnabled() {
+        return scheduleEnabled;
+    }
+    
+    /**
+     * Sincroniza as vendas do mês do dia processado.
+     * Etapa monthly-sales-sync da cadeia de jobs (SalesJobOrchestrator).
+     * 
+     * @param date Dia de vendas processado pela cadeia (normalmente ontem)
+     * @return Resposta da sincronização mensal
+     */
+    public MonthlySalesSyncResponse syncMonthlySales(LocalDate date) {
+        MonthPeriod period = MonthPeriod.of(date);
+        log.info("{} - sincronizando vendas mensais: {} a {}", 
+                period.closure() ? "Fechamento mensal" : "Atualização mensal", period.startDate(), period.endDate());
         
-        log.info("=== Iniciando processo agendado de sincronização mensal ===");
+        MonthlySalesSyncRequest syncRequest = new MonthlySalesSyncRequest(period.startDate(), period.endDate());
+        MonthlySalesSyncResponse syncResponse = monthlySalesSyncService.syncMonthlySales(syncRequest);
+        log.info("Sincronização mensal concluída: {} criados, {} atualizados", 
+                syncResponse.created(), syncResponse.updated());
+        return syncResponse;
+    }
+    
+    /**
+     * Enfileira o relatório de vendas mensais para os destinatários cadastrados.
+     * Etapa sales-email da cadeia de jobs (SalesJobOrchestrator).
+     * 
+     * @param date Dia de vendas processado pela cadeia
+     * @param syncResponse Estatísticas da sincronização mensal, se executada nesta cadeia
+     * @return Quantidade de destinatários
+     */
+    public int sendMonthlySalesEmail(LocalDate date, Optional<MonthlySalesSyncResponse> syncResponse) {
+        MonthPeriod period = MonthPeriod.of(date);
+        
+        List<EmailNotifier> recipients = emailNotifierRepository.findByDailyMonthNotifierTrue();
+        if (recipients.isEmpty()) {
+            log.info("Nenhum destinatário cadastrado para notificação mensal");
+            return 0;
+        }
+        log.info("Encontrados {} destinatários para notificação mensal", recipients.size());
         
-        try {
-            // 1. Calcular datas com lógica especial
-            LocalDate today = LocalDate.now();
-            boolean isFirstDayOfMonth = today.getDayOfMonth() == 1;
-            LocalDate startDate, endDate;
-            
-            if (isFirstDayOfMonth) {
-                // Primeiro dia do mês: processar fechamento do mês anterior
-                LocalDate previousMonth = today.minusMonths(1);
-                startDate = previousMonth.withDayOfMonth(1);
-                endDate = previousMonth.withDayOfMonth(previousMonth.lengthOfMonth());
-                log.info("Primeiro dia do mês - processando fechamento: {} a {}", startDate, endDate);
-            } else {
-                // Outros dias: processar atualização do mês atual
-                startDate = today.withDayOfMonth(1);
-                endDate = today.withDayOfMonth(today.lengthOfMonth());
-                log.info("Processando atualização mensal: {} a {}", startDate, endDate);
-            }
-            
-            // 2. Sincronizar vendas mensais
-            MonthlySalesSyncRequest syncRequest = new MonthlySalesSyncRequest(startDate, endDate);
-            MonthlySalesSyncResponse syncResponse = monthlySalesSyncService.syncMonthlySales(syncRequest);
-            log.info("Sincronização mensal concluída: {} criados, {} atualizados", 
-                    syncResponse.created(), syncResponse.updated());
-            
-            // 3. Buscar destinatários com notificação mensal ativada
-            List<EmailNotifier> recipients = emailNotifierRepository.findByDailyMonthNotifierTrue();
-            if (recipients.isEmpty()) {
-                log.info("Nenhum destinatário cadastrado para notificação mensal");
-                return;
-            }
-            log.info("Encontrados {} destinatários para notificação mensal", recipients.size());
-            
-            // 4. Buscar dados de vendas mensais para o período
-            List<MonthlySalesReportResponse> salesData = 
-                    monthlySalesReportService.getMonthlySalesReport(startDate, endDate);
-            
-            if (salesData.isEmpty()) {
-                log.warn("Nenhum dado de vendas encontrado para o período {} a {}", startDate, endDate);
-                return;
-            }
-            
-            // 5. Preparar dados do email
-            String monthName = formatMonthYear(isFirstDayOfMonth ? startDate : today);
-            MonthlySalesEmailData emailData = new MonthlySalesEmailData(
-                startDate,
-                endDate,
-                monthName,
-                isFirstDayOfMonth,
-                salesData,
-                Optional.of(syncResponse)
-            );
-            
-            // 6. Enviar emails para todos os destinatários
-            List<String> emailAddresses = recipients.stream()
-                    .map(EmailNotifier::getEmail)
-                    .toList();
-            
-            emailService.sendMonthlySalesEmail(emailAddresses, emailData);
-            log.info("Emails mensais enviados com sucesso para {} destinatários", emailAddresses.size());
-            
-            log.info("=== Processo agendado de sincronização mensal concluído ===");
-            
-        } catch (Exception e) {
-            log.error("Erro no processo agendado de sincronização mensal: {}", e.getMessage(), e);
+        List<MonthlySalesReportResponse> salesData = 
+                monthlySalesReportService.getMonthlySalesReport(period.startDate(), period.endDate());
+        if (salesData.isEmpty()) {
+            log.warn("Nenhum dado de vendas encontrado para o período {} a {}", period.startDate(), period.endDate());
+            return 0;
         }
+        
+        MonthlySalesEmailData emailData = new MonthlySalesEmailData(
+            period.startDate(),
+            period.endDate(),
+            formatMonthYear(period.startDate()),
+            period.closure(),
+            salesData,
+            syncResponse
+        );
+        
+        List<String> emailAddresses = recipients.stream()
+                .map(EmailNotifier::getEmail)
+                .toList();
+        
+        emailService.sendMonthlySalesEmail(emailAddresses, emailData);
+        return emailAddresses.size();
     }
     
     /**
@@ -138,11 +129,13 @@ public class MonthlySalesSchedulerService {
     }
     
     /**
-     * Executa manualmente o processo de sincronização mensal.
-     * Útil para testes e execução sob demanda.
+     * Mês processado a partir do dia de vendas: o último dia do mês
+     * corresponde ao fechamento mensal.
      */
-    public void executeManualMonthlySalesSync() {
-        log.info("Executando sincronização mensal manual");
-        executeScheduledMonthlySalesSync();
+    record MonthPeriod(LocalDate startDate, LocalDate endDate, boolean closure) {
+        static MonthPeriod of(LocalDate date) {
+            LocalDate endDate = date.withDayOfMonth(date.lengthOfMonth());
+            return new MonthPeriod(date.withDayOfMonth(1), endDate, date.equals(endDate));
+        }
     }
 }
@@ -0,0 +1,558 @@
+package com.sysconard.business.service.scheduler;
+
+import com.sysconard.business.dto.scheduler.JobRunResponse;
+import com.sysconard.business.dto.sync.DailySalesSyncResponse;
+import com.sysconard.business.dto.sync.MonthlySalesSyncResponse;
+import com.sysconard.business.dto.sync.YearlySalesSyncRequest;
+import com.sysconard.business.dto.sync.YearlySalesSyncResponse;
+import com.sysconard.business.entity.scheduler.JobRun;
+import com.sysconard.business.enums.JobRunStatus;
+import com.sysconard.business.enums.JobTrigger;
+import com.sysconard.business.enums.SchedulerJob;
+import com.sysconard.business.repository.scheduler.JobRunRepository;
+import com.sysconard.business.service.sync.YearlySalesSyncService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serviço responsável pela orquestração da cadeia de jobs de vendas:
+ * diário → mensal → anual → emails (SchedulerJob).
+ *
+ * Cada job da cadeia só executa com a lease do job no Postgres (job_leases), de forma que
+ * várias instâncias da Business API nunca executem o mesmo job ao mesmo tempo. Em execuções
+ * agendadas, um job já concluído para o mesmo dia de vendas (por outra instância ou por uma
+ * execução anterior) é ignorado; uma instância que encontra a lease ocupada aguarda o fim do
+ * job e reaproveita seu resultado. Em qualquer execução, os jobs seguintes ao inicial são
+ * ignorados se uma cadeia iniciada antes os concluiu durante esta (sem emails duplicados).
+ * Se um job falhar, os seguintes da cadeia são ignorados.
+ *
+ * Solicitações para uma cadeia já em andamento (mesmo job inicial e dia), nesta ou em outra
+ * instância, são associadas à execução existente ao invés de iniciar outra; a cadeia em
+ * execução renova heartbeat_at em job_runs a cada 1/3 de lease-ttl. Toda execução, da cadeia
+ * e de cada job, é registrada em job_runs com sua duração.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesJobOrchestrator {
+
+    private static final String PIPELINE_JOB_NAME = "sales-pipeline";
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final JobLeaseService jobLeaseService;
+    private final JobRunRepository jobRunRepository;
+    private final DailySalesSchedulerService dailySalesSchedulerService;
+    private final MonthlySalesSchedulerService monthlySalesSchedulerService;
+    private final YearlySalesSyncService yearlySalesSyncService;
+
+    /**
+     * Cadeias em andamento nesta instância, por job inicial e dia de vendas.
+     */
+    private final Map<String, PipelineSubmission> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${scheduler.jobs.instance-id:}")
+    private String configuredInstanceId;
+
+    @Value("${scheduler.jobs.lease-ttl:PT10M}")
+    private Duration leaseTtl;
+
+    @Value("${scheduler.jobs.join-poll-interval:PT5S}")
+    private Duration joinPollInterval;
+
+    @Value("${scheduler.jobs.join-timeout:PT2H}")
+    private Duration joinTimeout;
+
+    private String instanceId;
+    private ExecutorService pipelineExecutor;
+    private ScheduledExecutorService leaseRenewer;
+
+    @PostConstruct
+    void init() {
+        instanceId = StringUtils.hasText(configuredInstanceId) ? configuredInstanceId.trim() : defaultInstanceId();
+        AtomicInteger threadCounter = new AtomicInteger();
+        pipelineExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "sales-jobs-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sales-jobs-lease");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Orquestrador de jobs de vendas inicializado: instância={}, lease={}", instanceId, leaseTtl);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Leases de jobs interrompidos expiram sozinhas após lease-ttl
+        pipelineExecutor.shutdownNow();
+        leaseRenewer.shutdownNow();
+    }
+
+    /**
+     * Inicia a cadeia a partir de um job para um dia de vendas, ou se associa à
+     * execução da mesma cadeia já em andamento nesta ou em outra instância.
+     *
+     * @param startJob Primeiro job da cadeia
+     * @param runDate Dia de vendas
+     * @param trigger Origem da execução
+     * @return Execução iniciada ou em andamento
+     */
+    public PipelineSubmission submit(SchedulerJob startJob, LocalDate runDate, JobTrigger trigger) {
+        String key = startJob.getJobName() + ":" + runDate;
+        PipelineSubmission existing = inFlight.get(key);
+        if (existing != null) {
+            log.info("Cadeia {} para {} já está em andamento (run {}), associando solicitação",
+                    startJob.getJobName(), runDate, existing.runId());
+            return existing.asJoined();
+        }
+
+        synchronized (inFlight) {
+            existing = inFlight.get(key);
+            if (existing != null) {
+                return existing.asJoined();
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            Optional<JobRun> running = jobRunRepository
+                    .findFirstByJobNameAndStartJobAndRunDateAndStatusAndHeartbeatAtAfterOrderByStartedAtDesc(
+                            PIPELINE_JOB_NAME, startJob.getJobName(), runDate, JobRunStatus.RUNNING, now.minus(leaseTtl));
+            if (running.isPresent()) {
+                UUID runId = running.get().getId();
+                log.info("Cadeia {} para {} já está em andamento na instância {} (run {}), associando solicitação",
+                        startJob.getJobName(), runDate, running.get().getOwner(), runId);
+                return new PipelineSubmission(runId, true, awaitRemoteRun(runId));
+            }
+
+            JobRun pipelineRun = jobRunRepository.save(JobRun.builder()
+                    .jobName(PIPELINE_JOB_NAME)
+                    .startJob(startJob.getJobName())
+                    .runDate(runDate)
+                    .trigger(trigger)
+                    .status(JobRunStatus.RUNNING)
+                    .owner(instanceId)
+                    .message("Cadeia a partir de " + startJob.getJobName())
+                    .startedAt(now)
+                    .heartbeatAt(now)
+                    .build());
+
+            CompletableFuture<JobRunResponse> completion = new CompletableFuture<>();
+            PipelineSubmission submission = new PipelineSubmission(pipelineRun.getId(), false, completion);
+            inFlight.put(key, submission);
+
+            try {
+                pipelineExecutor.execute(() -> {
+                    long heartbeatPeriod = leaseTtl.toMillis() / 3;
+                    ScheduledFuture<?> heartbeat = leaseRenewer.scheduleAtFixedRate(
+                            () -> heartbeat(pipelineRun.getId()), heartbeatPeriod, heartbeatPeriod, TimeUnit.MILLISECONDS);
+                    try {
+                        completion.complete(runPipeline(pipelineRun, startJob));
+                    } catch (Exception e) {
+                        completion.completeExceptionally(e);
+                    } finally {
+                        heartbeat.cancel(false);
+                        inFlight.remove(key, submission);
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.remove(key, submission);
+                throw e;
+            }
+            return submission;
+        }
+    }
+
+    /**
+     * Obtém uma execução com os jobs executados por ela.
+     *
+     * @param runId Identificador da execução
+     * @return Execução, ou vazio se não existir
+     */
+    public Optional<JobRunResponse> getRun(UUID runId) {
+        return jobRunRepository.findById(runId).map(this::toResponse);
+    }
+
+    /**
+     * Histórico das execuções das cadeias, das mais recentes para as mais antigas.
+     *
+     * @param limit Quantidade máxima de execuções
+     * @return Execuções com seus jobs
+     */
+    public List<JobRunResponse> getRecentRuns(int limit) {
+        return jobRunRepository.findByPipelineRunIdIsNullOrderByStartedAtDesc(PageRequest.of(0, Math.max(1, limit)))
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /**
+     * Executa os jobs da cadeia em ordem; um job com falha faz os seguintes serem ignorados.
+     */
+    private JobRunResponse runPipeline(JobRun pipelineRun, SchedulerJob startJob) {
+        LocalDate runDate = pipelineRun.getRunDate();
+        PipelineContext context = new PipelineContext(startJob, pipelineRun.getTrigger());
+        log.info("=== Iniciando cadeia de jobs de vendas: início={}, dia={}, origem={} ===",
+                startJob.getJobName(), runDate, pipelineRun.getTrigger());
+
+        JobRun failedStep = null;
+        for (SchedulerJob job : startJob.chain()) {
+            if (failedStep != null) {
+                recordSkipped(pipelineRun, job, "Dependência " + failedStep.getJobName() + " falhou");
+                continue;
+            }
+            JobRun step = runStep(pipelineRun, job, context);
+            if (step.getStatus() == JobRunStatus.FAILED) {
+                failedStep = step;
+            }
+        }
+
+        pipelineRun.setStatus(failedStep == null ? JobRunStatus.COMPLETED : JobRunStatus.FAILED);
+        if (failedStep != null) {
+            pipelineRun.setMessage(truncate("Falha em " + failedStep.getJobName() + ": " + failedStep.getMessage()));
+        }
+        finish(pipelineRun);
+
+        log.info("=== Cadeia de jobs de vendas finalizada: dia={}, status={}, duração={}ms ===",
+                runDate, pipelineRun.getStatus(), pipelineRun.getDurationMs());
+        return toResponse(pipelineRun);
+    }
+
+    /**
+     * Executa um job da cadeia sob sua lease. Se outra execução possui a lease,
+     * aguarda o fim dela e tenta novamente; com a lease, ignora o job se ele já foi
+     * concluído para o dia em uma execução agendada ou, nos jobs seguintes ao inicial,
+     * por uma cadeia iniciada antes desta.
+     */
+    private JobRun runStep(JobRun pipelineRun, SchedulerJob job, PipelineContext context) {
+        String jobName = job.getJobName();
+        LocalDate runDate = pipelineRun.getRunDate();
+        String owner = instanceId + "/" + pipelineRun.getId();
+
+        if (!awaitLease(jobName, owner)) {
+            return recordFailed(pipelineRun, job, "Tempo esgotado aguardando a lease de " + jobName);
+        }
+
+        ScheduledFuture<?> renewal = leaseRenewer.scheduleAtFixedRate(
+                () -> renewLease(jobName, owner), leaseTtl.toMillis() / 3, leaseTtl.toMillis() / 3, TimeUnit.MILLISECONDS);
+        try {
+            Optional<JobRun> completed = Optional.empty();
+            if (context.trigger() == JobTrigger.SCHEDULED) {
+                completed = jobRunRepository.findFirstByJobNameAndRunDateAndStatusOrderByStartedAtDesc(
+                        jobName, runDate, JobRunStatus.COMPLETED);
+            } else if (job != context.startJob()) {
+                completed = jobRunRepository.findCompletedByOverlappingPipelines(
+                        jobName, runDate, pipelineRun.getStartedAt(), PageRequest.of(0, 1)).stream().findFirst();
+            }
+            if (completed.isPresent()) {
+                context.adopt(job, completed.get());
+                return recordSkipped(pipelineRun, job, "Já concluído pela execução " + completed.get().getId());
+            }
+            if (context.trigger() == JobTrigger.SCHEDULED
+                    && job == SchedulerJob.MONTHLY_SALES_SYNC && !monthlySalesSchedulerService.isScheduleEnabled()) {
+                return recordSkipped(pipelineRun, job, "Agendamento mensal desabilitado");
+            }
+
+            JobRun step = jobRunRepository.save(JobRun.builder()
+                    .jobName(jobName)
+                    .runDate(runDate)
+                    .pipelineRunId(pipelineRun.getId())
+                    .trigger(context.trigger())
+                    .status(JobRunStatus.RUNNING)
+                    .owner(instanceId)
+                    .startedAt(LocalDateTime.now())
+                    .build());
+
+            try {
+                executeJob(job, runDate, context, step);
+                step.setStatus(JobRunStatus.COMPLETED);
+            } catch (Exception e) {
+                log.error("Erro no job {} para {}: {}", jobName, runDate, e.getMessage(), e);
+                step.setStatus(JobRunStatus.FAILED);
+                step.setMessage(truncate(e.getMessage()));
+            }
+            finish(step);
+            log.info("Job {} para {} finalizado: status={}, duração={}ms",
+                    jobName, runDate, step.getStatus(), step.getDurationMs());
+            return step;
+
+        } finally {
+            renewal.cancel(false);
+            jobLeaseService.release(jobName, owner);
+        }
+    }
+
+    /**
+     * Executa o trabalho de um job e registra suas estatísticas no histórico.
+     */
+    private void executeJob(SchedulerJob job, LocalDate runDate, PipelineContext context, JobRun step) {
+        switch (job) {
+            case DAILY_SALES_SYNC -> {
+                DailySalesSyncResponse response = dailySalesSchedulerService.syncDailySales(runDate);
+                context.dailyResponse = response;
+                step.setCreatedCount(response.created());
+                step.setUpdatedCount(response.updated());
+                step.setStoresProcessed(response.storesProcessed());
+            }
+            case MONTHLY_SALES_SYNC -> {
+                MonthlySalesSyncResponse response = monthlySalesSchedulerService.syncMonthlySales(runDate);
+                context.monthlyResponse = response;
+                step.setCreatedCount(response.created());
+                step.setUpdatedCount(response.updated());
+                step.setStoresProcessed(response.storesProcessed());
+            }
+            case YEARLY_SALES_SYNC -> {
+                YearlySalesSyncResponse response = yearlySalesSyncService.syncYearlySales(
+                        new YearlySalesSyncRequest(runDate.getYear()));
+                step.setCreatedCount(response.created());
+                step.setUpdatedCount(response.updated());
+                step.setStoresProcessed(response.storesProcessed());
+            }
+            case SALES_EMAIL -> sendEmails(runDate, context, step);
+        }
+    }
+
+    /**
+     * Enfileira os relatórios diário e mensal. O relatório diário só é enviado quando a
+     * cadeia inclui a sincronização diária (ou começa nos emails).
+     */
+    private void sendEmails(LocalDate runDate, PipelineContext context, JobRun step) {
+        int recipients = 0;
+        if (context.startJob() == SchedulerJob.DAILY_SALES_SYNC || context.startJob() == SchedulerJob.SALES_EMAIL) {
+            recipients += dailySalesSchedulerService.sendDailySalesEmail(runDate, dailyStatsFor(runDate, context));
+        }
+        if (context.trigger() == JobTrigger.MANUAL || monthlySalesSchedulerService.isScheduleEnabled()) {
+            recipients += monthlySalesSchedulerService.sendMonthlySalesEmail(
+                    runDate, Optional.ofNullable(context.monthlyResponse));
+        }
+        step.setMessage("Emails enfileirados para " + recipients + " destinatário(s)");
+    }
+
+    /**
+     * Estatísticas da sincronização diária para o email: da execução desta cadeia ou,
+     * se o job foi concluído antes, do histórico.
+     */
+    private DailySalesSyncResponse dailyStatsFor(LocalDate runDate, PipelineContext context) {
+        if (context.dailyResponse != null) {
+            return context.dailyResponse;
+        }
+        return jobRunRepository.findFirstByJobNameAndRunDateAndStatusOrderByStartedAtDesc(
+                        SchedulerJob.DAILY_SALES_SYNC.getJobName(), runDate, JobRunStatus.COMPLETED)
+                .map(run -> dailyResponseFrom(run, runDate))
+                .orElseGet(() -> DailySalesSyncResponse.builder()
+                        .startDate(runDate.toString())
+                        .endDate(runDate.toString())
+                        .build());
+    }
+
+    /**
+     * Aguarda a lease do job, consultando-a a cada join-poll-interval até join-timeout.
+     */
+    private boolean awaitLease(String jobName, String owner) {
+        long deadline = System.nanoTime() + joinTimeout.toNanos();
+        boolean waiting = false;
+        while (!jobLeaseService.tryAcquire(jobName, owner, leaseTtl)) {
+            if (!waiting) {
+                log.info("Job {} em execução em outra instância ou cadeia, aguardando", jobName);
+                waiting = true;
+            }
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(joinPollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Aguarda em segundo plano o fim de uma cadeia executada em outra instância, consultando
+     * job_runs a cada join-poll-interval até join-timeout ou até a cadeia deixar de renovar o heartbeat.
+     */
+    private CompletableFuture<JobRunResponse> awaitRemoteRun(UUID runId) {
+        return CompletableFuture.supplyAsync(() -> {
+            long deadline = System.nanoTime() + joinTimeout.toNanos();
+            while (true) {
+                JobRun run = jobRunRepository.findById(runId)
+                        .orElseThrow(() -> new IllegalStateException("Execução da cadeia não encontrada: " + runId));
+                if (run.getStatus() != JobRunStatus.RUNNING) {
+                    return toResponse(run);
+                }
+                if (run.getHeartbeatAt() == null || run.getHeartbeatAt().isBefore(LocalDateTime.now().minus(leaseTtl))) {
+                    throw new IllegalStateException("Cadeia " + runId + " sem atividade desde " + run.getHeartbeatAt());
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException("Tempo esgotado aguardando a cadeia " + runId);
+                }
+                try {
+                    Thread.sleep(joinPollInterval.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Espera pela cadeia " + runId + " interrompida", e);
+                }
+            }
+        }, pipelineExecutor);
+    }
+
+    private void heartbeat(UUID pipelineRunId) {
+        try {
+            jobRunRepository.heartbeat(pipelineRunId, LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("Erro ao renovar o heartbeat da cadeia {}: {}", pipelineRunId, e.getMessage());
+        }
+    }
+
+    private void renewLease(String jobName, String owner) {
+        try {
+            if (!jobLeaseService.renew(jobName, owner, leaseTtl)) {
+                log.warn("Lease do job {} não pertence mais a {}", jobName, owner);
+            }
+        } catch (Exception e) {
+            log.warn("Erro ao renovar a lease do job {}: {}", jobName, e.getMessage());
+        }
+    }
+
+    private JobRun recordSkipped(JobRun pipelineRun, SchedulerJob job, String message) {
+        log.info("Job {} para {} ignorado: {}", job.getJobName(), pipelineRun.getRunDate(), message);
+        return recordFinished(pipelineRun, job, JobRunStatus.SKIPPED, message);
+    }
+
+    private JobRun recordFailed(JobRun pipelineRun, SchedulerJob job, String message) {
+        log.error("Job {} para {} falhou: {}", job.getJobName(), pipelineRun.getRunDate(), message);
+        return recordFinished(pipelineRun, job, JobRunStatus.FAILED, message);
+    }
+
+    private JobRun recordFinished(JobRun pipelineRun, SchedulerJob job, JobRunStatus status, String message) {
+        LocalDateTime now = LocalDateTime.now();
+        return jobRunRepository.save(JobRun.builder()
+                .jobName(job.getJobName())
+                .runDate(pipelineRun.getRunDate())
+                .pipelineRunId(pipelineRun.getId())
+                .trigger(pipelineRun.getTrigger())
+                .status(status)
+                .owner(instanceId)
+                .message(truncate(message))
+                .startedAt(now)
+                .finishedAt(now)
+                .durationMs(0L)
+                .build());
+    }
+
+    private void finish(JobRun run) {
+        LocalDateTime finishedAt = LocalDateTime.now();
+        run.setFinishedAt(finishedAt);
+        run.setDurationMs(Duration.between(run.getStartedAt(), finishedAt).toMillis());
+        jobRunRepository.save(run);
+    }
+
+    private JobRunResponse toResponse(JobRun run) {
+        List<JobRunResponse> steps = run.getPipelineRunId() == null
+                ? jobRunRepository.findByPipelineRunIdOrderByStartedAtAsc(run.getId()).stream()
+                        .map(step -> JobRunResponse.from(step, List.of()))
+                        .toList()
+                : List.of();
+        return JobRunResponse.from(run, steps);
+    }
+
+    private static DailySalesSyncResponse dailyResponseFrom(JobRun run, LocalDate runDate) {
+        return DailySalesSyncResponse.builder()
+                .created(run.getCreatedCount())
+                .updated(run.getUpdatedCount())
+                .storesProcessed(run.getStoresProcessed())
+                .processedAt(run.getFinishedAt())
+                .startDate(runDate.toString())
+                .endDate(runDate.toString())
+                .build();
+    }
+
+    private static String defaultInstanceId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown-host";
+        }
+        return host + ":" + ManagementFactory.getRuntimeMXBean().getPid();
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_MESSAGE_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    /**
+     * Execução de uma cadeia: identificador no histórico, se a solicitação foi associada
+     * a uma execução existente e a conclusão da cadeia.
+     */
+    public record PipelineSubmission(UUID runId, boolean joined, CompletableFuture<JobRunResponse> completion) {
+        PipelineSubmission asJoined() {
+            return new PipelineSubmission(runId, true, completion);
+        }
+    }
+
+    /**
+     * Resultados dos jobs já executados na cadeia, usados pelos jobs seguintes.
+     */
+    private static final class PipelineContext {
+        private final SchedulerJob startJob;
+        private final JobTrigger trigger;
+        private DailySalesSyncResponse dailyResponse;
+        private MonthlySalesSyncResponse monthlyResponse;
+
+        private PipelineContext(SchedulerJob startJob, JobTrigger trigger) {
+            this.startJob = startJob;
+            this.trigger = trigger;
+        }
+
+        SchedulerJob startJob() {
+            return startJob;
+        }
+
+        JobTrigger trigger() {
+            return trigger;
+        }
+
+        /**
+         * Reaproveita as estatísticas de um job concluído anteriormente.
+         */
+        void adopt(SchedulerJob job, JobRun completed) {
+            if (job == SchedulerJob.DAILY_SALES_SYNC) {
+                dailyResponse = dailyResponseFrom(completed, completed.getRunDate());
+            }
+        }
+    }
+}
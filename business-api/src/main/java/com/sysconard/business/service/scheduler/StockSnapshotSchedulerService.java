@@ -0,0 +1,51 @@
+package com.sysconard.business.service.scheduler;
+
+import com.sysconard.business.dto.sync.StockSnapshotResponse;
+import com.sysconard.business.service.stock.StockSnapshotService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço responsável pela atualização periódica do snapshot local de estoque.
+ * Executa com intervalo fixo entre o fim de uma atualização e o início da próxima,
+ * de forma que uma leitura lenta da Legacy API nunca se sobreponha à seguinte.
+ * 
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockSnapshotSchedulerService {
+    
+    private final StockSnapshotService stockSnapshotService;
+    
+    @Value("${stock.snapshot.schedule.enabled:true}")
+    private boolean scheduleEnabled;
+    
+    /**
+     * Executa a atualização agendada do snapshot de estoque.
+     */
+    @Scheduled(fixedDelayString = "${stock.snapshot.schedule.refresh-interval:PT30M}",
+               initialDelayString = "${stock.snapshot.schedule.initial-delay:PT1M}")
+    public void executeScheduledSnapshotRefresh() {
+        if (!scheduleEnabled) {
+            log.debug("Scheduler do snapshot de estoque desabilitado");
+            return;
+        }
+        
+        try {
+            StockSnapshotResponse response = stockSnapshotService.refreshSnapshot();
+            log.info("Atualização agendada do snapshot de estoque finalizada: status={}, referências={}", 
+                    response.status(), response.itemCount());
+        } catch (IllegalStateException e) {
+            log.info("Atualização agendada do snapshot de estoque ignorada: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Erro na atualização agendada do snapshot de estoque: {}", e.getMessage(), e);
+        }
+    }
+}
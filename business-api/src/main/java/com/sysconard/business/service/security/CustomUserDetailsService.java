@@ -1,16 +1,23 @@
 package com.sysconard.business.service.security;
 
+import com.sysconard.business.config.CacheConfig;
 import com.sysconard.business.entity.security.User;
 import com.sysconard.business.repository.security.UserRepository;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+/**
+ * Carrega usuários com roles e permissões para o Spring Security.
+ * O resultado é mantido no cache authenticatedUsers (TTL configurável) e invalidado
+ * quando status, bloqueio, senha, dados ou roles do usuário são alterados.
+ */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     
@@ -20,9 +27,10 @@ public class CustomUserDetailsService implements UserDetailsService {
     private UserRepository userRepository;
     
     @Override
+    @Cacheable(cacheNames = CacheConfig.AUTHENTICATED_USERS_CACHE, key = "#email")
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        logger.info("=== LOADING USER BY EMAIL ===");
-        logger.info("Email solicitado: {}", email);
+        logger.debug("=== LOADING USER BY EMAIL ===");
+        logger.debug("Email solicitado: {}", email);
         
         try {
             User user = userRepository.findByEmailWithRolesAndPermissions(email)
@@ -33,22 +41,22 @@ public class CustomUserDetailsService implements UserDetailsService {
                 throw new UsernameNotFoundException("Usuário não encontrado com email: " + email);
             }
             
-            logger.info("Usuário encontrado: {} (ID: {})", user.getUsername(), user.getId());
-            logger.info("Email do usuário: {}", user.getEmail());
-            logger.info("Usuário ativo: {}", user.isEnabled());
-            logger.info("Usuário não bloqueado: {}", user.isAccountNonLocked());
-            logger.info("Número de roles: {}", user.getRoles().size());
-            logger.info("Roles: {}", user.getRoles().stream().map(role -> role.getName()).toList());
+            logger.debug("Usuário encontrado: {} (ID: {})", user.getUsername(), user.getId());
+            logger.debug("Email do usuário: {}", user.getEmail());
+            logger.debug("Usuário ativo: {}", user.isEnabled());
+            logger.debug("Usuário não bloqueado: {}", user.isAccountNonLocked());
+            logger.debug("Número de roles: {}", user.getRoles().size());
+            logger.debug("Roles: {}", user.getRoles().stream().map(role -> role.getName()).toList());
             
             // Log das permissions
             user.getRoles().forEach(role -> {
-                logger.info("Role '{}' tem {} permissions", role.getName(), role.getPermissions().size());
+                logger.debug("Role '{}' tem {} permissions", role.getName(), role.getPermissions().size());
                 role.getPermissions().forEach(permission -> {
-                    logger.info("  - Permission: {}", permission.getName());
+                    logger.debug("  - Permission: {}", permission.getName());
                 });
             });
             
-            logger.info("=== USER LOADED SUCCESSFULLY ===");
+            logger.debug("=== USER LOADED SUCCESSFULLY ===");
             return user;
             
         } catch (Exception e) {
@@ -1,28 +1,48 @@
 package com.sysconard.business.service.security;
 
+import com.sysconard.business.config.CacheConfig;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
     
+    /**
+     * Claim com as autoridades (roles e permissões) do usuário, quando habilitada.
+     */
+    public static final String AUTHORITIES_CLAIM = "authorities";
+    
+    private static final String ALL_SUBJECTS = "*";
+    
     @Value("${spring.jwt.secret}")
     private String secret;
     
     @Value("${spring.jwt.expiration}")
     private Long expiration;
     
+    @Value("${spring.jwt.authorities-in-claims:false}")
+    private boolean authoritiesInClaims;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
     private SecretKey getSigningKey() {
         return Keys.hmacShaKeyFor(secret.getBytes());
     }
@@ -40,7 +60,10 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
     
-    private Claims extractAllClaims(String token) {
+    /**
+     * Valida a assinatura e a expiração do token e retorna suas claims.
+     */
+    public Claims extractAllClaims(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
                 .build()
@@ -48,12 +71,29 @@ public class JwtService {
                 .getBody();
     }
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Retorna as autoridades gravadas no token, ou null se a leitura de autoridades
+     * pelas claims estiver desabilitada ou o token não as possuir.
+     */
+    public List<String> extractAuthorities(Claims claims) {
+        if (!authoritiesInClaims) {
+            return null;
+        }
+        Object authorities = claims.get(AUTHORITIES_CLAIM);
+        if (!(authorities instanceof List<?> list)) {
+            return null;
+        }
+        return list.stream().map(String::valueOf).toList();
     }
     
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (authoritiesInClaims) {
+            claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .sorted()
+                    .toList());
+        }
         // Usar email em vez de username para compatibilidade com o sistema
         if (userDetails instanceof com.sysconard.business.entity.security.User) {
             com.sysconard.business.entity.security.User user = (com.sysconard.business.entity.security.User) userDetails;
@@ -73,13 +113,58 @@ public class JwtService {
     }
     
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String email = extractUsername(token); // Agora extrai o email do JWT
+        return validateToken(extractAllClaims(token), userDetails);
+    }
+    
+    /**
+     * Valida claims já extraídas (assinatura verificada) contra o usuário.
+     */
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        final String email = claims.getSubject(); // Agora extrai o email do JWT
+        final boolean expired = claims.getExpiration().before(new Date());
         // Comparar com o email do usuário em vez do username
         if (userDetails instanceof com.sysconard.business.entity.security.User) {
             com.sysconard.business.entity.security.User user = (com.sysconard.business.entity.security.User) userDetails;
-            return (email.equals(user.getEmail()) && !isTokenExpired(token));
+            return (email.equals(user.getEmail()) && !expired);
         }
         // Fallback para outros tipos de UserDetails
-        return (email.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return (email.equals(userDetails.getUsername()) && !expired);
+    }
+    
+    /**
+     * Revoga as autoridades gravadas nos tokens já emitidos para o email.
+     * Tokens revogados continuam válidos, mas voltam a carregar o usuário do banco.
+     */
+    public void revokeTokens(String subject) {
+        revokedTokensCache().put(subject, Instant.now());
+    }
+    
+    /**
+     * Revoga as autoridades gravadas em todos os tokens já emitidos (ex: alteração de role).
+     */
+    public void revokeAllTokens() {
+        revokedTokensCache().put(ALL_SUBJECTS, Instant.now());
+    }
+    
+    /**
+     * Verifica se o token foi emitido antes de uma revogação do seu email ou de todos os tokens.
+     */
+    public boolean isRevoked(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        if (issuedAt == null) {
+            return true;
+        }
+        Cache revoked = revokedTokensCache();
+        return isIssuedBefore(issuedAt, revoked.get(claims.getSubject(), Instant.class))
+                || isIssuedBefore(issuedAt, revoked.get(ALL_SUBJECTS, Instant.class));
+    }
+    
+    private boolean isIssuedBefore(Date issuedAt, Instant revokedAt) {
+        // issuedAt é truncado em segundos: tokens do mesmo segundo da revogação também são revogados
+        return revokedAt != null && !issuedAt.toInstant().isAfter(revokedAt);
+    }
+    
+    private Cache revokedTokensCache() {
+        return cacheManager.getCache(CacheConfig.REVOKED_TOKENS_CACHE);
     }
 }
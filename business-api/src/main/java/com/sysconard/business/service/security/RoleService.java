@@ -1,5 +1,6 @@
 package com.sysconard.business.service.security;
 
+import com.sysconard.business.config.CacheConfig;
 import com.sysconard.business.dto.security.CreateRoleRequest;
 import com.sysconard.business.dto.security.RoleResponse;
 import com.sysconard.business.dto.security.UpdateRoleRequest;
@@ -11,6 +12,7 @@ import com.sysconard.business.repository.security.RoleRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,6 +35,7 @@ public class RoleService {
     
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final JwtService jwtService;
     
     /**
      * Cria uma nova role no sistema.
@@ -91,6 +94,7 @@ public class RoleService {
      * @return RoleResponse com dados da role atualizada
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.AUTHENTICATED_USERS_CACHE, allEntries = true)
     public RoleResponse updateRole(UUID roleId, UpdateRoleRequest request) {
         log.info("Atualizando role: {} (ID: {})", request.getName(), roleId);
         
@@ -122,6 +126,7 @@ public class RoleService {
             existingRole.setUpdatedAt(LocalDateTime.now());
             
             Role updatedRole = roleRepository.save(existingRole);
+            jwtService.revokeAllTokens();
             
             log.info("Role atualizada com sucesso: {} (ID: {})", updatedRole.getName(), updatedRole.getId());
             
@@ -142,6 +147,7 @@ public class RoleService {
      * @return RoleResponse com dados da role atualizada
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.AUTHENTICATED_USERS_CACHE, allEntries = true)
     public RoleResponse updateRoleStatus(UUID roleId, UpdateRoleStatusRequest request) {
         log.info("Alterando status da role: {} (ID: {})", request.active() ? "ATIVAR" : "DESATIVAR", roleId);
         
@@ -161,6 +167,7 @@ public class RoleService {
             existingRole.setUpdatedAt(LocalDateTime.now());
             
             Role updatedRole = roleRepository.save(existingRole);
+            jwtService.revokeAllTokens();
             
             log.info("Status da role alterado com sucesso: {} (ID: {}) - Status: {}", 
                     updatedRole.getName(), updatedRole.getId(), updatedRole.isActive() ? "ATIVO" : "INATIVO");
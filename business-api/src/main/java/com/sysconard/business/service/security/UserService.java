@@ -15,9 +15,11 @@ import org.springframework.data.domain.Sort;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.sysconard.business.config.CacheConfig;
 import com.sysconard.business.dto.security.ChangePasswordRequest;
 import com.sysconard.business.dto.security.ChangePasswordResponse;
 import com.sysconard.business.dto.security.CreateUserRequest;
@@ -58,6 +60,7 @@ public class UserService {
     private final UserMapper userMapper;
     private final UserFactory userFactory;
     private final PasswordEncoder passwordEncoder;
+    private final JwtService jwtService;
     
     @Autowired
     public UserService(UserRepository userRepository, 
@@ -65,12 +68,14 @@ public class UserService {
                       UserValidationService userValidationService,
                       UserMapper userMapper,
                       UserFactory userFactory,
-                      PasswordEncoder passwordEncoder) {
+                      PasswordEncoder passwordEncoder,
+                      JwtService jwtService) {
         this.userRepository = userRepository;
         this.userValidationService = userValidationService;
         this.userMapper = userMapper;
         this.userFactory = userFactory;
         this.passwordEncoder = passwordEncoder;
+        this.jwtService = jwtService;
     }
     
     /**
@@ -153,6 +158,7 @@ public class UserService {
      * @throws UserAlreadyExistsException se o email já existir em outro usuário
      * @throws RoleNotFoundException se alguma role não existir
      */
+    @CacheEvict(cacheNames = CacheConfig.AUTHENTICATED_USERS_CACHE, allEntries = true)
     public UpdateUserResponse updateUser(UUID userId, UpdateUserRequest request) {
         logger.info("Iniciando atualização de usuário: {} (ID: {})", request.getName(), userId);
         
@@ -166,6 +172,9 @@ public class UserService {
         // Buscar e validar roles
         Set<Role> roles = userValidationService.validateAndGetRoles(request.getRoles());
         
+        // Revogar tokens do email atual antes de uma possível troca
+        jwtService.revokeTokens(existingUser.getEmail());
+        
         // Atualizar dados do usuário
         existingUser.setName(request.getName());
         existingUser.setEmail(request.getEmail());
@@ -195,6 +204,7 @@ public class UserService {
      * @throws UserNotFoundException se o usuário não existir
      * @throws InvalidPasswordException se a senha atual estiver incorreta ou as senhas não coincidirem
      */
+    @CacheEvict(cacheNames = CacheConfig.AUTHENTICATED_USERS_CACHE, allEntries = true)
     public ChangePasswordResponse changePassword(UUID userId, ChangePasswordRequest request) {
         logger.info("Iniciando alteração de senha para usuário: {}", userId);
         
@@ -211,6 +221,7 @@ public class UserService {
         
         // Salvar usuário com nova senha
         User updatedUser = userRepository.save(existingUser);
+        jwtService.revokeTokens(updatedUser.getEmail());
         
         logger.info("Senha alterada com sucesso para usuário: {} (ID: {})", updatedUser.getUsername(), updatedUser.getId());
         
@@ -360,6 +371,7 @@ public class UserService {
      * @return Resposta com os dados da alteração
      * @throws UserNotFoundException se o usuário não existir
      */
+    @CacheEvict(cacheNames = CacheConfig.AUTHENTICATED_USERS_CACHE, allEntries = true)
     public UpdateUserStatusResponse updateUserStatus(UUID userId, UpdateUserStatusRequest request) {
         logger.info("Alterando status do usuário: {} para isActive={}", userId, request.getIsActive());
         
@@ -392,6 +404,7 @@ public class UserService {
             // Atualizar status
             user.setActive(request.getIsActive());
             User updatedUser = userRepository.save(user);
+            jwtService.revokeTokens(updatedUser.getEmail());
             
             // Preparar resposta
             UpdateUserStatusResponse response = UpdateUserStatusResponse.builder()
@@ -430,6 +443,7 @@ public class UserService {
      * @return Resposta com os dados da alteração
      * @throws UserNotFoundException se o usuário não existir
      */
+    @CacheEvict(cacheNames = CacheConfig.AUTHENTICATED_USERS_CACHE, allEntries = true)
     public UpdateUserLockResponse updateUserLockStatus(UUID userId, UpdateUserLockRequest request) {
         logger.info("Alterando status de bloqueio do usuário: {} para isNotLocked={}", userId, request.getIsNotLocked());
         
@@ -462,6 +476,7 @@ public class UserService {
             // Atualizar status de bloqueio
             user.setNotLocked(request.getIsNotLocked());
             User updatedUser = userRepository.save(user);
+            jwtService.revokeTokens(updatedUser.getEmail());
             
             // Preparar resposta
             UpdateUserLockResponse response = UpdateUserLockResponse.builder()
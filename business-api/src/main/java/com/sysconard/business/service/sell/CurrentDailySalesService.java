@@ -2,7 +2,6 @@ package com.sysconard.business.service.sell;
 
 import com.sysconard.business.dto.sell.DailySalesReportResponse;
 import com.sysconard.business.dto.sell.StoreReportByDayResponse;
-import com.sysconard.business.dto.sell.StoreReportRequest;
 import com.sysconard.business.dto.store.StoreResponseDto;
 import com.sysconard.business.service.store.StoreService;
 import lombok.RequiredArgsConstructor;
@@ -17,8 +16,8 @@ import java.util.stream.Collectors;
 
 /**
  * Serviço responsável por buscar vendas do dia atual em tempo real.
- * Implementa a lógica de negócio para obter dados diretamente da Legacy API
- * sem gravar no banco, garantindo informações sempre atualizadas.
+ * Implementa a lógica de negócio para obter dados da Legacy API, através do
+ * snapshot de vendas do dia, sem gravar no banco.
  * Segue os princípios de Clean Code com responsabilidades bem definidas.
  * 
  * @author Business API
@@ -29,12 +28,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CurrentDailySalesService {
     
-    private final SellService sellService;
+    private final TodaySalesSnapshotService todaySalesSnapshotService;
     private final StoreService storeService;
     
     /**
-     * Obtém vendas do dia atual diretamente da Legacy API.
-     * Sempre busca dados frescos, sem cache, garantindo informações atualizadas.
+     * Obtém vendas do dia atual a partir do snapshot de vendas do dia.
+     * Os dados vêm da Legacy API e são compartilhados entre requisições concorrentes,
+     * com atraso máximo definido pelo intervalo de atualização do snapshot.
      * 
      * @return Lista de vendas agregadas por loja para o dia atual
      * @throws RuntimeException se houver erro na comunicação ou processamento
@@ -55,14 +55,11 @@ public class CurrentDailySalesService {
             
             log.debug("Encontradas {} lojas ativas para busca de vendas", activeStores.size());
             
-            // Passo 2: Buscar dados frescos da Legacy API
-            List<StoreReportByDayResponse> currentDayData = fetchCurrentDayData(today);
+            // Passo 2: Buscar dados do snapshot de vendas do dia
+            List<StoreReportByDayResponse> currentDayData = fetchCurrentDayData(today, activeStores);
             
-            // Passo 3: Converter para formato de relatório
-            List<DailySalesReportResponse> reportData = mapToReportResponse(currentDayData);
-            
-            // Passo 4: Garantir que todas as lojas ativas estejam presentes
-            List<DailySalesReportResponse> completeReport = ensureAllActiveStoresPresent(reportData);
+            // Passo 3: Converter para formato de relatório com todas as lojas ativas
+            List<DailySalesReportResponse> completeReport = buildReport(currentDayData, activeStores);
             
             log.info("Vendas do dia atual obtidas com sucesso: {} lojas no resultado final", 
                     completeReport.size());
@@ -77,40 +74,40 @@ public class CurrentDailySalesService {
     }
     
     /**
-     * Busca dados do dia atual diretamente da Legacy API.
+     * Converte as vendas do dia para o formato de relatório, incluindo com valores
+     * zerados as lojas ativas sem vendas. Usado também pelo canal de eventos das
+     * vendas do dia ({@link CurrentDailySalesStreamService}).
+     * 
+     * @param currentDayData Vendas do dia por loja
+     * @param activeStores Lojas ativas, na ordem do relatório
+     * @return Relatório com uma linha por loja ativa
+     */
+    public List<DailySalesReportResponse> buildReport(List<StoreReportByDayResponse> currentDayData,
+                                                      List<StoreResponseDto> activeStores) {
+        return ensureAllActiveStoresPresent(mapToReportResponse(currentDayData), activeStores);
+    }
+    
+    /**
+     * Busca dados do dia atual no snapshot de vendas do dia.
      * 
      * @param today Data atual
+     * @param activeStores Lojas ativas obtidas no início da requisição
      * @return Lista de dados de vendas do dia atual
      */
-    private List<StoreReportByDayResponse> fetchCurrentDayData(LocalDate today) {
-        log.debug("Buscando dados do dia atual da Legacy API: {}", today);
+    private List<StoreReportByDayResponse> fetchCurrentDayData(LocalDate today, List<StoreResponseDto> activeStores) {
+        log.debug("Buscando dados do dia atual no snapshot de vendas: {}", today);
         
         try {
-            // Obter todas as lojas ativas
-            List<StoreResponseDto> activeStores = storeService.getAllActiveStores();
-            
-            if (activeStores.isEmpty()) {
-                log.warn("Nenhuma loja ativa encontrada para buscar vendas do dia atual");
-                return List.of();
-            }
-            
             List<String> storeCodes = activeStores.stream()
                     .map(StoreResponseDto::getCode)
                     .collect(Collectors.toList());
             
             log.debug("Lojas ativas para busca: {} lojas", storeCodes.size());
             
-            // Criar requisição para o dia atual
-            StoreReportRequest reportRequest = StoreReportRequest.builder()
-                    .startDate(today)
-                    .endDate(today)
-                    .storeCodes(storeCodes)
-                    .build();
-            
-            // Buscar dados da Legacy API
-            List<StoreReportByDayResponse> currentDayData = sellService.getStoreReportByDay(reportRequest);
+            // Buscar dados do snapshot compartilhado (atualizado a partir da Legacy API)
+            List<StoreReportByDayResponse> currentDayData = todaySalesSnapshotService.getTodaySales(storeCodes);
             
-            log.debug("Dados do dia atual obtidos da Legacy API: {} registros", currentDayData.size());
+            log.debug("Dados do dia atual obtidos do snapshot: {} registros", currentDayData.size());
             
             return currentDayData;
             
@@ -220,12 +217,11 @@ public class CurrentDailySalesService {
      * mesmo aquelas sem vendas no dia (com valores zerados).
      * 
      * @param reportData Dados do relatório
+     * @param activeStores Lojas ativas obtidas no início da requisição
      * @return Relatório completo com todas as lojas ativas
      */
-    private List<DailySalesReportResponse> ensureAllActiveStoresPresent(List<DailySalesReportResponse> reportData) {
-        // Obter todas as lojas ativas
-        List<StoreResponseDto> activeStores = storeService.getAllActiveStores();
-        
+    private List<DailySalesReportResponse> ensureAllActiveStoresPresent(List<DailySalesReportResponse> reportData,
+                                                                        List<StoreResponseDto> activeStores) {
         // Criar mapa dos dados existentes por nome da loja
         Map<String, DailySalesReportResponse> existingData = reportData.stream()
                 .collect(Collectors.toMap(
@@ -0,0 +1,418 @@
+package com.sysconard.business.service.sell;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sysconard.business.dto.sell.CurrentDailySalesEvent;
+import com.sysconard.business.dto.sell.DailySalesReportResponse;
+import com.sysconard.business.dto.sell.StoreReportByDayResponse;
+import com.sysconard.business.dto.store.StoreResponseDto;
+import com.sysconard.business.service.store.StoreService;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serviço responsável pelo canal de eventos (Server-Sent Events) das vendas do dia atual.
+ *
+ * Uma única tarefa em segundo plano obtém, a cada intervalo, as vendas de hoje do
+ * {@link TodaySalesSnapshotService} e envia a todos os clientes conectados apenas as
+ * lojas cujos valores mudaram (evento "stores"). Ao conectar, ou na troca do dia, o
+ * cliente recebe todas as lojas ativas (evento "snapshot"). Assim, qualquer quantidade
+ * de dashboards abertos custa uma consulta à Legacy API por intervalo, e nenhuma
+ * quando não há clientes conectados.
+ *
+ * Cada evento possui um id ({@code <instância>-<sequência>}). Na reconexão, o cliente
+ * informa o último id recebido (cabeçalho Last-Event-ID) e recebe somente os eventos
+ * perdidos, enquanto estiverem no buffer de reenvio; caso contrário recebe um novo
+ * snapshot. Comentários de heartbeat mantêm a conexão aberta em proxies; são agendados
+ * em thread própria, de forma que uma consulta lenta à Legacy API não os atrase.
+ *
+ * Os eventos são colocados, sob o lock, na fila de envio de cada cliente e gravados na
+ * conexão fora dele, um cliente por vez em cada fila: um cliente lento atrasa apenas os
+ * seus próprios eventos, sem bloquear a publicação nem as novas inscrições.
+ *
+ * Métrica: sales.stream.connections (clientes conectados).
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CurrentDailySalesStreamService {
+
+    public static final String SNAPSHOT_EVENT = "snapshot";
+    public static final String STORES_EVENT = "stores";
+
+    private static final String CONNECTIONS_GAUGE = "sales.stream.connections";
+
+    private final TodaySalesSnapshotService todaySalesSnapshotService;
+    private final CurrentDailySalesService currentDailySalesService;
+    private final StoreService storeService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${sales.stream.refresh-interval:PT60S}")
+    private Duration refreshInterval;
+
+    @Value("${sales.stream.heartbeat-interval:PT15S}")
+    private Duration heartbeatInterval;
+
+    @Value("${sales.stream.emitter-timeout:PT30M}")
+    private Duration emitterTimeout;
+
+    @Value("${sales.stream.reconnect-delay:PT5S}")
+    private Duration reconnectDelay;
+
+    @Value("${sales.stream.replay-size:50}")
+    private int replaySize;
+
+    /**
+     * Identifica esta execução da aplicação nos ids dos eventos: ids de outra execução
+     * não podem ser comparados com a sequência atual.
+     */
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final List<StreamClient> clients = new CopyOnWriteArrayList<>();
+
+    // Estado abaixo protegido por lock: publicações e inscrições enfileiram os eventos em ordem
+    // para que nenhum cliente perca ou receba fora de ordem um evento publicado durante a inscrição
+    private final Object lock = new Object();
+    private final Deque<StreamEvent> replayBuffer = new ArrayDeque<>();
+    private Map<String, DailySalesReportResponse> currentRows = Map.of();
+    private LocalDate currentDate;
+    private LocalDateTime currentFetchedAt;
+    private long sequence;
+
+    private ScheduledExecutorService streamExecutor;
+    private ScheduledExecutorService heartbeatExecutor;
+    private ExecutorService sendExecutor;
+
+    @PostConstruct
+    void initExecutor() {
+        AtomicInteger threadCounter = new AtomicInteger();
+        sendExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "current-daily-sales-send-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        streamExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "current-daily-sales-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "current-daily-sales-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        streamExecutor.scheduleWithFixedDelay(this::refresh,
+                refreshInterval.toMillis(), refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        heartbeatExecutor.scheduleAtFixedRate(this::sendHeartbeat,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        Metrics.gauge(CONNECTIONS_GAUGE, clients, List::size);
+        log.info("Canal de vendas do dia inicializado: intervalo de atualização={}, heartbeat={}, buffer={} eventos",
+                refreshInterval, heartbeatInterval, replaySize);
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        streamExecutor.shutdownNow();
+        heartbeatExecutor.shutdownNow();
+        sendExecutor.shutdownNow();
+        clients.forEach(client -> client.emitter().complete());
+        clients.clear();
+    }
+
+    /**
+     * Registra um cliente no canal de vendas do dia.
+     *
+     * @param lastEventId Último id recebido pelo cliente (cabeçalho Last-Event-ID), ou null
+     * @return Emitter da conexão
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        StreamClient client = new StreamClient(emitter);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> clients.remove(client));
+
+        boolean needsRefresh;
+        synchronized (lock) {
+            client.enqueue(SseEmitter.event().reconnectTime(reconnectDelay.toMillis()).comment("connected"));
+            for (StreamEvent event : eventsAfter(lastEventId)) {
+                client.enqueue(event.toSse(instanceId));
+            }
+            clients.add(client);
+            needsRefresh = !LocalDate.now().equals(currentDate);
+        }
+
+        log.debug("Cliente conectado ao canal de vendas do dia: lastEventId={}, clientes={}",
+                lastEventId, clients.size());
+
+        // Sem dados do dia (nenhum cliente antes deste, ou troca do dia): não espera o próximo intervalo
+        if (needsRefresh) {
+            streamExecutor.execute(this::refresh);
+        }
+        return emitter;
+    }
+
+    /**
+     * Obtém as vendas de hoje e publica as lojas alteradas. Não consulta a Legacy API
+     * quando não há clientes conectados. Falhas mantêm nos clientes os últimos valores.
+     */
+    void refresh() {
+        if (clients.isEmpty()) {
+            return;
+        }
+        try {
+            TodaySalesSnapshotService.TodaySalesSnapshot snapshot = todaySalesSnapshotService.refresh().join();
+            List<StoreResponseDto> activeStores = storeService.getAllActiveStores();
+            List<StoreReportByDayResponse> sales = activeStores.stream()
+                    .map(StoreResponseDto::getCode)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .map(snapshot.salesByStoreCode()::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+
+            publish(snapshot.date(), currentDailySalesService.buildReport(sales, activeStores), snapshot.fetchedAt());
+        } catch (Exception e) {
+            log.warn("Falha ao atualizar o canal de vendas do dia. Clientes mantêm os últimos valores: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Compara as vendas recebidas com as últimas publicadas e envia aos clientes as
+     * lojas alteradas, ou todas as lojas na troca do dia ou quando uma loja deixou de
+     * ser ativa.
+     *
+     * @param date Dia das vendas
+     * @param rows Vendas do dia por loja ativa
+     * @param fetchedAt Momento em que os dados foram obtidos da Legacy API
+     */
+    void publish(LocalDate date, List<DailySalesReportResponse> rows, LocalDateTime fetchedAt) {
+        Map<String, DailySalesReportResponse> rowsByStore = new LinkedHashMap<>();
+        rows.forEach(row -> rowsByStore.put(row.storeName(), row));
+
+        synchronized (lock) {
+            StreamEvent event;
+            if (!date.equals(currentDate) || !rowsByStore.keySet().containsAll(currentRows.keySet())) {
+                replayBuffer.clear();
+                event = nextEvent(SNAPSHOT_EVENT, date, rows, fetchedAt);
+            } else {
+                List<DailySalesReportResponse> changed = rows.stream()
+                        .filter(row -> !sameValues(currentRows.get(row.storeName()), row))
+                        .toList();
+                if (changed.isEmpty()) {
+                    currentFetchedAt = fetchedAt;
+                    return;
+                }
+                event = nextEvent(STORES_EVENT, date, changed, fetchedAt);
+            }
+
+            currentDate = date;
+            currentRows = rowsByStore;
+            currentFetchedAt = fetchedAt;
+            replayBuffer.addLast(event);
+            while (replayBuffer.size() > replaySize) {
+                replayBuffer.removeFirst();
+            }
+
+            log.debug("Canal de vendas do dia: evento {} ({}) com {} lojas para {} clientes",
+                    event.sequence(), event.name(), event.storeCount(), clients.size());
+            for (StreamClient client : clients) {
+                client.enqueue(event.toSse(instanceId));
+            }
+        }
+    }
+
+    /**
+     * Quantidade de clientes conectados.
+     */
+    public int getConnectionCount() {
+        return clients.size();
+    }
+
+    private void sendHeartbeat() {
+        for (StreamClient client : clients) {
+            client.enqueue(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    /**
+     * Eventos que o cliente precisa receber ao conectar: os eventos posteriores ao último
+     * id recebido, se ainda estiverem no buffer, ou um snapshot de todas as lojas.
+     * Deve ser chamado com o lock.
+     */
+    private List<StreamEvent> eventsAfter(String lastEventId) {
+        if (currentDate == null) {
+            return List.of();
+        }
+
+        Long lastSequence = parseSequence(lastEventId);
+        if (lastSequence != null && lastSequence <= sequence && !replayBuffer.isEmpty()
+                && replayBuffer.peekFirst().sequence() <= lastSequence + 1) {
+            return replayBuffer.stream()
+                    .filter(event -> event.sequence() > lastSequence)
+                    .toList();
+        }
+
+        // O snapshot leva o id do último evento: uma nova reconexão continua a partir dele
+        return List.of(toEvent(sequence, SNAPSHOT_EVENT, currentDate,
+                List.copyOf(currentRows.values()), currentFetchedAt));
+    }
+
+    private Long parseSequence(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(instanceId + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(instanceId.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private StreamEvent nextEvent(String name, LocalDate date, List<DailySalesReportResponse> stores,
+                                  LocalDateTime fetchedAt) {
+        return toEvent(++sequence, name, date, stores, fetchedAt);
+    }
+
+    /**
+     * Serializa o evento uma única vez para todos os clientes.
+     */
+    private StreamEvent toEvent(long eventSequence, String name, LocalDate date,
+                                List<DailySalesReportResponse> stores, LocalDateTime fetchedAt) {
+        CurrentDailySalesEvent payload = CurrentDailySalesEvent.builder()
+                .date(date)
+                .stores(stores)
+                .fetchedAt(fetchedAt)
+                .build();
+        try {
+            return new StreamEvent(eventSequence, name, stores.size(), objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar evento de vendas do dia: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Compara os valores de duas linhas ignorando a escala dos BigDecimal.
+     */
+    private static boolean sameValues(DailySalesReportResponse previous, DailySalesReportResponse current) {
+        return previous != null
+                && sameValue(previous.pdv(), current.pdv())
+                && sameValue(previous.danfe(), current.danfe())
+                && sameValue(previous.exchange(), current.exchange())
+                && sameValue(previous.total(), current.total());
+    }
+
+    private static boolean sameValue(BigDecimal previous, BigDecimal current) {
+        return previous.compareTo(current) == 0;
+    }
+
+    /**
+     * Evento publicado, já serializado.
+     *
+     * @param sequence Sequência do evento nesta execução
+     * @param name Nome do evento (snapshot ou stores)
+     * @param storeCount Quantidade de lojas no evento
+     * @param json Conteúdo do evento
+     */
+    private record StreamEvent(long sequence, String name, int storeCount, String json) {
+
+        SseEmitter.SseEventBuilder toSse(String instanceId) {
+            return SseEmitter.event()
+                    .id(instanceId + "-" + sequence)
+                    .name(name)
+                    .data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    /**
+     * Conexão de um cliente com sua fila de envio. Os eventos são gravados em ordem por
+     * uma única thread do sendExecutor por vez; com a conexão encerrada, a fila é descartada.
+     */
+    private final class StreamClient {
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private StreamClient(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sendExecutor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Aplicação em encerramento
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            SseEmitter.SseEventBuilder event;
+            while (!closed && (event = pending.poll()) != null) {
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // Cliente desconectado: a conexão é descartada e o cliente reconecta com o último id
+                    closed = true;
+                    pending.clear();
+                    clients.remove(this);
+                    emitter.completeWithError(e);
+                }
+            }
+            draining.set(false);
+            // Evento enfileirado entre o fim do laço e a liberação da fila
+            if (!closed && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +35,7 @@ public class SalesChartService {
     
     private final SellService sellService;
     private final StoreService storeService;
+    private final TodaySalesSnapshotService todaySalesSnapshotService;
     
     /**
      * Obtém dados agregados de vendas por dia para gráficos.
@@ -136,7 +138,10 @@ public class SalesChartService {
     }
     
     /**
-     * Busca dados de vendas da Legacy API.
+     * Busca dados de vendas do período.
+     * Os dias anteriores a hoje vêm da tabela local daily_sells quando já sincronizados,
+     * e da Legacy API caso contrário; o dia atual vem do snapshot de vendas do dia,
+     * compartilhado entre as requisições.
      * 
      * @param startDate Data de início
      * @param endDate Data de fim
@@ -152,13 +157,25 @@ public class SalesChartService {
                 .map(StoreResponseDto::getCode)
                 .collect(Collectors.toList());
         
-        StoreReportRequest request = StoreReportRequest.builder()
-                .startDate(startDate)
-                .endDate(endDate)
-                .storeCodes(storeCodes)
-                .build();
+        LocalDate today = LocalDate.now();
+        boolean containsToday = !endDate.isBefore(today);
+        LocalDate pastEndDate = containsToday ? today.minusDays(1) : endDate;
+        
+        List<StoreReportByDayResponse> data = new ArrayList<>();
         
-        List<StoreReportByDayResponse> data = sellService.getStoreReportByDay(request);
+        if (!startDate.isAfter(pastEndDate)) {
+            StoreReportRequest request = StoreReportRequest.builder()
+                    .startDate(startDate)
+                    .endDate(pastEndDate)
+                    .storeCodes(storeCodes)
+                    .build();
+            
+            data.addAll(sellService.getStoreReportByDayWithFallback(request));
+        }
+        
+        if (containsToday) {
+            data.addAll(todaySalesSnapshotService.getTodaySales(storeCodes));
+        }
         
         log.debug("Dados obtidos da Legacy API: {} registros", data.size());
         
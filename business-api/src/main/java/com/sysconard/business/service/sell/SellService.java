@@ -1,10 +1,13 @@
 package com.sysconard.business.service.sell;
 
+import com.sysconard.business.client.LegacyApiResilience;
 import com.sysconard.business.dto.operation.OperationResponse;
 import com.sysconard.business.dto.origin.EventOriginResponse;
 import com.sysconard.business.dto.sell.StoreReportRequest;
 import com.sysconard.business.dto.sell.StoreReportResponse;
 import com.sysconard.business.dto.sell.StoreReportByDayResponse;
+import com.sysconard.business.entity.sell.DailySell;
+import com.sysconard.business.enums.LegacyEndpointFamily;
 import com.sysconard.business.exception.sell.StoreReportException;
 import com.sysconard.business.repository.sell.DailySellRepository;
 import com.sysconard.business.service.operation.OperationService;
@@ -13,9 +16,13 @@ import com.sysconard.business.service.origin.EventOriginService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Metrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -26,12 +33,15 @@ import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.HashSet;
 import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -52,21 +62,30 @@ public class SellService {
     @Value("${legacy-api.timeout:30}")
     private Integer timeoutSeconds;
     
+    @Value("${legacy-api.sales-timeout:PT120S}")
+    private Duration salesTimeout;
+    
     private static final String STORE_REPORT_ENDPOINT = "/sales/store-report";
     private static final String STORE_REPORT_BY_DAY_ENDPOINT = "/sales/store-report-by-day";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String SEGMENT_TIMER = "sales.by-day.segment";
+    private static final String SEGMENT_DAYS_COUNTER = "sales.by-day.days";
     
     @Autowired
     private  EventOriginService originService;
     @Autowired
     private  OperationService operationService;
+    @Autowired
+    @Lazy
+    private TodaySalesSnapshotService todaySalesSnapshotService;
     
     private final DailySellRepository dailySellRepository;
+    private final LegacyApiResilience legacyApiResilience;
 
     
     /**
      * Obtém relatório de vendas por loja com roteamento inteligente.
-     * Se a data for HOJE: busca na Legacy API (dados em tempo real).
+     * Se a data for HOJE: usa o snapshot de vendas do dia (dados da Legacy API em tempo real).
      * Se for qualquer outra data: busca na tabela daily_sells local (mais rápido).
      * 
      * @param request Parâmetros para geração do relatório
@@ -95,8 +114,8 @@ public class SellService {
                     log.info("Período misto detectado. Combinando dados locais e Legacy API.");
                     return getStoreReportMixedPeriod(request, today);
                 } else {
-                    // Só hoje - buscar apenas na Legacy API
-                    return getStoreReportFromLegacy(request);
+                    // Só hoje - buscar apenas no snapshot do dia
+                    return getTodayStoreReport(request);
                 }
             } else {
                 // Período não contém hoje - buscar na tabela local (mais rápido)
@@ -113,9 +132,54 @@ public class SellService {
         }
     }
     
+    /**
+     * Obtém o relatório de hoje a partir do snapshot de vendas do dia.
+     * Lojas que não fazem parte do snapshot (não ativas) são consultadas
+     * diretamente na Legacy API.
+     * 
+     * @param request Requisição com a data de hoje e lojas
+     * @return Lista de vendas de hoje agregadas por loja
+     */
+    private List<StoreReportResponse> getTodayStoreReport(StoreReportRequest request) {
+        List<StoreReportByDayResponse> snapshotData = todaySalesSnapshotService.getTodaySales(request.storeCodes());
+        
+        List<StoreReportResponse> response = new java.util.ArrayList<>(snapshotData.stream()
+                .map(sale -> StoreReportResponse.builder()
+                        .storeName(sale.storeName())
+                        .storeCode(sale.storeCode())
+                        .danfe(sale.danfe())
+                        .pdv(sale.pdv())
+                        .troca(sale.troca())
+                        .build())
+                .toList());
+        
+        Set<String> coveredStoreCodes = snapshotData.stream()
+                .map(StoreReportByDayResponse::storeCode)
+                .collect(Collectors.toSet());
+        List<String> missingStoreCodes = request.storeCodes().stream()
+                .filter(storeCode -> !coveredStoreCodes.contains(storeCode))
+                .distinct()
+                .toList();
+        
+        if (!missingStoreCodes.isEmpty()) {
+            log.debug("Lojas fora do snapshot do dia: {}. Buscando na Legacy API.", missingStoreCodes);
+            response.addAll(getStoreReportFromLegacy(StoreReportRequest.builder()
+                    .startDate(request.startDate())
+                    .endDate(request.endDate())
+                    .storeCodes(missingStoreCodes)
+                    .build()));
+        }
+        
+        response.sort(Comparator.comparing(StoreReportResponse::storeName));
+        
+        log.info("Relatório de hoje obtido do snapshot: {} lojas processadas", response.size());
+        
+        return response;
+    }
+    
     /**
      * Busca relatório de vendas na Legacy API (comportamento original).
-     * Utilizado quando o período contém a data de hoje.
+     * Utilizado para lojas de hoje que não fazem parte do snapshot de vendas do dia.
      * 
      * @param request Requisição com período e lojas
      * @return Lista de vendas agregadas por loja
@@ -139,8 +203,8 @@ public class SellService {
     
     /**
      * Combina dados de período misto (passado + hoje).
-     * Busca dados do passado na tabela local e dados de hoje na Legacy API,
-     * depois agrega por loja.
+     * Busca dados do passado na tabela local e dados de hoje no snapshot de vendas
+     * do dia, depois agrega por loja.
      * 
      * @param request Requisição original
      * @param today Data de hoje
@@ -160,14 +224,14 @@ public class SellService {
         List<StoreReportResponse> pastData = getStoreReportFromLocal(pastRequest);
         log.debug("Dados do passado obtidos: {} lojas", pastData.size());
         
-        // 2. Buscar dados de hoje na Legacy API
+        // 2. Buscar dados de hoje no snapshot de vendas do dia
         StoreReportRequest todayRequest = StoreReportRequest.builder()
             .startDate(today)
             .endDate(today)
             .storeCodes(request.storeCodes())
             .build();
         
-        List<StoreReportResponse> todayData = getStoreReportFromLegacy(todayRequest);
+        List<StoreReportResponse> todayData = getTodayStoreReport(todayRequest);
         log.debug("Dados de hoje obtidos: {} lojas", todayData.size());
         
         // 3. Combinar e agregar dados por loja
@@ -187,7 +251,7 @@ public class SellService {
      * @param requestedStoreCodes Lista de códigos de lojas solicitadas
      * @return Lista combinada e agregada por loja
      */
-    private List<StoreReportResponse> combineStoreReports(
+    List<StoreReportResponse> combineStoreReports(
             List<StoreReportResponse> pastData,
             List<StoreReportResponse> todayData,
             List<String> requestedStoreCodes) {
@@ -329,15 +393,22 @@ public class SellService {
                     .bodyValue(legacyRequest)
                     .retrieve()
                     .bodyToMono(List.class)
-                    .timeout(Duration.ofSeconds(120)); // Aumentado para 2 minutos temporariamente
+                    .timeout(salesTimeout);
             
-            List<Map<String, Object>> response = (List<Map<String, Object>>) responseMono.block();
+            List<Map<String, Object>> response = (List<Map<String, Object>>) legacyApiResilience
+                    .decorate(LegacyEndpointFamily.SALES, responseMono)
+                    .block();
             
             log.debug("Resposta recebida da Legacy API: {} registros", 
                     response != null ? response.size() : 0);
             
             return response != null ? response : List.of();
             
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            String errorMsg = "Legacy API indisponível: " + e.getMessage();
+            log.warn(errorMsg);
+            throw new StoreReportException(errorMsg, e);
+            
         } catch (WebClientResponseException e) {
             String errorMsg = String.format("Erro HTTP %d ao chamar Legacy API: %s", 
                     e.getStatusCode().value(), e.getResponseBodyAsString());
@@ -538,11 +609,8 @@ public class SellService {
             // 3. Fazer chamada HTTP para Legacy API (endpoint por dia)
             List<Map<String, Object>> legacyResponse = callLegacyApiByDay(legacyRequest);
             
-            // 4. Converter resposta para nosso formato
-            List<StoreReportByDayResponse> response = mapToStoreReportByDayResponse(legacyResponse);
-            
-            // 5. Garantir que todas as lojas e datas solicitadas estejam presentes
-            response = ensureAllStoresAndDatesPresent(response, request);
+            // 4. Converter resposta para nosso formato, com todas as lojas e datas solicitadas
+            List<StoreReportByDayResponse> response = toCompleteStoreReportByDay(legacyResponse, request);
             
             log.info("Relatório de vendas por dia obtido com sucesso: {} registros processados (incluindo zeros)", response.size());
             
@@ -557,6 +625,159 @@ public class SellService {
         }
     }
     
+    /**
+     * Obtém relatório de vendas por loja e por dia para consultas de leitura, combinando
+     * a tabela local daily_sells e a Legacy API.
+     * 
+     * Os dias fechados já sincronizados (com registros em daily_sells) são lidos da tabela
+     * local em uma única consulta; apenas os dias ainda não sincronizados e o dia atual são
+     * consultados na Legacy API, uma chamada por sequência contínua de dias. Os trechos são
+     * gravados na mesma grade loja × dia, que gera a resposta ordenada em uma única passagem.
+     * Quando o circuit breaker da Legacy API rejeita um trecho inteiramente passado, seus dias
+     * ficam zerados, como no relatório local.
+     * Não deve ser usado pela sincronização, que precisa dos dados do legado.
+     * 
+     * Métricas: sales.by-day.segment (tags source e outcome) e sales.by-day.days (tag source).
+     * 
+     * @param request Parâmetros para geração do relatório
+     * @return Lista de dados de vendas agregados por loja e por dia
+     * @throws StoreReportException em caso de erro sem fallback disponível
+     */
+    public List<StoreReportByDayResponse> getStoreReportByDayWithFallback(StoreReportRequest request) {
+        log.info("Solicitando relatório de vendas por loja e por dia (local + Legacy API): startDate={}, endDate={}, storeCodes={}",
+                request.startDate(), request.endDate(), request.storeCodes());
+        
+        try {
+            validateRequest(request);
+            
+            StoreDayGrid grid = new StoreDayGrid(request.storeCodes(), request.startDate(), request.endDate());
+            
+            // 1. Dias fechados: tabela local
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            LocalDate lastClosedDay = request.endDate().isBefore(yesterday) ? request.endDate() : yesterday;
+            Set<LocalDate> syncedDates = request.startDate().isAfter(lastClosedDay)
+                    ? Set.of()
+                    : putLocalSegment(grid, request.startDate(), lastClosedDay);
+            
+            // 2. Dias não sincronizados e dia atual: Legacy API
+            List<StoreReportRequest> legacySegments = legacySegments(request, syncedDates);
+            for (StoreReportRequest segment : legacySegments) {
+                putLegacySegment(grid, segment);
+            }
+            
+            List<StoreReportByDayResponse> response = toStoreReportByDay(grid);
+            log.info("Relatório de vendas por dia obtido: {} dias locais, {} trechos na Legacy API, {} registros",
+                    syncedDates.size(), legacySegments.size(), response.size());
+            
+            return response;
+            
+        } catch (StoreReportException e) {
+            log.error("Erro ao obter relatório de vendas por dia: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Erro inesperado ao obter relatório de vendas por dia: {}", e.getMessage(), e);
+            throw new StoreReportException("Erro interno ao processar relatório de vendas por dia", e);
+        }
+    }
+    
+    /**
+     * Grava na grade os registros de daily_sells do período. A consulta não filtra as lojas:
+     * um dia com registros de qualquer loja já foi sincronizado.
+     * 
+     * @param grid Grade loja × dia do período solicitado
+     * @param startDate Primeiro dia fechado do período
+     * @param endDate Último dia fechado do período
+     * @return Dias com registros na tabela local
+     */
+    private Set<LocalDate> putLocalSegment(StoreDayGrid grid, LocalDate startDate, LocalDate endDate) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        Set<LocalDate> syncedDates = new HashSet<>();
+        try {
+            for (DailySell dailySell : dailySellRepository.findByDateBetweenOrderByStoreCodeAndDate(startDate, endDate)) {
+                syncedDates.add(dailySell.getDate());
+                grid.put(dailySell.getStoreCode(), dailySell.getStoreName(), dailySell.getDate(),
+                        dailySell.getDanfe(), dailySell.getPdv(), dailySell.getExchange());
+            }
+            outcome = "success";
+            return syncedDates;
+        } finally {
+            recordSegment("local", outcome, syncedDates.size(), start);
+        }
+    }
+    
+    /**
+     * Divide os dias do período sem registros locais em sequências contínuas.
+     * 
+     * @param request Requisição original
+     * @param syncedDates Dias lidos da tabela local
+     * @return Uma requisição por sequência de dias a consultar na Legacy API
+     */
+    private List<StoreReportRequest> legacySegments(StoreReportRequest request, Set<LocalDate> syncedDates) {
+        List<StoreReportRequest> segments = new ArrayList<>();
+        LocalDate segmentStart = null;
+        for (LocalDate date = request.startDate(); !date.isAfter(request.endDate()); date = date.plusDays(1)) {
+            if (!syncedDates.contains(date)) {
+                if (segmentStart == null) {
+                    segmentStart = date;
+                }
+                continue;
+            }
+            if (segmentStart != null) {
+                segments.add(segmentRequest(request, segmentStart, date.minusDays(1)));
+                segmentStart = null;
+            }
+        }
+        if (segmentStart != null) {
+            segments.add(segmentRequest(request, segmentStart, request.endDate()));
+        }
+        return segments;
+    }
+    
+    private StoreReportRequest segmentRequest(StoreReportRequest request, LocalDate startDate, LocalDate endDate) {
+        return StoreReportRequest.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .storeCodes(request.storeCodes())
+                .build();
+    }
+    
+    /**
+     * Grava na grade um trecho consultado na Legacy API.
+     * 
+     * @param grid Grade loja × dia do período solicitado
+     * @param segment Trecho de dias contínuos
+     * @throws StoreReportException em caso de erro, exceto rejeição de trecho inteiramente passado
+     */
+    private void putLegacySegment(StoreDayGrid grid, StoreReportRequest segment) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            for (Map<String, Object> legacyItem : callLegacyApiByDay(buildLegacyRequest(segment))) {
+                putLegacyItem(grid, legacyItem);
+            }
+            outcome = "success";
+        } catch (StoreReportException e) {
+            if (!LegacyApiResilience.isRejected(e) || !segment.endDate().isBefore(LocalDate.now())) {
+                throw e;
+            }
+            outcome = "rejected";
+            log.warn("Legacy API indisponível. Dias de {} a {} ainda não sincronizados ficam zerados.",
+                    segment.startDate(), segment.endDate());
+        } finally {
+            recordSegment("legacy", outcome, ChronoUnit.DAYS.between(segment.startDate(), segment.endDate()) + 1, start);
+        }
+    }
+    
+    /**
+     * Registra o tempo e a quantidade de dias de um trecho do relatório por dia.
+     */
+    private void recordSegment(String source, String outcome, long days, long startNanos) {
+        Metrics.timer(SEGMENT_TIMER, "source", source, "outcome", outcome)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        Metrics.counter(SEGMENT_DAYS_COUNTER, "source", source).increment(days);
+    }
+    
     /**
      * Realiza a chamada HTTP para a Legacy API (endpoint por dia)
      * 
@@ -578,15 +799,22 @@ public class SellService {
                     .bodyValue(legacyRequest)
                     .retrieve()
                     .bodyToMono(List.class)
-                    .timeout(Duration.ofSeconds(120)); // Aumentado para 2 minutos temporariamente
+                    .timeout(salesTimeout);
             
-            List<Map<String, Object>> response = (List<Map<String, Object>>) responseMono.block();
+            List<Map<String, Object>> response = (List<Map<String, Object>>) legacyApiResilience
+                    .decorate(LegacyEndpointFamily.SALES, responseMono)
+                    .block();
             
             log.debug("Resposta recebida da Legacy API (por dia): {} registros", 
                     response != null ? response.size() : 0);
             
             return response != null ? response : List.of();
             
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            String errorMsg = "Legacy API indisponível (por dia): " + e.getMessage();
+            log.warn(errorMsg);
+            throw new StoreReportException(errorMsg, e);
+            
         } catch (WebClientResponseException e) {
             String errorMsg = String.format("Erro HTTP %d ao chamar Legacy API (por dia): %s", 
                     e.getStatusCode().value(), e.getResponseBodyAsString());
@@ -601,29 +829,33 @@ public class SellService {
     }
     
     /**
-     * Converte a resposta da Legacy API para nosso formato (por dia)
+     * Converte a resposta da Legacy API (por dia) diretamente na grade loja × dia do período.
+     * A Legacy API já devolve todas as combinações de loja + data; a grade descarta lojas e
+     * datas fora da requisição e devolve a lista completa, ordenada por nome da loja e data,
+     * sem record intermediário por item.
      * 
      * @param legacyResponse Resposta da Legacy API
-     * @return Lista de StoreReportByDayResponse
+     * @param request Request original com lojas e período solicitados
+     * @return Lista completa com todas as combinações de loja + data
      */
-    private List<StoreReportByDayResponse> mapToStoreReportByDayResponse(List<Map<String, Object>> legacyResponse) {
-        return legacyResponse.stream()
-                .map(this::mapSingleStoreReportByDay)
-                .toList();
+    List<StoreReportByDayResponse> toCompleteStoreReportByDay(
+            List<Map<String, Object>> legacyResponse, StoreReportRequest request) {
+        
+        StoreDayGrid grid = new StoreDayGrid(request.storeCodes(), request.startDate(), request.endDate());
+        for (Map<String, Object> legacyItem : legacyResponse) {
+            putLegacyItem(grid, legacyItem);
+        }
+        return toStoreReportByDay(grid);
     }
     
     /**
-     * Converte um item da resposta da Legacy API (por dia)
+     * Grava um item da resposta da Legacy API (por dia) na grade.
      * 
+     * @param grid Grade loja × dia do período solicitado
      * @param legacyItem Item da Legacy API
-     * @return StoreReportByDayResponse
      */
-    private StoreReportByDayResponse mapSingleStoreReportByDay(Map<String, Object> legacyItem) {
+    private void putLegacyItem(StoreDayGrid grid, Map<String, Object> legacyItem) {
         try {
-            String storeName = (String) legacyItem.get("storeName");
-            String storeCode = (String) legacyItem.get("storeCode");
-            
-            // Converter data de string para LocalDate
             LocalDate reportDate = null;
             Object dateValue = legacyItem.get("reportDate");
             if (dateValue instanceof String dateString) {
@@ -632,18 +864,13 @@ public class SellService {
                 reportDate = localDate;
             }
             
-            BigDecimal danfe = convertToBigDecimal(legacyItem.get("danfe"));
-            BigDecimal pdv = convertToBigDecimal(legacyItem.get("pdv"));
-            BigDecimal troca = convertToBigDecimal(legacyItem.get("troca3"));
-            
-            return StoreReportByDayResponse.builder()
-                    .storeName(storeName)
-                    .storeCode(storeCode)
-                    .reportDate(reportDate)
-                    .danfe(danfe)
-                    .pdv(pdv)
-                    .troca(troca)
-                    .build();
+            grid.put(
+                    (String) legacyItem.get("storeCode"),
+                    (String) legacyItem.get("storeName"),
+                    reportDate,
+                    convertToBigDecimal(legacyItem.get("danfe")),
+                    convertToBigDecimal(legacyItem.get("pdv")),
+                    convertToBigDecimal(legacyItem.get("troca3")));
                     
         } catch (Exception e) {
             log.error("Erro ao mapear item da resposta Legacy (por dia): {}", legacyItem, e);
@@ -651,130 +878,46 @@ public class SellService {
         }
     }
     
-    /**
-     * Record para chave composta de loja e data (Java 17)
-     */
-    private record StoreAndDateKey(String storeCode, LocalDate date) {}
-    
     /**
      * Garante que todas as lojas e datas solicitadas estejam presentes na resposta.
      * Para combinações ausentes, cria registros com valores zerados.
      * 
-     * @param legacyResponse Resposta recebida da Legacy API
+     * @param data Dados por loja e por dia (ex.: tabela local daily_sells)
      * @param request Request original com lojas e período solicitados
      * @return Lista completa com todas as combinações de loja + data
      */
-    private List<StoreReportByDayResponse> ensureAllStoresAndDatesPresent(
-            List<StoreReportByDayResponse> legacyResponse, StoreReportRequest request) {
-        
-        log.debug("Validando completude da resposta: {} registros recebidos para {} lojas no período {} a {}", 
-                 legacyResponse.size(), request.storeCodes().size(), request.startDate(), request.endDate());
-        
-        // 1. Gerar todas as combinações esperadas
-        Set<StoreAndDateKey> expectedCombinations = generateExpectedCombinations(request);
+    List<StoreReportByDayResponse> ensureAllStoresAndDatesPresent(
+            List<StoreReportByDayResponse> data, StoreReportRequest request) {
         
-        // 2. Indexar dados reais por chave composta
-        Map<StoreAndDateKey, StoreReportByDayResponse> realDataMap = indexRealData(legacyResponse);
-        
-        // 3. Extrair nomes das lojas dos dados reais
-        Map<String, String> storeNamesMap = extractStoreNames(legacyResponse);
+        StoreDayGrid grid = new StoreDayGrid(request.storeCodes(), request.startDate(), request.endDate());
+        for (StoreReportByDayResponse item : data) {
+            grid.put(item.storeCode(), item.storeName(), item.reportDate(), item.danfe(), item.pdv(), item.troca());
+        }
         
-        // 4. Gerar lista completa
-        List<StoreReportByDayResponse> completeResponse = expectedCombinations.stream()
-            .map(key -> realDataMap.getOrDefault(key, createZeroedResponse(key, storeNamesMap)))
-            .sorted(Comparator.comparing(StoreReportByDayResponse::storeName)
-                             .thenComparing(StoreReportByDayResponse::reportDate))
-            .collect(Collectors.toList());
+        List<StoreReportByDayResponse> completeResponse = toStoreReportByDay(grid);
         
-        int addedRecords = completeResponse.size() - legacyResponse.size();
+        int addedRecords = completeResponse.size() - data.size();
         if (addedRecords > 0) {
             log.info("Adicionados {} registros zerados para garantir completude da resposta", addedRecords);
         }
         
-        log.debug("Resposta completa: {} registros para {} lojas", completeResponse.size(), request.storeCodes().size());
-        
         return completeResponse;
     }
     
     /**
-     * Gera todas as combinações esperadas de loja + data do período.
-     * 
-     * @param request Request com lojas e período
-     * @return Set de chaves compostas esperadas
-     */
-    private Set<StoreAndDateKey> generateExpectedCombinations(StoreReportRequest request) {
-        Set<StoreAndDateKey> combinations = new HashSet<>();
-        
-        LocalDate currentDate = request.startDate();
-        
-        while (!currentDate.isAfter(request.endDate())) {
-            for (String storeCode : request.storeCodes()) {
-                combinations.add(new StoreAndDateKey(storeCode, currentDate));
-            }
-            currentDate = currentDate.plusDays(1);
-        }
-        
-        log.debug("Geradas {} combinações esperadas de loja + data", combinations.size());
-        return combinations;
-    }
-    
-    /**
-     * Indexa dados reais por chave composta para consulta eficiente.
+     * Gera a resposta por loja e por dia a partir da grade, já ordenada por nome da loja e data.
      * 
-     * @param legacyResponse Dados recebidos da Legacy API
-     * @return Map indexado por StoreAndDateKey
+     * @param grid Grade loja × dia preenchida
+     * @return Lista com uma entrada por combinação de loja + data
      */
-    private Map<StoreAndDateKey, StoreReportByDayResponse> indexRealData(
-            List<StoreReportByDayResponse> legacyResponse) {
-        
-        return legacyResponse.stream()
-            .filter(response -> response.storeCode() != null && response.reportDate() != null)
-            .collect(Collectors.toMap(
-                response -> new StoreAndDateKey(response.storeCode(), response.reportDate()),
-                response -> response,
-                (existing, replacement) -> {
-                    log.warn("Chave duplicada encontrada: loja={}, data={}. Mantendo primeiro registro.", 
-                            existing.storeCode(), existing.reportDate());
-                    return existing;
-                }
-            ));
-    }
-    
-    /**
-     * Extrai nomes das lojas dos dados reais para usar em registros zerados.
-     * 
-     * @param legacyResponse Dados recebidos da Legacy API
-     * @return Map de código -> nome da loja
-     */
-    private Map<String, String> extractStoreNames(List<StoreReportByDayResponse> legacyResponse) {
-        return legacyResponse.stream()
-            .filter(response -> response.storeCode() != null && response.storeName() != null)
-            .collect(Collectors.toMap(
-                StoreReportByDayResponse::storeCode,
-                StoreReportByDayResponse::storeName,
-                (existing, replacement) -> existing // Manter primeiro nome encontrado
-            ));
-    }
-    
-    /**
-     * Cria um registro com valores zerados para loja e data específicas.
-     * 
-     * @param key Chave composta com código da loja e data
-     * @param storeNamesMap Map com nomes das lojas
-     * @return StoreReportByDayResponse com valores zerados
-     */
-    private StoreReportByDayResponse createZeroedResponse(
-            StoreAndDateKey key, Map<String, String> storeNamesMap) {
-        
-        String storeName = storeNamesMap.getOrDefault(key.storeCode(), "Loja " + key.storeCode());
-        
-        return StoreReportByDayResponse.builder()
-            .storeName(storeName)
-            .storeCode(key.storeCode())
-            .reportDate(key.date())
-            .danfe(BigDecimal.ZERO)
-            .pdv(BigDecimal.ZERO)
-            .troca(BigDecimal.ZERO)
-            .build();
+    private List<StoreReportByDayResponse> toStoreReportByDay(StoreDayGrid grid) {
+        return grid.toList((storeCode, storeName, date, danfe, pdv, troca) -> StoreReportByDayResponse.builder()
+                .storeName(storeName)
+                .storeCode(storeCode)
+                .reportDate(date)
+                .danfe(danfe)
+                .pdv(pdv)
+                .troca(troca)
+                .build());
     }
 }
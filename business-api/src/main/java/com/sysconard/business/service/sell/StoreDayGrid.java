@@ -0,0 +1,199 @@
+package com.sysconard.business.service.sell;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grade densa loja × dia dos relatórios de vendas por dia.
+ *
+ * As lojas são indexadas pela posição na lista solicitada e os dias pelo deslocamento
+ * em relação à data inicial; danfe, pdv e troca ficam em arrays de centavos (long),
+ * uma célula por combinação loja + data. Combinações sem venda são geradas na saída
+ * com valores zerados, sem chaves compostas nem DTOs intermediários.
+ *
+ * A saída já sai ordenada por nome da loja e data: apenas as lojas são ordenadas,
+ * e os dias são percorridos na ordem dos arrays.
+ *
+ * Mesma estrutura usada pela Legacy API ao montar o relatório; aqui organiza a resposta
+ * recebida da Legacy API e o fallback da tabela local daily_sells.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+public final class StoreDayGrid {
+
+    private static final int CENTS_SCALE = 2;
+
+    /**
+     * Monta o item de saída de uma célula da grade
+     */
+    @FunctionalInterface
+    public interface CellMapper<T> {
+        T map(String storeCode, String storeName, LocalDate date, BigDecimal danfe, BigDecimal pdv, BigDecimal troca);
+    }
+
+    private final String[] storeCodes;
+    private final String[] storeNames;
+    private final Map<String, Integer> storePositions;
+    private final LocalDate startDate;
+    private final long startEpochDay;
+    private final int days;
+
+    private final long[] danfe;
+    private final long[] pdv;
+    private final long[] troca;
+    private final boolean[] filled;
+
+    /**
+     * Cria a grade para as lojas e o período solicitados.
+     *
+     * @param requestedStoreCodes Códigos das lojas solicitadas (repetidos são ignorados)
+     * @param startDate Data de início (inclusiva)
+     * @param endDate Data de fim (inclusiva)
+     */
+    public StoreDayGrid(List<String> requestedStoreCodes, LocalDate startDate, LocalDate endDate) {
+        this.storePositions = new HashMap<>();
+        List<String> codes = new ArrayList<>();
+        if (requestedStoreCodes != null) {
+            for (String storeCode : requestedStoreCodes) {
+                if (storeCode != null && !storePositions.containsKey(storeCode)) {
+                    storePositions.put(storeCode, codes.size());
+                    codes.add(storeCode);
+                }
+            }
+        }
+
+        this.storeCodes = codes.toArray(new String[0]);
+        this.storeNames = new String[storeCodes.length];
+        this.startDate = startDate;
+        this.startEpochDay = startDate != null ? startDate.toEpochDay() : 0;
+        this.days = startDate != null && endDate != null && !startDate.isAfter(endDate)
+                ? (int) (endDate.toEpochDay() - startEpochDay + 1)
+                : 0;
+
+        int cells = days > 0 ? storeCodes.length * days : 0;
+        this.danfe = new long[cells];
+        this.pdv = new long[cells];
+        this.troca = new long[cells];
+        this.filled = new boolean[cells];
+    }
+
+    /**
+     * Grava os valores de uma loja em uma data.
+     * Lojas não solicitadas e datas fora do período são ignoradas; uma nova gravação
+     * da mesma célula substitui a anterior.
+     *
+     * @param storeCode Código da loja
+     * @param storeName Nome da loja (null mantém o nome já conhecido)
+     * @param date Data do relatório
+     * @param danfeValue Valor de DANFE
+     * @param pdvValue Valor de PDV
+     * @param trocaValue Valor de troca
+     * @return true se a célula pertence à grade
+     */
+    public boolean put(String storeCode, String storeName, LocalDate date,
+                       BigDecimal danfeValue, BigDecimal pdvValue, BigDecimal trocaValue) {
+        int cell = cellOf(storeCode, date);
+        if (cell < 0) {
+            return false;
+        }
+        if (storeName != null) {
+            storeNames[cell / days] = storeName;
+        }
+        danfe[cell] = toCents(danfeValue);
+        pdv[cell] = toCents(pdvValue);
+        troca[cell] = toCents(trocaValue);
+        filled[cell] = true;
+        return true;
+    }
+
+    /**
+     * Quantidade de células (lojas × dias)
+     *
+     * @return Tamanho da grade
+     */
+    public int size() {
+        return filled.length;
+    }
+
+    /**
+     * Gera todas as combinações de loja + data, ordenadas por nome da loja e data.
+     * Células sem valores gravados saem zeradas (BigDecimal.ZERO), com o nome conhecido
+     * da loja ou "Loja {código}".
+     *
+     * @param mapper Construtor do item de saída
+     * @return Lista completa com uma entrada por célula
+     */
+    public <T> List<T> toList(CellMapper<T> mapper) {
+        if (filled.length == 0) {
+            return new ArrayList<>();
+        }
+
+        LocalDate[] dates = new LocalDate[days];
+        for (int day = 0; day < days; day++) {
+            dates[day] = startDate.plusDays(day);
+        }
+
+        List<T> result = new ArrayList<>(filled.length);
+        for (int store : storesByName()) {
+            String storeCode = storeCodes[store];
+            String storeName = storeNameAt(store);
+            int base = store * days;
+            for (int day = 0; day < days; day++) {
+                int cell = base + day;
+                LocalDate date = dates[day];
+                if (filled[cell]) {
+                    result.add(mapper.map(storeCode, storeName, date,
+                            fromCents(danfe[cell]), fromCents(pdv[cell]), fromCents(troca[cell])));
+                } else {
+                    result.add(mapper.map(storeCode, storeName, date,
+                            BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+                }
+            }
+        }
+        return result;
+    }
+
+    private int cellOf(String storeCode, LocalDate date) {
+        if (storeCode == null || date == null || days == 0) {
+            return -1;
+        }
+        Integer store = storePositions.get(storeCode);
+        long day = date.toEpochDay() - startEpochDay;
+        if (store == null || day < 0 || day >= days) {
+            return -1;
+        }
+        return store * days + (int) day;
+    }
+
+    private String storeNameAt(int store) {
+        return storeNames[store] != null ? storeNames[store] : "Loja " + storeCodes[store];
+    }
+
+    private Integer[] storesByName() {
+        Integer[] order = new Integer[storeCodes.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(this::storeNameAt));
+        return order;
+    }
+
+    private static long toCents(BigDecimal value) {
+        if (value == null) {
+            return 0L;
+        }
+        return value.setScale(CENTS_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, CENTS_SCALE);
+    }
+}
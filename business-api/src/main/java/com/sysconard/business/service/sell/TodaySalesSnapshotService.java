@@ -0,0 +1,234 @@
+package com.sysconard.business.service.sell;
+
+import com.sysconard.business.dto.sell.StoreReportByDayResponse;
+import com.sysconard.business.dto.sell.StoreReportRequest;
+import com.sysconard.business.dto.store.StoreResponseDto;
+import com.sysconard.business.service.store.StoreService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serviço responsável pelo snapshot das vendas do dia atual por loja.
+ *
+ * Mantém em memória os valores de DANFE, PDV e TROCA de hoje para todas as lojas
+ * ativas, obtidos em uma única chamada ao endpoint store-report-by-day da Legacy API.
+ * Requisições concorrentes compartilham a mesma atualização em andamento (single-flight),
+ * evitando que vários usuários enfileirem consultas no pool de conexões da Legacy API.
+ *
+ * Enquanto o snapshot tiver menos que o intervalo de atualização, ele é retornado
+ * diretamente. Após esse intervalo, o snapshot anterior continua sendo retornado
+ * enquanto uma atualização é feita em segundo plano (stale-while-revalidate).
+ * Somente quando não há snapshot do dia, ou ele ultrapassou a idade máxima,
+ * o chamador aguarda a atualização.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TodaySalesSnapshotService {
+
+    private final SellService sellService;
+    private final StoreService storeService;
+
+    @Value("${cache.today-sales.refresh-interval:PT60S}")
+    private Duration refreshInterval;
+
+    @Value("${cache.today-sales.max-stale:PT15M}")
+    private Duration maxStale;
+
+    private final AtomicReference<TodaySalesSnapshot> currentSnapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<TodaySalesSnapshot>> inFlightRefresh = new AtomicReference<>();
+
+    private ExecutorService refreshExecutor;
+
+    @PostConstruct
+    void initExecutor() {
+        refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "today-sales-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Snapshot de vendas do dia inicializado: intervalo de atualização={}, idade máxima={}",
+                refreshInterval, maxStale);
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Obtém o snapshot das vendas do dia atual.
+     *
+     * @return Snapshot com as vendas de hoje por loja ativa
+     * @throws RuntimeException se não houver snapshot utilizável e a atualização falhar
+     */
+    public TodaySalesSnapshot getSnapshot() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        TodaySalesSnapshot snapshot = currentSnapshot.get();
+
+        if (snapshot == null || !snapshot.date().equals(today)) {
+            log.debug("Nenhum snapshot de vendas para {}. Aguardando atualização.", today);
+            return awaitRefresh();
+        }
+
+        Duration age = Duration.between(snapshot.fetchedAt(), now);
+        if (age.compareTo(refreshInterval) < 0) {
+            return snapshot;
+        }
+
+        if (age.compareTo(maxStale) >= 0) {
+            log.debug("Snapshot de vendas do dia com {}s ultrapassou a idade máxima. Aguardando atualização.",
+                    age.toSeconds());
+            try {
+                return awaitRefresh();
+            } catch (RuntimeException e) {
+                log.warn("Falha ao atualizar snapshot de vendas do dia. Retornando snapshot de {}: {}",
+                        snapshot.fetchedAt(), e.getMessage());
+                return snapshot;
+            }
+        }
+
+        log.debug("Snapshot de vendas do dia com {}s. Retornando e atualizando em segundo plano.", age.toSeconds());
+        refresh();
+        return snapshot;
+    }
+
+    /**
+     * Obtém as vendas de hoje das lojas informadas presentes no snapshot.
+     * Lojas que não fazem parte do snapshot (não ativas) são ignoradas.
+     *
+     * @param storeCodes Códigos das lojas
+     * @return Vendas de hoje das lojas cobertas pelo snapshot
+     */
+    public List<StoreReportByDayResponse> getTodaySales(Collection<String> storeCodes) {
+        TodaySalesSnapshot snapshot = getSnapshot();
+        return storeCodes.stream()
+                .distinct()
+                .map(snapshot.salesByStoreCode()::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Dispara a atualização do snapshot ou retorna a atualização já em andamento.
+     *
+     * @return Future concluído com o novo snapshot
+     */
+    CompletableFuture<TodaySalesSnapshot> refresh() {
+        while (true) {
+            CompletableFuture<TodaySalesSnapshot> existing = inFlightRefresh.get();
+            if (existing != null && !existing.isDone()) {
+                return existing;
+            }
+
+            // Uma atualização pode ter terminado entre a leitura do snapshot pelo chamador e este ponto
+            TodaySalesSnapshot latest = currentSnapshot.get();
+            if (latest != null && latest.date().equals(LocalDate.now())
+                    && Duration.between(latest.fetchedAt(), LocalDateTime.now()).compareTo(refreshInterval) < 0) {
+                return CompletableFuture.completedFuture(latest);
+            }
+
+            CompletableFuture<TodaySalesSnapshot> created = new CompletableFuture<>();
+            if (inFlightRefresh.compareAndSet(existing, created)) {
+                refreshExecutor.execute(() -> runRefresh(created));
+                return created;
+            }
+        }
+    }
+
+    private TodaySalesSnapshot awaitRefresh() {
+        try {
+            return refresh().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new RuntimeException("Erro ao atualizar snapshot de vendas do dia: " + cause.getMessage(), cause);
+        }
+    }
+
+    private void runRefresh(CompletableFuture<TodaySalesSnapshot> future) {
+        try {
+            TodaySalesSnapshot snapshot = loadSnapshot();
+            currentSnapshot.set(snapshot);
+            inFlightRefresh.compareAndSet(future, null);
+            future.complete(snapshot);
+        } catch (Throwable e) {
+            log.error("Erro ao atualizar snapshot de vendas do dia: {}", e.getMessage(), e);
+            inFlightRefresh.compareAndSet(future, null);
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Busca na Legacy API as vendas de hoje de todas as lojas ativas.
+     *
+     * @return Novo snapshot
+     */
+    private TodaySalesSnapshot loadSnapshot() {
+        LocalDate today = LocalDate.now();
+        long start = System.currentTimeMillis();
+
+        List<String> storeCodes = storeService.getAllActiveStores().stream()
+                .map(StoreResponseDto::getCode)
+                .filter(Objects::nonNull)
+                .toList();
+
+        Map<String, StoreReportByDayResponse> salesByStoreCode = new LinkedHashMap<>();
+        if (!storeCodes.isEmpty()) {
+            StoreReportRequest request = StoreReportRequest.builder()
+                    .startDate(today)
+                    .endDate(today)
+                    .storeCodes(storeCodes)
+                    .build();
+
+            for (StoreReportByDayResponse sale : sellService.getStoreReportByDay(request)) {
+                if (sale.storeCode() != null) {
+                    salesByStoreCode.putIfAbsent(sale.storeCode(), sale);
+                }
+            }
+        }
+
+        log.info("Snapshot de vendas do dia {} atualizado: {} lojas em {}ms",
+                today, salesByStoreCode.size(), System.currentTimeMillis() - start);
+
+        return new TodaySalesSnapshot(today, Map.copyOf(salesByStoreCode), LocalDateTime.now());
+    }
+
+    /**
+     * Vendas do dia atual por loja ativa.
+     *
+     * @param date Dia do snapshot
+     * @param salesByStoreCode Vendas do dia indexadas pelo código da loja
+     * @param fetchedAt Momento em que os dados foram obtidos da Legacy API
+     */
+    public record TodaySalesSnapshot(
+        LocalDate date,
+        Map<String, StoreReportByDayResponse> salesByStoreCode,
+        LocalDateTime fetchedAt
+    ) {
+        public List<StoreReportByDayResponse> stores() {
+            return List.copyOf(salesByStoreCode.values());
+        }
+    }
+}
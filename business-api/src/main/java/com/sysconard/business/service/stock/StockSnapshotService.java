@@ -0,0 +1,331 @@
+package com.sysconard.business.service.stock;
+
+import com.sysconard.business.client.LegacyApiClient;
+import com.sysconard.business.dto.StockItemResponseDTO;
+import com.sysconard.business.dto.StockMatrixRowLegacyDTO;
+import com.sysconard.business.dto.StockPageResponseDTO;
+import com.sysconard.business.dto.StockSearchRequest;
+import com.sysconard.business.dto.store.StoreResponseDto;
+import com.sysconard.business.dto.sync.StockSnapshotResponse;
+import com.sysconard.business.entity.stock.StockSnapshot;
+import com.sysconard.business.entity.stock.StockSnapshotItem;
+import com.sysconard.business.entity.stock.StockSnapshotQuantity;
+import com.sysconard.business.enums.StockSnapshotStatus;
+import com.sysconard.business.repository.stock.StockSnapshotItemRepository;
+import com.sysconard.business.repository.stock.StockSnapshotRepository;
+import com.sysconard.business.service.scheduler.JobLeaseService;
+import com.sysconard.business.service.store.StoreService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serviço do snapshot local de estoque.
+ *
+ * A matriz refplu × loja é lida da Legacy API em streaming e gravada no PostgreSQL
+ * em lotes (StockSnapshotWriter). A tela de estoque passa a ser atendida por
+ * consultas indexadas no snapshot, sem a agregação no SQL Server a cada página;
+ * a consulta direta ao legado continua disponível como opção (live).
+ *
+ * As colunas loj1..lojN seguem a ordem das lojas ativas por código, a mesma ordem
+ * usada pela Legacy API.
+ *
+ * A atualização executa sob a lease stock-snapshot-refresh (job_leases), renovada a cada
+ * lote gravado, de forma que apenas uma instância atualize o snapshot por vez.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockSnapshotService {
+
+    private static final String STORE_SORT_PREFIX = "loj";
+    private static final int LEGACY_STORE_COLUMNS = 14;
+    private static final String LEASE_NAME = "stock-snapshot-refresh";
+
+    private final LegacyApiClient legacyApiClient;
+    private final StockSnapshotWriter snapshotWriter;
+    private final StockSnapshotRepository snapshotRepository;
+    private final StockSnapshotItemRepository itemRepository;
+    private final StoreService storeService;
+    private final JobLeaseService jobLeaseService;
+
+    /**
+     * Impede duas atualizações simultâneas nesta instância.
+     */
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    @Value("${stock.snapshot.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${stock.snapshot.max-age:PT2H}")
+    private Duration maxAge;
+
+    @Value("${stock.snapshot.stale-after:PT30M}")
+    private Duration staleAfter;
+
+    /**
+     * Encerra como falha as atualizações interrompidas, removendo as linhas gravadas parcialmente.
+     * Somente snapshots sem lote gravado há stock.snapshot.stale-after são considerados
+     * interrompidos; uma atualização em andamento em outra instância não é afetada.
+     * Executado na inicialização e antes de cada atualização.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedSnapshots() {
+        List<StockSnapshot> interrupted = snapshotRepository.findByStatusAndUpdatedAtBefore(
+                StockSnapshotStatus.RUNNING, LocalDateTime.now().minus(staleAfter));
+        for (StockSnapshot snapshot : interrupted) {
+            log.warn("Snapshot de estoque interrompido encontrado: {} (sem atualização desde {})",
+                    snapshot.getId(), snapshot.getUpdatedAt());
+            snapshotWriter.fail(snapshot.getId(), new IllegalStateException(
+                    "Atualização interrompida sem atualização desde " + snapshot.getUpdatedAt()));
+        }
+    }
+
+    /**
+     * Atualiza o snapshot a partir da matriz de estoque da Legacy API.
+     * O snapshot anterior continua sendo servido até a conclusão.
+     *
+     * @return Resultado da atualização
+     * @throws IllegalStateException se já houver uma atualização em andamento nesta ou em outra instância
+     */
+    public StockSnapshotResponse refreshSnapshot() {
+        if (!refreshing.compareAndSet(false, true)) {
+            throw new IllegalStateException("Atualização do snapshot de estoque já em andamento");
+        }
+
+        String owner = UUID.randomUUID().toString();
+        boolean leased = false;
+        try {
+            leased = jobLeaseService.tryAcquire(LEASE_NAME, owner, staleAfter);
+            if (!leased) {
+                throw new IllegalStateException("Atualização do snapshot de estoque em andamento em outra instância");
+            }
+            failInterruptedSnapshots();
+
+            StockSnapshot snapshot = snapshotWriter.start();
+            UUID snapshotId = snapshot.getId();
+            log.info("Iniciando atualização do snapshot de estoque: {}", snapshotId);
+
+            long itemCount = 0;
+            Set<String> storeCodes = new HashSet<>();
+            try {
+                for (List<StockMatrixRowLegacyDTO> chunk : legacyApiClient.streamStockMatrix()
+                        .buffer(chunkSize)
+                        .toIterable(1)) {
+                    snapshotWriter.writeChunk(snapshotId, chunk);
+                    if (!jobLeaseService.renew(LEASE_NAME, owner, staleAfter)) {
+                        throw new IllegalStateException("Lease da atualização do snapshot de estoque perdida");
+                    }
+                    itemCount += chunk.size();
+                    for (StockMatrixRowLegacyDTO row : chunk) {
+                        if (row.getQuantities() != null) {
+                            storeCodes.addAll(row.getQuantities().keySet());
+                        }
+                    }
+                }
+                snapshot = snapshotWriter.complete(snapshotId, itemCount, storeCodes.size());
+                log.info("Snapshot de estoque {} concluído: {} referências, {} lojas",
+                        snapshotId, itemCount, storeCodes.size());
+            } catch (RuntimeException e) {
+                log.error("Erro ao atualizar snapshot de estoque {}: {}", snapshotId, e.getMessage(), e);
+                snapshot = snapshotWriter.fail(snapshotId, e);
+            }
+            return toResponse(snapshot);
+        } finally {
+            if (leased) {
+                jobLeaseService.release(LEASE_NAME, owner);
+            }
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * Busca a situação do snapshot servido e, se houver, da atualização mais recente.
+     *
+     * @return Snapshot concluído mais recente, ou a última tentativa se nenhum foi concluído
+     */
+    public Optional<StockSnapshotResponse> getStatus() {
+        return snapshotRepository.findFirstByStatusOrderByStartedAtDesc(StockSnapshotStatus.COMPLETED)
+                .or(() -> snapshotRepository.findFirstByStatusOrderByStartedAtDesc(StockSnapshotStatus.RUNNING))
+                .or(() -> snapshotRepository.findFirstByStatusOrderByStartedAtDesc(StockSnapshotStatus.FAILED))
+                .map(this::toResponse);
+    }
+
+    /**
+     * Busca uma página de estoque no snapshot concluído mais recente.
+     *
+     * @param request Dados da requisição de busca
+     * @return Página de estoque, ou vazio se ainda não houver snapshot concluído
+     */
+    public Optional<StockPageResponseDTO> searchStocks(StockSearchRequest request) {
+        Optional<StockSnapshot> current =
+                snapshotRepository.findFirstByStatusOrderByStartedAtDesc(StockSnapshotStatus.COMPLETED);
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        StockSnapshot snapshot = current.get();
+
+        List<String> storeCodes = storeService.getAllActiveStores().stream()
+                .map(StoreResponseDto::getCode)
+                .toList();
+
+        String sortBy = request.sortBy().toLowerCase(Locale.ROOT);
+        String sortStoreCode = null;
+        if (sortBy.startsWith(STORE_SORT_PREFIX)) {
+            int column = Integer.parseInt(sortBy.substring(STORE_SORT_PREFIX.length()));
+            sortStoreCode = column <= storeCodes.size() ? storeCodes.get(column - 1) : "";
+            sortBy = "store";
+        }
+
+        String descricaoPattern = buildDescricaoPattern(request.descricao());
+        boolean hasStock = Boolean.TRUE.equals(request.hasStock());
+        int size = request.size();
+        int offset = request.page() * size;
+        boolean includeCount = !Boolean.FALSE.equals(request.includeCount());
+
+        // Sem contagem, uma linha extra indica se há próxima página
+        List<StockSnapshotItem> items = itemRepository.searchItems(snapshot.getId(),
+                request.refplu(), request.marca(), descricaoPattern, hasStock,
+                sortBy, sortStoreCode, request.sortDir(), offset, includeCount ? size : size + 1);
+
+        Long totalElements = null;
+        Integer totalPages = null;
+        boolean hasNext;
+        if (includeCount) {
+            totalElements = itemRepository.countItems(snapshot.getId(),
+                    request.refplu(), request.marca(), descricaoPattern, hasStock);
+            totalPages = (int) Math.ceil((double) totalElements / size);
+            hasNext = request.page() + 1 < totalPages;
+        } else {
+            hasNext = items.size() > size;
+            if (hasNext) {
+                items = items.subList(0, size);
+            }
+        }
+
+        Map<String, Map<String, Long>> quantitiesByRefplu = new HashMap<>();
+        for (StockSnapshotQuantity quantity : itemRepository.findQuantities(snapshot.getId(),
+                items.stream().map(StockSnapshotItem::getRefplu).toList())) {
+            quantitiesByRefplu.computeIfAbsent(quantity.getRefplu(), key -> new HashMap<>())
+                    .put(quantity.getStoreCode(), quantity.getQuantity());
+        }
+
+        List<StockItemResponseDTO> content = items.stream()
+                .map(item -> toItem(item, quantitiesByRefplu.getOrDefault(item.getRefplu(), Map.of()), storeCodes))
+                .toList();
+
+        return Optional.of(StockPageResponseDTO.builder()
+                .content(content)
+                .pagination(StockPageResponseDTO.PaginationMetadata.builder()
+                        .totalElements(totalElements)
+                        .totalPages(totalPages)
+                        .currentPage(request.page())
+                        .pageSize(size)
+                        .hasNext(hasNext)
+                        .hasPrevious(request.page() > 0)
+                        .build())
+                .dataSource(StockPageResponseDTO.DataSourceInfo.builder()
+                        .source("stock-snapshot")
+                        .version("1.0")
+                        .endpoint("/stocks/matrix/stream")
+                        .build())
+                .storeCodes(storeCodes)
+                .freshness(toFreshness(snapshot))
+                .timestamp(LocalDateTime.now())
+                .status("SUCCESS")
+                .message("Estoque encontrado com sucesso")
+                .build());
+    }
+
+    /**
+     * Monta o padrão LIKE da busca por palavras, com o mesmo comportamento da
+     * Legacy API: todas as palavras, na ordem informada, em descrição ou marca.
+     *
+     * @param descricao Texto digitado
+     * @return Padrão em maiúsculas, ou null se não houver texto
+     */
+    public static String buildDescricaoPattern(String descricao) {
+        if (descricao == null || descricao.isBlank()) {
+            return null;
+        }
+        List<String> words = Arrays.stream(descricao.trim().toUpperCase(Locale.ROOT).split("\\s+")).toList();
+        return "%" + String.join("%", words) + "%";
+    }
+
+    /**
+     * Converte uma referência do snapshot no item da resposta, preenchendo as
+     * colunas fixas loj1..loj14 para compatibilidade com o frontend.
+     */
+    private StockItemResponseDTO toItem(StockSnapshotItem item, Map<String, Long> quantities, List<String> storeCodes) {
+        Long[] columns = new Long[LEGACY_STORE_COLUMNS];
+        for (int i = 0; i < LEGACY_STORE_COLUMNS; i++) {
+            columns[i] = i < storeCodes.size() ? quantities.getOrDefault(storeCodes.get(i), 0L) : 0L;
+        }
+
+        return StockItemResponseDTO.builder()
+                .refplu(item.getRefplu())
+                .marca(item.getBrand())
+                .descricao(item.getDescription())
+                .loj1(columns[0])
+                .loj2(columns[1])
+                .loj3(columns[2])
+                .loj4(columns[3])
+                .loj5(columns[4])
+                .loj6(columns[5])
+                .loj7(columns[6])
+                .loj8(columns[7])
+                .loj9(columns[8])
+                .loj10(columns[9])
+                .loj11(columns[10])
+                .loj12(columns[11])
+                .loj13(columns[12])
+                .loj14(columns[13])
+                .total(item.getTotalQuantity())
+                .quantities(quantities)
+                .build();
+    }
+
+    private StockPageResponseDTO.Freshness toFreshness(StockSnapshot snapshot) {
+        LocalDateTime snapshotAt = snapshot.getStartedAt();
+        Duration age = Duration.between(snapshotAt, LocalDateTime.now());
+        return StockPageResponseDTO.Freshness.builder()
+                .source("snapshot")
+                .snapshotId(snapshot.getId())
+                .snapshotAt(snapshotAt)
+                .ageSeconds(age.getSeconds())
+                .stale(age.compareTo(maxAge) > 0)
+                .build();
+    }
+
+    private StockSnapshotResponse toResponse(StockSnapshot snapshot) {
+        return StockSnapshotResponse.builder()
+                .snapshotId(snapshot.getId())
+                .status(snapshot.getStatus())
+                .itemCount(snapshot.getItemCount())
+                .storeCount(snapshot.getStoreCount())
+                .startedAt(snapshot.getStartedAt())
+                .finishedAt(snapshot.getFinishedAt())
+                .errorMessage(snapshot.getErrorMessage())
+                .build();
+    }
+}
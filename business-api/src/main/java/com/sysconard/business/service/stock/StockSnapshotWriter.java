@@ -0,0 +1,133 @@
+package com.sysconard.business.service.stock;
+
+import com.sysconard.business.dto.StockMatrixRowLegacyDTO;
+import com.sysconard.business.entity.stock.StockSnapshot;
+import com.sysconard.business.entity.stock.StockSnapshotItem;
+import com.sysconard.business.entity.stock.StockSnapshotQuantity;
+import com.sysconard.business.enums.StockSnapshotStatus;
+import com.sysconard.business.repository.stock.StockSnapshotItemRepository;
+import com.sysconard.business.repository.stock.StockSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Etapas transacionais da atualização do snapshot de estoque.
+ * Cada lote da matriz é confirmado em sua própria transação; a troca do snapshot
+ * servido e a remoção das linhas dos snapshots anteriores já encerrados acontecem
+ * juntas na conclusão.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockSnapshotWriter {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final StockSnapshotRepository snapshotRepository;
+    private final StockSnapshotItemRepository itemRepository;
+
+    /**
+     * Registra o início de uma atualização.
+     *
+     * @return Snapshot em execução
+     */
+    @Transactional
+    public StockSnapshot start() {
+        return snapshotRepository.save(StockSnapshot.builder()
+                .status(StockSnapshotStatus.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Grava um lote de linhas da matriz no snapshot e registra o progresso em updatedAt.
+     *
+     * @param snapshotId Snapshot em execução
+     * @param rows Linhas recebidas da Legacy API
+     */
+    @Transactional
+    public void writeChunk(UUID snapshotId, List<StockMatrixRowLegacyDTO> rows) {
+        List<StockSnapshotItem> items = new ArrayList<>(rows.size());
+        List<StockSnapshotQuantity> quantities = new ArrayList<>();
+
+        for (StockMatrixRowLegacyDTO row : rows) {
+            long total = 0;
+            if (row.getQuantities() != null) {
+                for (Map.Entry<String, Long> entry : row.getQuantities().entrySet()) {
+                    long quantity = entry.getValue() != null ? entry.getValue() : 0L;
+                    if (quantity == 0) {
+                        continue;
+                    }
+                    quantities.add(new StockSnapshotQuantity(snapshotId, row.getRefplu(), entry.getKey(), quantity));
+                    total += quantity;
+                }
+            }
+            items.add(new StockSnapshotItem(snapshotId, row.getRefplu(), row.getMarca(), row.getDescricao(), total));
+        }
+
+        itemRepository.insertItems(items);
+        itemRepository.insertQuantities(quantities);
+        snapshotRepository.touch(snapshotId, LocalDateTime.now());
+    }
+
+    /**
+     * Conclui a atualização: o snapshot passa a ser servido e as linhas dos anteriores,
+     * concluídos ou com falha, são removidas.
+     *
+     * @param snapshotId Snapshot em execução
+     * @param itemCount Quantidade de referências gravadas
+     * @param storeCount Quantidade de lojas com estoque
+     * @return Snapshot concluído
+     */
+    @Transactional
+    public StockSnapshot complete(UUID snapshotId, long itemCount, int storeCount) {
+        StockSnapshot snapshot = snapshotRepository.findById(snapshotId)
+                .orElseThrow(() -> new IllegalStateException("Snapshot de estoque não encontrado: " + snapshotId));
+        snapshot.setStatus(StockSnapshotStatus.COMPLETED);
+        snapshot.setItemCount(itemCount);
+        snapshot.setStoreCount(storeCount);
+        snapshot.setFinishedAt(LocalDateTime.now());
+        snapshotRepository.save(snapshot);
+
+        int removed = itemRepository.deleteRowsOfFinishedBefore(snapshot.getStartedAt());
+        log.debug("Linhas de snapshots anteriores removidas: {}", removed);
+        return snapshot;
+    }
+
+    /**
+     * Marca a atualização como falha e remove as linhas gravadas parcialmente.
+     *
+     * @param snapshotId Snapshot em execução
+     * @param error Erro ocorrido
+     * @return Snapshot com falha
+     */
+    @Transactional
+    public StockSnapshot fail(UUID snapshotId, Throwable error) {
+        itemRepository.deleteRows(snapshotId);
+
+        StockSnapshot snapshot = snapshotRepository.findById(snapshotId)
+                .orElseThrow(() -> new IllegalStateException("Snapshot de estoque não encontrado: " + snapshotId));
+        snapshot.setStatus(StockSnapshotStatus.FAILED);
+        snapshot.setFinishedAt(LocalDateTime.now());
+        snapshot.setErrorMessage(truncate(error.getMessage()));
+        return snapshotRepository.save(snapshot);
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
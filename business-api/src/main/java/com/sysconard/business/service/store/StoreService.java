@@ -1,6 +1,7 @@
 package com.sysconard.business.service.store;
 
 import com.sysconard.business.client.LegacyApiClient;
+import com.sysconard.business.config.CacheConfig;
 import com.sysconard.business.dto.store.CreateStoreRequest;
 import com.sysconard.business.dto.store.StoreResponse;
 import com.sysconard.business.dto.store.StoreResponseDto;
@@ -12,6 +13,8 @@ import com.sysconard.business.repository.store.StoreRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -45,6 +48,7 @@ public class StoreService {
      * @return Resposta com os dados da loja criada
      * @throws StoreAlreadyExistsException se o código já existir
      */
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_STORES_CACHE, allEntries = true)
     public StoreResponse createStore(CreateStoreRequest request) {
         log.info("Iniciando criação de loja: {}", request.getCode());
         
@@ -77,6 +81,7 @@ public class StoreService {
      * @return Resposta com os dados da loja atualizada
      * @throws StoreNotFoundException se a loja não for encontrada
      */
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_STORES_CACHE, allEntries = true)
     public StoreResponse updateStore(UUID id, UpdateStoreRequest request) {
         log.info("Iniciando atualização de loja: {} (ID: {})", request.getName(), id);
         
@@ -206,6 +211,7 @@ public class StoreService {
      * @param id ID da loja a ser removida
      * @throws StoreNotFoundException se a loja não for encontrada
      */
+    @CacheEvict(cacheNames = CacheConfig.ACTIVE_STORES_CACHE, allEntries = true)
     public void deleteStore(UUID id) {
         log.info("Iniciando remoção de loja: {}", id);
         
@@ -275,13 +281,21 @@ public class StoreService {
         }
     }
 
-    //Criar metodo para trazer todas as lojas ativas
+    /**
+     * Busca todas as lojas ativas.
+     * O resultado é mantido no cache activeStores (TTL configurável) e invalidado
+     * na criação, atualização ou remoção de lojas.
+     * 
+     * @return Lista imutável de lojas ativas
+     */
+    @Cacheable(cacheNames = CacheConfig.ACTIVE_STORES_CACHE, key = "'all'")
+    @Transactional(readOnly = true)
     public List<StoreResponseDto> getAllActiveStores() {
         log.info("Buscando todas as lojas ativas");
         List<Store> stores = storeRepository.findAllActiveStores();
         return stores.stream()
                 .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+                .toList();
     }
     
     /**
@@ -0,0 +1,402 @@
+package com.sysconard.business.service.sync;
+
+import com.sysconard.business.dto.sync.DailySalesBackfillRequest;
+import com.sysconard.business.dto.sync.DailySalesBackfillResponse;
+import com.sysconard.business.dto.sync.DailySalesSyncRequest;
+import com.sysconard.business.dto.sync.DailySalesSyncResponse;
+import com.sysconard.business.entity.sync.SyncBackfillChunk;
+import com.sysconard.business.entity.sync.SyncBackfillJob;
+import com.sysconard.business.enums.BackfillChunkUnit;
+import com.sysconard.business.enums.BackfillStatus;
+import com.sysconard.business.repository.sync.SyncBackfillChunkRepository;
+import com.sysconard.business.repository.sync.SyncBackfillJobRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serviço responsável pelo backfill de vendas diárias em períodos longos.
+ *
+ * Divide o período em chunks semanais ou mensais e delega cada chunk ao
+ * DailySalesSyncService, que executa e confirma sua própria transação.
+ * O status de cada chunk é persistido como checkpoint, de forma que um
+ * backfill interrompido (falha ou reinício da aplicação) seja retomado
+ * apenas a partir dos chunks ainda não concluídos.
+ *
+ * O paralelismo é limitado por um pool fixo de threads. Como a Legacy API
+ * opera com pool Hikari de uma única conexão (connection-timeout de 30s),
+ * valores acima de 2 apenas enfileiram requisições no legado e aumentam o
+ * risco de timeout; o padrão 2 permite sobrepor a consulta de um chunk
+ * com a persistência do anterior.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailySalesBackfillService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final DailySalesSyncService dailySalesSyncService;
+    private final SyncBackfillJobRepository jobRepository;
+    private final SyncBackfillChunkRepository chunkRepository;
+
+    /**
+     * Chunks restantes por backfill em execução nesta instância.
+     */
+    private final Map<UUID, AtomicInteger> inFlightJobs = new ConcurrentHashMap<>();
+
+    @Value("${sync.daily-sales.backfill.parallelism:2}")
+    private int parallelism;
+
+    @Value("${sync.daily-sales.backfill.chunk-unit:MONTH}")
+    private BackfillChunkUnit defaultChunkUnit;
+
+    @Value("${sync.daily-sales.retry-attempts:3}")
+    private int retryAttempts;
+
+    @Value("${sync.daily-sales.backfill.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    @Value("${sync.daily-sales.backfill.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    private ExecutorService chunkExecutor;
+
+    @PostConstruct
+    void initExecutor() {
+        int threads = Math.max(1, parallelism);
+        AtomicInteger threadCounter = new AtomicInteger();
+        chunkExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "daily-backfill-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Executor de backfill de vendas diárias inicializado: paralelismo={}", threads);
+    }
+
+    @PreDestroy
+    void shutdownExecutor() {
+        chunkExecutor.shutdownNow();
+    }
+
+    /**
+     * Cria um novo backfill para o período solicitado e inicia sua execução
+     * em segundo plano.
+     *
+     * @param request Requisição com período e unidade de divisão
+     * @return Progresso inicial do backfill
+     */
+    public DailySalesBackfillResponse startBackfill(DailySalesBackfillRequest request) {
+        BackfillChunkUnit chunkUnit = request.chunkUnit() != null ? request.chunkUnit() : defaultChunkUnit;
+        List<DateRange> ranges = splitIntoChunks(request.startDate(), request.endDate(), chunkUnit);
+
+        SyncBackfillJob job = jobRepository.save(SyncBackfillJob.builder()
+                .startDate(request.startDate())
+                .endDate(request.endDate())
+                .chunkUnit(chunkUnit)
+                .status(BackfillStatus.RUNNING)
+                .totalChunks(ranges.size())
+                .startedAt(LocalDateTime.now())
+                .build());
+
+        List<SyncBackfillChunk> chunks = ranges.stream()
+                .map(range -> SyncBackfillChunk.builder()
+                        .jobId(job.getId())
+                        .chunkStart(range.start())
+                        .chunkEnd(range.end())
+                        .status(BackfillStatus.PENDING)
+                        .build())
+                .toList();
+        List<SyncBackfillChunk> savedChunks = chunkRepository.saveAll(chunks);
+
+        log.info("Backfill de vendas diárias criado: jobId={}, período={} a {}, unidade={}, chunks={}",
+                job.getId(), request.startDate(), request.endDate(), chunkUnit, savedChunks.size());
+
+        submitChunks(job.getId(), savedChunks);
+        return buildResponse(job);
+    }
+
+    /**
+     * Retoma um backfill a partir do último checkpoint, reexecutando apenas
+     * os chunks que ainda não foram concluídos.
+     *
+     * @param jobId Identificador do backfill
+     * @return Progresso do backfill, ou vazio se não existir
+     */
+    public Optional<DailySalesBackfillResponse> resumeBackfill(UUID jobId) {
+        return jobRepository.findById(jobId).map(job -> {
+            if (inFlightJobs.containsKey(jobId)) {
+                log.info("Backfill {} já está em execução, retomada ignorada", jobId);
+                return buildResponse(job);
+            }
+
+            List<SyncBackfillChunk> pending = chunkRepository
+                    .findByJobIdAndStatusNotOrderByChunkStartAsc(jobId, BackfillStatus.COMPLETED);
+
+            if (pending.isEmpty()) {
+                log.info("Backfill {} não possui chunks pendentes", jobId);
+                return buildResponse(finishJob(jobId));
+            }
+
+            job.setStatus(BackfillStatus.RUNNING);
+            job.setStartedAt(LocalDateTime.now());
+            job.setFinishedAt(null);
+            SyncBackfillJob savedJob = jobRepository.save(job);
+
+            pending.forEach(chunk -> chunk.setStatus(BackfillStatus.PENDING));
+            List<SyncBackfillChunk> savedChunks = chunkRepository.saveAll(pending);
+
+            log.info("Retomando backfill {}: {} de {} chunks pendentes",
+                    jobId, savedChunks.size(), job.getTotalChunks());
+
+            submitChunks(jobId, savedChunks);
+            return buildResponse(savedJob);
+        });
+    }
+
+    /**
+     * Obtém o progresso atual de um backfill.
+     *
+     * @param jobId Identificador do backfill
+     * @return Progresso do backfill, ou vazio se não existir
+     */
+    public Optional<DailySalesBackfillResponse> getBackfillStatus(UUID jobId) {
+        return jobRepository.findById(jobId).map(this::buildResponse);
+    }
+
+    /**
+     * Retoma automaticamente, na inicialização da aplicação, os backfills
+     * que estavam em execução quando a instância anterior foi encerrada.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedBackfills() {
+        if (!resumeOnStartup) {
+            return;
+        }
+
+        try {
+            List<SyncBackfillJob> interrupted = jobRepository.findByStatusOrderByCreatedAtAsc(BackfillStatus.RUNNING);
+            if (!interrupted.isEmpty()) {
+                log.info("Retomando {} backfill(s) de vendas diárias interrompido(s)", interrupted.size());
+                interrupted.forEach(job -> resumeBackfill(job.getId()));
+            }
+        } catch (Exception e) {
+            log.error("Erro ao retomar backfills interrompidos: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Divide o período em chunks alinhados ao calendário: semanas de segunda
+     * a domingo ou meses completos, recortados pelos limites do período.
+     *
+     * @param startDate Data de início (inclusiva)
+     * @param endDate Data de fim (inclusiva)
+     * @param chunkUnit Unidade de divisão
+     * @return Lista de intervalos em ordem cronológica
+     */
+    static List<DateRange> splitIntoChunks(LocalDate startDate, LocalDate endDate, BackfillChunkUnit chunkUnit) {
+        List<DateRange> ranges = new ArrayList<>();
+        LocalDate cursor = startDate;
+
+        while (!cursor.isAfter(endDate)) {
+            LocalDate chunkEnd = chunkUnit == BackfillChunkUnit.WEEK
+                    ? cursor.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY))
+                    : cursor.with(TemporalAdjusters.lastDayOfMonth());
+
+            if (chunkEnd.isAfter(endDate)) {
+                chunkEnd = endDate;
+            }
+
+            ranges.add(new DateRange(cursor, chunkEnd));
+            cursor = chunkEnd.plusDays(1);
+        }
+
+        return ranges;
+    }
+
+    /**
+     * Submete os chunks ao executor limitado, em ordem cronológica.
+     */
+    private void submitChunks(UUID jobId, List<SyncBackfillChunk> chunks) {
+        if (inFlightJobs.putIfAbsent(jobId, new AtomicInteger(chunks.size())) != null) {
+            log.warn("Backfill {} já possui chunks em execução", jobId);
+            return;
+        }
+
+        for (SyncBackfillChunk chunk : chunks) {
+            chunkExecutor.execute(() -> runChunk(jobId, chunk));
+        }
+    }
+
+    /**
+     * Executa um chunk e, ao final do último chunk do backfill, consolida
+     * a situação final do backfill.
+     */
+    private void runChunk(UUID jobId, SyncBackfillChunk chunk) {
+        try {
+            processChunk(chunk);
+        } catch (Exception e) {
+            log.error("Erro inesperado no chunk {} a {} do backfill {}: {}",
+                    chunk.getChunkStart(), chunk.getChunkEnd(), jobId, e.getMessage(), e);
+        } finally {
+            AtomicInteger remaining = inFlightJobs.get(jobId);
+            if (remaining != null && remaining.decrementAndGet() == 0) {
+                inFlightJobs.remove(jobId);
+                if (!Thread.currentThread().isInterrupted()) {
+                    finishJob(jobId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sincroniza um chunk com até retry-attempts tentativas.
+     * Cada chamada ao DailySalesSyncService confirma sua própria transação;
+     * o checkpoint é gravado logo após. Se a aplicação parar entre os dois
+     * passos, o chunk é reprocessado na retomada, o que é seguro porque a
+     * sincronização diária atualiza registros existentes ao invés de duplicá-los.
+     */
+    private void processChunk(SyncBackfillChunk chunk) {
+        DailySalesSyncRequest request = new DailySalesSyncRequest(chunk.getChunkStart(), chunk.getChunkEnd());
+        int maxAttempts = Math.max(1, retryAttempts);
+        SyncBackfillChunk current = chunk;
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            current.setStatus(BackfillStatus.RUNNING);
+            current.setAttempts(current.getAttempts() + 1);
+            current = chunkRepository.save(current);
+
+            try {
+                DailySalesSyncResponse response = dailySalesSyncService.syncDailySales(request);
+
+                current.setStatus(BackfillStatus.COMPLETED);
+                current.setCreatedCount(response.created());
+                current.setUpdatedCount(response.updated());
+                current.setLastError(null);
+                current.setCompletedAt(LocalDateTime.now());
+                chunkRepository.save(current);
+
+                log.info("Chunk {} a {} concluído: criados={}, atualizados={}, tentativa={}",
+                        current.getChunkStart(), current.getChunkEnd(), response.created(), response.updated(), attempt);
+                return;
+
+            } catch (Exception e) {
+                current.setLastError(truncate(e.getMessage()));
+                log.warn("Falha no chunk {} a {} (tentativa {}/{}): {}",
+                        current.getChunkStart(), current.getChunkEnd(), attempt, maxAttempts, e.getMessage());
+            }
+
+            if (attempt < maxAttempts) {
+                try {
+                    Thread.sleep(retryBackoffMs * attempt);
+                } catch (InterruptedException e) {
+                    // Encerramento da aplicação: o chunk permanece RUNNING e é retomado na inicialização
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        current.setStatus(BackfillStatus.FAILED);
+        chunkRepository.save(current);
+    }
+
+    /**
+     * Consolida a situação final do backfill a partir dos checkpoints dos chunks.
+     */
+    private SyncBackfillJob finishJob(UUID jobId) {
+        SyncBackfillJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalStateException("Backfill não encontrado: " + jobId));
+
+        long failed = chunkRepository.countByJobIdAndStatus(jobId, BackfillStatus.FAILED);
+        job.setStatus(failed > 0 ? BackfillStatus.FAILED : BackfillStatus.COMPLETED);
+        job.setFinishedAt(LocalDateTime.now());
+        SyncBackfillJob saved = jobRepository.save(job);
+
+        log.info("Backfill de vendas diárias finalizado: jobId={}, status={}, chunks com falha={}",
+                jobId, saved.getStatus(), failed);
+        return saved;
+    }
+
+    /**
+     * Constrói a resposta de progresso a partir dos checkpoints persistidos.
+     */
+    private DailySalesBackfillResponse buildResponse(SyncBackfillJob job) {
+        List<SyncBackfillChunk> chunks = chunkRepository.findByJobIdOrderByChunkStartAsc(job.getId());
+
+        int completed = 0;
+        int failed = 0;
+        int running = 0;
+        int pending = 0;
+        int created = 0;
+        int updated = 0;
+        List<DailySalesBackfillResponse.ChunkProgress> progress = new ArrayList<>(chunks.size());
+
+        for (SyncBackfillChunk chunk : chunks) {
+            switch (chunk.getStatus()) {
+                case COMPLETED -> completed++;
+                case FAILED -> failed++;
+                case RUNNING -> running++;
+                default -> pending++;
+            }
+            created += chunk.getCreatedCount();
+            updated += chunk.getUpdatedCount();
+            progress.add(new DailySalesBackfillResponse.ChunkProgress(
+                    chunk.getChunkStart(), chunk.getChunkEnd(), chunk.getStatus(), chunk.getAttempts(),
+                    chunk.getCreatedCount(), chunk.getUpdatedCount(), chunk.getLastError(), chunk.getCompletedAt()));
+        }
+
+        return DailySalesBackfillResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .startDate(job.getStartDate())
+                .endDate(job.getEndDate())
+                .chunkUnit(job.getChunkUnit())
+                .totalChunks(job.getTotalChunks())
+                .completedChunks(completed)
+                .failedChunks(failed)
+                .runningChunks(running)
+                .pendingChunks(pending)
+                .created(created)
+                .updated(updated)
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .chunks(progress)
+                .build();
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * Intervalo de datas de um chunk (inclusivo nas duas pontas).
+     */
+    record DateRange(LocalDate start, LocalDate end) {}
+}
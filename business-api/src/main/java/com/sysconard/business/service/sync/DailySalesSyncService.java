@@ -26,6 +26,8 @@ import java.util.stream.Collectors;
  * Serviço responsável pela sincronização de vendas diárias.
  * Implementa a lógica de negócio para buscar dados externos,
  * validar registros existentes e persistir em lote.
+ * As diferenças de total são propagadas para monthly_sells e year_sells
+ * pelo SalesRollupService dentro da mesma transação.
  * Segue os princípios de Clean Code com responsabilidades bem definidas.
  * 
  * @author Business API
@@ -40,6 +42,7 @@ public class DailySalesSyncService {
     private final StoreService storeService;
     private final SellService sellService;
     private final DailySellRepository dailySellRepository;
+    private final SalesRollupService salesRollupService;
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     
@@ -56,7 +59,9 @@ public class DailySalesSyncService {
         
         try {
             // Passo 1: Obter dados externos
-            List<DailySell> externalData = fetchExternalData(request.startDate(), request.endDate());
+            List<DailySell> externalData = SyncMetrics.timeStage(SyncMetrics.DAILY, "fetch",
+                    () -> fetchExternalData(request.startDate(), request.endDate()));
+            SyncMetrics.recordCount(SyncMetrics.DAILY, "received", externalData.size());
             
             if (externalData.isEmpty()) {
                 log.warn("Nenhum dado externo encontrado para o período: {} a {}", 
@@ -65,10 +70,16 @@ public class DailySalesSyncService {
             }
             
             // Passo 2: Validação inteligente no banco
-            SyncDataSeparation separation = separateCreateUpdateData(externalData, request.startDate(), request.endDate());
+            SyncDataSeparation separation = SyncMetrics.timeStage(SyncMetrics.DAILY, "compare",
+                    () -> separateCreateUpdateData(externalData, request.startDate(), request.endDate()));
             
             // Passo 3: Persistência otimizada
-            PersistenceResult result = persistData(separation);
+            PersistenceResult result = SyncMetrics.timeStage(SyncMetrics.DAILY, "persist", () -> persistData(separation));
+            SyncMetrics.recordCount(SyncMetrics.DAILY, "created", result.created());
+            SyncMetrics.recordCount(SyncMetrics.DAILY, "updated", result.updated());
+            
+            // Passo 4: Rollup incremental dos totais mensais e anuais na mesma transação
+            SyncMetrics.timeStage(SyncMetrics.DAILY, "rollup", () -> salesRollupService.applyDailyDeltas(separation.deltas()));
             
             log.info("Sincronização concluída com sucesso: criados={}, atualizados={}, lojas={}", 
                     result.created(), result.updated(), separation.uniqueStores());
@@ -265,17 +276,20 @@ public class DailySalesSyncService {
         // Separar em listas
         List<DailySell> toCreate = new ArrayList<>();
         List<DailySell> toUpdate = new ArrayList<>();
+        List<SalesRollupService.DailySellDelta> deltas = new ArrayList<>();
         
         for (DailySell external : externalData) {
             String key = external.getStoreId() + "|" + external.getDate();
             
             if (existingMap.containsKey(key)) {
-                // Atualizar registro existente
+                // Atualizar registro existente, calculando o delta contra o total anterior
                 DailySell existing = existingMap.get(key);
+                deltas.add(createDelta(external, external.getTotal().subtract(existing.getTotal())));
                 updateExistingRecord(existing, external);
                 toUpdate.add(existing);
             } else {
                 // Criar novo registro
+                deltas.add(createDelta(external, external.getTotal()));
                 toCreate.add(external);
             }
         }
@@ -287,7 +301,23 @@ public class DailySalesSyncService {
         log.debug("Dados separados: criar={}, atualizar={}, lojas únicas={}", 
                 toCreate.size(), toUpdate.size(), uniqueStores.size());
         
-        return new SyncDataSeparation(toCreate, toUpdate, uniqueStores.size());
+        return new SyncDataSeparation(toCreate, toUpdate, deltas, uniqueStores.size());
+    }
+    
+    /**
+     * Cria o delta de total de uma venda diária para o rollup incremental.
+     * 
+     * @param external Dados externos já mapeados
+     * @param delta Diferença entre o novo total e o total anterior
+     * @return Delta para aplicação em monthly_sells e year_sells
+     */
+    private SalesRollupService.DailySellDelta createDelta(DailySell external, BigDecimal delta) {
+        return new SalesRollupService.DailySellDelta(
+                external.getStoreId(),
+                external.getStoreCode(),
+                external.getStoreName(),
+                external.getDate(),
+                delta);
     }
     
     /**
@@ -358,6 +388,7 @@ public class DailySalesSyncService {
     private record SyncDataSeparation(
         List<DailySell> toCreate,
         List<DailySell> toUpdate,
+        List<SalesRollupService.DailySellDelta> deltas,
         int uniqueStores
     ) {}
     
@@ -23,6 +23,10 @@ import java.util.stream.Collectors;
  * Serviço responsável pela sincronização de vendas mensais.
  * Implementa a lógica de negócio para agregar dados de daily_sells por mês e loja,
  * validar registros existentes e persistir em monthly_sells.
+ * 
+ * Como os totais mensais são mantidos incrementalmente pelo SalesRollupService,
+ * esta sincronização atua como verificação: apenas registros ausentes ou com
+ * divergência em relação a daily_sells são gravados.
  * Segue os princípios de Clean Code com responsabilidades bem definidas.
  * 
  * @author Business API
@@ -53,7 +57,9 @@ public class MonthlySalesSyncService {
         
         try {
             // Passo 1: Buscar dados agregados de vendas diárias
-            List<MonthlySell> aggregatedData = fetchDailySalesData(request.startDate(), request.endDate());
+            List<MonthlySell> aggregatedData = SyncMetrics.timeStage(SyncMetrics.MONTHLY, "aggregate",
+                    () -> fetchDailySalesData(request.startDate(), request.endDate()));
+            SyncMetrics.recordCount(SyncMetrics.MONTHLY, "received", aggregatedData.size());
             
             if (aggregatedData.isEmpty()) {
                 log.warn("Nenhum dado de venda encontrado para o período: {} a {}", 
@@ -62,10 +68,13 @@ public class MonthlySalesSyncService {
             }
             
             // Passo 2: Separar dados para criação vs atualização
-            SyncDataSeparation separation = separateCreateUpdateData(aggregatedData);
+            SyncDataSeparation separation = SyncMetrics.timeStage(SyncMetrics.MONTHLY, "compare",
+                    () -> separateCreateUpdateData(aggregatedData));
             
             // Passo 3: Persistir dados em lote
-            PersistenceResult result = persistData(separation);
+            PersistenceResult result = SyncMetrics.timeStage(SyncMetrics.MONTHLY, "persist", () -> persistData(separation));
+            SyncMetrics.recordCount(SyncMetrics.MONTHLY, "created", result.created());
+            SyncMetrics.recordCount(SyncMetrics.MONTHLY, "updated", result.updated());
             
             // Passo 4: Calcular estatísticas
             int monthsProcessed = calculateMonthsProcessed(request.startDate(), request.endDate());
@@ -186,13 +195,20 @@ public class MonthlySalesSyncService {
         // Separar em listas
         List<MonthlySell> toCreate = new ArrayList<>();
         List<MonthlySell> toUpdate = new ArrayList<>();
+        int unchanged = 0;
         
         for (MonthlySell aggregated : aggregatedData) {
             String key = aggregated.getStoreId() + "|" + aggregated.getYearMonth();
             
             if (existingMap.containsKey(key)) {
-                // Atualizar registro existente
                 MonthlySell existing = existingMap.get(key);
+                if (isInSync(existing, aggregated)) {
+                    unchanged++;
+                    continue;
+                }
+                // Corrigir divergência do rollup incremental
+                log.warn("Divergência no total mensal corrigida: loja={}, mês={}, registrado={}, calculado={}", 
+                        existing.getStoreCode(), existing.getYearMonth(), existing.getTotal(), aggregated.getTotal());
                 updateExistingRecord(existing, aggregated);
                 toUpdate.add(existing);
             } else {
@@ -201,11 +217,24 @@ public class MonthlySalesSyncService {
             }
         }
         
-        log.debug("Dados separados: criar={}, atualizar={}", toCreate.size(), toUpdate.size());
+        log.debug("Dados separados: criar={}, atualizar={}, sem divergência={}", 
+                toCreate.size(), toUpdate.size(), unchanged);
         
         return new SyncDataSeparation(toCreate, toUpdate);
     }
     
+    /**
+     * Verifica se o registro existente já corresponde ao agregado de daily_sells.
+     * 
+     * @param existing Registro existente no banco
+     * @param aggregated Dados agregados
+     * @return true se total e nome da loja coincidem
+     */
+    private boolean isInSync(MonthlySell existing, MonthlySell aggregated) {
+        return existing.getTotal().compareTo(aggregated.getTotal()) == 0
+                && Objects.equals(existing.getStoreName(), aggregated.getStoreName());
+    }
+    
     /**
      * Atualiza campos de um registro existente com dados agregados.
      * 
@@ -0,0 +1,176 @@
+package com.sysconard.business.service.sync;
+
+import com.sysconard.business.repository.sell.MonthlySellRepository;
+import com.sysconard.business.repository.sell.YearSellRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serviço responsável pelo rollup incremental de vendas.
+ *
+ * Recebe as diferenças (deltas) de total geradas pela sincronização de vendas
+ * diárias e as aplica aos registros de monthly_sells e year_sells na mesma
+ * transação, sem reagregar as tabelas. Os incrementos são feitos com UPDATE
+ * atômico, de forma que chunks de backfill executados em paralelo não percam
+ * atualizações sobre a mesma loja e período.
+ *
+ * Quando o registro mensal ou anual ainda não existe, ele é criado a partir da
+ * soma do nível inferior já persistido (que inclui o delta corrente).
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesRollupService {
+
+    private final MonthlySellRepository monthlySellRepository;
+    private final YearSellRepository yearSellRepository;
+
+    /**
+     * Aplica os deltas de vendas diárias aos totais mensais e anuais.
+     * Deve ser chamado dentro da transação que persistiu as vendas diárias.
+     *
+     * @param deltas Diferenças de total por loja e dia
+     * @return Resultado com a quantidade de registros mensais e anuais afetados
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public RollupResult applyDailyDeltas(List<DailySellDelta> deltas) {
+        Map<String, PeriodDelta> monthlyDeltas = new LinkedHashMap<>();
+        Map<String, PeriodDelta> yearlyDeltas = new LinkedHashMap<>();
+
+        for (DailySellDelta delta : deltas) {
+            if (delta.delta().signum() == 0) {
+                continue;
+            }
+            YearMonth yearMonth = YearMonth.from(delta.date());
+            monthlyDeltas.merge(delta.storeId() + "|" + yearMonth,
+                    PeriodDelta.of(delta, yearMonth), PeriodDelta::add);
+            yearlyDeltas.merge(delta.storeId() + "|" + yearMonth.getYear(),
+                    PeriodDelta.of(delta, yearMonth), PeriodDelta::add);
+        }
+
+        if (monthlyDeltas.isEmpty()) {
+            log.debug("Nenhum delta de vendas diárias para aplicar no rollup");
+            return new RollupResult(0, 0);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // Mensal antes do anual: a criação de um registro anual soma os mensais já atualizados
+        for (PeriodDelta monthly : monthlyDeltas.values()) {
+            applyMonthlyDelta(monthly, now);
+        }
+        for (PeriodDelta yearly : yearlyDeltas.values()) {
+            applyYearlyDelta(yearly, now);
+        }
+
+        log.info("Rollup incremental aplicado: meses={}, anos={}", monthlyDeltas.size(), yearlyDeltas.size());
+        return new RollupResult(monthlyDeltas.size(), yearlyDeltas.size());
+    }
+
+    private void applyMonthlyDelta(PeriodDelta monthly, LocalDateTime now) {
+        String yearMonth = monthly.yearMonth().toString();
+
+        int updated = monthlySellRepository.incrementTotal(
+                monthly.storeId(), yearMonth, monthly.storeName(), monthly.delta(), now);
+        if (updated > 0) {
+            return;
+        }
+
+        int inserted = monthlySellRepository.insertFromDailySells(
+                monthly.storeId(), monthly.storeCode(), monthly.storeName(), yearMonth,
+                monthly.yearMonth().atDay(1), monthly.yearMonth().atEndOfMonth());
+
+        if (inserted == 0) {
+            // Registro criado concorrentemente sem as vendas desta transação
+            monthlySellRepository.incrementTotal(
+                    monthly.storeId(), yearMonth, monthly.storeName(), monthly.delta(), now);
+        } else {
+            log.debug("Registro mensal criado pelo rollup: loja={}, mês={}", monthly.storeCode(), yearMonth);
+        }
+    }
+
+    private void applyYearlyDelta(PeriodDelta yearly, LocalDateTime now) {
+        int year = yearly.yearMonth().getYear();
+
+        int updated = yearSellRepository.incrementTotal(
+                yearly.storeId(), year, yearly.storeName(), yearly.delta(), now);
+        if (updated > 0) {
+            return;
+        }
+
+        int inserted = yearSellRepository.insertFromMonthlySells(
+                yearly.storeId(), yearly.storeCode(), yearly.storeName(), year,
+                YearMonth.of(year, 1).toString(), YearMonth.of(year, 12).toString());
+
+        if (inserted == 0) {
+            // Registro criado concorrentemente sem os meses desta transação
+            yearSellRepository.incrementTotal(
+                    yearly.storeId(), year, yearly.storeName(), yearly.delta(), now);
+        } else {
+            log.debug("Registro anual criado pelo rollup: loja={}, ano={}", yearly.storeCode(), year);
+        }
+    }
+
+    /**
+     * Diferença de total de uma venda diária criada ou atualizada.
+     *
+     * @param storeId ID da loja
+     * @param storeCode Código da loja
+     * @param storeName Nome atual da loja
+     * @param date Dia da venda
+     * @param delta Novo total menos o total anterior (novo total para registros criados)
+     */
+    public record DailySellDelta(
+        UUID storeId,
+        String storeCode,
+        String storeName,
+        LocalDate date,
+        BigDecimal delta
+    ) {}
+
+    /**
+     * Resultado do rollup incremental.
+     *
+     * @param monthsAffected Registros mensais afetados
+     * @param yearsAffected Registros anuais afetados
+     */
+    public record RollupResult(
+        int monthsAffected,
+        int yearsAffected
+    ) {}
+
+    /**
+     * Record interno com o delta acumulado de uma loja em um período.
+     */
+    private record PeriodDelta(
+        UUID storeId,
+        String storeCode,
+        String storeName,
+        YearMonth yearMonth,
+        BigDecimal delta
+    ) {
+        static PeriodDelta of(DailySellDelta delta, YearMonth yearMonth) {
+            return new PeriodDelta(delta.storeId(), delta.storeCode(), delta.storeName(), yearMonth, delta.delta());
+        }
+
+        PeriodDelta add(PeriodDelta other) {
+            return new PeriodDelta(storeId, storeCode, other.storeName(), yearMonth, delta.add(other.delta()));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.sysconard.business.service.sync;
+
+import io.micrometer.core.instrument.Metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Métricas das rotinas de sincronização.
+ * Registra a duração de cada etapa (sync.stage.duration) e a quantidade de registros
+ * recebidos e gravados (sync.records), identificados pelas tags sync, stage e kind.
+ * Usa o registry global do Micrometer, ao qual o Spring Boot associa o registry da aplicação.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+public final class SyncMetrics {
+
+    public static final String STAGE_TIMER = "sync.stage.duration";
+    public static final String RECORDS_COUNTER = "sync.records";
+
+    public static final String DAILY = "daily";
+    public static final String MONTHLY = "monthly";
+    public static final String YEARLY = "yearly";
+    public static final String SALE = "sale";
+    public static final String EXCHANGE = "exchange";
+
+    private SyncMetrics() {
+    }
+
+    /**
+     * Executa uma etapa da sincronização registrando sua duração.
+     *
+     * @param sync Nome da sincronização
+     * @param stage Nome da etapa
+     * @param task Etapa a executar
+     * @return Resultado da etapa
+     */
+    public static <T> T timeStage(String sync, String stage, Supplier<T> task) {
+        return Metrics.timer(STAGE_TIMER, "sync", sync, "stage", stage).record(task);
+    }
+
+    /**
+     * Executa uma etapa sem retorno da sincronização registrando sua duração.
+     *
+     * @param sync Nome da sincronização
+     * @param stage Nome da etapa
+     * @param task Etapa a executar
+     */
+    public static void timeStage(String sync, String stage, Runnable task) {
+        Metrics.timer(STAGE_TIMER, "sync", sync, "stage", stage).record(task);
+    }
+
+    /**
+     * Acumula a quantidade de registros de uma sincronização.
+     *
+     * @param sync Nome da sincronização
+     * @param kind Tipo de registro (received, created, updated, skipped...)
+     * @param count Quantidade de registros
+     */
+    public static void recordCount(String sync, String kind, long count) {
+        if (count > 0) {
+            Metrics.counter(RECORDS_COUNTER, "sync", sync, "kind", kind).increment(count);
+        }
+    }
+}
@@ -20,6 +20,9 @@ import java.util.stream.Collectors;
  * Serviço responsável pela sincronização de vendas anuais.
  * Implementa a lógica de negócio para agregar dados de monthly_sells por ano e loja,
  * validar registros existentes e persistir em year_sells.
+ * 
+ * Como os totais anuais são mantidos incrementalmente pelo SalesRollupService,
+ * esta sincronização atua como verificação, gravando apenas divergências.
  * Segue os princípios de Clean Code com responsabilidades bem definidas.
  * 
  * @author Business API
@@ -47,7 +50,9 @@ public class YearlySalesSyncService {
         
         try {
             // Passo 1: Buscar dados agregados de vendas mensais
-            List<YearSell> aggregatedData = fetchMonthlySalesData(request.year());
+            List<YearSell> aggregatedData = SyncMetrics.timeStage(SyncMetrics.YEARLY, "aggregate",
+                    () -> fetchMonthlySalesData(request.year()));
+            SyncMetrics.recordCount(SyncMetrics.YEARLY, "received", aggregatedData.size());
             
             if (aggregatedData.isEmpty()) {
                 log.warn("Nenhum dado de venda mensal encontrado para o ano: {}", request.year());
@@ -55,7 +60,9 @@ public class YearlySalesSyncService {
             }
             
             // Passo 2: Processar cada registro individualmente (upsert)
-            UpsertResult result = processUpsertData(aggregatedData);
+            UpsertResult result = SyncMetrics.timeStage(SyncMetrics.YEARLY, "persist", () -> processUpsertData(aggregatedData));
+            SyncMetrics.recordCount(SyncMetrics.YEARLY, "created", result.created());
+            SyncMetrics.recordCount(SyncMetrics.YEARLY, "updated", result.updated());
             
             // Passo 3: Calcular estatísticas
             int storesProcessed = (int) aggregatedData.stream()
@@ -140,55 +147,52 @@ public class YearlySalesSyncService {
     }
     
     /**
-     * Processa dados usando upsert (insert ou update) individual para cada registro.
-     * Evita problemas de duplicata processando um registro por vez.
+     * Processa dados usando upsert com uma única consulta dos registros existentes do ano.
+     * Como os totais anuais são mantidos incrementalmente pelo SalesRollupService,
+     * apenas registros ausentes ou divergentes são gravados.
      * 
      * @param aggregatedData Dados agregados para processar
      * @return Resultado do processamento upsert
      */
     private UpsertResult processUpsertData(List<YearSell> aggregatedData) {
-        log.debug("Processando dados com upsert individual");
+        log.debug("Processando dados com upsert em lote");
+        
+        Integer year = aggregatedData.get(0).getYear();
+        Map<UUID, YearSell> existingMap = yearSellRepository.findByYear(year).stream()
+                .collect(Collectors.toMap(YearSell::getStoreId, record -> record, (first, second) -> first));
         
-        int created = 0;
-        int updated = 0;
+        List<YearSell> toCreate = new ArrayList<>();
+        List<YearSell> toUpdate = new ArrayList<>();
         
         for (YearSell aggregated : aggregatedData) {
-            try {
-                // Buscar registro existente para esta loja e ano
-                Optional<YearSell> existingOpt = yearSellRepository.findByStoreIdAndYear(
-                        aggregated.getStoreId(), 
-                        aggregated.getYear()
-                );
-                
-                if (existingOpt.isPresent()) {
-                    // Atualizar registro existente
-                    YearSell existing = existingOpt.get();
-                    log.debug("Atualizando registro existente: storeId={}, year={}, total antigo={}, total novo={}", 
-                            existing.getStoreId(), existing.getYear(), existing.getTotal(), aggregated.getTotal());
-                    
-                    updateExistingRecord(existing, aggregated);
-                    yearSellRepository.save(existing);
-                    updated++;
-                    
-                } else {
-                    // Criar novo registro
-                    log.debug("Criando novo registro: storeId={}, year={}, total={}", 
-                            aggregated.getStoreId(), aggregated.getYear(), aggregated.getTotal());
-                    
-                    yearSellRepository.save(aggregated);
-                    created++;
-                }
+            YearSell existing = existingMap.get(aggregated.getStoreId());
+            
+            if (existing == null) {
+                log.debug("Criando novo registro: storeId={}, year={}, total={}", 
+                        aggregated.getStoreId(), aggregated.getYear(), aggregated.getTotal());
+                toCreate.add(aggregated);
                 
-            } catch (Exception e) {
-                log.error("Erro ao processar registro: storeId={}, year={}, error={}", 
-                        aggregated.getStoreId(), aggregated.getYear(), e.getMessage(), e);
-                throw new RuntimeException("Erro ao processar registro: " + e.getMessage(), e);
+            } else if (existing.getTotal().compareTo(aggregated.getTotal()) != 0
+                    || !Objects.equals(existing.getStoreName(), aggregated.getStoreName())) {
+                log.warn("Divergência no total anual corrigida: loja={}, ano={}, registrado={}, calculado={}", 
+                        existing.getStoreCode(), existing.getYear(), existing.getTotal(), aggregated.getTotal());
+                updateExistingRecord(existing, aggregated);
+                toUpdate.add(existing);
             }
         }
         
-        log.debug("Processamento upsert concluído: criados={}, atualizados={}", created, updated);
+        try {
+            yearSellRepository.saveAll(toCreate);
+            yearSellRepository.saveAll(toUpdate);
+        } catch (Exception e) {
+            log.error("Erro ao persistir vendas anuais: year={}, error={}", year, e.getMessage(), e);
+            throw new RuntimeException("Erro ao processar registro: " + e.getMessage(), e);
+        }
+        
+        log.debug("Processamento upsert concluído: criados={}, atualizados={}, sem divergência={}", 
+                toCreate.size(), toUpdate.size(), aggregatedData.size() - toCreate.size() - toUpdate.size());
         
-        return new UpsertResult(created, updated);
+        return new UpsertResult(toCreate.size(), toUpdate.size());
     }
     
     /**
@@ -0,0 +1,92 @@
+package com.sysconard.business.client;
+
+import com.sysconard.business.config.CacheConfig;
+import com.sysconard.business.enums.LegacyEndpointFamily;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para o LegacyApiResilience.
+ * Valida a falha rápida com o circuito aberto e o retorno do último resultado conhecido.
+ */
+class LegacyApiResilienceTest {
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private LegacyApiResilience resilience;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        resilience = new LegacyApiResilience(
+                circuitBreakerRegistry,
+                BulkheadRegistry.ofDefaults(),
+                RetryRegistry.ofDefaults(),
+                new ConcurrentMapCacheManager(CacheConfig.LEGACY_LAST_RESULTS_CACHE));
+    }
+
+    @Test
+    void decorateWithFallback_ShouldReturnLastKnownResultWhenCircuitIsOpen() {
+        String key = LegacyApiResilience.cacheKey("/stocks", "REF1", null, 0, 20);
+        List<String> first = resilience.decorateWithFallback(LegacyEndpointFamily.STOCK, key, Mono.just(List.of("REF1")))
+                .block();
+
+        openCircuit(LegacyEndpointFamily.STOCK);
+        AtomicInteger legacyCalls = new AtomicInteger();
+        List<String> fallback = resilience.decorateWithFallback(LegacyEndpointFamily.STOCK, key,
+                        Mono.fromSupplier(() -> {
+                            legacyCalls.incrementAndGet();
+                            return List.of("REF2");
+                        }))
+                .block();
+
+        assertThat(fallback).isEqualTo(first);
+        assertThat(legacyCalls).hasValue(0);
+    }
+
+    @Test
+    void decorateWithFallback_ShouldFailFastWithoutLastKnownResult() {
+        openCircuit(LegacyEndpointFamily.CATALOG);
+
+        Mono<List<String>> call = resilience.decorateWithFallback(LegacyEndpointFamily.CATALOG,
+                LegacyApiResilience.cacheKey("/stores"), Mono.just(List.of("000001")));
+
+        assertThatThrownBy(call::block).isInstanceOf(CallNotPermittedException.class);
+    }
+
+    @Test
+    void decorateWithFallback_ShouldPropagateLegacyErrorsWhenCircuitIsClosed() {
+        String key = LegacyApiResilience.cacheKey("/critical-stock", 0, 20);
+        resilience.decorateWithFallback(LegacyEndpointFamily.STOCK, key, Mono.just("primeira página")).block();
+
+        Mono<String> call = resilience.decorateWithFallback(LegacyEndpointFamily.STOCK, key,
+                Mono.error(new IllegalStateException("SQL Server lento")));
+
+        assertThatThrownBy(call::block).hasMessageContaining("SQL Server lento");
+    }
+
+    @Test
+    void isRejected_ShouldDetectRejectionInCauseChain() {
+        openCircuit(LegacyEndpointFamily.SALES);
+        Throwable rejection = CallNotPermittedException.createCallNotPermittedException(
+                circuitBreakerRegistry.circuitBreaker(LegacyEndpointFamily.SALES.getInstanceName()));
+
+        assertThat(LegacyApiResilience.isRejected(new RuntimeException("wrapper", rejection))).isTrue();
+        assertThat(LegacyApiResilience.isRejected(new RuntimeException("timeout"))).isFalse();
+    }
+
+    private void openCircuit(LegacyEndpointFamily family) {
+        circuitBreakerRegistry.circuitBreaker(family.getInstanceName()).transitionToForcedOpenState();
+    }
+}
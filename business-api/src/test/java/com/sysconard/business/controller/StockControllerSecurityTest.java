@@ -0,0 +1,90 @@
+package com.sysconard.business.controller;
+
+import com.sysconard.business.config.SecurityConfig;
+import com.sysconard.business.dto.StockPageResponseDTO;
+import com.sysconard.business.service.StockService;
+import com.sysconard.business.service.security.CustomUserDetailsService;
+import com.sysconard.business.service.security.JwtService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de segurança do StockController com a cadeia de filtros real.
+ * Valida que a resposta assíncrona de uma requisição autenticada por token é entregue
+ * no dispatch ASYNC, que não passa novamente pelo filtro JWT.
+ *
+ * @author Business API
+ * @version 1.0
+ */
+@WebMvcTest(StockController.class)
+@Import(SecurityConfig.class)
+class StockControllerSecurityTest {
+
+    private static final String TOKEN = "token-de-teste";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StockService stockService;
+
+    @MockBean
+    private JwtService jwtService;
+
+    @MockBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Test
+    void shouldWriteAsyncResponseForAuthenticatedRequest() throws Exception {
+        // Given
+        authenticate("stock:read");
+        when(stockService.getStocksAsync(any())).thenReturn(CompletableFuture.completedFuture(
+                StockPageResponseDTO.builder().status("SUCCESS").content(List.of())
+                        .pagination(StockPageResponseDTO.PaginationMetadata.builder().totalElements(0L).build())
+                        .build()));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/stocks").header("Authorization", "Bearer " + TOKEN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"));
+    }
+
+    @Test
+    void shouldRejectRequestWithoutRequiredAuthority() throws Exception {
+        // Given
+        authenticate("sell:read");
+
+        // When & Then
+        mockMvc.perform(get("/stocks").header("Authorization", "Bearer " + TOKEN))
+                .andExpect(status().isForbidden());
+    }
+
+    private void authenticate(String authority) {
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn("usuario@teste.com");
+        when(jwtService.extractAllClaims(TOKEN)).thenReturn(claims);
+        when(jwtService.extractAuthorities(claims)).thenReturn(List.of(authority));
+        when(jwtService.isRevoked(claims)).thenReturn(false);
+    }
+}
@@ -0,0 +1,126 @@
+package com.sysconard.business.repository.export;
+
+import com.sysconard.business.dto.export.ExportRequest;
+import com.sysconard.business.entity.export.ExportJob;
+import com.sysconard.business.enums.ExportFormat;
+import com.sysconard.business.enums.ExportJobStatus;
+import com.sysconard.business.enums.ExportReport;
+import com.sysconard.business.service.export.ExportRowConsumer;
+import com.sysconard.business.service.export.ExportService;
+import com.sysconard.business.service.export.ReportExportSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração para o ExportJobRepository.
+ * Valida que o progresso gravado durante a exportação não depende da transação
+ * somente leitura em que as linhas do relatório são lidas.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ExportJobRepositoryTest {
+
+    @Autowired
+    private ExportJobRepository exportJobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void updateProgress_ShouldCommitOutsideReadOnlySourceTransaction() throws IOException {
+        // Given
+        ExportJob job = exportJobRepository.save(ExportJob.builder()
+                .report(ExportReport.DAILY_SALES)
+                .format(ExportFormat.CSV)
+                .parameters("{}")
+                .requestedBy("usuario@teste.com")
+                .status(ExportJobStatus.RUNNING)
+                .fileName("daily_sales.csv")
+                .build());
+        ExportService exportService = new ExportService(List.of(new ReadOnlyPeriodSource(transactionManager)));
+        ReflectionTestUtils.setField(exportService, "xlsxWindowSize", 100);
+        ReflectionTestUtils.setField(exportService, "syncMaxDays", 31L);
+        ReflectionTestUtils.setField(exportService, "progressInterval", 2L);
+        ExportRequest request = ExportRequest.builder()
+                .report(ExportReport.DAILY_SALES)
+                .startDate(LocalDate.of(2025, 1, 1))
+                .endDate(LocalDate.of(2025, 3, 31))
+                .build();
+
+        // When
+        long rows = exportService.export(request, new ByteArrayOutputStream(),
+                written -> exportJobRepository.updateProgress(job.getId(), written, LocalDateTime.now()));
+
+        // Then
+        assertThat(rows).isEqualTo(5);
+        assertThat(exportJobRepository.findById(job.getId()).orElseThrow().getRowsWritten()).isEqualTo(4);
+    }
+
+    /**
+     * Origem que lê as linhas em transação somente leitura, como as origens de vendas,
+     * e a descarta ao final: apenas o que foi gravado em transação própria permanece.
+     */
+    private static class ReadOnlyPeriodSource implements ReportExportSource {
+
+        private final TransactionTemplate readOnlyTransaction;
+
+        ReadOnlyPeriodSource(PlatformTransactionManager transactionManager) {
+            this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+            this.readOnlyTransaction.setReadOnly(true);
+        }
+
+        @Override
+        public ExportReport report() {
+            return ExportReport.DAILY_SALES;
+        }
+
+        @Override
+        public String requiredAuthority() {
+            return "sell:read";
+        }
+
+        @Override
+        public boolean isPeriodBased() {
+            return true;
+        }
+
+        @Override
+        public void validate(ExportRequest request) {
+        }
+
+        @Override
+        public List<String> columns(ExportRequest request) {
+            return List.of("Data", "Total");
+        }
+
+        @Override
+        public void export(ExportRequest request, ExportRowConsumer rows) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    for (int day = 1; day <= 5; day++) {
+                        rows.accept(List.of(LocalDate.of(2025, 1, day), BigDecimal.ONE));
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                status.setRollbackOnly();
+            });
+        }
+    }
+}
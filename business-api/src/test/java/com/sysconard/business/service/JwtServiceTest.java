@@ -0,0 +1,82 @@
+package com.sysconard.business.service;
+
+import com.sysconard.business.config.CacheConfig;
+import com.sysconard.business.service.security.JwtService;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários para o JwtService.
+ * Valida as autoridades gravadas nas claims e a revogação de tokens já emitidos.
+ */
+class JwtServiceTest {
+
+    private static final String SECRET = "chave-de-teste-com-pelo-menos-trinta-e-dois-bytes-para-hs256";
+
+    private JwtService jwtService;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "authoritiesInClaims", true);
+        ReflectionTestUtils.setField(jwtService, "cacheManager",
+                new ConcurrentMapCacheManager(CacheConfig.REVOKED_TOKENS_CACHE));
+
+        userDetails = User.withUsername("user@example.com")
+                .password("senha")
+                .authorities(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+                .build();
+    }
+
+    @Test
+    void shouldWriteAuthoritiesInClaimsWhenEnabled() {
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(userDetails));
+
+        assertThat(jwtService.extractAuthorities(claims)).containsExactly("ROLE_ADMIN", "ROLE_USER");
+        assertThat(jwtService.validateToken(claims, userDetails)).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreAuthoritiesInClaimsWhenDisabled() {
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(userDetails));
+        ReflectionTestUtils.setField(jwtService, "authoritiesInClaims", false);
+
+        assertThat(jwtService.extractAuthorities(claims)).isNull();
+    }
+
+    @Test
+    void shouldRevokeTokensIssuedBeforeRevocation() {
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(userDetails));
+        assertThat(jwtService.isRevoked(claims)).isFalse();
+
+        jwtService.revokeTokens("other@example.com");
+        assertThat(jwtService.isRevoked(claims)).isFalse();
+
+        jwtService.revokeTokens("user@example.com");
+        assertThat(jwtService.isRevoked(claims)).isTrue();
+    }
+
+    @Test
+    void shouldNotRevokeTokensIssuedAfterRevocation() {
+        jwtService.revokeAllTokens();
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(userDetails));
+        claims.setIssuedAt(Date.from(Instant.now().plusSeconds(1)));
+
+        assertThat(jwtService.isRevoked(claims)).isFalse();
+    }
+}
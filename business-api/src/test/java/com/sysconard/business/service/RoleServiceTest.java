@@ -8,6 +8,7 @@ import com.sysconard.business.entity.security.Role;
 import com.sysconard.business.repository.security.PermissionRepository;
 import com.sysconard.business.repository.security.RoleRepository;
 import com.sysconard.business.service.security.RoleService;
+import com.sysconard.business.service.security.JwtService;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -36,6 +37,9 @@ class RoleServiceTest {
     @Mock
     private PermissionRepository permissionRepository;
 
+    @Mock
+    private JwtService jwtService;
+
     @InjectMocks
     private RoleService roleService;
 
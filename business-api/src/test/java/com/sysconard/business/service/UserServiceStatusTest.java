@@ -8,6 +8,7 @@ import com.sysconard.business.entity.security.User;
 import com.sysconard.business.exception.security.UserNotFoundException;
 import com.sysconard.business.repository.security.UserRepository;
 import com.sysconard.business.service.security.UserService;
+import com.sysconard.business.service.security.JwtService;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +30,9 @@ class UserServiceStatusTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private JwtService jwtService;
+
     @InjectMocks
     private UserService userService;
 
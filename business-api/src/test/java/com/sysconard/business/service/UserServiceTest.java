@@ -13,6 +13,7 @@ import com.sysconard.business.dto.security.UserSearchRequest;
 import com.sysconard.business.dto.security.UserSearchResponse;
 import com.sysconard.business.repository.security.UserRepository;
 import com.sysconard.business.service.security.UserService;
+import com.sysconard.business.service.security.JwtService;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -20,6 +21,9 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private JwtService jwtService;
+
     @InjectMocks
     private UserService userService;
 
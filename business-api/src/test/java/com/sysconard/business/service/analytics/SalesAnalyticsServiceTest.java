@@ -0,0 +1,151 @@
+package com.sysconard.business.service.analytics;
+
+import com.sysconard.business.dto.analytics.BrandShareResponse;
+import com.sysconard.business.dto.analytics.SellerRankingResponse;
+import com.sysconard.business.dto.store.StoreResponseDto;
+import com.sysconard.business.repository.analytics.RollupRangePlan;
+import com.sysconard.business.repository.analytics.SalesRollupRepository;
+import com.sysconard.business.service.store.StoreService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o SalesAnalyticsService e o RollupRangePlan.
+ * Valida a escolha dos agregados mensais e diários e o cálculo dos rankings.
+ */
+@ExtendWith(MockitoExtension.class)
+class SalesAnalyticsServiceTest {
+    
+    @Mock
+    private SalesRollupRepository salesRollupRepository;
+    
+    @Mock
+    private StoreService storeService;
+    
+    @InjectMocks
+    private SalesAnalyticsService salesAnalyticsService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(salesAnalyticsService, "maxLimit", 100);
+    }
+    
+    @Test
+    void shouldReadFullMonthsFromMonthlyRollupsAndEdgesFromDaily() {
+        // When
+        RollupRangePlan plan = RollupRangePlan.of(LocalDate.of(2023, 1, 15), LocalDate.of(2025, 3, 10));
+        
+        // Then
+        assertThat(plan.usesMonthlyRollups()).isTrue();
+        assertThat(plan.monthFrom()).isEqualTo(LocalDate.of(2023, 2, 1));
+        assertThat(plan.monthTo()).isEqualTo(LocalDate.of(2025, 2, 1));
+        assertThat(plan.headFrom()).isEqualTo(LocalDate.of(2023, 1, 15));
+        assertThat(plan.headTo()).isEqualTo(LocalDate.of(2023, 1, 31));
+        assertThat(plan.tailFrom()).isEqualTo(LocalDate.of(2025, 3, 1));
+        assertThat(plan.tailTo()).isEqualTo(LocalDate.of(2025, 3, 10));
+    }
+    
+    @Test
+    void shouldUseOnlyMonthlyRollupsForWholeMonths() {
+        // When
+        RollupRangePlan plan = RollupRangePlan.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        
+        // Then
+        assertThat(plan.monthFrom()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(plan.monthTo()).isEqualTo(LocalDate.of(2024, 12, 1));
+        assertThat(plan.headFrom()).isAfter(plan.headTo());
+        assertThat(plan.tailFrom()).isAfter(plan.tailTo());
+    }
+    
+    @Test
+    void shouldUseOnlyDailyRollupsWithinSingleMonth() {
+        // When
+        RollupRangePlan plan = RollupRangePlan.of(LocalDate.of(2024, 2, 3), LocalDate.of(2024, 2, 20));
+        
+        // Then
+        assertThat(plan.usesMonthlyRollups()).isFalse();
+        assertThat(plan.headFrom()).isEqualTo(LocalDate.of(2024, 2, 3));
+        assertThat(plan.headTo()).isEqualTo(LocalDate.of(2024, 2, 20));
+        assertThat(plan.tailFrom()).isAfter(plan.tailTo());
+    }
+    
+    @Test
+    void shouldComputeBrandShareOverActiveStores() {
+        // Given
+        when(storeService.getAllActiveStores()).thenReturn(List.of(store("000001"), store("000002")));
+        when(salesRollupRepository.findBrandTotals(any(), anyCollection(), isNull())).thenReturn(List.of(
+                new Object[]{"SAMSUNG", 30L, new BigDecimal("7500.00")},
+                new Object[]{"LG", 10L, new BigDecimal("2500.00")}));
+        
+        // When
+        List<BrandShareResponse> share = salesAnalyticsService.getBrandShare(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 6, 30), null, null);
+        
+        // Then
+        assertThat(share).extracting(BrandShareResponse::brand).containsExactly("SAMSUNG", "LG");
+        assertThat(share).extracting(BrandShareResponse::sharePercentage)
+                .containsExactly(new BigDecimal("75.00"), new BigDecimal("25.00"));
+        ArgumentCaptor<List<String>> stores = ArgumentCaptor.forClass(List.class);
+        verify(salesRollupRepository).findBrandTotals(any(), stores.capture(), isNull());
+        assertThat(stores.getValue()).containsExactly("000001", "000002");
+    }
+    
+    @Test
+    void shouldRankSellersInReturnedOrder() {
+        // Given
+        when(storeService.getAllActiveStores()).thenReturn(List.of(store("000001")));
+        when(salesRollupRepository.findSellerRanking(any(), eq(List.of("000001")), eq(2))).thenReturn(List.of(
+                new Object[]{"000138", "ANA", 12L, new BigDecimal("9000.00"), 15L},
+                new Object[]{"000140", null, 8L, new BigDecimal("4000.00"), 9L}));
+        
+        // When
+        List<SellerRankingResponse> ranking = salesAnalyticsService.getSellerRanking(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "000001", 2);
+        
+        // Then
+        assertThat(ranking).extracting(SellerRankingResponse::position).containsExactly(1, 2);
+        assertThat(ranking.get(0).collaboratorName()).isEqualTo("ANA");
+        assertThat(ranking.get(1).itemCount()).isEqualTo(9L);
+    }
+    
+    @Test
+    void shouldRejectStoreOutsideActiveStores() {
+        // Given
+        when(storeService.getAllActiveStores()).thenReturn(List.of(store("000001")));
+        
+        // When / Then
+        assertThatThrownBy(() -> salesAnalyticsService.getTopProducts(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "999999", false, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(salesRollupRepository);
+    }
+    
+    @Test
+    void shouldRejectLimitAboveMaximum() {
+        assertThatThrownBy(() -> salesAnalyticsService.getTopProducts(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), null, false, 500))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(salesRollupRepository, storeService);
+    }
+    
+    private static StoreResponseDto store(String code) {
+        StoreResponseDto store = new StoreResponseDto();
+        store.setCode(code);
+        return store;
+    }
+}
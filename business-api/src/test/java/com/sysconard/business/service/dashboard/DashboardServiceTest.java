@@ -7,14 +7,17 @@ import com.sysconard.business.repository.sell.MonthlySellRepository;
 import com.sysconard.business.repository.sell.YearSellRepository;
 import com.sysconard.business.service.sell.CurrentDailySalesService;
 import com.sysconard.business.service.store.StoreService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
@@ -88,6 +91,15 @@ class DashboardServiceTest {
                 .status(true)
                 .build()
         );
+        
+        ReflectionTestUtils.setField(dashboardService, "todayThreads", 1);
+        ReflectionTestUtils.setField(dashboardService, "metricThreads", 2);
+        dashboardService.initExecutors();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        dashboardService.shutdownExecutors();
     }
     
     @Test
@@ -164,6 +176,56 @@ class DashboardServiceTest {
         assertThat(result.totalSalesMonth()).isEqualByComparingTo(BigDecimal.valueOf(50000));
         assertThat(result.totalSalesYear()).isEqualByComparingTo(BigDecimal.valueOf(600000));
         assertThat(result.activeStoresCount()).isEqualTo(2);
+        assertThat(result.unavailableMetrics()).containsExactly("totalSalesToday");
+    }
+    
+    @Test
+    void shouldReturnPartialSummaryWhenTodayMetricTimesOut() {
+        // Given
+        ReflectionTestUtils.setField(dashboardService, "todayTimeout", Duration.ofMillis(50));
+        when(currentDailySalesService.getCurrentDailySales()).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return mockDailySales;
+        });
+        when(monthlySellRepository.sumTotalByYearMonth(anyString())).thenReturn(BigDecimal.valueOf(50000));
+        when(yearSellRepository.sumTotalByYear(any(Integer.class))).thenReturn(BigDecimal.valueOf(600000));
+        when(storeService.getAllActiveStores()).thenReturn(mockStores);
+        
+        // When
+        long start = System.currentTimeMillis();
+        DashboardSummaryResponse result = dashboardService.getDashboardSummary();
+        long elapsed = System.currentTimeMillis() - start;
+        
+        // Then
+        assertThat(elapsed).isLessThan(1500);
+        assertThat(result.totalSalesToday()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(result.totalSalesMonth()).isEqualByComparingTo(BigDecimal.valueOf(50000));
+        assertThat(result.totalSalesYear()).isEqualByComparingTo(BigDecimal.valueOf(600000));
+        assertThat(result.activeStoresCount()).isEqualTo(2);
+        assertThat(result.unavailableMetrics()).containsExactly("totalSalesToday");
+    }
+    
+    @Test
+    void shouldKeepLocalMetricsAvailableWhileTodayThreadsAreBlocked() {
+        // Given
+        ReflectionTestUtils.setField(dashboardService, "todayTimeout", Duration.ofMillis(50));
+        when(currentDailySalesService.getCurrentDailySales()).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return mockDailySales;
+        });
+        when(monthlySellRepository.sumTotalByYearMonth(anyString())).thenReturn(BigDecimal.valueOf(50000));
+        when(yearSellRepository.sumTotalByYear(any(Integer.class))).thenReturn(BigDecimal.valueOf(600000));
+        when(storeService.getAllActiveStores()).thenReturn(mockStores);
+        
+        // When - a primeira requisição ocupa a única thread da métrica de hoje
+        dashboardService.getDashboardSummary();
+        DashboardSummaryResponse result = dashboardService.getDashboardSummary();
+        
+        // Then
+        assertThat(result.totalSalesMonth()).isEqualByComparingTo(BigDecimal.valueOf(50000));
+        assertThat(result.totalSalesYear()).isEqualByComparingTo(BigDecimal.valueOf(600000));
+        assertThat(result.activeStoresCount()).isEqualTo(2);
+        assertThat(result.unavailableMetrics()).containsExactly("totalSalesToday");
     }
     
     @Test
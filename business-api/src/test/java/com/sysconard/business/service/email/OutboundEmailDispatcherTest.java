@@ -0,0 +1,115 @@
+package com.sysconard.business.service.email;
+
+import com.sysconard.business.entity.email.OutboundEmail;
+import com.sysconard.business.enums.OutboundEmailStatus;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o OutboundEmailDispatcher.
+ * Valida o envio em lote por uma conexão SMTP e o tratamento de falhas parciais.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboundEmailDispatcherTest {
+    
+    @Mock
+    private OutboundEmailQueue outboundEmailQueue;
+    
+    @Mock
+    private JavaMailSender mailSender;
+    
+    @InjectMocks
+    private OutboundEmailDispatcher outboundEmailDispatcher;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboundEmailDispatcher, "defaultFrom", "relatorios@glojas.com");
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+    }
+    
+    @Test
+    void shouldSendWholeBatchInSingleSmtpCall() throws Exception {
+        // Given
+        OutboundEmail first = email("Relatório A", "a@glojas.com,b@glojas.com");
+        OutboundEmail second = email("Relatório B", "c@glojas.com");
+        
+        // When
+        outboundEmailDispatcher.sendBatch(List.of(first, second));
+        
+        // Then
+        ArgumentCaptor<MimeMessage[]> captor = ArgumentCaptor.forClass(MimeMessage[].class);
+        verify(mailSender, times(1)).send(captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        assertThat(captor.getValue()[0].getAllRecipients()).hasSize(3);
+        verify(outboundEmailQueue).markSent(List.of(first, second));
+        verify(outboundEmailQueue, never()).markFailed(any(), any());
+    }
+    
+    @Test
+    void shouldRescheduleOnlyFailedMessages() {
+        // Given
+        OutboundEmail first = email("Relatório A", "a@glojas.com");
+        OutboundEmail second = email("Relatório B", "b@glojas.com");
+        doAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            Object last = arguments[arguments.length - 1];
+            MimeMessage failed = last instanceof MimeMessage[] messages ? messages[1] : (MimeMessage) last;
+            throw new MailSendException(Map.of(failed, new RuntimeException("550 mailbox unavailable")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+        when(outboundEmailQueue.markFailed(any(), any())).thenReturn(true);
+        
+        // When
+        outboundEmailDispatcher.sendBatch(List.of(first, second));
+        
+        // Then
+        verify(outboundEmailQueue).markSent(List.of(first));
+        verify(outboundEmailQueue).markFailed(eq(second), any());
+    }
+    
+    @Test
+    void shouldRescheduleAllMessagesWhenConnectionFails() {
+        // Given
+        OutboundEmail first = email("Relatório A", "a@glojas.com");
+        OutboundEmail second = email("Relatório B", "b@glojas.com");
+        doThrow(new IllegalStateException("connection refused")).when(mailSender).send(any(MimeMessage[].class));
+        when(outboundEmailQueue.markFailed(any(), any())).thenReturn(true);
+        
+        // When
+        outboundEmailDispatcher.sendBatch(List.of(first, second));
+        
+        // Then
+        verify(outboundEmailQueue, never()).markSent(any());
+        verify(outboundEmailQueue).markFailed(eq(first), any());
+        verify(outboundEmailQueue).markFailed(eq(second), any());
+    }
+    
+    private static OutboundEmail email(String subject, String recipients) {
+        return OutboundEmail.builder()
+                .subject(subject)
+                .htmlBody("<html><body>ok</body></html>")
+                .recipients(recipients)
+                .status(OutboundEmailStatus.SENDING)
+                .attempts(1)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.sysconard.business.service.email;
+
+import com.sysconard.business.entity.email.OutboundEmail;
+import com.sysconard.business.enums.OutboundEmailStatus;
+import com.sysconard.business.repository.email.OutboundEmailRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o OutboundEmailQueue.
+ * Valida o registro da reserva e a devolução à fila apenas de reservas próprias ou vencidas.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboundEmailQueueTest {
+
+    @Mock
+    private OutboundEmailRepository outboundEmailRepository;
+
+    @InjectMocks
+    private OutboundEmailQueue outboundEmailQueue;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboundEmailQueue, "configuredInstanceId", "business-1");
+        ReflectionTestUtils.setField(outboundEmailQueue, "claimTimeout", Duration.ofMinutes(30));
+        outboundEmailQueue.init();
+    }
+
+    @Test
+    void claimDue_ShouldRecordClaimingInstanceAndTime() {
+        // Given
+        OutboundEmail email = OutboundEmail.builder().status(OutboundEmailStatus.PENDING).build();
+        when(outboundEmailRepository.lockDuePending(any(), eq(10))).thenReturn(List.of(email));
+        when(outboundEmailRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        outboundEmailQueue.claimDue(10);
+
+        // Then
+        assertThat(email.getStatus()).isEqualTo(OutboundEmailStatus.SENDING);
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getClaimedBy()).isEqualTo("business-1");
+        assertThat(email.getClaimedAt()).isNotNull();
+    }
+
+    @Test
+    void releaseInterrupted_ShouldReleaseOwnAndExpiredClaimsOnly() {
+        // When
+        outboundEmailQueue.releaseInterrupted();
+        outboundEmailQueue.releaseExpiredClaims();
+
+        // Then
+        verify(outboundEmailRepository).releaseSending(eq("business-1"),
+                argThat(limit -> limit.isBefore(LocalDateTime.now().minusMinutes(29))), any());
+        verify(outboundEmailRepository).releaseSending(isNull(),
+                argThat(limit -> limit.isBefore(LocalDateTime.now().minusMinutes(29))), any());
+    }
+}
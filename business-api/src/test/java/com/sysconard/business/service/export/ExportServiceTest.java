@@ -0,0 +1,124 @@
+package com.sysconard.business.service.export;
+
+import com.sysconard.business.dto.export.ExportRequest;
+import com.sysconard.business.enums.ExportReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários para o ExportService.
+ * Valida a gravação das linhas em CSV, a permissão por relatório e o limite da exportação direta.
+ */
+class ExportServiceTest {
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(List.of(new FakeDailySalesSource()));
+        ReflectionTestUtils.setField(exportService, "xlsxWindowSize", 100);
+        ReflectionTestUtils.setField(exportService, "syncMaxDays", 31L);
+        ReflectionTestUtils.setField(exportService, "progressInterval", 2L);
+    }
+
+    @Test
+    void export_ShouldWriteCsvRowsAndReportProgress() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<Long> progress = new ArrayList<>();
+
+        long rows = exportService.export(request(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)),
+                out, progress::add);
+
+        assertThat(rows).isEqualTo(3);
+        assertThat(progress).containsExactly(2L);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "Data,Loja,Total\r\n"
+                + "2025-01-01,\"Loja Centro, Matriz\",100.50\r\n"
+                + "2025-01-01,\"Loja \"\"Norte\"\"\",0\r\n"
+                + "2025-01-02,'=SUM(A1),1000\r\n");
+    }
+
+    @Test
+    void validate_ShouldRejectUserWithoutReportAuthority() {
+        ExportRequest request = request(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+        assertThatThrownBy(() -> exportService.validate(request, new TestingAuthenticationToken("user", "", "stock:read")))
+                .isInstanceOf(AccessDeniedException.class);
+
+        exportService.validate(request, new TestingAuthenticationToken("user", "", "sell:read"));
+    }
+
+    @Test
+    void validateSync_ShouldRejectPeriodAboveLimit() {
+        exportService.validateSync(request(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)));
+
+        assertThatThrownBy(() -> exportService.validateSync(request(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("/exports/jobs");
+    }
+
+    @Test
+    void fileName_ShouldIncludeReportPeriodAndExtension() {
+        assertThat(exportService.fileName(request(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31))))
+                .isEqualTo("daily_sales_2025-01-01_2025-01-31.csv");
+    }
+
+    private static ExportRequest request(LocalDate startDate, LocalDate endDate) {
+        return ExportRequest.builder()
+                .report(ExportReport.DAILY_SALES)
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+    }
+
+    /**
+     * Origem com linhas fixas, incluindo textos que exigem escape no CSV.
+     */
+    private static class FakeDailySalesSource implements ReportExportSource {
+
+        @Override
+        public ExportReport report() {
+            return ExportReport.DAILY_SALES;
+        }
+
+        @Override
+        public String requiredAuthority() {
+            return "sell:read";
+        }
+
+        @Override
+        public boolean isPeriodBased() {
+            return true;
+        }
+
+        @Override
+        public void validate(ExportRequest request) {
+        }
+
+        @Override
+        public List<String> columns(ExportRequest request) {
+            return List.of("Data", "Loja", "Total");
+        }
+
+        @Override
+        public void export(ExportRequest request, ExportRowConsumer rows) throws IOException {
+            rows.accept(List.of(LocalDate.of(2025, 1, 1), "Loja Centro, Matriz", new BigDecimal("100.50")));
+            rows.accept(List.of(LocalDate.of(2025, 1, 1), "Loja \"Norte\"", BigDecimal.ZERO));
+            rows.accept(List.of(LocalDate.of(2025, 1, 2), "=SUM(A1)", new BigDecimal("1E+3")));
+        }
+    }
+}
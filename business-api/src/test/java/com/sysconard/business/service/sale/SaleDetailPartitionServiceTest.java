@@ -0,0 +1,114 @@
+package com.sysconard.business.service.sale;
+
+import com.sysconard.business.repository.sale.SaleDetailPartitionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o SaleDetailPartitionService.
+ * Valida a criação apenas das partições ausentes e a conferência do arquivamento.
+ */
+@ExtendWith(MockitoExtension.class)
+class SaleDetailPartitionServiceTest {
+
+    @Mock
+    private SaleDetailPartitionRepository partitionRepository;
+
+    @InjectMocks
+    private SaleDetailPartitionService partitionService;
+
+    @Test
+    void shouldCreateOnlyMissingMonthsAndCacheThem() {
+        // Given
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.findPartitionMonths()).thenReturn(List.of(YearMonth.of(2025, 1), YearMonth.of(2025, 2)));
+
+        // When
+        int created = partitionService.ensurePartitions(LocalDate.of(2025, 1, 15), LocalDate.of(2025, 4, 2));
+        int createdAgain = partitionService.ensurePartitions(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 4, 30));
+
+        // Then
+        assertThat(created).isEqualTo(2);
+        assertThat(createdAgain).isZero();
+        verify(partitionRepository).createPartition(YearMonth.of(2025, 3));
+        verify(partitionRepository).createPartition(YearMonth.of(2025, 4));
+        verify(partitionRepository, times(1)).lockPartitionDdl();
+        verify(partitionRepository, times(1)).isPartitioned();
+    }
+
+    @Test
+    void shouldDoNothingWhenTableIsNotPartitioned() {
+        // Given
+        when(partitionRepository.isPartitioned()).thenReturn(false);
+
+        // When
+        int created = partitionService.ensurePartitions(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+
+        // Then
+        assertThat(created).isZero();
+        assertThat(partitionService.findPartitionsBefore(YearMonth.of(2025, 1))).isEmpty();
+        verify(partitionRepository, never()).createPartition(any());
+        verify(partitionRepository, never()).findPartitionMonths();
+    }
+
+    @Test
+    void shouldReturnPartitionsOlderThanCutoff() {
+        // Given
+        when(partitionRepository.isPartitioned()).thenReturn(true);
+        when(partitionRepository.findPartitionMonths())
+                .thenReturn(List.of(YearMonth.of(2021, 11), YearMonth.of(2021, 12), YearMonth.of(2022, 1)));
+
+        // When
+        List<YearMonth> expired = partitionService.findPartitionsBefore(YearMonth.of(2022, 1));
+
+        // Then
+        assertThat(expired).containsExactly(YearMonth.of(2021, 11), YearMonth.of(2021, 12));
+    }
+
+    @Test
+    void shouldDropPartitionOnlyWhenArchivedRowsMatch() {
+        // Given
+        YearMonth month = YearMonth.of(2021, 11);
+        when(partitionRepository.countRows(month)).thenReturn(1200L);
+
+        // When
+        partitionService.retirePartition(month, 1200L, true);
+
+        // Then
+        verify(partitionRepository).detachPartition(month);
+        verify(partitionRepository).dropPartitionTable(month);
+    }
+
+    @Test
+    void shouldFailRetirementWhenRowsChangedAfterExport() {
+        // Given
+        YearMonth month = YearMonth.of(2021, 11);
+        when(partitionRepository.countRows(month)).thenReturn(1201L);
+
+        // When / Then
+        assertThatThrownBy(() -> partitionService.retirePartition(month, 1200L, true))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("sale_details_p202111");
+        verify(partitionRepository, never()).dropPartitionTable(any());
+    }
+
+    @Test
+    void shouldMapPartitionNamesToMonths() {
+        assertThat(SaleDetailPartitionRepository.partitionName(YearMonth.of(2025, 3))).isEqualTo("sale_details_p202503");
+        assertThat(SaleDetailPartitionRepository.monthOf("sale_details_p202503")).contains(YearMonth.of(2025, 3));
+        assertThat(SaleDetailPartitionRepository.monthOf("sale_details_default")).isEmpty();
+        assertThat(SaleDetailPartitionRepository.monthOf("sale_details_unpartitioned")).isEmpty();
+    }
+}
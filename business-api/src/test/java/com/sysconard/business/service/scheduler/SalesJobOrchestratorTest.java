@@ -0,0 +1,277 @@
+package com.sysconard.business.service.scheduler;
+
+import com.sysconard.business.dto.scheduler.JobRunResponse;
+import com.sysconard.business.dto.sync.DailySalesSyncResponse;
+import com.sysconard.business.dto.sync.MonthlySalesSyncResponse;
+import com.sysconard.business.dto.sync.YearlySalesSyncRequest;
+import com.sysconard.business.dto.sync.YearlySalesSyncResponse;
+import com.sysconard.business.entity.scheduler.JobRun;
+import com.sysconard.business.enums.JobRunStatus;
+import com.sysconard.business.enums.JobTrigger;
+import com.sysconard.business.enums.SchedulerJob;
+import com.sysconard.business.repository.scheduler.JobRunRepository;
+import com.sysconard.business.service.sync.YearlySalesSyncService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o SalesJobOrchestrator.
+ * Valida a ordem da cadeia, a deduplicação de jobs concluídos e a associação a execuções em andamento.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SalesJobOrchestratorTest {
+    
+    private static final LocalDate RUN_DATE = LocalDate.of(2025, 3, 10);
+    
+    @Mock
+    private JobLeaseService jobLeaseService;
+    
+    @Mock
+    private JobRunRepository jobRunRepository;
+    
+    @Mock
+    private DailySalesSchedulerService dailySalesSchedulerService;
+    
+    @Mock
+    private MonthlySalesSchedulerService monthlySalesSchedulerService;
+    
+    @Mock
+    private YearlySalesSyncService yearlySalesSyncService;
+    
+    @InjectMocks
+    private SalesJobOrchestrator salesJobOrchestrator;
+    
+    private final List<JobRun> savedRuns = Collections.synchronizedList(new ArrayList<>());
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(salesJobOrchestrator, "configuredInstanceId", "instance-a");
+        ReflectionTestUtils.setField(salesJobOrchestrator, "leaseTtl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(salesJobOrchestrator, "joinPollInterval", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(salesJobOrchestrator, "joinTimeout", Duration.ofSeconds(5));
+        salesJobOrchestrator.init();
+        
+        when(jobLeaseService.tryAcquire(anyString(), anyString(), any())).thenReturn(true);
+        when(jobRunRepository.save(any(JobRun.class))).thenAnswer(invocation -> {
+            JobRun run = invocation.getArgument(0);
+            if (run.getId() == null) {
+                run.setId(UUID.randomUUID());
+                savedRuns.add(run);
+            }
+            return run;
+        });
+        when(jobRunRepository.findFirstByJobNameAndRunDateAndStatusOrderByStartedAtDesc(anyString(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(jobRunRepository.findByPipelineRunIdOrderByStartedAtAsc(any())).thenAnswer(invocation -> {
+            UUID pipelineRunId = invocation.getArgument(0);
+            return savedRuns.stream().filter(run -> pipelineRunId.equals(run.getPipelineRunId())).toList();
+        });
+        when(monthlySalesSchedulerService.isScheduleEnabled()).thenReturn(true);
+        when(dailySalesSchedulerService.syncDailySales(RUN_DATE))
+                .thenReturn(DailySalesSyncResponse.builder().created(3).updated(1).storesProcessed(4).build());
+        when(monthlySalesSchedulerService.syncMonthlySales(RUN_DATE))
+                .thenReturn(MonthlySalesSyncResponse.builder().created(0).updated(4).storesProcessed(4).monthsProcessed(1).build());
+        when(yearlySalesSyncService.syncYearlySales(any(YearlySalesSyncRequest.class)))
+                .thenReturn(YearlySalesSyncResponse.builder()
+                        .created(0).updated(4).processedAt(LocalDateTime.now()).year(2025).storesProcessed(4).build());
+    }
+    
+    @AfterEach
+    void tearDown() {
+        salesJobOrchestrator.shutdown();
+    }
+    
+    @Test
+    void shouldRunChainInDependencyOrderUnderLeases() throws Exception {
+        // When
+        JobRunResponse result = salesJobOrchestrator
+                .submit(SchedulerJob.DAILY_SALES_SYNC, RUN_DATE, JobTrigger.SCHEDULED)
+                .completion().get(5, TimeUnit.SECONDS);
+        
+        // Then
+        assertThat(result.status()).isEqualTo(JobRunStatus.COMPLETED);
+        assertThat(result.steps()).extracting(JobRunResponse::jobName)
+                .containsExactly("daily-sales-sync", "monthly-sales-sync", "yearly-sales-sync", "sales-email");
+        assertThat(result.steps()).extracting(JobRunResponse::status).containsOnly(JobRunStatus.COMPLETED);
+        assertThat(result.steps().get(0).created()).isEqualTo(3);
+        verify(dailySalesSchedulerService).sendDailySalesEmail(eq(RUN_DATE), argThat(stats -> stats.created() == 3));
+        verify(jobLeaseService, times(4)).release(anyString(), startsWith("instance-a/"));
+    }
+    
+    @Test
+    void shouldSkipJobsAlreadyCompletedForTheDayOnScheduledRuns() throws Exception {
+        // Given: outra instância já concluiu a sincronização diária
+        JobRun completed = JobRun.builder()
+                .id(UUID.randomUUID())
+                .jobName("daily-sales-sync")
+                .runDate(RUN_DATE)
+                .status(JobRunStatus.COMPLETED)
+                .createdCount(7)
+                .startedAt(LocalDateTime.now())
+                .finishedAt(LocalDateTime.now())
+                .build();
+        when(jobRunRepository.findFirstByJobNameAndRunDateAndStatusOrderByStartedAtDesc(
+                eq("daily-sales-sync"), eq(RUN_DATE), eq(JobRunStatus.COMPLETED)))
+                .thenReturn(Optional.of(completed));
+        
+        // When
+        JobRunResponse result = salesJobOrchestrator
+                .submit(SchedulerJob.DAILY_SALES_SYNC, RUN_DATE, JobTrigger.SCHEDULED)
+                .completion().get(5, TimeUnit.SECONDS);
+        
+        // Then
+        assertThat(result.steps().get(0).status()).isEqualTo(JobRunStatus.SKIPPED);
+        verify(dailySalesSchedulerService, never()).syncDailySales(any());
+        verify(dailySalesSchedulerService).sendDailySalesEmail(eq(RUN_DATE), argThat(stats -> stats.created() == 7));
+    }
+    
+    @Test
+    void shouldSkipDependentJobsWhenJobFails() throws Exception {
+        // Given
+        when(dailySalesSchedulerService.syncDailySales(RUN_DATE)).thenThrow(new RuntimeException("Legacy API indisponível"));
+        
+        // When
+        JobRunResponse result = salesJobOrchestrator
+                .submit(SchedulerJob.DAILY_SALES_SYNC, RUN_DATE, JobTrigger.MANUAL)
+                .completion().get(5, TimeUnit.SECONDS);
+        
+        // Then
+        assertThat(result.status()).isEqualTo(JobRunStatus.FAILED);
+        assertThat(result.steps()).extracting(JobRunResponse::status)
+                .containsExactly(JobRunStatus.FAILED, JobRunStatus.SKIPPED, JobRunStatus.SKIPPED, JobRunStatus.SKIPPED);
+        verifyNoInteractions(yearlySalesSyncService);
+        verify(dailySalesSchedulerService, never()).sendDailySalesEmail(any(), any());
+    }
+    
+    @Test
+    void shouldJoinInFlightRunInsteadOfStartingDuplicate() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(dailySalesSchedulerService.syncDailySales(RUN_DATE)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return DailySalesSyncResponse.builder().created(1).build();
+        });
+        
+        // When
+        SalesJobOrchestrator.PipelineSubmission first =
+                salesJobOrchestrator.submit(SchedulerJob.DAILY_SALES_SYNC, RUN_DATE, JobTrigger.MANUAL);
+        SalesJobOrchestrator.PipelineSubmission second =
+                salesJobOrchestrator.submit(SchedulerJob.DAILY_SALES_SYNC, RUN_DATE, JobTrigger.MANUAL);
+        release.countDown();
+        first.completion().get(5, TimeUnit.SECONDS);
+        
+        // Then
+        assertThat(first.joined()).isFalse();
+        assertThat(second.joined()).isTrue();
+        assertThat(second.runId()).isEqualTo(first.runId());
+        verify(dailySalesSchedulerService, times(1)).syncDailySales(RUN_DATE);
+    }
+    
+    @Test
+    void shouldJoinRunInProgressOnAnotherInstance() throws Exception {
+        // Given: a mesma cadeia está em execução em outra instância
+        UUID remoteRunId = UUID.randomUUID();
+        JobRun remoteRun = JobRun.builder()
+                .id(remoteRunId)
+                .jobName("sales-pipeline")
+                .startJob("daily-sales-sync")
+                .runDate(RUN_DATE)
+                .status(JobRunStatus.RUNNING)
+                .owner("instance-b")
+                .startedAt(LocalDateTime.now())
+                .heartbeatAt(LocalDateTime.now())
+                .build();
+        when(jobRunRepository.findFirstByJobNameAndStartJobAndRunDateAndStatusAndHeartbeatAtAfterOrderByStartedAtDesc(
+                eq("sales-pipeline"), eq("daily-sales-sync"), eq(RUN_DATE), eq(JobRunStatus.RUNNING), any()))
+                .thenReturn(Optional.of(remoteRun));
+        JobRun finishedRun = JobRun.builder()
+                .id(remoteRunId)
+                .jobName("sales-pipeline")
+                .runDate(RUN_DATE)
+                .status(JobRunStatus.COMPLETED)
+                .owner("instance-b")
+                .startedAt(remoteRun.getStartedAt())
+                .finishedAt(LocalDateTime.now())
+                .build();
+        when(jobRunRepository.findById(remoteRunId)).thenReturn(Optional.of(finishedRun));
+        
+        // When
+        SalesJobOrchestrator.PipelineSubmission submission =
+                salesJobOrchestrator.submit(SchedulerJob.DAILY_SALES_SYNC, RUN_DATE, JobTrigger.MANUAL);
+        JobRunResponse result = submission.completion().get(5, TimeUnit.SECONDS);
+        
+        // Then
+        assertThat(submission.joined()).isTrue();
+        assertThat(submission.runId()).isEqualTo(remoteRunId);
+        assertThat(result.status()).isEqualTo(JobRunStatus.COMPLETED);
+        verify(dailySalesSchedulerService, never()).syncDailySales(any());
+    }
+    
+    @Test
+    void shouldSkipDownstreamJobsCompletedByEarlierOverlappingChainOnManualRuns() throws Exception {
+        // Given: uma cadeia iniciada antes desta enviou os emails do dia enquanto esta executava
+        JobRun completedEmail = JobRun.builder()
+                .id(UUID.randomUUID())
+                .jobName("sales-email")
+                .runDate(RUN_DATE)
+                .pipelineRunId(UUID.randomUUID())
+                .status(JobRunStatus.COMPLETED)
+                .startedAt(LocalDateTime.now())
+                .finishedAt(LocalDateTime.now())
+                .build();
+        when(jobRunRepository.findCompletedByOverlappingPipelines(eq("sales-email"), eq(RUN_DATE), any(), any()))
+                .thenReturn(List.of(completedEmail));
+        
+        // When
+        JobRunResponse result = salesJobOrchestrator
+                .submit(SchedulerJob.DAILY_SALES_SYNC, RUN_DATE, JobTrigger.MANUAL)
+                .completion().get(5, TimeUnit.SECONDS);
+        
+        // Then
+        assertThat(result.steps()).extracting(JobRunResponse::status)
+                .containsExactly(JobRunStatus.COMPLETED, JobRunStatus.COMPLETED, JobRunStatus.COMPLETED, JobRunStatus.SKIPPED);
+        verify(dailySalesSchedulerService).syncDailySales(RUN_DATE);
+        verify(dailySalesSchedulerService, never()).sendDailySalesEmail(any(), any());
+        verify(jobRunRepository, never()).findCompletedByOverlappingPipelines(eq("daily-sales-sync"), any(), any(), any());
+    }
+    
+    @Test
+    void shouldWaitForLeaseHeldByAnotherInstance() throws Exception {
+        // Given: a lease diária está com outra instância nas duas primeiras tentativas
+        when(jobLeaseService.tryAcquire(eq("daily-sales-sync"), anyString(), any()))
+                .thenReturn(false, false, true);
+        
+        // When
+        JobRunResponse result = salesJobOrchestrator
+                .submit(SchedulerJob.DAILY_SALES_SYNC, RUN_DATE, JobTrigger.SCHEDULED)
+                .completion().get(5, TimeUnit.SECONDS);
+        
+        // Then
+        assertThat(result.status()).isEqualTo(JobRunStatus.COMPLETED);
+        verify(jobLeaseService, times(3)).tryAcquire(eq("daily-sales-sync"), anyString(), any());
+    }
+}
@@ -0,0 +1,212 @@
+package com.sysconard.business.service.sell;
+
+import com.sysconard.business.config.JacksonConfig;
+import com.sysconard.business.dto.sell.DailySalesReportResponse;
+import com.sysconard.business.service.store.StoreService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Testes unitários para o CurrentDailySalesStreamService.
+ * Valida o envio apenas das lojas alteradas e o reenvio dos eventos perdidos na reconexão.
+ */
+@ExtendWith(MockitoExtension.class)
+class CurrentDailySalesStreamServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 10, 6);
+
+    @Mock
+    private TodaySalesSnapshotService todaySalesSnapshotService;
+
+    @Mock
+    private CurrentDailySalesService currentDailySalesService;
+
+    @Mock
+    private StoreService storeService;
+
+    private CurrentDailySalesStreamService streamService;
+    private MockMvc mockMvc;
+    private String instanceId;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new CurrentDailySalesStreamService(todaySalesSnapshotService, currentDailySalesService,
+                storeService, new JacksonConfig().objectMapper());
+        ReflectionTestUtils.setField(streamService, "refreshInterval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(streamService, "heartbeatInterval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(streamService, "emitterTimeout", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(streamService, "reconnectDelay", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(streamService, "replaySize", 2);
+        streamService.initExecutor();
+        instanceId = (String) ReflectionTestUtils.getField(streamService, "instanceId");
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController(streamService)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdownExecutor();
+    }
+
+    @Test
+    void publish_ShouldSendSnapshotThenOnlyChangedStores() throws Exception {
+        MockHttpServletResponse response = connect(null);
+
+        streamService.publish(TODAY, List.of(row("Loja Centro", "100.00"), row("Loja Norte", "50.00")), LocalDateTime.now());
+        streamService.publish(TODAY, List.of(row("Loja Centro", "100.0"), row("Loja Norte", "75.00")), LocalDateTime.now());
+        streamService.publish(TODAY, List.of(row("Loja Centro", "100.00"), row("Loja Norte", "75.00")), LocalDateTime.now());
+
+        List<String> events = events(response, 2);
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0)).contains("id:" + instanceId + "-1", "event:snapshot", "Loja Centro", "Loja Norte");
+        assertThat(events.get(1)).contains("id:" + instanceId + "-2", "event:stores", "Loja Norte")
+                .doesNotContain("Loja Centro");
+    }
+
+    @Test
+    void subscribe_ShouldReplayOnlyMissedEventsOnReconnect() throws Exception {
+        connect(null);
+        streamService.publish(TODAY, List.of(row("Loja Centro", "100.00"), row("Loja Norte", "50.00")), LocalDateTime.now());
+        streamService.publish(TODAY, List.of(row("Loja Centro", "120.00"), row("Loja Norte", "50.00")), LocalDateTime.now());
+        streamService.publish(TODAY, List.of(row("Loja Centro", "120.00"), row("Loja Norte", "60.00")), LocalDateTime.now());
+
+        List<String> replayed = events(connect(instanceId + "-2"), 1);
+
+        assertThat(replayed).hasSize(1);
+        assertThat(replayed.get(0)).contains("id:" + instanceId + "-3", "event:stores", "Loja Norte");
+    }
+
+    @Test
+    void subscribe_ShouldSendSnapshotWhenLastEventIsNoLongerBuffered() throws Exception {
+        connect(null);
+        streamService.publish(TODAY, List.of(row("Loja Centro", "100.00")), LocalDateTime.now());
+        streamService.publish(TODAY, List.of(row("Loja Centro", "110.00")), LocalDateTime.now());
+        streamService.publish(TODAY, List.of(row("Loja Centro", "120.00")), LocalDateTime.now());
+        streamService.publish(TODAY, List.of(row("Loja Centro", "130.00")), LocalDateTime.now());
+
+        List<String> fromOldEvent = events(connect(instanceId + "-1"), 1);
+        List<String> fromOtherInstance = events(connect("previous-3"), 1);
+
+        assertThat(fromOldEvent).hasSize(1);
+        assertThat(fromOldEvent.get(0)).contains("id:" + instanceId + "-4", "event:snapshot", "130.00");
+        assertThat(fromOtherInstance).hasSize(1);
+        assertThat(fromOtherInstance.get(0)).contains("event:snapshot");
+    }
+
+    @Test
+    void publish_ShouldSendSnapshotWhenDayChanges() throws Exception {
+        MockHttpServletResponse response = connect(null);
+
+        streamService.publish(TODAY, List.of(row("Loja Centro", "100.00")), LocalDateTime.now());
+        streamService.publish(TODAY.plusDays(1), List.of(row("Loja Centro", "100.00")), LocalDateTime.now());
+
+        List<String> events = events(response, 2);
+        assertThat(events).hasSize(2);
+        assertThat(events.get(1)).contains("event:snapshot", TODAY.plusDays(1).toString());
+    }
+
+    @Test
+    void heartbeat_ShouldBeSentWhileRefreshWaitsForLegacyApi() throws Exception {
+        streamService.shutdownExecutor();
+        ReflectionTestUtils.setField(streamService, "heartbeatInterval", Duration.ofMillis(50));
+        streamService.initExecutor();
+        CompletableFuture<TodaySalesSnapshotService.TodaySalesSnapshot> pending = new CompletableFuture<>();
+        when(todaySalesSnapshotService.refresh()).thenReturn(pending);
+
+        try {
+            MockHttpServletResponse response = connect(null);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!response.getContentAsString().contains("heartbeat") && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(response.getContentAsString()).contains(":heartbeat");
+        } finally {
+            pending.completeExceptionally(new IllegalStateException("teste encerrado"));
+        }
+    }
+
+    private MockHttpServletResponse connect(String lastEventId) throws Exception {
+        var builder = get("/stream");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    /**
+     * Eventos com dados recebidos pelo cliente, ignorando comentários. Os envios são feitos
+     * em segundo plano: aguarda até a quantidade esperada de eventos e um breve intervalo
+     * para que eventos a mais também apareçam.
+     */
+    private static List<String> events(MockHttpServletResponse response, int expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        List<String> events = parseEvents(response);
+        while (events.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            events = parseEvents(response);
+        }
+        Thread.sleep(50);
+        return parseEvents(response);
+    }
+
+    private static List<String> parseEvents(MockHttpServletResponse response) throws Exception {
+        return Arrays.stream(response.getContentAsString().split("\n\n"))
+                .filter(event -> event.contains("data:"))
+                .toList();
+    }
+
+    private static DailySalesReportResponse row(String storeName, String pdv) {
+        BigDecimal value = new BigDecimal(pdv);
+        return DailySalesReportResponse.builder()
+                .storeName(storeName)
+                .pdv(value)
+                .danfe(BigDecimal.ZERO)
+                .exchange(BigDecimal.ZERO)
+                .total(value)
+                .build();
+    }
+
+    @RestController
+    static class StreamController {
+
+        private final CurrentDailySalesStreamService streamService;
+
+        StreamController(CurrentDailySalesStreamService streamService) {
+            this.streamService = streamService;
+        }
+
+        @GetMapping("/stream")
+        SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+            return streamService.subscribe(lastEventId);
+        }
+    }
+}
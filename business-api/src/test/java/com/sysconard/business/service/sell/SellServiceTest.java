@@ -0,0 +1,133 @@
+package com.sysconard.business.service.sell;
+
+import com.sysconard.business.client.LegacyApiResilience;
+import com.sysconard.business.dto.sell.StoreReportByDayResponse;
+import com.sysconard.business.dto.sell.StoreReportRequest;
+import com.sysconard.business.entity.sell.DailySell;
+import com.sysconard.business.enums.LegacyEndpointFamily;
+import com.sysconard.business.repository.sell.DailySellRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para o SellService.
+ * Valida o relatório por dia de leitura: dias sincronizados da tabela local e apenas os
+ * demais dias da Legacy API, combinados na mesma resposta.
+ */
+@ExtendWith(MockitoExtension.class)
+class SellServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 1, 5);
+
+    @Mock
+    private DailySellRepository dailySellRepository;
+
+    @Mock
+    private LegacyApiResilience legacyApiResilience;
+
+    private final AtomicInteger legacyCalls = new AtomicInteger();
+
+    private SellService sellService;
+
+    @BeforeEach
+    void setUp() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    legacyCalls.incrementAndGet();
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("[{\"storeCode\":\"000001\",\"storeName\":\"Loja Centro\",\"reportDate\":\"2025-01-03\","
+                                    + "\"danfe\":0,\"pdv\":30.00,\"troca3\":0}]")
+                            .build());
+                })
+                .build();
+        sellService = new SellService(webClient, dailySellRepository, legacyApiResilience);
+        ReflectionTestUtils.setField(sellService, "salesTimeout", Duration.ofSeconds(5));
+    }
+
+    @Test
+    void getStoreReportByDayWithFallback_ShouldReadSyncedDaysLocallyAndOnlyGapsFromLegacy() {
+        // Given - dia 3 ainda não sincronizado
+        when(dailySellRepository.findByDateBetweenOrderByStoreCodeAndDate(START, END)).thenReturn(List.of(
+                dailySell("000001", START, "10.00"),
+                dailySell("000001", START.plusDays(1), "20.00"),
+                dailySell("000002", START.plusDays(3), "40.00"),
+                dailySell("000001", END, "50.00")));
+        when(legacyApiResilience.decorate(eq(LegacyEndpointFamily.SALES), any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+
+        // When
+        List<StoreReportByDayResponse> result = sellService.getStoreReportByDayWithFallback(request());
+
+        // Then
+        assertThat(legacyCalls.get()).isEqualTo(1);
+        assertThat(result).hasSize(5);
+        assertThat(result).extracting(StoreReportByDayResponse::reportDate)
+                .containsExactly(START, START.plusDays(1), START.plusDays(2), START.plusDays(3), END);
+        assertThat(result).extracting(StoreReportByDayResponse::pdv)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("10.00"), new BigDecimal("20.00"), new BigDecimal("30.00"),
+                        BigDecimal.ZERO, new BigDecimal("50.00"));
+    }
+
+    @Test
+    void getStoreReportByDayWithFallback_ShouldNotCallLegacyWhenAllDaysAreSynced() {
+        // Given
+        when(dailySellRepository.findByDateBetweenOrderByStoreCodeAndDate(START, END)).thenReturn(List.of(
+                dailySell("000001", START, "10.00"),
+                dailySell("000001", START.plusDays(1), "20.00"),
+                dailySell("000002", START.plusDays(2), "30.00"),
+                dailySell("000002", START.plusDays(3), "40.00"),
+                dailySell("000001", END, "50.00")));
+
+        // When
+        List<StoreReportByDayResponse> result = sellService.getStoreReportByDayWithFallback(request());
+
+        // Then
+        assertThat(legacyCalls.get()).isZero();
+        assertThat(result).hasSize(5);
+    }
+
+    private static StoreReportRequest request() {
+        return StoreReportRequest.builder()
+                .startDate(START)
+                .endDate(END)
+                .storeCodes(List.of("000001"))
+                .build();
+    }
+
+    private static DailySell dailySell(String storeCode, LocalDate date, String pdv) {
+        BigDecimal value = new BigDecimal(pdv);
+        return DailySell.builder()
+                .storeCode(storeCode)
+                .storeName("Loja " + storeCode)
+                .date(date)
+                .danfe(BigDecimal.ZERO)
+                .pdv(value)
+                .exchange(BigDecimal.ZERO)
+                .total(value)
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.sysconard.business.service.sell;
+
+import com.sysconard.business.dto.sell.StoreReportByDayResponse;
+import com.sysconard.business.dto.store.StoreResponseDto;
+import com.sysconard.business.service.store.StoreService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o TodaySalesSnapshotService.
+ * Valida o compartilhamento da atualização entre chamadas concorrentes e o retorno do snapshot anterior.
+ */
+@ExtendWith(MockitoExtension.class)
+class TodaySalesSnapshotServiceTest {
+
+    @Mock
+    private SellService sellService;
+
+    @Mock
+    private StoreService storeService;
+
+    @InjectMocks
+    private TodaySalesSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(snapshotService, "refreshInterval", Duration.ofSeconds(60));
+        ReflectionTestUtils.setField(snapshotService, "maxStale", Duration.ofMinutes(15));
+        snapshotService.initExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshotService.shutdownExecutor();
+    }
+
+    @Test
+    void getSnapshot_ShouldShareInFlightRefreshBetweenConcurrentCallers() throws Exception {
+        CountDownLatch legacyCalled = new CountDownLatch(1);
+        CountDownLatch releaseLegacy = new CountDownLatch(1);
+        when(storeService.getAllActiveStores()).thenReturn(List.of(store("000001", "Loja Centro")));
+        when(sellService.getStoreReportByDay(any())).thenAnswer(invocation -> {
+            legacyCalled.countDown();
+            releaseLegacy.await(5, TimeUnit.SECONDS);
+            return List.of(sale("000001", "Loja Centro", "100.00"));
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(5);
+        try {
+            List<Future<TodaySalesSnapshotService.TodaySalesSnapshot>> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                results.add(callers.submit(snapshotService::getSnapshot));
+            }
+            assertThat(legacyCalled.await(5, TimeUnit.SECONDS)).isTrue();
+            releaseLegacy.countDown();
+
+            for (Future<TodaySalesSnapshotService.TodaySalesSnapshot> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).salesByStoreCode()).containsKey("000001");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        verify(sellService, times(1)).getStoreReportByDay(any());
+    }
+
+    @Test
+    void getSnapshot_ShouldReturnFreshSnapshotWithoutCallingLegacy() {
+        when(storeService.getAllActiveStores()).thenReturn(List.of(store("000001", "Loja Centro")));
+        when(sellService.getStoreReportByDay(any())).thenReturn(List.of(sale("000001", "Loja Centro", "100.00")));
+
+        TodaySalesSnapshotService.TodaySalesSnapshot first = snapshotService.getSnapshot();
+        TodaySalesSnapshotService.TodaySalesSnapshot second = snapshotService.getSnapshot();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.date()).isEqualTo(LocalDate.now());
+        verify(sellService, times(1)).getStoreReportByDay(any());
+    }
+
+    @Test
+    void getSnapshot_ShouldReturnStaleSnapshotWhileRefreshing() throws Exception {
+        when(storeService.getAllActiveStores()).thenReturn(List.of(store("000001", "Loja Centro")));
+        when(sellService.getStoreReportByDay(any()))
+                .thenReturn(List.of(sale("000001", "Loja Centro", "100.00")))
+                .thenReturn(List.of(sale("000001", "Loja Centro", "250.00")));
+        ReflectionTestUtils.setField(snapshotService, "refreshInterval", Duration.ZERO);
+
+        TodaySalesSnapshotService.TodaySalesSnapshot first = snapshotService.getSnapshot();
+        TodaySalesSnapshotService.TodaySalesSnapshot stale = snapshotService.getSnapshot();
+        TodaySalesSnapshotService.TodaySalesSnapshot refreshed = snapshotService.refresh().get(5, TimeUnit.SECONDS);
+
+        assertThat(stale).isSameAs(first);
+        assertThat(refreshed.salesByStoreCode().get("000001").pdv()).isEqualByComparingTo("250.00");
+    }
+
+    @Test
+    void getTodaySales_ShouldReturnOnlyStoresCoveredBySnapshot() {
+        when(storeService.getAllActiveStores()).thenReturn(List.of(
+                store("000001", "Loja Centro"), store("000002", "Loja Norte")));
+        when(sellService.getStoreReportByDay(any())).thenReturn(List.of(
+                sale("000001", "Loja Centro", "100.00"), sale("000002", "Loja Norte", "50.00")));
+
+        List<StoreReportByDayResponse> sales = snapshotService.getTodaySales(List.of("000002", "999999"));
+
+        assertThat(sales).extracting(StoreReportByDayResponse::storeCode).containsExactly("000002");
+    }
+
+    @Test
+    void getSnapshot_ShouldThrowWhenFirstRefreshFails() {
+        when(storeService.getAllActiveStores()).thenReturn(List.of(store("000001", "Loja Centro")));
+        when(sellService.getStoreReportByDay(any())).thenThrow(new RuntimeException("Legacy API indisponível"));
+
+        assertThatThrownBy(() -> snapshotService.getSnapshot())
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Legacy API indisponível");
+    }
+
+    private StoreResponseDto store(String code, String name) {
+        return StoreResponseDto.builder()
+                .code(code)
+                .name(name)
+                .build();
+    }
+
+    private StoreReportByDayResponse sale(String storeCode, String storeName, String pdv) {
+        return StoreReportByDayResponse.builder()
+                .storeCode(storeCode)
+                .storeName(storeName)
+                .reportDate(LocalDate.now())
+                .pdv(new BigDecimal(pdv))
+                .build();
+    }
+}
@@ -0,0 +1,202 @@
+package com.sysconard.business.service.stock;
+
+import com.sysconard.business.client.LegacyApiClient;
+import com.sysconard.business.dto.StockItemResponseDTO;
+import com.sysconard.business.dto.StockMatrixRowLegacyDTO;
+import com.sysconard.business.dto.StockPageResponseDTO;
+import com.sysconard.business.dto.StockSearchRequest;
+import com.sysconard.business.dto.store.StoreResponseDto;
+import com.sysconard.business.dto.sync.StockSnapshotResponse;
+import com.sysconard.business.entity.stock.StockSnapshot;
+import com.sysconard.business.entity.stock.StockSnapshotItem;
+import com.sysconard.business.entity.stock.StockSnapshotQuantity;
+import com.sysconard.business.enums.StockSnapshotStatus;
+import com.sysconard.business.repository.stock.StockSnapshotItemRepository;
+import com.sysconard.business.repository.stock.StockSnapshotRepository;
+import com.sysconard.business.service.scheduler.JobLeaseService;
+import com.sysconard.business.service.store.StoreService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o StockSnapshotService.
+ * Valida a montagem da página a partir do snapshot e o ciclo de atualização.
+ */
+@ExtendWith(MockitoExtension.class)
+class StockSnapshotServiceTest {
+    
+    private static final UUID SNAPSHOT_ID = UUID.randomUUID();
+    
+    @Mock
+    private LegacyApiClient legacyApiClient;
+    
+    @Mock
+    private StockSnapshotWriter snapshotWriter;
+    
+    @Mock
+    private StockSnapshotRepository snapshotRepository;
+    
+    @Mock
+    private StockSnapshotItemRepository itemRepository;
+    
+    @Mock
+    private StoreService storeService;
+    
+    @Mock
+    private JobLeaseService jobLeaseService;
+    
+    @InjectMocks
+    private StockSnapshotService stockSnapshotService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(stockSnapshotService, "chunkSize", 2);
+        ReflectionTestUtils.setField(stockSnapshotService, "maxAge", Duration.ofHours(2));
+        ReflectionTestUtils.setField(stockSnapshotService, "staleAfter", Duration.ofMinutes(30));
+    }
+    
+    @Test
+    void searchStocks_ShouldReturnEmptyWhenNoSnapshotCompleted() {
+        when(snapshotRepository.findFirstByStatusOrderByStartedAtDesc(StockSnapshotStatus.COMPLETED))
+                .thenReturn(Optional.empty());
+        
+        assertThat(stockSnapshotService.searchStocks(request("refplu", true))).isEmpty();
+        verifyNoInteractions(itemRepository);
+    }
+    
+    @Test
+    void searchStocks_ShouldPivotQuantitiesIntoStoreColumns() {
+        when(snapshotRepository.findFirstByStatusOrderByStartedAtDesc(StockSnapshotStatus.COMPLETED))
+                .thenReturn(Optional.of(completedSnapshot()));
+        when(storeService.getAllActiveStores()).thenReturn(List.of(store("000001"), store("000002")));
+        when(itemRepository.searchItems(eq(SNAPSHOT_ID), isNull(), isNull(), isNull(), eq(true),
+                eq("store"), eq("000002"), eq("desc"), eq(0), eq(3)))
+                .thenReturn(List.of(item("A1", 12), item("B2", 4), item("C3", 1)));
+        when(itemRepository.findQuantities(SNAPSHOT_ID, List.of("A1", "B2")))
+                .thenReturn(List.of(quantity("A1", "000001", 2), quantity("A1", "000002", 10),
+                        quantity("B2", "000002", 4)));
+        
+        StockPageResponseDTO response = stockSnapshotService.searchStocks(request("loj2", false)).orElseThrow();
+        
+        assertThat(response.getContent()).hasSize(2);
+        StockItemResponseDTO first = response.getContent().get(0);
+        assertThat(first.getLoj1()).isEqualTo(2L);
+        assertThat(first.getLoj2()).isEqualTo(10L);
+        assertThat(first.getLoj3()).isEqualTo(0L);
+        assertThat(first.getTotal()).isEqualTo(12L);
+        assertThat(response.getContent().get(1).getLoj1()).isEqualTo(0L);
+        assertThat(response.getPagination().getHasNext()).isTrue();
+        assertThat(response.getPagination().getTotalElements()).isNull();
+        assertThat(response.getStoreCodes()).containsExactly("000001", "000002");
+        assertThat(response.getFreshness().getSource()).isEqualTo("snapshot");
+        assertThat(response.getFreshness().getStale()).isFalse();
+        verify(itemRepository, never()).countItems(any(), any(), any(), any(), anyBoolean());
+    }
+    
+    @Test
+    void refreshSnapshot_ShouldWriteChunksAndComplete() {
+        when(jobLeaseService.tryAcquire(eq("stock-snapshot-refresh"), anyString(), any())).thenReturn(true);
+        when(jobLeaseService.renew(eq("stock-snapshot-refresh"), anyString(), any())).thenReturn(true);
+        StockSnapshot running = StockSnapshot.builder().id(SNAPSHOT_ID).status(StockSnapshotStatus.RUNNING).build();
+        when(snapshotWriter.start()).thenReturn(running);
+        when(legacyApiClient.streamStockMatrix()).thenReturn(Flux.just(
+                row("A1", Map.of("000001", 2L)), row("B2", Map.of("000002", 1L)), row("C3", Map.of())));
+        when(snapshotWriter.complete(SNAPSHOT_ID, 3L, 2)).thenReturn(completedSnapshot());
+        
+        StockSnapshotResponse response = stockSnapshotService.refreshSnapshot();
+        
+        assertThat(response.status()).isEqualTo(StockSnapshotStatus.COMPLETED);
+        verify(snapshotWriter, times(2)).writeChunk(eq(SNAPSHOT_ID), anyList());
+        verify(snapshotWriter, never()).fail(any(), any());
+        verify(jobLeaseService).release(eq("stock-snapshot-refresh"), anyString());
+    }
+    
+    @Test
+    void refreshSnapshot_ShouldFailSnapshotWhenStreamBreaks() {
+        when(jobLeaseService.tryAcquire(eq("stock-snapshot-refresh"), anyString(), any())).thenReturn(true);
+        StockSnapshot running = StockSnapshot.builder().id(SNAPSHOT_ID).status(StockSnapshotStatus.RUNNING).build();
+        when(snapshotWriter.start()).thenReturn(running);
+        when(legacyApiClient.streamStockMatrix()).thenReturn(Flux.error(new IllegalStateException("conexão encerrada")));
+        when(snapshotWriter.fail(eq(SNAPSHOT_ID), any())).thenReturn(StockSnapshot.builder()
+                .id(SNAPSHOT_ID).status(StockSnapshotStatus.FAILED).errorMessage("conexão encerrada").build());
+        
+        StockSnapshotResponse response = stockSnapshotService.refreshSnapshot();
+        
+        assertThat(response.status()).isEqualTo(StockSnapshotStatus.FAILED);
+        verify(snapshotWriter, never()).complete(any(), anyLong(), anyInt());
+    }
+    
+    @Test
+    void refreshSnapshot_ShouldNotStartWhileAnotherInstanceHoldsLease() {
+        when(jobLeaseService.tryAcquire(eq("stock-snapshot-refresh"), anyString(), any())).thenReturn(false);
+        
+        assertThatThrownBy(() -> stockSnapshotService.refreshSnapshot())
+                .isInstanceOf(IllegalStateException.class);
+        
+        verifyNoInteractions(snapshotWriter, legacyApiClient);
+        verify(jobLeaseService, never()).release(any(), any());
+    }
+
+    @Test
+    void failInterruptedSnapshots_ShouldOnlyFailSnapshotsWithoutRecentProgress() {
+        StockSnapshot stale = StockSnapshot.builder().id(SNAPSHOT_ID).status(StockSnapshotStatus.RUNNING)
+                .updatedAt(LocalDateTime.now().minusHours(1)).build();
+        when(snapshotRepository.findByStatusAndUpdatedAtBefore(eq(StockSnapshotStatus.RUNNING), any()))
+                .thenReturn(List.of(stale));
+    
+        stockSnapshotService.failInterruptedSnapshots();
+    
+        verify(snapshotRepository).findByStatusAndUpdatedAtBefore(eq(StockSnapshotStatus.RUNNING),
+                argThat(limit -> limit.isBefore(LocalDateTime.now().minusMinutes(29))));
+        verify(snapshotWriter).fail(eq(SNAPSHOT_ID), any());
+    }
+    
+    private StockSearchRequest request(String sortBy, boolean includeCount) {
+        return new StockSearchRequest(null, null, null, true, 0, 2, sortBy, "desc", null, includeCount, false);
+    }
+    
+    private StockSnapshot completedSnapshot() {
+        return StockSnapshot.builder()
+                .id(SNAPSHOT_ID)
+                .status(StockSnapshotStatus.COMPLETED)
+                .itemCount(3)
+                .storeCount(2)
+                .startedAt(LocalDateTime.now().minusMinutes(10))
+                .finishedAt(LocalDateTime.now().minusMinutes(9))
+                .build();
+    }
+    
+    private StoreResponseDto store(String code) {
+        return StoreResponseDto.builder().id(code).code(code).name("Loja " + code).status(true).build();
+    }
+    
+    private StockSnapshotItem item(String refplu, long total) {
+        return new StockSnapshotItem(SNAPSHOT_ID, refplu, "MARCA", "DESCRICAO", total);
+    }
+    
+    private StockSnapshotQuantity quantity(String refplu, String storeCode, long quantity) {
+        return new StockSnapshotQuantity(SNAPSHOT_ID, refplu, storeCode, quantity);
+    }
+    
+    private StockMatrixRowLegacyDTO row(String refplu, Map<String, Long> quantities) {
+        return new StockMatrixRowLegacyDTO(refplu, "MARCA", "DESCRICAO", quantities);
+    }
+}
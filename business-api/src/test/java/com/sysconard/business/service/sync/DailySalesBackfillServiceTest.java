@@ -0,0 +1,123 @@
+package com.sysconard.business.service.sync;
+
+import com.sysconard.business.dto.sync.DailySalesBackfillResponse;
+import com.sysconard.business.entity.sync.SyncBackfillChunk;
+import com.sysconard.business.entity.sync.SyncBackfillJob;
+import com.sysconard.business.enums.BackfillChunkUnit;
+import com.sysconard.business.enums.BackfillStatus;
+import com.sysconard.business.repository.sync.SyncBackfillChunkRepository;
+import com.sysconard.business.repository.sync.SyncBackfillJobRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o DailySalesBackfillService.
+ * Valida a divisão do período em chunks e a consolidação do progresso a partir dos checkpoints.
+ */
+@ExtendWith(MockitoExtension.class)
+class DailySalesBackfillServiceTest {
+    
+    @Mock
+    private DailySalesSyncService dailySalesSyncService;
+    
+    @Mock
+    private SyncBackfillJobRepository jobRepository;
+    
+    @Mock
+    private SyncBackfillChunkRepository chunkRepository;
+    
+    @InjectMocks
+    private DailySalesBackfillService backfillService;
+    
+    @Test
+    void splitIntoChunks_ShouldAlignMonthlyChunksToCalendarMonths() {
+        List<DailySalesBackfillService.DateRange> ranges = DailySalesBackfillService.splitIntoChunks(
+                LocalDate.of(2024, 1, 15), LocalDate.of(2024, 3, 10), BackfillChunkUnit.MONTH);
+        
+        assertThat(ranges).containsExactly(
+                new DailySalesBackfillService.DateRange(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 31)),
+                new DailySalesBackfillService.DateRange(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29)),
+                new DailySalesBackfillService.DateRange(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 10)));
+    }
+    
+    @Test
+    void splitIntoChunks_ShouldAlignWeeklyChunksFromMondayToSunday() {
+        // 2024-01-03 é quarta-feira
+        List<DailySalesBackfillService.DateRange> ranges = DailySalesBackfillService.splitIntoChunks(
+                LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 16), BackfillChunkUnit.WEEK);
+        
+        assertThat(ranges).containsExactly(
+                new DailySalesBackfillService.DateRange(LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 7)),
+                new DailySalesBackfillService.DateRange(LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 14)),
+                new DailySalesBackfillService.DateRange(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 16)));
+    }
+    
+    @Test
+    void splitIntoChunks_ShouldReturnSingleChunkForSingleDay() {
+        LocalDate day = LocalDate.of(2024, 5, 31);
+        
+        assertThat(DailySalesBackfillService.splitIntoChunks(day, day, BackfillChunkUnit.MONTH))
+                .containsExactly(new DailySalesBackfillService.DateRange(day, day));
+    }
+    
+    @Test
+    void getBackfillStatus_ShouldAggregateChunkCheckpoints() {
+        UUID jobId = UUID.randomUUID();
+        SyncBackfillJob job = SyncBackfillJob.builder()
+                .id(jobId)
+                .startDate(LocalDate.of(2024, 1, 1))
+                .endDate(LocalDate.of(2024, 3, 31))
+                .chunkUnit(BackfillChunkUnit.MONTH)
+                .status(BackfillStatus.RUNNING)
+                .totalChunks(3)
+                .build();
+        
+        when(jobRepository.findById(jobId)).thenReturn(Optional.of(job));
+        when(chunkRepository.findByJobIdOrderByChunkStartAsc(jobId)).thenReturn(List.of(
+                chunk(jobId, LocalDate.of(2024, 1, 1), BackfillStatus.COMPLETED, 10, 2),
+                chunk(jobId, LocalDate.of(2024, 2, 1), BackfillStatus.FAILED, 0, 0),
+                chunk(jobId, LocalDate.of(2024, 3, 1), BackfillStatus.PENDING, 0, 0)));
+        
+        Optional<DailySalesBackfillResponse> response = backfillService.getBackfillStatus(jobId);
+        
+        assertThat(response).isPresent();
+        assertThat(response.get().completedChunks()).isEqualTo(1);
+        assertThat(response.get().failedChunks()).isEqualTo(1);
+        assertThat(response.get().pendingChunks()).isEqualTo(1);
+        assertThat(response.get().created()).isEqualTo(10);
+        assertThat(response.get().updated()).isEqualTo(2);
+        assertThat(response.get().chunks()).hasSize(3);
+    }
+    
+    @Test
+    void resumeBackfill_ShouldReturnEmptyWhenJobDoesNotExist() {
+        UUID jobId = UUID.randomUUID();
+        when(jobRepository.findById(jobId)).thenReturn(Optional.empty());
+        
+        assertThat(backfillService.resumeBackfill(jobId)).isEmpty();
+        verifyNoInteractions(chunkRepository, dailySalesSyncService);
+    }
+    
+    private SyncBackfillChunk chunk(UUID jobId, LocalDate start, BackfillStatus status, int created, int updated) {
+        return SyncBackfillChunk.builder()
+                .id(UUID.randomUUID())
+                .jobId(jobId)
+                .chunkStart(start)
+                .chunkEnd(start.withDayOfMonth(start.lengthOfMonth()))
+                .status(status)
+                .createdCount(created)
+                .updatedCount(updated)
+                .build();
+    }
+}
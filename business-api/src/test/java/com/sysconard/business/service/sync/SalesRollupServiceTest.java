@@ -0,0 +1,95 @@
+package com.sysconard.business.service.sync;
+
+import com.sysconard.business.repository.sell.MonthlySellRepository;
+import com.sysconard.business.repository.sell.YearSellRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para o SalesRollupService.
+ * Valida a aplicação dos deltas de vendas diárias nos totais mensais e anuais.
+ */
+@ExtendWith(MockitoExtension.class)
+class SalesRollupServiceTest {
+    
+    @Mock
+    private MonthlySellRepository monthlySellRepository;
+    
+    @Mock
+    private YearSellRepository yearSellRepository;
+    
+    @InjectMocks
+    private SalesRollupService salesRollupService;
+    
+    private final UUID storeId = UUID.randomUUID();
+    
+    @Test
+    void applyDailyDeltas_ShouldAggregateDeltasPerMonthAndYear() {
+        when(monthlySellRepository.incrementTotal(any(), any(), any(), any(), any())).thenReturn(1);
+        when(yearSellRepository.incrementTotal(any(), any(), any(), any(), any())).thenReturn(1);
+        
+        SalesRollupService.RollupResult result = salesRollupService.applyDailyDeltas(List.of(
+                delta(LocalDate.of(2024, 1, 30), "100.00"),
+                delta(LocalDate.of(2024, 1, 31), "-20.00"),
+                delta(LocalDate.of(2024, 2, 1), "50.00")));
+        
+        assertThat(result.monthsAffected()).isEqualTo(2);
+        assertThat(result.yearsAffected()).isEqualTo(1);
+        verify(monthlySellRepository).incrementTotal(eq(storeId), eq("2024-01"), eq("Loja Centro"), eq(new BigDecimal("80.00")), any());
+        verify(monthlySellRepository).incrementTotal(eq(storeId), eq("2024-02"), eq("Loja Centro"), eq(new BigDecimal("50.00")), any());
+        verify(yearSellRepository).incrementTotal(eq(storeId), eq(2024), eq("Loja Centro"), eq(new BigDecimal("130.00")), any());
+        verify(monthlySellRepository, never()).insertFromDailySells(any(), any(), any(), any(), any(), any());
+    }
+    
+    @Test
+    void applyDailyDeltas_ShouldSeedMissingRowsFromLowerLevel() {
+        when(monthlySellRepository.incrementTotal(any(), any(), any(), any(), any())).thenReturn(0);
+        when(monthlySellRepository.insertFromDailySells(any(), any(), any(), any(), any(), any())).thenReturn(1);
+        when(yearSellRepository.incrementTotal(any(), any(), any(), any(), any())).thenReturn(0);
+        when(yearSellRepository.insertFromMonthlySells(any(), any(), any(), any(), any(), any())).thenReturn(1);
+        
+        salesRollupService.applyDailyDeltas(List.of(delta(LocalDate.of(2024, 2, 10), "10.00")));
+        
+        verify(monthlySellRepository).insertFromDailySells(storeId, "000001", "Loja Centro", "2024-02",
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+        verify(yearSellRepository).insertFromMonthlySells(storeId, "000001", "Loja Centro", 2024, "2024-01", "2024-12");
+        verify(monthlySellRepository, times(1)).incrementTotal(any(), any(), any(), any(), any());
+    }
+    
+    @Test
+    void applyDailyDeltas_ShouldIncrementWhenRowWasCreatedConcurrently() {
+        when(monthlySellRepository.incrementTotal(any(), any(), any(), any(), any())).thenReturn(0, 1);
+        when(monthlySellRepository.insertFromDailySells(any(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(yearSellRepository.incrementTotal(any(), any(), any(), any(), any())).thenReturn(1);
+        
+        salesRollupService.applyDailyDeltas(List.of(delta(LocalDate.of(2024, 3, 5), "15.00")));
+        
+        verify(monthlySellRepository, times(2)).incrementTotal(eq(storeId), eq("2024-03"), any(), eq(new BigDecimal("15.00")), any());
+    }
+    
+    @Test
+    void applyDailyDeltas_ShouldIgnoreZeroDeltas() {
+        SalesRollupService.RollupResult result = salesRollupService.applyDailyDeltas(
+                List.of(delta(LocalDate.of(2024, 1, 1), "0.00")));
+        
+        assertThat(result.monthsAffected()).isZero();
+        verifyNoInteractions(monthlySellRepository, yearSellRepository);
+    }
+    
+    private SalesRollupService.DailySellDelta delta(LocalDate date, String value) {
+        return new SalesRollupService.DailySellDelta(storeId, "000001", "Loja Centro", date, new BigDecimal(value));
+    }
+}
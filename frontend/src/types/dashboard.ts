@@ -16,6 +16,8 @@ export interface DashboardSummary {
   totalSalesYear: number;
   /** Quantidade de lojas ativas no sistema */
   activeStoresCount: number;
+  /** Métricas que falharam ou excederam o tempo limite (retornadas zeradas) */
+  unavailableMetrics?: string[];
 }
 
 /**
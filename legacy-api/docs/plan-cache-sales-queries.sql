@@ -0,0 +1,43 @@
+-- Reaproveitamento de planos das queries de vendas da Legacy API (DocumentRepository e SaleItemRepository).
+--
+-- Com hibernate.query.in_clause_parameter_padding as listas IN são completadas até a próxima
+-- potência de 2, e as datas são parâmetros datetime2 convertidos para DATETIME. Cada query deve
+-- aparecer com poucos textos SQL distintos (um por combinação de faixas de tamanho das listas),
+-- e execution_count deve crescer sem novas linhas a cada relatório.
+--
+-- Uso: executar antes e depois de uma série de relatórios (ex: lojas 1, 3, 5 e 7) e comparar
+-- plans e total_executions por query.
+
+SELECT
+    CASE
+        WHEN st.text LIKE '%ITEM_SAIDA%' THEN 'findSaleItemDetails'
+        WHEN st.text LIKE '%DOCCHVNFE%' THEN 'findExchanges'
+        WHEN st.text LIKE '%CAST(D.DOCDATEMI AS DATE)%' THEN 'findStoreSalesByDayOptimizedData'
+        ELSE 'findStoreSalesOptimizedData'
+    END AS query_name,
+    COUNT(DISTINCT qs.plan_handle) AS plans,
+    COUNT(DISTINCT qs.query_hash) AS query_texts,
+    SUM(qs.execution_count) AS total_executions,
+    SUM(qs.execution_count) - COUNT(DISTINCT qs.plan_handle) AS plan_reuses,
+    SUM(qs.total_worker_time) / NULLIF(SUM(qs.execution_count), 0) / 1000 AS avg_cpu_ms,
+    SUM(qs.total_elapsed_time) / NULLIF(SUM(qs.execution_count), 0) / 1000 AS avg_elapsed_ms
+FROM sys.dm_exec_query_stats qs
+CROSS APPLY sys.dm_exec_sql_text(qs.sql_handle) st
+WHERE st.text LIKE '%DOCUMENTO%'
+  AND st.text LIKE '%DOCDATEMI >= CAST(@P%'
+  AND st.text NOT LIKE '%dm_exec_query_stats%'
+GROUP BY
+    CASE
+        WHEN st.text LIKE '%ITEM_SAIDA%' THEN 'findSaleItemDetails'
+        WHEN st.text LIKE '%DOCCHVNFE%' THEN 'findExchanges'
+        WHEN st.text LIKE '%CAST(D.DOCDATEMI AS DATE)%' THEN 'findStoreSalesByDayOptimizedData'
+        ELSE 'findStoreSalesOptimizedData'
+    END
+ORDER BY query_name;
+
+-- Tipos declarados dos parâmetros de data (devem ser datetime2, não nvarchar(4000))
+SELECT TOP 20 st.text
+FROM sys.dm_exec_query_stats qs
+CROSS APPLY sys.dm_exec_sql_text(qs.sql_handle) st
+WHERE st.text LIKE '(@P%datetime2%DOCDATEMI%'
+ORDER BY qs.last_execution_time DESC;
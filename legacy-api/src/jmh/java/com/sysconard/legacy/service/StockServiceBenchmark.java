@@ -0,0 +1,86 @@
+package com.sysconard.legacy.service;
+
+import com.sysconard.legacy.dto.StockItemDTO;
+import com.sysconard.legacy.entity.store.Store;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da conversão das linhas da consulta pivotada de estoque em StockItemDTO.
+ *
+ * Cada linha sintética segue o formato da query dinâmica: refplu, marca, descricao,
+ * uma quantidade por loja (BigDecimal, como o SUM do SQL Server), total e ROW_NUMBER.
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockServiceBenchmark {
+
+    @Param({"50", "1000"})
+    public int rows;
+
+    @Param("14")
+    public int stores;
+
+    private StockService stockService;
+    private List<Store> storeList;
+    private List<Object[]> data;
+
+    @Setup
+    public void setUp() {
+        stockService = new StockService(null, null, null);
+        Random random = new Random(42);
+
+        storeList = new ArrayList<>(stores);
+        for (long id = 1; id <= stores; id++) {
+            storeList.add(new Store(id, "LOJA " + id, "CIDADE"));
+        }
+
+        data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Object[] row = new Object[3 + stores + 2];
+            row[0] = String.format("%08d", i);
+            row[1] = "MARCA " + (i % 200);
+            row[2] = "PRODUTO SINTETICO " + i;
+            long total = 0;
+            for (int store = 0; store < stores; store++) {
+                int quantity = random.nextInt(4) == 0 ? 0 : random.nextInt(50);
+                row[3 + store] = BigDecimal.valueOf(quantity);
+                total += quantity;
+            }
+            row[3 + stores] = BigDecimal.valueOf(total);
+            row[4 + stores] = (long) i + 1;
+            data.add(row);
+        }
+    }
+
+    @Benchmark
+    public void convertRowToStockDTO(Blackhole blackhole) {
+        for (Object[] row : data) {
+            StockItemDTO dto = stockService.convertRowToStockDTO(row, storeList);
+            blackhole.consume(dto);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.sysconard.legacy.service;
+
+import com.sysconard.legacy.dto.StoreSalesReportByDayDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da montagem do relatório de vendas por loja e por dia:
+ * preenchimento da grade loja × dia com as linhas agregadas pelo SQL Server e
+ * geração ordenada de todas as combinações loja + data, incluindo as sem venda.
+ *
+ * Entrada sintética no tamanho de produção: 50 lojas × 365 dias, com cerca de
+ * 10% das combinações sem venda.
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreSalesServiceBenchmark {
+
+    @Param("50")
+    public int stores;
+
+    @Param("365")
+    public int days;
+
+    private StoreSalesService storeSalesService;
+    private List<Object[]> aggregatedData;
+    private List<String> storeCodes;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        storeSalesService = new StoreSalesService(null, null);
+        Random random = new Random(42);
+
+        endDate = LocalDate.of(2025, 12, 31);
+        startDate = endDate.minusDays(days - 1L);
+        storeCodes = new ArrayList<>(stores);
+        aggregatedData = new ArrayList<>(stores * days);
+
+        for (int store = 1; store <= stores; store++) {
+            String storeCode = String.format("%06d", store);
+            String storeName = "LOJA " + store;
+            storeCodes.add(storeCode);
+
+            for (int day = 0; day < days; day++) {
+                if (random.nextInt(10) == 0) {
+                    continue;
+                }
+                LocalDate date = startDate.plusDays(day);
+                aggregatedData.add(new Object[]{storeName, storeCode, Date.valueOf(date),
+                        amount(random, 500), amount(random, 20000), amount(random, 8000)});
+            }
+        }
+    }
+
+    @Benchmark
+    public List<StoreSalesReportByDayDTO> processAggregatedDataByDay() {
+        return storeSalesService.processAggregatedDataByDay(aggregatedData, storeCodes, startDate, endDate);
+    }
+
+    private static BigDecimal amount(Random random, int max) {
+        return BigDecimal.valueOf(random.nextInt(max * 100), 2);
+    }
+}
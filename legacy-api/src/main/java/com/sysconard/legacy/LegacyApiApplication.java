@@ -3,6 +3,7 @@ package com.sysconard.legacy;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 /**
@@ -21,6 +22,7 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "com.sysconard.legacy.repository")
 @EnableTransactionManagement // Habilita gerenciamento de transações
+@EnableScheduling // Atualização da janela de vendas (SalesWindowService)
 public class LegacyApiApplication {
 
     public static void main(String[] args) {
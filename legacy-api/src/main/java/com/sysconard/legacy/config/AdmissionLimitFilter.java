@@ -0,0 +1,205 @@
+package com.sysconard.legacy.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Filtro de admissão das requisições que consultam o SQL Server
+ *
+ * O pool Hikari possui uma única conexão: sem limite, cada requisição excedente
+ * ocupa uma thread do Tomcat aguardando até o connection-timeout. Este filtro
+ * limita as requisições em execução e mantém uma fila de espera com tamanho
+ * máximo. Quando a fila está cheia, ou a espera ultrapassa o tempo limite,
+ * responde imediatamente 503 com Retry-After, permitindo que a Business API
+ * falhe rápido e use seus fallbacks.
+ *
+ * Respostas em stream (processamento assíncrono) mantêm a permissão até a
+ * conclusão do stream, pois seguram a conexão durante toda a leitura.
+ *
+ * Métricas: legacy.admission.active, legacy.admission.queued,
+ * legacy.admission.rejected (tag reason) e legacy.admission.wait.
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class AdmissionLimitFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${admission.max-concurrent:2}")
+    private int maxConcurrent;
+
+    @Value("${admission.max-queue:20}")
+    private int maxQueue;
+
+    @Value("${admission.queue-timeout-ms:25000}")
+    private long queueTimeoutMs;
+
+    @Value("${admission.retry-after-seconds:5}")
+    private int retryAfterSeconds;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private Semaphore permits;
+    private Counter rejectedQueueFull;
+    private Counter rejectedTimeout;
+    private Timer waitTimer;
+
+    public AdmissionLimitFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void init() {
+        permits = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("legacy.admission.active", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Requisições em execução no SQL Server")
+                .register(meterRegistry);
+        Gauge.builder("legacy.admission.queued", queued, AtomicInteger::get)
+                .description("Requisições aguardando admissão")
+                .register(meterRegistry);
+        rejectedQueueFull = Counter.builder("legacy.admission.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        rejectedTimeout = Counter.builder("legacy.admission.rejected")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+        waitTimer = Timer.builder("legacy.admission.wait")
+                .description("Tempo de espera na fila de admissão")
+                .register(meterRegistry);
+
+        log.info("Limite de admissão: maxConcurrent={}, maxQueue={}, queueTimeoutMs={}",
+                maxConcurrent, maxQueue, queueTimeoutMs);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!acquire(request, response)) {
+            return;
+        }
+
+        boolean releaseNow = true;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+                releaseNow = false;
+            }
+        } finally {
+            if (releaseNow) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Obtém uma permissão de execução, aguardando na fila se houver espaço
+     *
+     * @return true se a requisição foi admitida; false se já foi respondida com 503
+     */
+    private boolean acquire(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            rejectedQueueFull.increment();
+            log.warn("Fila de admissão cheia ({}). Rejeitando {} {}", maxQueue, request.getMethod(), request.getRequestURI());
+            reject(response, "Fila de consultas ao banco cheia");
+            return false;
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            queued.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            rejectedTimeout.increment();
+            log.warn("Tempo de espera na fila de admissão esgotado ({}ms). Rejeitando {} {}",
+                    queueTimeoutMs, request.getMethod(), request.getRequestURI());
+            reject(response, "Tempo de espera por conexão com o banco esgotado");
+        }
+        return acquired;
+    }
+
+    private void reject(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"error\":\"Serviço sobrecarregado\",\"message\":\"" + message + "\"}");
+    }
+
+    /**
+     * Libera a permissão ao final de uma resposta assíncrona (uma única vez)
+     */
+    private class ReleaseOnCompletion implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A permissão continua com a mesma requisição
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+}
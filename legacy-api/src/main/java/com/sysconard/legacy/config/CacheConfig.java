@@ -0,0 +1,70 @@
+package com.sysconard.legacy.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * Configuração dos caches em memória
+ * 
+ * Utiliza Caffeine com TTL e tamanho máximo por cache e registra estatísticas
+ * (cache.gets, cache.size, cache.evictions) expostas pelo Actuator/Micrometer.
+ * 
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Cache do catálogo de lojas (tabela LOJA), ordenado por LOJCOD
+     */
+    public static final String STORES_CACHE = "stores";
+
+    @Value("${cache.stores.ttl:PT10M}")
+    private Duration storesTtl;
+
+    @Value("${cache.stores.max-size:10}")
+    private long storesMaxSize;
+
+    /**
+     * Cache das contagens do estoque por filtro (evita repetir a agregação a cada página)
+     */
+    public static final String STOCK_COUNTS_CACHE = "stockCounts";
+
+    @Value("${cache.stock-counts.ttl:PT1M}")
+    private Duration stockCountsTtl;
+
+    @Value("${cache.stock-counts.max-size:500}")
+    private long stockCountsMaxSize;
+
+    /**
+     * Configura o CacheManager com os caches nomeados da aplicação
+     * 
+     * @return CacheManager baseado em Caffeine
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(Collections.<String>emptyList());
+        cacheManager.registerCustomCache(STORES_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(storesTtl)
+                .maximumSize(storesMaxSize)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(STOCK_COUNTS_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(stockCountsTtl)
+                .maximumSize(stockCountsMaxSize)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
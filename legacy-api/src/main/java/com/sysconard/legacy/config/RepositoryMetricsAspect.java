@@ -0,0 +1,158 @@
+package com.sysconard.legacy.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Métricas das consultas dos repositories do SQL Server
+ *
+ * Registra, para cada método de repository (declarados nas interfaces do pacote
+ * repository, herdados de JpaRepository ou de fragmentos customizados como
+ * StockRepositoryImpl, chamados através do proxy do repository):
+ * - legacy.repository.query: duração da consulta (tags repository, method, outcome)
+ * - legacy.repository.rows: linhas retornadas (tags repository, method)
+ *
+ * Consultas em stream são medidas da execução até o fechamento do stream, o que inclui
+ * o tempo de consumo das linhas pelo chamador; o outcome é ERROR se a leitura falhar
+ * durante o consumo. Streams que não são fechados não são registrados. Com o pool Hikari
+ * de uma única conexão, o tempo de espera pela conexão aparece separadamente em
+ * hikaricp.connections.acquire.
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    public static final String QUERY_TIMER = "legacy.repository.query";
+    public static final String ROWS_SUMMARY = "legacy.repository.rows";
+
+    private static final String REPOSITORY_PACKAGE = "com.sysconard.legacy.repository.";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("(execution(* com.sysconard.legacy.repository..*(..)) "
+            + "|| execution(* org.springframework.data.repository.Repository+.*(..))) "
+            + "&& this(org.springframework.data.repository.Repository)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = repositoryName(joinPoint);
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            stop(sample, repository, method, "ERROR");
+            throw e;
+        }
+
+        if (result instanceof Stream) {
+            return measureStream((Stream<?>) result, sample, repository, method);
+        }
+
+        stop(sample, repository, method, "SUCCESS");
+        Long rows = countRows(result);
+        if (rows != null) {
+            recordRows(repository, method, rows);
+        }
+        return result;
+    }
+
+    /**
+     * Nome da interface do repository, mesmo para métodos herdados de JpaRepository
+     * ou declarados em fragmentos customizados.
+     */
+    private String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis())) {
+            if (type.getName().startsWith(REPOSITORY_PACKAGE)) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+
+    /**
+     * Envolve o stream para contar as linhas consumidas e registrar a duração no fechamento,
+     * com outcome ERROR se a leitura lançar exceção durante o consumo.
+     */
+    private Stream<?> measureStream(Stream<?> stream, Timer.Sample sample, String repository, String method) {
+        AtomicLong rows = new AtomicLong();
+        AtomicBoolean failed = new AtomicBoolean();
+        Spliterator<?> source = stream.spliterator();
+
+        Spliterator<Object> measured = new Spliterators.AbstractSpliterator<Object>(
+                source.estimateSize(), source.characteristics() & ~Spliterator.SIZED) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Object> action) {
+                try {
+                    return source.tryAdvance(row -> {
+                        rows.incrementAndGet();
+                        action.accept(row);
+                    });
+                } catch (RuntimeException e) {
+                    failed.set(true);
+                    throw e;
+                }
+            }
+        };
+
+        return StreamSupport.stream(measured, false)
+                .onClose(stream::close)
+                .onClose(() -> {
+                    stop(sample, repository, method, failed.get() ? "ERROR" : "SUCCESS");
+                    recordRows(repository, method, rows.get());
+                });
+    }
+
+    private void stop(Timer.Sample sample, String repository, String method, String outcome) {
+        sample.stop(meterRegistry.timer(QUERY_TIMER,
+                "repository", repository,
+                "method", method,
+                "outcome", outcome));
+    }
+
+    private void recordRows(String repository, String method, long rows) {
+        DistributionSummary.builder(ROWS_SUMMARY)
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    /**
+     * Quantidade de linhas do resultado; null para resultados escalares (contagens, somas).
+     */
+    private Long countRows(Object result) {
+        if (result instanceof Collection) {
+            return (long) ((Collection<?>) result).size();
+        }
+        if (result instanceof Slice) {
+            return (long) ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1L : 0L;
+        }
+        return null;
+    }
+}
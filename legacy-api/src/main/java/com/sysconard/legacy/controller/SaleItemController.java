@@ -6,11 +6,13 @@ import com.sysconard.legacy.service.SaleItemControllerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -57,5 +59,32 @@ public class SaleItemController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+    
+    /**
+     * Busca detalhes de itens de venda de um período específico em modo stream.
+     * Retorna NDJSON (um objeto por linha) escrito conforme as linhas são lidas do
+     * banco, sem materializar o resultado completo em memória.
+     * 
+     * @param request DTO com parâmetros da requisição (datas, códigos de origem, operação e lojas)
+     * @return Corpo de resposta em stream no formato application/x-ndjson
+     */
+    @PostMapping(value = "/details/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSaleItemDetails(@RequestBody SaleItemDetailRequestDTO request) {
+        log.debug("Recebida requisição para stream de detalhes de itens de venda: startDate={}, endDate={}", 
+                 request.getStartDate(), request.getEndDate());
+        
+        try {
+            saleItemControllerService.validateSaleItemDetailsRequest(request);
+        } catch (IllegalArgumentException e) {
+            log.warn("Erro de validação na requisição: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        
+        StreamingResponseBody body = outputStream ->
+                saleItemControllerService.writeSaleItemDetailsAsNdjson(request, outputStream);
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 }
-
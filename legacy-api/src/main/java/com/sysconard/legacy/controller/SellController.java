@@ -3,14 +3,19 @@ package com.sysconard.legacy.controller;
 import com.sysconard.legacy.dto.StoreSalesReportDTO;
 import com.sysconard.legacy.dto.StoreSalesReportRequestDTO;
 import com.sysconard.legacy.dto.StoreSalesReportByDayDTO;
+import com.sysconard.legacy.service.ClosedDaySalesCache;
 import com.sysconard.legacy.service.StoreSalesService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller REST para operações relacionadas a vendas.
@@ -26,6 +31,7 @@ import java.util.List;
 public class SellController {
     
     private final StoreSalesService storeSalesService;
+    private final ClosedDaySalesCache closedDaySalesCache;
     
     /**
      * Endpoint para obter relatório de vendas por loja.
@@ -91,4 +97,22 @@ public class SellController {
             return ResponseEntity.internalServerError().build();
         }
     }
+    
+    /**
+     * Endpoint para invalidar um dia no cache de dias fechados.
+     * Usado quando uma correção tardia altera documentos de um dia já fechado;
+     * o dia volta a ser consultado no SQL Server no próximo relatório.
+     * 
+     * @param date Dia a invalidar (yyyy-MM-dd)
+     * @return Quantidade de entradas removidas do cache
+     */
+    @DeleteMapping("/closed-days/{date}")
+    public ResponseEntity<Map<String, Integer>> invalidateClosedDay(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        
+        log.info("Solicitando invalidação do dia {} no cache de dias fechados", date);
+        
+        int removed = closedDaySalesCache.invalidate(date);
+        return ResponseEntity.ok(Collections.singletonMap("removed", removed));
+    }
 }
@@ -3,8 +3,10 @@ package com.sysconard.legacy.controller;
 import com.sysconard.legacy.dto.StockPageResponse;
 import com.sysconard.legacy.service.StockControllerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -45,6 +47,8 @@ public class StockController {
      * @param size Tamanho da página (padrão: 15)
      * @param sortBy Campo para ordenação (padrão: refplu)
      * @param sortDir Direção da ordenação (asc/desc, padrão: asc)
+     * @param after Cursor (nextCursor da página anterior); quando informado, page é ignorado
+     * @param includeCount Se o total de registros deve ser calculado (padrão: true)
      * @return Página com itens de estoque
      */
     @GetMapping
@@ -56,15 +60,35 @@ public class StockController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "15") int size,
             @RequestParam(defaultValue = "refplu") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean includeCount) {
 
         StockPageResponse response = stockControllerService.getStocks(
-            refplu, marca, descricao, hasStock, page, size, sortBy, sortDir
+            refplu, marca, descricao, hasStock, page, size, sortBy, sortDir, after, includeCount
         );
 
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Exporta a matriz de estoque completa (refplu × loja) em modo stream
+     * 
+     * Retorna NDJSON (uma referência por linha, com as quantidades por código de loja)
+     * escrito conforme as linhas são lidas do banco. Usado pela Business API para
+     * atualizar o snapshot local de estoque.
+     * 
+     * @return Corpo de resposta em stream no formato application/x-ndjson
+     */
+    @GetMapping(value = "/matrix/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamStockMatrix() {
+        StreamingResponseBody body = stockControllerService::writeStockMatrixAsNdjson;
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/test")
     public ResponseEntity<Map<String, Object>> testConnection() {
         Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,86 @@
+package com.sysconard.legacy.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Linha da janela de vendas por referência
+ *
+ * Base comum das telas de estoque crítico e análise de compras: dados cadastrais,
+ * vendas dos três meses fechados anteriores, do mês atual e estoque total.
+ * Imutável: a atualização intradiária gera novas linhas com toBuilder().
+ * A média mensal e a diferença são calculadas na construção, para que a
+ * ordenação em memória não repita a divisão a cada comparação.
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@Getter
+public class SalesWindowRow {
+
+    private static final BigDecimal MONTHS = new BigDecimal(3);
+    private static final int AVERAGE_SCALE = 6;
+
+    private final String descricaoGrupo;
+    private final String codigoPartNumber;
+    private final String descricaoMarca;
+    private final String refplu;
+    private final String descricaoProduto;
+    private final BigDecimal custoReposicao;
+    private final BigDecimal precoVenda;
+    private final BigDecimal vendas90Dias;
+    private final BigDecimal vendas60Dias;
+    private final BigDecimal vendas30Dias;
+    private final BigDecimal vendasMesAtual;
+    private final BigDecimal estoque;
+
+    /**
+     * Código do produto, critério de desempate da ordenação
+     */
+    private final String procod;
+
+    /**
+     * Média mensal de vendas dos três meses fechados: (vendas90Dias + vendas60Dias + vendas30Dias) / 3
+     */
+    private final BigDecimal mediaMensal;
+
+    /**
+     * Diferença entre a média mensal de vendas e o estoque
+     */
+    private final BigDecimal diferenca;
+
+    @Builder(toBuilder = true)
+    public SalesWindowRow(String descricaoGrupo, String codigoPartNumber, String descricaoMarca, String refplu,
+                          String descricaoProduto, BigDecimal custoReposicao, BigDecimal precoVenda,
+                          BigDecimal vendas90Dias, BigDecimal vendas60Dias, BigDecimal vendas30Dias,
+                          BigDecimal vendasMesAtual, BigDecimal estoque, String procod) {
+        this.descricaoGrupo = descricaoGrupo;
+        this.codigoPartNumber = codigoPartNumber;
+        this.descricaoMarca = descricaoMarca;
+        this.refplu = refplu;
+        this.descricaoProduto = descricaoProduto;
+        this.custoReposicao = custoReposicao;
+        this.precoVenda = precoVenda;
+        this.vendas90Dias = vendas90Dias;
+        this.vendas60Dias = vendas60Dias;
+        this.vendas30Dias = vendas30Dias;
+        this.vendasMesAtual = vendasMesAtual;
+        this.estoque = estoque;
+        this.procod = procod;
+        this.mediaMensal = vendas90Dias.add(vendas60Dias).add(vendas30Dias)
+                .divide(MONTHS, AVERAGE_SCALE, RoundingMode.HALF_UP);
+        this.diferenca = mediaMensal.subtract(estoque);
+    }
+
+    /**
+     * Indica se houve venda em algum dos três meses fechados
+     *
+     * @return true se vendas90Dias, vendas60Dias ou vendas30Dias for maior que zero
+     */
+    public boolean hasClosedMonthSales() {
+        return vendas90Dias.signum() > 0 || vendas60Dias.signum() > 0 || vendas30Dias.signum() > 0;
+    }
+}
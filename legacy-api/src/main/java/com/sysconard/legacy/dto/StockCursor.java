@@ -0,0 +1,86 @@
+package com.sysconard.legacy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco da paginação por chave (keyset) do estoque
+ *
+ * Guarda a ordenação usada e os valores da última linha entregue (valor da
+ * coluna de ordenação e refplu, que desempata). A próxima página é buscada a
+ * partir desses valores, sem percorrer as linhas das páginas anteriores.
+ *
+ * O token é o Base64 URL-safe dos quatro campos, cada um também em Base64,
+ * separados por ponto. O cliente deve tratá-lo como opaco.
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@Data
+@AllArgsConstructor
+public class StockCursor {
+
+    private static final String SEPARATOR = ".";
+
+    /**
+     * Campo de ordenação (refplu, marca, descricao, lojN ou total)
+     */
+    private String sortBy;
+
+    /**
+     * Direção da ordenação (asc/desc)
+     */
+    private String sortDir;
+
+    /**
+     * Valor da coluna de ordenação na última linha entregue
+     */
+    private String sortValue;
+
+    /**
+     * Refplu da última linha entregue
+     */
+    private String refplu;
+
+    /**
+     * Codifica o cursor como token opaco
+     *
+     * @return Token para o parâmetro "after"
+     */
+    public String encode() {
+        String raw = part(sortBy) + SEPARATOR + part(sortDir) + SEPARATOR + part(sortValue) + SEPARATOR + part(refplu);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um token gerado por {@link #encode()}
+     *
+     * @param token Token recebido no parâmetro "after"
+     * @return Cursor decodificado
+     * @throws IllegalArgumentException se o token for inválido
+     */
+    public static StockCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\.", -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Cursor de estoque inválido");
+            }
+            return new StockCursor(unpart(parts[0]), unpart(parts[1]), unpart(parts[2]), unpart(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de estoque inválido: " + token, e);
+        }
+    }
+
+    private static String part(String value) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((value != null ? value : "").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String unpart(String value) {
+        return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,45 @@
+package com.sysconard.legacy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO de uma linha da matriz de estoque (refplu × loja)
+ *
+ * Diferente de StockItemDTO, não possui colunas fixas por loja: as quantidades
+ * são indexadas pelo código da loja (6 dígitos), sem limite de lojas.
+ * Lojas sem estoque são omitidas.
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMatrixRowDTO {
+
+    /**
+     * Código PLU da referência
+     */
+    private String refplu;
+
+    /**
+     * Nome da marca
+     */
+    private String marca;
+
+    /**
+     * Descrição do produto
+     */
+    private String descricao;
+
+    /**
+     * Quantidade em estoque por código de loja
+     */
+    private Map<String, Long> quantities;
+}
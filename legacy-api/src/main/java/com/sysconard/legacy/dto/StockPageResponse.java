@@ -26,7 +26,7 @@ public class StockPageResponse {
     private List<StockItemDTO> content;
     
     /**
-     * Número total de elementos
+     * Número total de elementos (null quando includeCount = false)
      */
     private Long totalElements;
     
@@ -36,7 +36,7 @@ public class StockPageResponse {
     private Integer totalPages;
     
     /**
-     * Página atual (0-based)
+     * Página atual (0-based; null na paginação por cursor)
      */
     private Integer currentPage;
     
@@ -69,4 +69,9 @@ public class StockPageResponse {
      * Número de elementos na página atual
      */
     private Integer numberOfElements;
+    
+    /**
+     * Cursor para buscar a próxima página (parâmetro "after"); null na última página
+     */
+    private String nextCursor;
 }
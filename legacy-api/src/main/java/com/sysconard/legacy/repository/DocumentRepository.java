@@ -6,12 +6,19 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.util.List;
 
 /**
  * Repository para operações com a entidade Documento.
  * Contém queries nativas otimizadas para relatórios de vendas.
  * 
+ * As datas são recebidas como Timestamp (parâmetro tipado, sem conversão de texto
+ * dependente de DATEFORMAT) e convertidas para DATETIME, o tipo de DOCDATEMI, de forma
+ * que a coluna seja comparada sem conversão implícita. As listas dos filtros IN são
+ * completadas até a próxima potência de 2 (hibernate.query.in_clause_parameter_padding),
+ * mantendo poucas variações do texto SQL no plan cache do SQL Server.
+ * 
  * @author Sysconard Legacy API
  * @version 1.0
  */
@@ -24,8 +31,8 @@ public interface DocumentRepository extends JpaRepository<Documento, Long> {
      * Retorna dados já agregados por loja com valores calculados de TROCA, PDV e DANFE.
      *
      * @param storeCodes Lista de códigos de loja para filtrar
-     * @param startDate Data de início do período (formato timestamp)
-     * @param endDate Data de fim do período (formato timestamp)
+     * @param startDate Início do período (inclusivo)
+     * @param endDate Fim do período (exclusivo)
      * @param danfeOrigin Lista de códigos de origem para DANFE
      * @param pdvOrigin Lista de códigos de origem para PDV
      * @param exchangeOrigin Lista de códigos de origem para trocas
@@ -71,8 +78,8 @@ public interface DocumentRepository extends JpaRepository<Documento, Long> {
                    "GROUP BY J.LOJFAN, J.LOJCOD " +
                    "ORDER BY J.LOJFAN", nativeQuery = true)
     List<Object[]> findStoreSalesOptimizedData(@Param("storeCodes") List<String> storeCodes,
-                                              @Param("startDate") String startDate,
-                                              @Param("endDate") String endDate,
+                                              @Param("startDate") Timestamp startDate,
+                                              @Param("endDate") Timestamp endDate,
                                               @Param("danfeOrigin") List<String> danfeOrigin,
                                               @Param("pdvOrigin") List<String> pdvOrigin,
                                               @Param("exchangeOrigin") List<String> exchangeOrigin,
@@ -85,8 +92,8 @@ public interface DocumentRepository extends JpaRepository<Documento, Long> {
      * Retorna dados agregados por loja e por dia com valores calculados de TROCA, PDV e DANFE.
      *
      * @param storeCodes Lista de códigos de loja para filtrar
-     * @param startDate Data de início do período (formato timestamp)
-     * @param endDate Data de fim do período (formato timestamp)
+     * @param startDate Início do período (inclusivo)
+     * @param endDate Fim do período (exclusivo)
      * @param danfeOrigin Lista de códigos de origem para DANFE
      * @param pdvOrigin Lista de códigos de origem para PDV
      * @param exchangeOrigin Lista de códigos de origem para trocas
@@ -133,8 +140,8 @@ public interface DocumentRepository extends JpaRepository<Documento, Long> {
                    "GROUP BY J.LOJFAN, J.LOJCOD, CAST(D.DOCDATEMI AS DATE) " +
                    "ORDER BY J.LOJFAN, CAST(D.DOCDATEMI AS DATE)", nativeQuery = true)
     List<Object[]> findStoreSalesByDayOptimizedData(@Param("storeCodes") List<String> storeCodes,
-                                                   @Param("startDate") String startDate,
-                                                   @Param("endDate") String endDate,
+                                                   @Param("startDate") Timestamp startDate,
+                                                   @Param("endDate") Timestamp endDate,
                                                    @Param("danfeOrigin") List<String> danfeOrigin,
                                                    @Param("pdvOrigin") List<String> pdvOrigin,
                                                    @Param("exchangeOrigin") List<String> exchangeOrigin,
@@ -148,8 +155,8 @@ public interface DocumentRepository extends JpaRepository<Documento, Long> {
      *
      * @param originCodes Lista de códigos de origem (ORICOD) para filtrar
      * @param operationCodes Lista de códigos de operação (OPECOD) para filtrar
-     * @param startDate Data de início do período (formato timestamp: YYYY-MM-DDTHH:mm:ss)
-     * @param endDate Data de fim do período (formato timestamp: YYYY-MM-DDTHH:mm:ss)
+     * @param startDate Início do período (inclusivo)
+     * @param endDate Fim do período (exclusivo)
      * @return Lista de arrays Object[] com dados das trocas: [ORICOD, OPECOD, LOJCOD, DOCCOD, FUNCOD, DOCNUMDOC, DOCCHVNFE, DOCDATEMI, DOCOBS]
      */
     @Query(value = "SELECT D.ORICOD, D.OPECOD, D.LOJCOD, D.DOCCOD, D.FUNCOD, " +
@@ -164,6 +171,6 @@ public interface DocumentRepository extends JpaRepository<Documento, Long> {
            nativeQuery = true)
     List<Object[]> findExchanges(@Param("originCodes") List<String> originCodes,
                                  @Param("operationCodes") List<String> operationCodes,
-                                 @Param("startDate") String startDate,
-                                 @Param("endDate") String endDate);
+                                 @Param("startDate") Timestamp startDate,
+                                 @Param("endDate") Timestamp endDate);
 }
@@ -3,10 +3,14 @@ package com.sysconard.legacy.repository;
 import com.sysconard.legacy.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository para operações de acesso a dados de itens de venda.
@@ -18,6 +22,56 @@ import java.util.List;
 @Repository
 public interface SaleItemRepository extends JpaRepository<Product, Long> {
     
+    /**
+     * Query nativa de detalhes de itens de venda, compartilhada entre a busca
+     * em lista e a busca em stream. As datas são parâmetros Timestamp convertidos
+     * para DATETIME (tipo de DOCDATEMI), sem conversão implícita da coluna.
+     */
+    String SALE_ITEM_DETAILS_QUERY = "SELECT " +
+            "    d.DOCDATEMI, " +
+            "    its.SAICOD, " +
+            "    its.ITSSEQ, " +
+            "    d.FUNCOD, " +
+            "    its.REFPLU, " +
+            "    its.LOJCOD, " +
+            "    prd.PROCOD, " +
+            "    m.MARDES, " +
+            "    s.SECDES, " +
+            "    grop.GRPDES, " +
+            "    sub.SBGDES, " +
+            "    prd.PRODES, " +
+            "    prd.PRONCM, " +
+            "    CONVERT(INT, its.ITSQTDTOT) AS ITSQTDTOT, " +
+            "    CAST(its.ITSTOTFAT / NULLIF(its.ITSQTDTOT, 0) AS DECIMAL(10,2)) AS Unitario, " +
+            "    CAST(its.ITSTOTFAT AS DECIMAL(10,2)) AS ITSTOTFAT " +
+            "FROM DOCUMENTO AS d " +
+            "INNER LOOP JOIN ITEM_SAIDA AS its " +
+            "    ON its.SAICOD = d.DOCCOD " +
+            "   AND its.LOJCOD = d.LOJCOD " +
+            "INNER JOIN REFERENCIA AS ref " +
+            "    ON ref.REFPLU = its.REFPLU " +
+            "INNER JOIN PRODUTO AS prd " +
+            "    ON prd.PROCOD = ref.PROCOD " +
+            "INNER JOIN MARCA AS m " +
+            "    ON m.MARCOD = prd.MARCOD " +
+            "INNER JOIN SECAO AS s " +
+            "    ON s.SECCOD = prd.SECCOD " +
+            "INNER JOIN GRUPO AS grop " +
+            "    ON grop.SECCOD = prd.SECCOD " +
+            "   AND grop.GRPCOD = prd.GRPCOD " +
+            "INNER JOIN SUBGRUPO AS sub " +
+            "    ON sub.SECCOD = prd.SECCOD " +
+            "   AND sub.GRPCOD = prd.GRPCOD " +
+            "   AND sub.SBGCOD = prd.SBGCOD " +
+            "WHERE " +
+            "    d.DOCSTA = 'E' " +
+            "    AND d.DOCSTANFE = 'A' " +
+            "    AND d.ORICOD IN (:originCodes) " +
+            "    AND d.OPECOD IN (:operationCodes) " +
+            "    AND its.LOJCOD IN (:storeCodes) " +
+            "    AND d.DOCDATEMI >= CAST(:startDate AS DATETIME) " +
+            "    AND d.DOCDATEMI < CAST(:endDate AS DATETIME)";
+    
     /**
      * Busca detalhes de itens de venda de um período específico.
      * Retorna dados detalhados de cada item vendido com informações do produto e da venda.
@@ -25,61 +79,39 @@ public interface SaleItemRepository extends JpaRepository<Product, Long> {
      * @param originCodes Lista de códigos de origem (ORICOD) para PDV e DANFE
      * @param operationCodes Lista de códigos de operação (OPECOD) do tipo SELL
      * @param storeCodes Lista de códigos de lojas (LOJCOD)
-     * @param startDate Data inicial do período (formato datetime SQL Server)
-     * @param endDate Data final do período (formato datetime SQL Server)
+     * @param startDate Início do período (inclusivo)
+     * @param endDate Fim do período (exclusivo)
      * @return Lista de arrays Object[] com os dados dos itens de venda
      */
-    @Query(value = "SELECT " +
-                   "    d.DOCDATEMI, " +
-                   "    its.SAICOD, " +
-                   "    its.ITSSEQ, " +
-                   "    d.FUNCOD, " +
-                   "    its.REFPLU, " +
-                   "    its.LOJCOD, " +
-                   "    prd.PROCOD, " +
-                   "    m.MARDES, " +
-                   "    s.SECDES, " +
-                   "    grop.GRPDES, " +
-                   "    sub.SBGDES, " +
-                   "    prd.PRODES, " +
-                   "    prd.PRONCM, " +
-                   "    CONVERT(INT, its.ITSQTDTOT) AS ITSQTDTOT, " +
-                   "    CAST(its.ITSTOTFAT / NULLIF(its.ITSQTDTOT, 0) AS DECIMAL(10,2)) AS Unitario, " +
-                   "    CAST(its.ITSTOTFAT AS DECIMAL(10,2)) AS ITSTOTFAT " +
-                   "FROM DOCUMENTO AS d " +
-                   "INNER LOOP JOIN ITEM_SAIDA AS its " +
-                   "    ON its.SAICOD = d.DOCCOD " +
-                   "   AND its.LOJCOD = d.LOJCOD " +
-                   "INNER JOIN REFERENCIA AS ref " +
-                   "    ON ref.REFPLU = its.REFPLU " +
-                   "INNER JOIN PRODUTO AS prd " +
-                   "    ON prd.PROCOD = ref.PROCOD " +
-                   "INNER JOIN MARCA AS m " +
-                   "    ON m.MARCOD = prd.MARCOD " +
-                   "INNER JOIN SECAO AS s " +
-                   "    ON s.SECCOD = prd.SECCOD " +
-                   "INNER JOIN GRUPO AS grop " +
-                   "    ON grop.SECCOD = prd.SECCOD " +
-                   "   AND grop.GRPCOD = prd.GRPCOD " +
-                   "INNER JOIN SUBGRUPO AS sub " +
-                   "    ON sub.SECCOD = prd.SECCOD " +
-                   "   AND sub.GRPCOD = prd.GRPCOD " +
-                   "   AND sub.SBGCOD = prd.SBGCOD " +
-                   "WHERE " +
-                   "    d.DOCSTA = 'E' " +
-                   "    AND d.DOCSTANFE = 'A' " +
-                   "    AND d.ORICOD IN (:originCodes) " +
-                   "    AND d.OPECOD IN (:operationCodes) " +
-                   "    AND its.LOJCOD IN (:storeCodes) " +
-                   "    AND d.DOCDATEMI >= CAST(:startDate AS DATETIME) " +
-                   "    AND d.DOCDATEMI < CAST(:endDate AS DATETIME)",
-           nativeQuery = true)
+    @Query(value = SALE_ITEM_DETAILS_QUERY, nativeQuery = true)
     List<Object[]> findSaleItemDetails(
             @Param("originCodes") List<String> originCodes,
             @Param("operationCodes") List<String> operationCodes,
             @Param("storeCodes") List<String> storeCodes,
-            @Param("startDate") String startDate,
-            @Param("endDate") String endDate
+            @Param("startDate") Timestamp startDate,
+            @Param("endDate") Timestamp endDate
+    );
+    
+    /**
+     * Busca detalhes de itens de venda de um período específico em modo stream.
+     * Utiliza cursor forward-only com fetch size fixo, permitindo que o chamador
+     * processe as linhas conforme chegam do SQL Server sem materializar o resultado.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @param originCodes Lista de códigos de origem (ORICOD) para PDV e DANFE
+     * @param operationCodes Lista de códigos de operação (OPECOD) do tipo SELL
+     * @param storeCodes Lista de códigos de lojas (LOJCOD)
+     * @param startDate Início do período (inclusivo)
+     * @param endDate Fim do período (exclusivo)
+     * @return Stream de arrays Object[] com os dados dos itens de venda
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = SALE_ITEM_DETAILS_QUERY, nativeQuery = true)
+    Stream<Object[]> streamSaleItemDetails(
+            @Param("originCodes") List<String> originCodes,
+            @Param("operationCodes") List<String> operationCodes,
+            @Param("storeCodes") List<String> storeCodes,
+            @Param("startDate") Timestamp startDate,
+            @Param("endDate") Timestamp endDate
     );
 }
-
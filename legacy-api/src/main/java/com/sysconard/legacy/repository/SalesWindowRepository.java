@@ -0,0 +1,122 @@
+package com.sysconard.legacy.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sysconard.legacy.entity.Product;
+
+import javax.persistence.QueryHint;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository da janela de vendas por referência.
+ * Fornece a base compartilhada pelas telas de estoque crítico e análise de compras:
+ * vendas dos três meses fechados anteriores, do mês atual e estoque total por REFPLU.
+ *
+ * Diferente de CriticalStockRepository e PurchaseAnalysisRepository, as vendas
+ * são somadas em uma única leitura de ITEM_SAIDA ⋈ DOCUMENTO (somas condicionais por
+ * mês), sem filtros nem paginação; o resultado é mantido em memória pelo SalesWindowService.
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@Repository
+public interface SalesWindowRepository extends JpaRepository<Product, Long> {
+
+    /**
+     * Busca em stream a janela de vendas de todas as referências.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @param window90Start Início do terceiro mês fechado anterior (vendas90Dias)
+     * @param window60Start Início do segundo mês fechado anterior (vendas60Dias)
+     * @param window30Start Início do mês fechado anterior (vendas30Dias)
+     * @param monthStart Início do mês atual (vendasMesAtual)
+     * @param nextMonthStart Início do mês seguinte
+     * @return Stream de arrays: descricaoGrupo, codigoPartNumber, descricaoMarca, refplu, descricaoProduto,
+     *         custoReposicao, precoVenda, vendas90Dias, vendas60Dias, vendas30Dias, vendasMesAtual, estoque, procod
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "WITH " +
+            "Vendas AS ( " +
+            "    SELECT its.REFPLU, " +
+            "        SUM(CASE WHEN d.DOCDATEMI < :window60Start THEN its.ITSQTDTOT ELSE 0 END) AS Vendas90, " +
+            "        SUM(CASE WHEN d.DOCDATEMI >= :window60Start AND d.DOCDATEMI < :window30Start THEN its.ITSQTDTOT ELSE 0 END) AS Vendas60, " +
+            "        SUM(CASE WHEN d.DOCDATEMI >= :window30Start AND d.DOCDATEMI < :monthStart THEN its.ITSQTDTOT ELSE 0 END) AS Vendas30, " +
+            "        SUM(CASE WHEN d.DOCDATEMI >= :monthStart THEN its.ITSQTDTOT ELSE 0 END) AS VendasAtual " +
+            "    FROM ITEM_SAIDA its " +
+            "    INNER JOIN DOCUMENTO d ON its.SAICOD = d.DOCCOD " +
+            "    WHERE its.LOJCOD = d.LOJCOD " +
+            "      AND d.DOCSTA = 'E' " +
+            "      AND CAST(d.ORICOD AS INT) < 100 " +
+            "      AND d.DOCDATEMI >= :window90Start " +
+            "      AND d.DOCDATEMI < :nextMonthStart " +
+            "    GROUP BY its.REFPLU " +
+            "), " +
+            "EstoqueTotal AS ( " +
+            "    SELECT REFPLU, SUM(ESTTOT) AS Total " +
+            "    FROM ESTOQUE " +
+            "    WHERE LOCCOD = '001' " +
+            "    GROUP BY REFPLU " +
+            ") " +
+            "SELECT " +
+            "    g.GRPDES, pt.REFCOD, m.MARDES, r.REFPLU, p.PRODES, " +
+            "    ISNULL(c.CSTREP, 0), ISNULL(pr.PRCVDA1, 0), " +
+            "    ISNULL(v.Vendas90, 0), ISNULL(v.Vendas60, 0), ISNULL(v.Vendas30, 0), ISNULL(v.VendasAtual, 0), " +
+            "    ISNULL(est.Total, 0), p.PROCOD " +
+            "FROM PRODUTO p " +
+            "INNER JOIN GRUPO g ON p.GRPCOD = g.GRPCOD AND p.SECCOD = g.SECCOD " +
+            "INNER JOIN MARCA m ON p.MARCOD = m.MARCOD " +
+            "INNER JOIN REFERENCIA r ON p.PROCOD = r.PROCOD " +
+            "LEFT JOIN REFERENCIA_FABRICANTE pt ON r.REFPLU = pt.REFPLU " +
+            "LEFT JOIN CUSTO c ON r.REFPLU = c.REFPLU AND c.LOJCOD = 4 " +
+            "LEFT JOIN PRECO pr ON r.REFPLU = pr.REFPLU AND pr.LOJCOD = 4 " +
+            "LEFT JOIN Vendas v ON r.REFPLU = v.REFPLU " +
+            "LEFT JOIN EstoqueTotal est ON r.REFPLU = est.REFPLU",
+           nativeQuery = true)
+    Stream<Object[]> streamSalesWindow(
+        @Param("window90Start") Timestamp window90Start,
+        @Param("window60Start") Timestamp window60Start,
+        @Param("window30Start") Timestamp window30Start,
+        @Param("monthStart") Timestamp monthStart,
+        @Param("nextMonthStart") Timestamp nextMonthStart
+    );
+
+    /**
+     * Busca as vendas do mês atual por referência (atualização intradiária da janela).
+     *
+     * @param monthStart Início do mês atual
+     * @param nextMonthStart Início do mês seguinte
+     * @return Lista de arrays: refplu, quantidade vendida
+     */
+    @Query(value = "SELECT its.REFPLU, SUM(its.ITSQTDTOT) " +
+            "FROM ITEM_SAIDA its " +
+            "INNER JOIN DOCUMENTO d ON its.SAICOD = d.DOCCOD " +
+            "WHERE its.LOJCOD = d.LOJCOD " +
+            "  AND d.DOCSTA = 'E' " +
+            "  AND CAST(d.ORICOD AS INT) < 100 " +
+            "  AND d.DOCDATEMI >= :monthStart " +
+            "  AND d.DOCDATEMI < :nextMonthStart " +
+            "GROUP BY its.REFPLU",
+           nativeQuery = true)
+    List<Object[]> findCurrentMonthSales(
+        @Param("monthStart") Timestamp monthStart,
+        @Param("nextMonthStart") Timestamp nextMonthStart
+    );
+
+    /**
+     * Busca o estoque total por referência (atualização intradiária da janela).
+     *
+     * @return Lista de arrays: refplu, estoque total
+     */
+    @Query(value = "SELECT REFPLU, SUM(ESTTOT) " +
+            "FROM ESTOQUE " +
+            "WHERE LOCCOD = '001' " +
+            "GROUP BY REFPLU",
+           nativeQuery = true)
+    List<Object[]> findStockTotals();
+}
@@ -2,11 +2,15 @@ package com.sysconard.legacy.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.sysconard.legacy.entity.Stock;
 import com.sysconard.legacy.entity.StockId;
+
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository para operações de estoque
@@ -81,4 +85,30 @@ public interface StockRepository extends JpaRepository<Stock, StockId>, StockRep
             "ORDER BY r.refplu",
             nativeQuery = true)
     List<Object[]> findTestStocksWithPivot();
+    
+    /**
+     * Matriz de estoque (refplu × loja) em formato longo, ordenada por refplu
+     * 
+     * Uma linha por referência e loja com estoque diferente de zero no local 1;
+     * referências sem estoque aparecem uma única vez com lojcod e esttot nulos.
+     * Retorna um Stream com fetch size configurado para que o chamador processe
+     * as linhas conforme chegam do SQL Server sem materializar o resultado.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return Stream de arrays: refplu, marca, descricao, lojcod, esttot
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT " +
+            "r.refplu, " +
+            "m.mardes AS marca, " +
+            "p.prodes AS descricao, " +
+            "e.lojcod, " +
+            "e.esttot " +
+            "FROM referencia r " +
+            "INNER JOIN produto p ON r.procod = p.procod " +
+            "INNER JOIN marca m ON p.marcod = m.marcod " +
+            "LEFT JOIN estoque e ON r.refplu = e.refplu AND e.loccod = 1 AND e.esttot <> 0 " +
+            "ORDER BY r.refplu",
+            nativeQuery = true)
+    Stream<Object[]> streamStockMatrix();
 }
@@ -37,6 +37,38 @@ public interface StockRepositoryCustom {
             int offset, int size
     );
     
+    /**
+     * Busca estoque com filtros usando paginação por chave (keyset)
+     * 
+     * Retorna as linhas posteriores ao cursor na ordenação pedida, sem percorrer as
+     * páginas anteriores. A ordem é a mesma de {@link #findStocksWithFiltersDynamic}.
+     * A query retorna: refplu, marca, descricao, loj1, ..., lojN, total (sem rn).
+     * 
+     * @param refplu Filtro por refplu (opcional)
+     * @param marca Filtro por marca (opcional)
+     * @param descricao Filtro por descrição (opcional)
+     * @param refpluFilter Filtro LIKE para refplu
+     * @param marcaFilter Filtro LIKE para marca
+     * @param descricaoWords Palavras de descrição separadas por |
+     * @param grupoWords Palavras de grupo separadas por |
+     * @param storeIds Lista de IDs de lojas para incluir na query
+     * @param hasStock Filtrar apenas produtos com estoque total > 0
+     * @param sortBy Coluna de ordenação já validada (refplu, marca, descricao, lojN ou total)
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @param afterSortValue Valor da coluna de ordenação na última linha entregue (ignorado para refplu)
+     * @param afterRefplu Refplu da última linha entregue (null para a primeira página)
+     * @param limit Número máximo de linhas
+     * @return Lista de arrays de objetos com dados do estoque
+     */
+    List<Object[]> findStocksWithFiltersKeyset(
+            String refplu, String marca, String descricao,
+            String refpluFilter, String marcaFilter,
+            String descricaoWords, String grupoWords,
+            List<Long> storeIds,
+            Boolean hasStock, String sortBy, String sortDir,
+            Object afterSortValue, String afterRefplu, int limit
+    );
+    
     /**
      * Conta total de registros de estoque com filtros aplicados usando query dinâmica
      * 
@@ -47,6 +47,37 @@ public class StockRepositoryImpl implements StockRepositoryCustom {
         return results;
     }
     
+    @Override
+    public List<Object[]> findStocksWithFiltersKeyset(
+            String refplu, String marca, String descricao,
+            String refpluFilter, String marcaFilter,
+            String descricaoWords, String grupoWords,
+            List<Long> storeIds,
+            Boolean hasStock, String sortBy, String sortDir,
+            Object afterSortValue, String afterRefplu, int limit) {
+        
+        boolean hasCursor = afterRefplu != null;
+        String query = buildKeysetStockQuery(storeIds, sortBy, sortDir, hasCursor);
+        Query nativeQuery = entityManager.createNativeQuery(query);
+        
+        setFilterParameters(nativeQuery, refplu, marca, descricao, refpluFilter, marcaFilter,
+                descricaoWords, hasStock);
+        nativeQuery.setParameter("limit", limit);
+        if (hasCursor) {
+            nativeQuery.setParameter("afterRefplu", afterRefplu);
+            if (!"refplu".equals(sortBy)) {
+                nativeQuery.setParameter("afterSortValue", afterSortValue);
+            }
+        }
+        
+        @SuppressWarnings("unchecked")
+        List<Object[]> results = nativeQuery.getResultList();
+        log.debug("Resultados retornados da query keyset: {} (sortBy: {}, cursor: {}, limit: {})",
+                results.size(), sortBy, hasCursor, limit);
+        
+        return results;
+    }
+    
     @Override
     public Long countStocksWithFiltersDynamic(
             String refplu, String marca, String descricao,
@@ -83,6 +114,7 @@ public class StockRepositoryImpl implements StockRepositoryCustom {
         if (isCount) {
             query.append("SELECT COUNT(*) FROM (");
             query.append("SELECT r.refplu ");
+            appendAggregationBody(query, storeIds, null);
         } else {
             // Query externa com ROW_NUMBER para paginação
             query.append("SELECT * FROM (");
@@ -91,30 +123,117 @@ public class StockRepositoryImpl implements StockRepositoryCustom {
             query.append(buildExternalSortOrderBy(storeIds));
             query.append(") as rn FROM (");
             // Query interna com agregações
-            query.append("SELECT ");
-            query.append("r.refplu, ");
-            query.append("m.mardes AS marca, ");
-            query.append("p.prodes AS descricao, ");
-            
-            // Construir colunas dinâmicas para cada loja usando ISNULL(MAX(CASE WHEN...))
-            // Baseado na query original fornecida
-            for (int i = 0; i < storeIds.size(); i++) {
-                Long storeId = storeIds.get(i);
-                if (i > 0) {
-                    query.append(", ");
-                }
-                query.append("ISNULL(MAX(CASE WHEN e.lojcod = ").append(storeId)
-                     .append(" AND e.loccod = 1 THEN e.esttot END), 0) AS loj").append(i + 1);
+            appendAggregatedSelect(query, storeIds, null);
+        }
+        
+        if (!isCount) {
+            query.append(") AS paginated ");
+            query.append(") AS numbered ");
+            query.append("WHERE rn > :offset AND rn <= :offset + :size");
+        } else {
+            query.append(") AS filtered");
+        }
+        
+        String finalQuery = query.toString();
+        // Log da query para debug (o tempo de cada consulta é exportado em legacy.repository.query)
+        log.debug("Query SQL gerada (isCount={}, numLojas={}): {}", isCount, storeIds.size(), finalQuery);
+        
+        return finalQuery;
+    }
+    
+    /**
+     * Constrói a query da paginação por chave (keyset)
+     * 
+     * Em vez de numerar todas as linhas com ROW_NUMBER e descartar as páginas anteriores,
+     * filtra as linhas posteriores ao cursor (valor da coluna de ordenação e refplu da
+     * última linha entregue) e retorna apenas as primeiras :limit. Quando a ordenação é
+     * por refplu, o filtro do cursor é aplicado antes do GROUP BY, limitando também a agregação.
+     * 
+     * A ordem é a mesma da paginação por offset: coluna de ordenação na direção pedida
+     * e refplu crescente como desempate (refplu na direção pedida quando é a própria ordenação).
+     * 
+     * @param storeIds Lojas incluídas na query
+     * @param sortColumn Coluna de ordenação já validada (refplu, marca, descricao, lojN ou total)
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @param hasCursor Se há cursor (false para a primeira página)
+     */
+    private String buildKeysetStockQuery(List<Long> storeIds, String sortColumn, String sortDir, boolean hasCursor) {
+        if (storeIds == null || storeIds.isEmpty()) {
+            throw new IllegalArgumentException("Lista de lojas não pode ser vazia");
+        }
+        
+        boolean desc = "desc".equalsIgnoreCase(sortDir);
+        String direction = desc ? "DESC" : "ASC";
+        String after = desc ? "<" : ">";
+        boolean byRefplu = "refplu".equals(sortColumn);
+        // Colunas de texto podem ser nulas: ISNULL mantém a comparação do cursor consistente com a ordem
+        String sortExpression = "marca".equals(sortColumn) || "descricao".equals(sortColumn)
+                ? "ISNULL(" + sortColumn + ", '')" : sortColumn;
+        
+        StringBuilder query = new StringBuilder();
+        query.append("SELECT TOP (:limit) * FROM (");
+        appendAggregatedSelect(query, storeIds,
+                hasCursor && byRefplu ? "AND r.refplu " + after + " :afterRefplu " : null);
+        query.append(") AS filtered ");
+        
+        if (byRefplu) {
+            query.append("ORDER BY refplu ").append(direction);
+        } else {
+            if (hasCursor) {
+                query.append("WHERE ").append(sortExpression).append(" ").append(after).append(" :afterSortValue ");
+                query.append("OR (").append(sortExpression).append(" = :afterSortValue AND refplu > :afterRefplu) ");
             }
-            
-            // Adicionar total (soma de todas as lojas)
-            if (storeIds.size() > 0) {
+            query.append("ORDER BY ").append(sortExpression).append(" ").append(direction).append(", refplu ASC");
+        }
+        
+        String finalQuery = query.toString();
+        log.debug("Query SQL keyset gerada (sortBy={}, numLojas={}): {}", sortColumn, storeIds.size(), finalQuery);
+        
+        return finalQuery;
+    }
+    
+    /**
+     * Adiciona o SELECT agregado do estoque: refplu, marca, descricao, uma coluna por loja e o total
+     * 
+     * @param query Query em construção
+     * @param storeIds Lojas incluídas na query
+     * @param extraWhere Condição adicional do WHERE (opcional)
+     */
+    private void appendAggregatedSelect(StringBuilder query, List<Long> storeIds, String extraWhere) {
+        query.append("SELECT ");
+        query.append("r.refplu, ");
+        query.append("m.mardes AS marca, ");
+        query.append("p.prodes AS descricao, ");
+        
+        // Construir colunas dinâmicas para cada loja usando ISNULL(MAX(CASE WHEN...))
+        // Baseado na query original fornecida
+        for (int i = 0; i < storeIds.size(); i++) {
+            Long storeId = storeIds.get(i);
+            if (i > 0) {
                 query.append(", ");
             }
-            query.append(buildTotalExpression(storeIds));
-            query.append(" AS total ");
+            query.append("ISNULL(MAX(CASE WHEN e.lojcod = ").append(storeId)
+                 .append(" AND e.loccod = 1 THEN e.esttot END), 0) AS loj").append(i + 1);
         }
         
+        // Adicionar total (soma de todas as lojas)
+        if (storeIds.size() > 0) {
+            query.append(", ");
+        }
+        query.append(buildTotalExpression(storeIds));
+        query.append(" AS total ");
+        
+        appendAggregationBody(query, storeIds, extraWhere);
+    }
+    
+    /**
+     * Adiciona FROM, WHERE, GROUP BY e HAVING comuns às queries de estoque
+     * 
+     * @param query Query em construção
+     * @param storeIds Lojas incluídas na query
+     * @param extraWhere Condição adicional do WHERE (opcional)
+     */
+    private void appendAggregationBody(StringBuilder query, List<Long> storeIds, String extraWhere) {
         // FROM baseado na query original - começando de referencia
         query.append("FROM referencia r ");
         query.append("INNER JOIN produto p ON r.procod = p.procod ");
@@ -128,6 +247,9 @@ public class StockRepositoryImpl implements StockRepositoryCustom {
         query.append("AND (:descricao IS NULL OR :descricaoWords IS NULL OR ");
         query.append("(UPPER(p.prodes) LIKE '%' + REPLACE(:descricaoWords, '|', '%') + '%' OR ");
         query.append("UPPER(m.mardes) LIKE '%' + REPLACE(:descricaoWords, '|', '%') + '%')) ");
+        if (extraWhere != null) {
+            query.append(extraWhere);
+        }
         
         // GROUP BY baseado na query original
         query.append("GROUP BY r.refplu, m.mardes, p.prodes ");
@@ -136,21 +258,6 @@ public class StockRepositoryImpl implements StockRepositoryCustom {
         query.append("HAVING (:hasStock = 0 OR ");
         query.append(buildTotalExpression(storeIds));
         query.append(" > 0) ");
-        
-        if (!isCount) {
-            query.append(") AS paginated ");
-            query.append(") AS numbered ");
-            query.append("WHERE rn > :offset AND rn <= :offset + :size");
-        } else {
-            query.append(") AS filtered");
-        }
-        
-        String finalQuery = query.toString();
-        
-        // Log da query para debug - sempre logar para identificar problemas
-        log.info("Query SQL gerada (isCount={}, numLojas={}): {}", isCount, storeIds.size(), finalQuery);
-        
-        return finalQuery;
     }
     
     /**
@@ -245,6 +352,15 @@ public class StockRepositoryImpl implements StockRepositoryCustom {
                                         String refpluFilter, String marcaFilter,
                                         String descricaoWords, String grupoWords,
                                         List<Long> storeIds, Boolean hasStock) {
+        setFilterParameters(query, refplu, marca, descricao, refpluFilter, marcaFilter, descricaoWords, hasStock);
+    }
+    
+    /**
+     * Define os parâmetros de filtro comuns às queries de estoque
+     */
+    private void setFilterParameters(Query query, String refplu, String marca, String descricao,
+                                     String refpluFilter, String marcaFilter,
+                                     String descricaoWords, Boolean hasStock) {
         query.setParameter("refplu", refplu);
         query.setParameter("marca", marca);
         query.setParameter("descricao", descricao);
@@ -0,0 +1,85 @@
+package com.sysconard.legacy.repository.util;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Limites de período das queries de vendas (DocumentRepository e SaleItemRepository)
+ *
+ * As datas são enviadas como Timestamp (parâmetro tipado) e convertidas para DATETIME
+ * nas queries, de forma que o mesmo plano seja reaproveitado para qualquer período.
+ * O fim é exclusivo (DOCDATEMI < fim): meia-noite do dia seguinte ao último dia do período,
+ * sem depender da precisão de DATETIME.
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+public final class PeriodTimestamps {
+
+    private PeriodTimestamps() {
+    }
+
+    /**
+     * Início do período: a hora informada é mantida (meia-noite se ausente).
+     *
+     * @param dateString Data no formato ISO (ex: "2025-11-07T08:00:00") ou YYYY-MM-DD
+     * @return Timestamp do início do período
+     * @throws IllegalArgumentException se a data for inválida
+     */
+    public static Timestamp start(String dateString) {
+        String[] parts = split(dateString);
+        try {
+            LocalTime time = parts.length == 2 && parts[1].contains(":") ? LocalTime.parse(parts[1]) : LocalTime.MIDNIGHT;
+            return Timestamp.valueOf(LocalDate.parse(parts[0]).atTime(time));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Formato de data inválido: " + dateString, e);
+        }
+    }
+
+    /**
+     * Fim exclusivo do período: meia-noite do dia seguinte ao informado (a hora informada é ignorada).
+     *
+     * @param dateString Data no formato ISO (ex: "2025-11-07T23:59:59") ou YYYY-MM-DD
+     * @return Timestamp do fim exclusivo do período
+     * @throws IllegalArgumentException se a data for inválida
+     */
+    public static Timestamp end(String dateString) {
+        String[] parts = split(dateString);
+        try {
+            return end(LocalDate.parse(parts[0]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Formato de data inválido: " + dateString, e);
+        }
+    }
+
+    /**
+     * Início do dia informado.
+     *
+     * @param date Primeiro dia do período
+     * @return Timestamp do início do período
+     */
+    public static Timestamp start(LocalDate date) {
+        return Timestamp.valueOf(date.atStartOfDay());
+    }
+
+    /**
+     * Meia-noite do dia seguinte ao informado.
+     *
+     * @param date Último dia do período
+     * @return Timestamp do fim exclusivo do período
+     */
+    public static Timestamp end(LocalDate date) {
+        return Timestamp.valueOf(date.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Separa data e hora, descartando frações de segundo informadas.
+     */
+    private static String[] split(String dateString) {
+        if (dateString == null || dateString.trim().isEmpty()) {
+            throw new IllegalArgumentException("Data não pode ser nula ou vazia");
+        }
+        return dateString.trim().split("\\.")[0].split("T");
+    }
+}
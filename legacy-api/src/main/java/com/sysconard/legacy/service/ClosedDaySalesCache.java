@@ -0,0 +1,480 @@
+package com.sysconard.legacy.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.sysconard.legacy.dto.StoreSalesReportRequestDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache dos resultados de vendas por loja e por dia já fechados.
+ *
+ * Os documentos de dias anteriores praticamente não mudam após o fechamento noturno,
+ * então cada dia fechado é lido uma vez do SQL Server e mantido aqui por combinação
+ * de origens/operações do relatório. Cada entrada guarda as lojas de um dia em arrays
+ * de centavos; o tamanho em memória é limitado pela quantidade de células loja × dia
+ * (cache.closed-days.max-cells).
+ *
+ * Com cache.closed-days.spill-file configurado, os dias descartados da memória são
+ * gravados em um arquivo binário e relidos dele sob demanda; o arquivo também preserva
+ * os dias fechados entre reinicializações. Correções tardias são tratadas pela
+ * invalidação manual do dia (DELETE /sales/closed-days/{date}).
+ *
+ * Documentos lançados logo após a virada do dia (PDVs sincronizados com atraso) ainda
+ * alteram o dia anterior: por isso os open-days mais recentes nunca entram no cache, e um
+ * dia gravado antes de cache.closed-days.settle-period após o seu fim expira nesse momento,
+ * sem ir para o arquivo de spill, e é relido do SQL Server. Cada dia possui uma geração,
+ * incrementada na invalidação, para que uma consulta iniciada antes da invalidação não
+ * grave de volta os valores anteriores à correção.
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@Slf4j
+@Component
+public class ClosedDaySalesCache {
+
+    @Value("${cache.closed-days.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.closed-days.open-days:2}")
+    private int openDays;
+
+    @Value("${cache.closed-days.settle-period:PT6H}")
+    private Duration settlePeriod;
+
+    @Value("${cache.closed-days.max-cells:500000}")
+    private long maxCells;
+
+    @Value("${cache.closed-days.spill-file:}")
+    private String spillFilePath;
+
+    private Cache<DayKey, StoreDaySales> days;
+    private ClosedDaySpillFile spillFile;
+
+    /**
+     * Geração de cada dia já invalidado (epoch day → geração); dias ausentes estão na geração 0.
+     */
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Cria o cache em memória e, se configurado, abre o arquivo de spill.
+     */
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        if (StringUtils.hasText(spillFilePath)) {
+            try {
+                spillFile = ClosedDaySpillFile.open(new File(spillFilePath.trim()));
+                log.info("Cache de dias fechados com spill em {}: {} dias no arquivo",
+                        spillFilePath, spillFile.size());
+            } catch (IOException e) {
+                log.warn("Não foi possível abrir o arquivo de spill {}, usando apenas memória: {}",
+                        spillFilePath, e.getMessage());
+                spillFile = null;
+            }
+        }
+        days = Caffeine.newBuilder()
+                .maximumWeight(maxCells)
+                .weigher((DayKey key, StoreDaySales value) -> Math.max(1, value.size()))
+                .expireAfter(new Expiry<DayKey, StoreDaySales>() {
+                    @Override
+                    public long expireAfterCreate(DayKey key, StoreDaySales value, long currentTime) {
+                        return untilSettled(key);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(DayKey key, StoreDaySales value, long currentTime, long currentDuration) {
+                        return untilSettled(key);
+                    }
+
+                    @Override
+                    public long expireAfterRead(DayKey key, StoreDaySales value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .executor(Runnable::run)
+                .removalListener((DayKey key, StoreDaySales value, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE && key != null && value != null) {
+                        spill(key, value);
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Grava no arquivo de spill os dias ainda em memória, para reaproveitá-los após reiniciar.
+     */
+    @PreDestroy
+    public void close() {
+        if (spillFile == null) {
+            return;
+        }
+        for (Map.Entry<DayKey, StoreDaySales> entry : days.asMap().entrySet()) {
+            spill(entry.getKey(), entry.getValue());
+        }
+        spillFile.close();
+    }
+
+    /**
+     * Indica se o cache está ativo
+     *
+     * @return true se os dias fechados devem ser servidos pelo cache
+     */
+    public boolean isEnabled() {
+        return enabled && days != null;
+    }
+
+    /**
+     * Último dia considerado fechado: os open-days mais recentes (hoje incluído)
+     * sempre são consultados no SQL Server.
+     *
+     * @return Data do último dia fechado
+     */
+    public LocalDate lastClosedDay() {
+        return LocalDate.now().minusDays(Math.max(1, openDays));
+    }
+
+    /**
+     * Geração atual de um dia, a ser lida antes da consulta ao SQL Server e informada
+     * em {@link #put} com os valores consultados.
+     *
+     * @param day Dia do relatório
+     * @return Geração do dia
+     */
+    long generation(LocalDate day) {
+        return generations.getOrDefault(day.toEpochDay(), 0L);
+    }
+
+    /**
+     * Busca um dia fechado contendo todas as lojas informadas.
+     *
+     * @param filterKey Chave das origens/operações do relatório (ver {@link #filterKey})
+     * @param day Dia do relatório
+     * @param storeCodes Lojas necessárias
+     * @return Valores do dia ou null se o dia não estiver em cache para todas as lojas
+     */
+    StoreDaySales get(String filterKey, LocalDate day, List<String> storeCodes) {
+        if (!isEnabled() || day.isAfter(lastClosedDay())) {
+            return null;
+        }
+        StoreDaySales cached = lookup(new DayKey(filterKey, day.toEpochDay()));
+        return cached != null && cached.containsAll(storeCodes) ? cached : null;
+    }
+
+    /**
+     * Grava as lojas de um dia fechado, somando-as às lojas já conhecidas do mesmo dia.
+     * Dias ainda abertos e dias invalidados desde a leitura da geração são ignorados.
+     *
+     * @param filterKey Chave das origens/operações do relatório
+     * @param day Dia do relatório
+     * @param sales Valores das lojas no dia
+     * @param generation Geração do dia lida antes da consulta (ver {@link #generation})
+     */
+    void put(String filterKey, LocalDate day, StoreDaySales sales, long generation) {
+        if (!isEnabled() || day.isAfter(lastClosedDay())) {
+            return;
+        }
+        DayKey key = new DayKey(filterKey, day.toEpochDay());
+        lookup(key);
+        // A gravação e a invalidação do mesmo dia são serializadas pelo compute da geração
+        generations.compute(key.epochDay, (epochDay, current) -> {
+            long currentGeneration = current != null ? current : 0L;
+            if (currentGeneration == generation) {
+                days.asMap().merge(key, sales, StoreDaySales::mergeWith);
+            } else {
+                log.debug("Dia {} invalidado durante a consulta; valores não gravados no cache", day);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Remove um dia de todas as combinações de origens/operações, na memória e no arquivo de spill.
+     *
+     * @param day Dia a invalidar
+     * @return Quantidade de entradas removidas
+     */
+    public int invalidate(LocalDate day) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        long epochDay = day.toEpochDay();
+        generations.merge(epochDay, 1L, Long::sum);
+        int removed = 0;
+        for (DayKey key : new ArrayList<>(days.asMap().keySet())) {
+            if (key.epochDay == epochDay && days.asMap().remove(key) != null) {
+                removed++;
+            }
+        }
+        if (spillFile != null) {
+            try {
+                removed += spillFile.invalidate(epochDay);
+            } catch (IOException e) {
+                log.error("Erro ao invalidar o dia {} no arquivo de spill: {}", day, e.getMessage(), e);
+            }
+        }
+        log.info("Dia {} invalidado no cache de dias fechados: {} entradas removidas", day, removed);
+        return removed;
+    }
+
+    /**
+     * Monta a chave das origens e operações do relatório; relatórios com os mesmos códigos
+     * (em qualquer ordem) compartilham os dias em cache.
+     *
+     * @param request Parâmetros do relatório
+     * @return Chave textual dos filtros
+     */
+    public static String filterKey(StoreSalesReportRequestDTO request) {
+        return sorted(request.getDanfeOrigin()) + ";" + sorted(request.getPdvOrigin()) + ";"
+                + sorted(request.getExchangeOrigin()) + ";" + sorted(request.getSellOperation()) + ";"
+                + sorted(request.getExchangeOperation());
+    }
+
+    private StoreDaySales lookup(DayKey key) {
+        StoreDaySales cached = days.getIfPresent(key);
+        if (cached != null || spillFile == null) {
+            return cached;
+        }
+        try {
+            StoreDaySales spilled = spillFile.read(key.filterKey, key.epochDay);
+            if (spilled != null) {
+                days.asMap().putIfAbsent(key, spilled);
+            }
+            return spilled;
+        } catch (IOException e) {
+            log.warn("Erro ao ler o dia {} do arquivo de spill: {}", LocalDate.ofEpochDay(key.epochDay), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Tempo até o fim do settle-period do dia, em nanossegundos; sem expiração para dias já assentados.
+     */
+    private long untilSettled(DayKey key) {
+        Duration remaining = Duration.between(LocalDateTime.now(), settledAt(key));
+        return remaining.isNegative() || remaining.isZero() ? Long.MAX_VALUE : remaining.toNanos();
+    }
+
+    private LocalDateTime settledAt(DayKey key) {
+        return LocalDate.ofEpochDay(key.epochDay).plusDays(1).atStartOfDay().plus(settlePeriod);
+    }
+
+    private void spill(DayKey key, StoreDaySales value) {
+        if (spillFile == null || value.isSpilled() || LocalDateTime.now().isBefore(settledAt(key))) {
+            return;
+        }
+        try {
+            spillFile.write(key.filterKey, key.epochDay, value);
+        } catch (IOException e) {
+            log.warn("Erro ao gravar o dia {} no arquivo de spill: {}", LocalDate.ofEpochDay(key.epochDay), e.getMessage());
+        }
+    }
+
+    private static String sorted(List<String> codes) {
+        if (codes == null) {
+            return "";
+        }
+        List<String> copy = new ArrayList<>(codes);
+        Collections.sort(copy);
+        return String.join(",", copy);
+    }
+
+    /**
+     * Chave de um dia em cache: combinação de origens/operações + dia (epoch day)
+     */
+    private static final class DayKey {
+        private final String filterKey;
+        private final long epochDay;
+
+        private DayKey(String filterKey, long epochDay) {
+            this.filterKey = filterKey;
+            this.epochDay = epochDay;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof DayKey)) {
+                return false;
+            }
+            DayKey that = (DayKey) other;
+            return epochDay == that.epochDay && filterKey.equals(that.filterKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(filterKey, epochDay);
+        }
+    }
+
+    /**
+     * Valores imutáveis das lojas em um dia: arrays ordenados por código da loja,
+     * com danfe, pdv e troca em centavos. Lojas sem venda no dia ficam com sold = false.
+     */
+    static final class StoreDaySales {
+
+        private final String[] storeCodes;
+        private final String[] storeNames;
+        private final long[] danfe;
+        private final long[] pdv;
+        private final long[] troca;
+        private final boolean[] sold;
+        private final boolean spilled;
+
+        StoreDaySales(String[] storeCodes, String[] storeNames, long[] danfe, long[] pdv, long[] troca,
+                      boolean[] sold, boolean spilled) {
+            this.storeCodes = storeCodes;
+            this.storeNames = storeNames;
+            this.danfe = danfe;
+            this.pdv = pdv;
+            this.troca = troca;
+            this.sold = sold;
+            this.spilled = spilled;
+        }
+
+        /**
+         * Monta os valores de um dia a partir das linhas da consulta.
+         *
+         * @param storeCodes Lojas consultadas
+         * @param storeNames Nomes conhecidos das lojas
+         * @param values Valores [danfe, pdv, troca] das lojas com venda no dia
+         * @return Valores do dia, incluindo as lojas sem venda
+         */
+        static StoreDaySales of(List<String> storeCodes, Map<String, String> storeNames,
+                                Map<String, BigDecimal[]> values) {
+            String[] codes = storeCodes.stream().filter(Objects::nonNull).distinct().sorted().toArray(String[]::new);
+            StoreDaySales sales = new StoreDaySales(codes, new String[codes.length], new long[codes.length],
+                    new long[codes.length], new long[codes.length], new boolean[codes.length], false);
+            for (int i = 0; i < codes.length; i++) {
+                sales.storeNames[i] = storeNames.get(codes[i]);
+                BigDecimal[] storeValues = values.get(codes[i]);
+                if (storeValues != null) {
+                    sales.danfe[i] = StoreDayGrid.toCents(storeValues[0]);
+                    sales.pdv[i] = StoreDayGrid.toCents(storeValues[1]);
+                    sales.troca[i] = StoreDayGrid.toCents(storeValues[2]);
+                    sales.sold[i] = true;
+                }
+            }
+            return sales;
+        }
+
+        /**
+         * Grava na grade as lojas solicitadas deste dia.
+         *
+         * @param grid Grade do relatório
+         * @param day Dia destes valores
+         * @param requestedStoreCodes Lojas do relatório
+         */
+        void copyTo(StoreDayGrid grid, LocalDate day, List<String> requestedStoreCodes) {
+            for (String storeCode : requestedStoreCodes) {
+                int i = indexOf(storeCode);
+                if (i < 0) {
+                    continue;
+                }
+                if (sold[i]) {
+                    grid.put(storeCode, storeNames[i], day, StoreDayGrid.fromCents(danfe[i]),
+                            StoreDayGrid.fromCents(pdv[i]), StoreDayGrid.fromCents(troca[i]));
+                } else {
+                    grid.putStoreName(storeCode, storeNames[i]);
+                }
+            }
+        }
+
+        boolean containsAll(List<String> requestedStoreCodes) {
+            for (String storeCode : requestedStoreCodes) {
+                if (storeCode != null && indexOf(storeCode) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Combina com valores mais recentes do mesmo dia; as lojas de newer prevalecem.
+         */
+        StoreDaySales mergeWith(StoreDaySales newer) {
+            List<String> codes = new ArrayList<>(Arrays.asList(newer.storeCodes));
+            for (String storeCode : storeCodes) {
+                if (newer.indexOf(storeCode) < 0) {
+                    codes.add(storeCode);
+                }
+            }
+            Collections.sort(codes);
+            int size = codes.size();
+            StoreDaySales merged = new StoreDaySales(codes.toArray(new String[0]), new String[size],
+                    new long[size], new long[size], new long[size], new boolean[size], false);
+            for (int i = 0; i < size; i++) {
+                StoreDaySales source = newer.indexOf(codes.get(i)) >= 0 ? newer : this;
+                int j = source.indexOf(codes.get(i));
+                merged.storeNames[i] = source.storeNames[j];
+                merged.danfe[i] = source.danfe[j];
+                merged.pdv[i] = source.pdv[j];
+                merged.troca[i] = source.troca[j];
+                merged.sold[i] = source.sold[j];
+            }
+            return merged;
+        }
+
+        int size() {
+            return storeCodes.length;
+        }
+
+        boolean isSpilled() {
+            return spilled;
+        }
+
+        String storeCode(int i) {
+            return storeCodes[i];
+        }
+
+        String storeName(int i) {
+            return storeNames[i];
+        }
+
+        long danfe(int i) {
+            return danfe[i];
+        }
+
+        long pdv(int i) {
+            return pdv[i];
+        }
+
+        long troca(int i) {
+            return troca[i];
+        }
+
+        boolean sold(int i) {
+            return sold[i];
+        }
+
+        private int indexOf(String storeCode) {
+            return Arrays.binarySearch(storeCodes, storeCode);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.sysconard.legacy.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Arquivo de spill do {@link ClosedDaySalesCache}.
+ *
+ * Log binário somente de acréscimo: cada registro é [tamanho][tipo][dados]. Registros de
+ * dia guardam as lojas de um dia (código, nome, centavos de danfe/pdv/troca); registros de
+ * invalidação removem o dia de todas as combinações de filtros. Em memória fica apenas o
+ * índice filtro + dia → posição do registro mais recente.
+ *
+ * Na abertura o log é relido para montar o índice; um registro incompleto no fim
+ * (queda durante a gravação) é descartado e, se a maior parte do arquivo for de registros
+ * substituídos ou invalidados, o arquivo é compactado.
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@Slf4j
+final class ClosedDaySpillFile {
+
+    private static final byte DAY_RECORD = 1;
+    private static final byte INVALIDATE_RECORD = 2;
+
+    private final File file;
+    private final RandomAccessFile data;
+    private final Map<Long, Map<String, Long>> index = new HashMap<>();
+
+    private ClosedDaySpillFile(File file) throws IOException {
+        this.file = file;
+        this.data = new RandomAccessFile(file, "rw");
+    }
+
+    /**
+     * Abre (ou cria) o arquivo e monta o índice a partir dos registros existentes.
+     *
+     * @param file Arquivo de spill
+     * @return Arquivo aberto
+     * @throws IOException se o arquivo não puder ser lido ou criado
+     */
+    static ClosedDaySpillFile open(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Não foi possível criar o diretório " + parent);
+        }
+        ClosedDaySpillFile spillFile = new ClosedDaySpillFile(file);
+        int records = spillFile.replay();
+        if (records > 2 * spillFile.size()) {
+            spillFile.close();
+            compact(file, spillFile.index);
+            spillFile = new ClosedDaySpillFile(file);
+            spillFile.replay();
+        }
+        return spillFile;
+    }
+
+    /**
+     * Quantidade de dias (por combinação de filtros) disponíveis no arquivo
+     *
+     * @return Tamanho do índice
+     */
+    synchronized int size() {
+        int size = 0;
+        for (Map<String, Long> filters : index.values()) {
+            size += filters.size();
+        }
+        return size;
+    }
+
+    /**
+     * Acrescenta os valores de um dia ao arquivo; o registro substitui o anterior do mesmo dia.
+     */
+    synchronized void write(String filterKey, long epochDay, ClosedDaySalesCache.StoreDaySales sales) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + sales.size() * 48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(DAY_RECORD);
+        out.writeLong(epochDay);
+        out.writeUTF(filterKey);
+        out.writeInt(sales.size());
+        for (int i = 0; i < sales.size(); i++) {
+            out.writeUTF(sales.storeCode(i));
+            out.writeBoolean(sales.storeName(i) != null);
+            if (sales.storeName(i) != null) {
+                out.writeUTF(sales.storeName(i));
+            }
+            out.writeBoolean(sales.sold(i));
+            out.writeLong(sales.danfe(i));
+            out.writeLong(sales.pdv(i));
+            out.writeLong(sales.troca(i));
+        }
+        long offset = append(bytes.toByteArray());
+        index.computeIfAbsent(epochDay, day -> new HashMap<>()).put(filterKey, offset);
+    }
+
+    /**
+     * Lê o registro mais recente de um dia.
+     *
+     * @return Valores do dia (marcados como já gravados no arquivo) ou null se ausente
+     */
+    synchronized ClosedDaySalesCache.StoreDaySales read(String filterKey, long epochDay) throws IOException {
+        Map<String, Long> filters = index.get(epochDay);
+        Long offset = filters != null ? filters.get(filterKey) : null;
+        if (offset == null) {
+            return null;
+        }
+        data.seek(offset);
+        byte[] record = new byte[data.readInt()];
+        data.readFully(record);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        in.readByte();
+        in.readLong();
+        in.readUTF();
+        int size = in.readInt();
+        String[] storeCodes = new String[size];
+        String[] storeNames = new String[size];
+        long[] danfe = new long[size];
+        long[] pdv = new long[size];
+        long[] troca = new long[size];
+        boolean[] sold = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            storeCodes[i] = in.readUTF();
+            storeNames[i] = in.readBoolean() ? in.readUTF() : null;
+            sold[i] = in.readBoolean();
+            danfe[i] = in.readLong();
+            pdv[i] = in.readLong();
+            troca[i] = in.readLong();
+        }
+        return new ClosedDaySalesCache.StoreDaySales(storeCodes, storeNames, danfe, pdv, troca, sold, true);
+    }
+
+    /**
+     * Remove um dia de todas as combinações de filtros.
+     *
+     * @return Quantidade de dias removidos do índice
+     */
+    synchronized int invalidate(long epochDay) throws IOException {
+        Map<String, Long> removed = index.remove(epochDay);
+        if (removed == null) {
+            return 0;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(9);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(INVALIDATE_RECORD);
+        out.writeLong(epochDay);
+        append(bytes.toByteArray());
+        return removed.size();
+    }
+
+    synchronized void close() {
+        try {
+            data.close();
+        } catch (IOException e) {
+            log.warn("Erro ao fechar o arquivo de spill {}: {}", file, e.getMessage());
+        }
+    }
+
+    private long append(byte[] record) throws IOException {
+        long offset = data.length();
+        data.seek(offset);
+        data.writeInt(record.length);
+        data.write(record);
+        return offset;
+    }
+
+    /**
+     * Relê o arquivo montando o índice; descarta um registro incompleto no fim.
+     *
+     * @return Quantidade de registros lidos
+     */
+    private int replay() throws IOException {
+        int records = 0;
+        long position = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                int length = in.readInt();
+                byte[] record = new byte[length];
+                in.readFully(record);
+
+                DataInputStream header = new DataInputStream(new ByteArrayInputStream(record));
+                byte type = header.readByte();
+                long epochDay = header.readLong();
+                if (type == DAY_RECORD) {
+                    index.computeIfAbsent(epochDay, day -> new HashMap<>()).put(header.readUTF(), position);
+                } else {
+                    index.remove(epochDay);
+                }
+                position += 4 + length;
+                records++;
+            }
+        } catch (EOFException e) {
+            if (position < data.length()) {
+                log.warn("Registro incompleto no fim do arquivo de spill {}, descartando {} bytes",
+                        file, data.length() - position);
+                data.setLength(position);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Regrava o arquivo apenas com os registros vigentes do índice.
+     */
+    private static void compact(File file, Map<Long, Map<String, Long>> index) throws IOException {
+        File compacted = new File(file.getPath() + ".tmp");
+        try (RandomAccessFile source = new RandomAccessFile(file, "r");
+             DataOutputStream out = new DataOutputStream(Files.newOutputStream(compacted.toPath()))) {
+            for (Map<String, Long> filters : index.values()) {
+                for (Long offset : filters.values()) {
+                    source.seek(offset);
+                    byte[] record = new byte[source.readInt()];
+                    source.readFully(record);
+                    out.writeInt(record.length);
+                    out.write(record);
+                }
+            }
+        }
+        Files.move(compacted.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        log.info("Arquivo de spill {} compactado", file);
+    }
+}
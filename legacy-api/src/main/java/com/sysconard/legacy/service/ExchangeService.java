@@ -3,10 +3,12 @@ package com.sysconard.legacy.service;
 import com.sysconard.legacy.dto.ExchangeDTO;
 import com.sysconard.legacy.dto.ExchangeRequestDTO;
 import com.sysconard.legacy.repository.DocumentRepository;
+import com.sysconard.legacy.repository.util.PeriodTimestamps;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
@@ -52,19 +54,19 @@ public class ExchangeService {
                      request.getOriginCodes().size(), 
                      request.getOperationCodes().size());
             
-            // Formatar datas para o formato datetime do SQL Server
-            String startDateFormatted = formatDateForSqlServer(startDateFull, true);
-            String endDateFormatted = formatDateForSqlServer(endDateFull, false);
+            // Limites do período como parâmetros tipados
+            Timestamp startTimestamp = PeriodTimestamps.start(startDateFull);
+            Timestamp endTimestamp = PeriodTimestamps.end(endDateFull);
             
-            log.debug("Datas formatadas para SQL Server: startDate={}, endDate={}", 
-                     startDateFormatted, endDateFormatted);
+            log.debug("Limites do período: startDate={}, endDate={}", 
+                     startTimestamp, endTimestamp);
             
             // Executar query nativa
             List<Object[]> results = documentRepository.findExchanges(
                     request.getOriginCodes(),
                     request.getOperationCodes(),
-                    startDateFormatted,
-                    endDateFormatted
+                    startTimestamp,
+                    endTimestamp
             );
             
             log.info("Trocas encontradas: {}", results.size());
@@ -159,55 +161,6 @@ public class ExchangeService {
         }
     }
     
-    /**
-     * Formata uma data para o formato datetime do SQL Server.
-     * Usa formato ISO 8601 com 'T' e milissegundos, que é o formato aceito pelo SQL Server.
-     * 
-     * @param dateString Data no formato ISO (ex: "2025-11-07T00:00:00")
-     * @param isStartDate true para data de início, false para data de fim
-     * @return String formatada para SQL Server datetime (formato ISO 8601)
-     */
-    private String formatDateForSqlServer(String dateString, boolean isStartDate) {
-        try {
-            // Se já está no formato ISO 8601 completo, apenas ajusta os milissegundos
-            if (dateString.contains("T")) {
-                // Remove milissegundos se existirem
-                String dateWithoutMs = dateString.split("\\.")[0];
-                
-                // Se não tem hora, adiciona
-                if (!dateWithoutMs.contains(":")) {
-                    if (isStartDate) {
-                        return dateWithoutMs + "T00:00:00.000";
-                    } else {
-                        return dateWithoutMs + "T23:59:59.997";
-                    }
-                }
-                
-                // Se já tem hora, apenas adiciona milissegundos
-                if (isStartDate) {
-                    return dateWithoutMs + ".000";
-                } else {
-                    // Para data final, ajusta para 23:59:59.997
-                    String[] parts = dateWithoutMs.split("T");
-                    if (parts.length == 2) {
-                        return parts[0] + "T23:59:59.997";
-                    }
-                    return dateWithoutMs + ".997";
-                }
-            }
-            
-            // Se não tem 'T', assume formato YYYY-MM-DD
-            if (isStartDate) {
-                return dateString + "T00:00:00.000";
-            } else {
-                return dateString + "T23:59:59.997";
-            }
-        } catch (Exception e) {
-            log.error("Erro ao formatar data: {}", dateString, e);
-            throw new IllegalArgumentException("Formato de data inválido: " + dateString);
-        }
-    }
-    
     /**
      * Converte um array de objetos retornado pela query para ExchangeDTO.
      * Ordem dos campos: [ORICOD, OPECOD, LOJCOD, DOCCOD, FUNCOD, DOCNUMDOC, DOCCHVNFE, DOCDATEMI, DOCOBS]
@@ -6,17 +6,22 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import com.sysconard.legacy.dto.PurchaseAnalysisItemDTO;
+import com.sysconard.legacy.dto.SalesWindowRow;
 import com.sysconard.legacy.repository.PurchaseAnalysisRepository;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * Service para análise de compras.
  * Responsável por validações e conversão de dados.
+ * As consultas usam a janela de vendas em memória (SalesWindowService) quando carregada;
+ * caso contrário, consultam o SQL Server diretamente.
  * 
  * @author Sysconard Legacy API
  * @version 1.0
@@ -27,6 +32,7 @@ import java.util.stream.Collectors;
 public class PurchaseAnalysisService {
     
     private final PurchaseAnalysisRepository purchaseAnalysisRepository;
+    private final SalesWindowService salesWindowService;
     
     // Campos válidos para ordenação
     private static final List<String> VALID_SORT_FIELDS = Arrays.asList(
@@ -59,6 +65,18 @@ public class PurchaseAnalysisService {
         validatePaginationParameters(page, size);
         validateSortParameters(sortBy, sortDir);
         
+        Optional<SalesWindowService.SalesWindowSnapshot> window = salesWindowService.getSnapshot();
+        if (window.isPresent()) {
+            List<PurchaseAnalysisItemDTO> dtos = window.get()
+                    .findPage(windowFilter(refplu, descricao, grupo, marca, hideNoSales == null || hideNoSales),
+                            SalesWindowService.comparator(sortBy, sortDir), page * size, size)
+                    .stream()
+                    .map(this::mapWindowRowToDTO)
+                    .collect(Collectors.toList());
+            log.debug("Análise de compras encontrada na janela de vendas: {} itens", dtos.size());
+            return dtos;
+        }
+        
         // Preparar filtros
         String refpluFilter = createLikeFilter(refplu);
         String grupoFilter = createLikeFilter(grupo);
@@ -112,6 +130,11 @@ public class PurchaseAnalysisService {
         log.debug("Contando registros de análise de compras: refplu={}, descricao={}, grupo={}, marca={}, hideNoSales={}", 
                 refplu, descricao, grupo, marca, hideNoSales);
         
+        Optional<SalesWindowService.SalesWindowSnapshot> window = salesWindowService.getSnapshot();
+        if (window.isPresent()) {
+            return window.get().count(windowFilter(refplu, descricao, grupo, marca, hideNoSales == null || hideNoSales));
+        }
+        
         String refpluFilter = createLikeFilter(refplu);
         String grupoFilter = createLikeFilter(grupo);
         String marcaFilter = createLikeFilter(marca);
@@ -130,6 +153,21 @@ public class PurchaseAnalysisService {
         return count != null ? count : 0L;
     }
     
+    /**
+     * Filtro da janela de vendas equivalente ao WHERE da consulta no SQL Server.
+     * 
+     * @param refplu Filtro opcional por REFPLU
+     * @param descricao Filtro opcional por descrição
+     * @param grupo Filtro opcional por grupo
+     * @param marca Filtro opcional por marca
+     * @param hideNoSales Ocultar produtos sem vendas no terceiro mês fechado anterior (vendas90Dias)
+     * @return Predicado sobre as linhas da janela
+     */
+    private Predicate<SalesWindowRow> windowFilter(String refplu, String descricao, String grupo, String marca, boolean hideNoSales) {
+        return SalesWindowService.textFilter(refplu, descricao, grupo, marca)
+                .and(row -> !hideNoSales || row.getVendas90Dias().signum() > 0);
+    }
+    
     /**
      * Divide uma string em palavras, removendo espaços extras
      * 
@@ -189,6 +227,29 @@ public class PurchaseAnalysisService {
                 .build();
     }
     
+    /**
+     * Mapeia uma linha da janela de vendas para DTO.
+     * 
+     * @param row Linha da janela de vendas
+     * @return DTO mapeado
+     */
+    private PurchaseAnalysisItemDTO mapWindowRowToDTO(SalesWindowRow row) {
+        return PurchaseAnalysisItemDTO.builder()
+                .descricaoGrupo(row.getDescricaoGrupo())
+                .codigoPartNumber(row.getCodigoPartNumber())
+                .descricaoMarca(row.getDescricaoMarca())
+                .refplu(row.getRefplu())
+                .descricaoProduto(row.getDescricaoProduto())
+                .custoReposicao(row.getCustoReposicao())
+                .precoVenda(row.getPrecoVenda())
+                .vendas90Dias(row.getVendas90Dias())
+                .vendas60Dias(row.getVendas60Dias())
+                .vendas30Dias(row.getVendas30Dias())
+                .vendasMesAtual(row.getVendasMesAtual())
+                .estoque(row.getEstoque())
+                .build();
+    }
+    
     /**
      * Valida parâmetros de paginação.
      * 
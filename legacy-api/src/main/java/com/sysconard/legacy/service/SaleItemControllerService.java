@@ -1,11 +1,17 @@
 package com.sysconard.legacy.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.sysconard.legacy.dto.SaleItemDetailDTO;
 import com.sysconard.legacy.dto.SaleItemDetailRequestDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -20,7 +26,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SaleItemControllerService {
     
+    /**
+     * Tamanho do buffer de escrita do stream NDJSON.
+     */
+    private static final int NDJSON_BUFFER_SIZE = 64 * 1024;
+    
     private final SaleItemService saleItemService;
+    private final ObjectMapper objectMapper;
     
     /**
      * Busca detalhes de itens de venda para o controller.
@@ -47,5 +59,47 @@ public class SaleItemControllerService {
             throw e;
         }
     }
+    
+    /**
+     * Valida a requisição antes de iniciar o stream, permitindo que o controller
+     * responda 400 antes de comprometer o status da resposta.
+     * 
+     * @param request DTO com parâmetros da requisição
+     * @throws IllegalArgumentException se os parâmetros forem inválidos
+     */
+    public void validateSaleItemDetailsRequest(SaleItemDetailRequestDTO request) {
+        saleItemService.validateRequest(request);
+    }
+    
+    /**
+     * Escreve os detalhes de itens de venda no formato NDJSON (um objeto JSON por linha)
+     * diretamente no OutputStream, conforme as linhas são lidas do banco.
+     * 
+     * @param request DTO com parâmetros da requisição
+     * @param outputStream Stream de saída da resposta HTTP
+     * @throws IOException se houver erro de escrita
+     */
+    public void writeSaleItemDetailsAsNdjson(SaleItemDetailRequestDTO request, OutputStream outputStream) throws IOException {
+        log.debug("Iniciando stream NDJSON de detalhes de itens de venda para o controller");
+        
+        BufferedOutputStream bufferedOutput = new BufferedOutputStream(outputStream, NDJSON_BUFFER_SIZE);
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(bufferedOutput)) {
+            
+            long total = saleItemService.streamSaleItemDetails(request, dto -> {
+                try {
+                    writer.write(dto);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            
+            log.info("Stream NDJSON de detalhes de itens de venda concluído. Total: {}", total);
+            
+        } catch (UncheckedIOException e) {
+            log.error("Erro de escrita no stream NDJSON de itens de venda: {}", e.getMessage());
+            throw e.getCause();
+        }
+    }
 }
-
@@ -3,16 +3,22 @@ package com.sysconard.legacy.service;
 import com.sysconard.legacy.dto.SaleItemDetailDTO;
 import com.sysconard.legacy.dto.SaleItemDetailRequestDTO;
 import com.sysconard.legacy.repository.SaleItemRepository;
+import com.sysconard.legacy.repository.util.PeriodTimestamps;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Serviço responsável pela lógica de negócio dos detalhes de itens de venda.
@@ -44,11 +50,11 @@ public class SaleItemService {
         validateRequest(request);
         
         try {
-            // Formatar datas para o formato datetime do SQL Server
-            String startDateFormatted = formatDateForSqlServer(request.getStartDate(), true);
-            String endDateFormatted = formatDateForSqlServer(request.getEndDate(), false);
+            // Limites do período como parâmetros tipados
+            Timestamp startTimestamp = PeriodTimestamps.start(request.getStartDate());
+            Timestamp endTimestamp = PeriodTimestamps.end(request.getEndDate());
             
-            log.debug("Datas formatadas: startDate={}, endDate={}", startDateFormatted, endDateFormatted);
+            log.debug("Limites do período: startDate={}, endDate={}", startTimestamp, endTimestamp);
             log.debug("Parâmetros: originCodes={}, operationCodes={}, storeCodes={}", 
                      request.getOriginCodes().size(), 
                      request.getOperationCodes().size(), 
@@ -59,8 +65,8 @@ public class SaleItemService {
                     request.getOriginCodes(),
                     request.getOperationCodes(),
                     request.getStoreCodes(),
-                    startDateFormatted,
-                    endDateFormatted
+                    startTimestamp,
+                    endTimestamp
             );
             
             log.info("Itens de venda encontrados: {}", results.size());
@@ -90,13 +96,63 @@ public class SaleItemService {
         }
     }
     
+    /**
+     * Busca detalhes de itens de venda de um período específico em modo stream.
+     * As linhas são lidas por cursor forward-only e entregues uma a uma ao consumidor,
+     * mantendo o consumo de memória constante independentemente do tamanho do período.
+     * 
+     * @param request DTO com parâmetros da requisição
+     * @param consumer Consumidor que recebe cada DTO convertido
+     * @return Quantidade de itens entregues ao consumidor
+     */
+    @Transactional(readOnly = true)
+    public long streamSaleItemDetails(SaleItemDetailRequestDTO request, Consumer<SaleItemDetailDTO> consumer) {
+        log.debug("Iniciando stream de detalhes de itens de venda: startDate={}, endDate={}", 
+                 request.getStartDate(), request.getEndDate());
+        
+        validateRequest(request);
+        
+        Timestamp startTimestamp = PeriodTimestamps.start(request.getStartDate());
+        Timestamp endTimestamp = PeriodTimestamps.end(request.getEndDate());
+        
+        long delivered = 0;
+        long failedConversions = 0;
+        
+        try (Stream<Object[]> rows = saleItemRepository.streamSaleItemDetails(
+                request.getOriginCodes(),
+                request.getOperationCodes(),
+                request.getStoreCodes(),
+                startTimestamp,
+                endTimestamp)) {
+            
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                SaleItemDetailDTO dto = convertToDTO(iterator.next());
+                if (dto == null) {
+                    failedConversions++;
+                    continue;
+                }
+                consumer.accept(dto);
+                delivered++;
+            }
+        }
+        
+        if (failedConversions > 0) {
+            log.warn("{} linhas não puderam ser convertidas para DTO", failedConversions);
+        }
+        
+        log.info("Stream de itens de venda concluído: {} itens entregues", delivered);
+        
+        return delivered;
+    }
+    
     /**
      * Valida os parâmetros da requisição.
      * 
      * @param request DTO com parâmetros da requisição
      * @throws IllegalArgumentException se os parâmetros forem inválidos
      */
-    private void validateRequest(SaleItemDetailRequestDTO request) {
+    void validateRequest(SaleItemDetailRequestDTO request) {
         if (request.getStartDate() == null || request.getStartDate().trim().isEmpty()) {
             throw new IllegalArgumentException("Data inicial (startDate) é obrigatória");
         }
@@ -131,55 +187,6 @@ public class SaleItemService {
         }
     }
     
-    /**
-     * Formata uma data para o formato datetime do SQL Server.
-     * Usa formato ISO 8601 com 'T' e milissegundos, que é o formato aceito pelo SQL Server.
-     * 
-     * @param dateString Data no formato ISO (ex: "2025-11-13T00:00:00")
-     * @param isStartDate true para data de início, false para data de fim
-     * @return String formatada para SQL Server datetime (formato ISO 8601)
-     */
-    private String formatDateForSqlServer(String dateString, boolean isStartDate) {
-        try {
-            // Se já está no formato ISO 8601 completo, apenas ajusta os milissegundos
-            if (dateString.contains("T")) {
-                // Remove milissegundos se existirem
-                String dateWithoutMs = dateString.split("\\.")[0];
-                
-                // Se não tem hora, adiciona
-                if (!dateWithoutMs.contains(":")) {
-                    if (isStartDate) {
-                        return dateWithoutMs + "T00:00:00.000";
-                    } else {
-                        return dateWithoutMs + "T23:59:59.997";
-                    }
-                }
-                
-                // Se já tem hora, apenas adiciona milissegundos
-                if (isStartDate) {
-                    return dateWithoutMs + ".000";
-                } else {
-                    // Para data final, ajusta para 23:59:59.997
-                    String[] parts = dateWithoutMs.split("T");
-                    if (parts.length == 2) {
-                        return parts[0] + "T23:59:59.997";
-                    }
-                    return dateWithoutMs + ".997";
-                }
-            }
-            
-            // Se não tem 'T', assume formato YYYY-MM-DD
-            if (isStartDate) {
-                return dateString + "T00:00:00.000";
-            } else {
-                return dateString + "T23:59:59.997";
-            }
-        } catch (Exception e) {
-            log.error("Erro ao formatar data: {}", dateString, e);
-            throw new IllegalArgumentException("Formato de data inválido: " + dateString);
-        }
-    }
-    
     /**
      * Converte um array de objetos retornado pela query para SaleItemDetailDTO.
      * 
@@ -0,0 +1,119 @@
+package com.sysconard.legacy.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sysconard.legacy.dto.SalesWindowRow;
+import com.sysconard.legacy.repository.SalesWindowRepository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Leitura da janela de vendas no SQL Server.
+ * Separado do SalesWindowService para que a leitura em stream execute dentro
+ * da transação somente leitura do proxy.
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesWindowLoader {
+
+    private final SalesWindowRepository salesWindowRepository;
+
+    /**
+     * Lê a janela de vendas completa de todas as referências.
+     *
+     * @param month Mês atual; os três meses anteriores formam a janela de vendas fechadas
+     * @return Linhas da janela de vendas
+     */
+    @Transactional(readOnly = true)
+    public List<SalesWindowRow> loadRows(YearMonth month) {
+        List<SalesWindowRow> rows = new ArrayList<>();
+
+        try (Stream<Object[]> stream = salesWindowRepository.streamSalesWindow(
+                startOf(month.minusMonths(3)), startOf(month.minusMonths(2)), startOf(month.minusMonths(1)),
+                startOf(month), startOf(month.plusMonths(1)))) {
+            Iterator<Object[]> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                rows.add(mapRow(iterator.next()));
+            }
+        }
+
+        log.info("Janela de vendas de {} lida: {} linhas", month, rows.size());
+        return rows;
+    }
+
+    /**
+     * Lê as vendas do mês atual por referência.
+     *
+     * @param month Mês atual
+     * @return Quantidade vendida por REFPLU
+     */
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> loadCurrentMonthSales(YearMonth month) {
+        return toMap(salesWindowRepository.findCurrentMonthSales(startOf(month), startOf(month.plusMonths(1))));
+    }
+
+    /**
+     * Lê o estoque total por referência.
+     *
+     * @return Estoque total por REFPLU
+     */
+    @Transactional(readOnly = true)
+    public Map<String, BigDecimal> loadStockTotals() {
+        return toMap(salesWindowRepository.findStockTotals());
+    }
+
+    private Timestamp startOf(YearMonth month) {
+        return Timestamp.valueOf(month.atDay(1).atStartOfDay());
+    }
+
+    private Map<String, BigDecimal> toMap(List<Object[]> rows) {
+        Map<String, BigDecimal> values = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                values.put(row[0].toString(), toBigDecimal(row[1]));
+            }
+        }
+        return values;
+    }
+
+    private SalesWindowRow mapRow(Object[] row) {
+        return SalesWindowRow.builder()
+                .descricaoGrupo(toText(row[0]))
+                .codigoPartNumber(toText(row[1]))
+                .descricaoMarca(toText(row[2]))
+                .refplu(toText(row[3]))
+                .descricaoProduto(toText(row[4]))
+                .custoReposicao(toBigDecimal(row[5]))
+                .precoVenda(toBigDecimal(row[6]))
+                .vendas90Dias(toBigDecimal(row[7]))
+                .vendas60Dias(toBigDecimal(row[8]))
+                .vendas30Dias(toBigDecimal(row[9]))
+                .vendasMesAtual(toBigDecimal(row[10]))
+                .estoque(toBigDecimal(row[11]))
+                .procod(toText(row[12]))
+                .build();
+    }
+
+    private String toText(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        return value != null ? new BigDecimal(value.toString()) : BigDecimal.ZERO;
+    }
+}
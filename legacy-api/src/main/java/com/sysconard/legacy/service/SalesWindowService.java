@@ -0,0 +1,308 @@
+package com.sysconard.legacy.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import com.sysconard.legacy.dto.SalesWindowRow;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Service da janela de vendas por referência mantida em memória.
+ *
+ * As telas de estoque crítico e análise de compras recalculavam a cada página (e
+ * novamente na contagem) as vendas mensais sobre todo o histórico de ITEM_SAIDA ⋈ DOCUMENTO.
+ * A janela é lida uma vez por dia (rebuild-cron) e, ao longo do dia, apenas as vendas do
+ * mês atual e o estoque são relidos (refresh-interval). As consultas filtram, ordenam e
+ * paginam a janela em memória.
+ *
+ * Enquanto a janela do mês atual não estiver carregada, os services consultam o SQL Server
+ * diretamente, como antes.
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@Slf4j
+@Service
+@Lazy(false)
+@RequiredArgsConstructor
+public class SalesWindowService {
+
+    private final SalesWindowLoader salesWindowLoader;
+
+    private final AtomicReference<SalesWindowSnapshot> currentSnapshot = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    @Value("${sales-window.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Relê a janela completa (cadastro, custos, preços e vendas) uma vez por dia.
+     */
+    @Scheduled(cron = "${sales-window.rebuild-cron:0 0 3 * * *}")
+    public void scheduledRebuild() {
+        if (!enabled) {
+            return;
+        }
+        runExclusively(this::rebuild);
+    }
+
+    /**
+     * Atualiza as vendas do mês atual e o estoque da janela carregada.
+     * Sem janela carregada, ou após a virada do mês, relê a janela completa.
+     */
+    @Scheduled(fixedDelayString = "${sales-window.refresh-interval:PT15M}",
+               initialDelayString = "${sales-window.initial-delay:PT1M}")
+    public void scheduledRefresh() {
+        if (!enabled) {
+            return;
+        }
+        runExclusively(() -> {
+            SalesWindowSnapshot snapshot = currentSnapshot.get();
+            if (snapshot == null || !snapshot.getMonth().equals(YearMonth.now())) {
+                rebuild();
+            } else {
+                applyCurrentMonthDelta(snapshot);
+            }
+        });
+    }
+
+    /**
+     * Retorna a janela carregada, se for do mês atual.
+     *
+     * @return Janela de vendas ou vazio se ainda não houver janela válida
+     */
+    public Optional<SalesWindowSnapshot> getSnapshot() {
+        SalesWindowSnapshot snapshot = currentSnapshot.get();
+        if (!enabled || snapshot == null || !snapshot.getMonth().equals(YearMonth.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Monta o filtro equivalente ao WHERE das consultas de estoque crítico e análise de compras:
+     * refplu, grupo e marca por "contém" e as palavras da descrição, na ordem informada,
+     * em descrição do produto, grupo ou marca. Sem diferenciar maiúsculas de minúsculas.
+     *
+     * @param refplu Filtro opcional por REFPLU
+     * @param descricao Filtro opcional por descrição
+     * @param grupo Filtro opcional por grupo
+     * @param marca Filtro opcional por marca
+     * @return Predicado sobre as linhas da janela
+     */
+    public static Predicate<SalesWindowRow> textFilter(String refplu, String descricao, String grupo, String marca) {
+        String refpluValue = StringUtils.hasText(refplu) ? refplu.trim() : null;
+        String grupoValue = StringUtils.hasText(grupo) ? grupo.trim() : null;
+        String marcaValue = StringUtils.hasText(marca) ? marca.trim() : null;
+        List<String> words = StringUtils.hasText(descricao)
+                ? Arrays.asList(descricao.trim().split("\\s+"))
+                : Collections.<String>emptyList();
+
+        return row -> (refpluValue == null || containsIgnoreCase(row.getRefplu(), refpluValue))
+                && (grupoValue == null || containsIgnoreCase(row.getDescricaoGrupo(), grupoValue))
+                && (marcaValue == null || containsIgnoreCase(row.getDescricaoMarca(), marcaValue))
+                && (words.isEmpty()
+                        || containsInOrder(row.getDescricaoProduto(), words)
+                        || containsInOrder(row.getDescricaoGrupo(), words)
+                        || containsInOrder(row.getDescricaoMarca(), words));
+    }
+
+    /**
+     * Monta a ordenação equivalente ao ROW_NUMBER das consultas originais:
+     * nulos primeiro em ordem crescente e PROCOD como desempate.
+     *
+     * @param sortBy Campo para ordenação (já validado pelo service da tela)
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @return Comparador das linhas da janela
+     */
+    public static Comparator<SalesWindowRow> comparator(String sortBy, String sortDir) {
+        Comparator<SalesWindowRow> comparator = fieldComparator(sortBy);
+        if ("desc".equalsIgnoreCase(sortDir)) {
+            comparator = comparator.reversed();
+        }
+        return comparator.thenComparing(SalesWindowRow::getProcod, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+    }
+
+    private static Comparator<SalesWindowRow> fieldComparator(String sortBy) {
+        switch (sortBy) {
+            case "descricaoGrupo": return text(SalesWindowRow::getDescricaoGrupo);
+            case "codigoPartNumber": return text(SalesWindowRow::getCodigoPartNumber);
+            case "descricaoMarca": return text(SalesWindowRow::getDescricaoMarca);
+            case "refplu": return text(SalesWindowRow::getRefplu);
+            case "descricaoProduto": return text(SalesWindowRow::getDescricaoProduto);
+            case "custoReposicao": return Comparator.comparing(SalesWindowRow::getCustoReposicao);
+            case "precoVenda": return Comparator.comparing(SalesWindowRow::getPrecoVenda);
+            case "vendas90Dias": return Comparator.comparing(SalesWindowRow::getVendas90Dias);
+            case "vendas60Dias": return Comparator.comparing(SalesWindowRow::getVendas60Dias);
+            case "vendas30Dias": return Comparator.comparing(SalesWindowRow::getVendas30Dias);
+            case "vendasMesAtual": return Comparator.comparing(SalesWindowRow::getVendasMesAtual);
+            case "estoque": return Comparator.comparing(SalesWindowRow::getEstoque);
+            case "mediaMensal": return Comparator.comparing(SalesWindowRow::getMediaMensal);
+            case "diferenca": return Comparator.comparing(SalesWindowRow::getDiferenca);
+            default: throw new IllegalArgumentException("Campo de ordenação inválido: " + sortBy);
+        }
+    }
+
+    private static Comparator<SalesWindowRow> text(Function<SalesWindowRow, String> extractor) {
+        return Comparator.comparing(extractor, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+    }
+
+    /**
+     * Executa uma atualização se nenhuma outra estiver em andamento.
+     * Em caso de erro a janela anterior continua sendo servida.
+     */
+    private void runExclusively(Runnable task) {
+        if (!refreshing.compareAndSet(false, true)) {
+            log.debug("Atualização da janela de vendas já em andamento");
+            return;
+        }
+        try {
+            task.run();
+        } catch (Exception e) {
+            log.error("Erro ao atualizar janela de vendas: {}", e.getMessage(), e);
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private void rebuild() {
+        YearMonth month = YearMonth.now();
+        long start = System.currentTimeMillis();
+        List<SalesWindowRow> rows = salesWindowLoader.loadRows(month);
+        LocalDateTime now = LocalDateTime.now();
+        currentSnapshot.set(new SalesWindowSnapshot(month, Collections.unmodifiableList(rows), now, now));
+        log.info("Janela de vendas de {} carregada: {} linhas em {}ms", month, rows.size(), System.currentTimeMillis() - start);
+    }
+
+    private void applyCurrentMonthDelta(SalesWindowSnapshot snapshot) {
+        long start = System.currentTimeMillis();
+        Map<String, BigDecimal> currentMonthSales = salesWindowLoader.loadCurrentMonthSales(snapshot.getMonth());
+        Map<String, BigDecimal> stockTotals = salesWindowLoader.loadStockTotals();
+
+        List<SalesWindowRow> rows = new ArrayList<>(snapshot.getRows().size());
+        for (SalesWindowRow row : snapshot.getRows()) {
+            rows.add(row.toBuilder()
+                    .vendasMesAtual(valueOrZero(currentMonthSales.get(row.getRefplu())))
+                    .estoque(valueOrZero(stockTotals.get(row.getRefplu())))
+                    .build());
+        }
+
+        currentSnapshot.set(new SalesWindowSnapshot(snapshot.getMonth(), Collections.unmodifiableList(rows),
+                snapshot.getBuiltAt(), LocalDateTime.now()));
+        log.info("Vendas do mês e estoque da janela atualizados: {} linhas em {}ms", rows.size(), System.currentTimeMillis() - start);
+    }
+
+    private static BigDecimal valueOrZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    private static boolean containsIgnoreCase(String text, String part) {
+        return text != null && indexOfIgnoreCase(text, part, 0) >= 0;
+    }
+
+    /**
+     * Equivalente a UPPER(text) LIKE '%w1%w2%...%': todas as palavras, na ordem informada.
+     */
+    private static boolean containsInOrder(String text, List<String> words) {
+        if (text == null) {
+            return false;
+        }
+        int from = 0;
+        for (String word : words) {
+            int index = indexOfIgnoreCase(text, word, from);
+            if (index < 0) {
+                return false;
+            }
+            from = index + word.length();
+        }
+        return true;
+    }
+
+    private static int indexOfIgnoreCase(String text, String part, int from) {
+        int last = text.length() - part.length();
+        for (int i = from; i <= last; i++) {
+            if (text.regionMatches(true, i, part, 0, part.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Janela de vendas carregada em memória (imutável; substituída a cada atualização)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SalesWindowSnapshot {
+
+        /**
+         * Mês atual da janela; os três meses anteriores formam as vendas fechadas
+         */
+        private final YearMonth month;
+
+        private final List<SalesWindowRow> rows;
+
+        /**
+         * Última leitura completa da janela
+         */
+        private final LocalDateTime builtAt;
+
+        /**
+         * Última atualização das vendas do mês atual e do estoque
+         */
+        private final LocalDateTime refreshedAt;
+
+        /**
+         * Filtra, ordena e pagina a janela.
+         *
+         * @param filter Filtro das linhas
+         * @param order Ordenação
+         * @param offset Quantidade de linhas a pular
+         * @param size Tamanho da página
+         * @return Linhas da página
+         */
+        public List<SalesWindowRow> findPage(Predicate<SalesWindowRow> filter, Comparator<SalesWindowRow> order,
+                                             int offset, int size) {
+            List<SalesWindowRow> matches = rows.stream()
+                    .filter(filter)
+                    .collect(Collectors.toList());
+            if (offset >= matches.size()) {
+                return Collections.emptyList();
+            }
+            matches.sort(order);
+            return new ArrayList<>(matches.subList(offset, Math.min(offset + size, matches.size())));
+        }
+
+        /**
+         * Conta as linhas que atendem ao filtro.
+         *
+         * @param filter Filtro das linhas
+         * @return Total de linhas
+         */
+        public long count(Predicate<SalesWindowRow> filter) {
+            return rows.stream().filter(filter).count();
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package com.sysconard.legacy.service;
 
-import com.sysconard.legacy.dto.StockItemDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.sysconard.legacy.dto.StockPageResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -28,7 +32,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class StockControllerService {
 
+    /**
+     * Tamanho do buffer de escrita do stream NDJSON.
+     */
+    private static final int NDJSON_BUFFER_SIZE = 64 * 1024;
+
     private final StockService stockService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Busca estoque com filtros, paginação e ordenação
@@ -41,32 +51,41 @@ public class StockControllerService {
      * @param size Tamanho da página (padrão: 15)
      * @param sortBy Campo para ordenação (padrão: refplu)
      * @param sortDir Direção da ordenação (asc/desc, padrão: asc)
+     * @param after Cursor retornado em nextCursor pela página anterior (opcional)
+     * @param includeCount Se o total de registros deve ser calculado (padrão: true)
      * @return Resposta paginada com itens de estoque
      */
     public StockPageResponse getStocks(
             String refplu, String marca, String descricao, Boolean hasStock,
-            int page, int size, String sortBy, String sortDir) {
+            int page, int size, String sortBy, String sortDir,
+            String after, boolean includeCount) {
 
-        log.info("Processando requisição de estoque - página: {}, tamanho: {}, filtros: refplu={}, marca={}, descricao={}, hasStock={}",
-                page, size, refplu, marca, descricao, hasStock);
+        log.info("Processando requisição de estoque - página: {}, tamanho: {}, cursor: {}, includeCount: {}, filtros: refplu={}, marca={}, descricao={}, hasStock={}",
+                page, size, after != null, includeCount, refplu, marca, descricao, hasStock);
 
         try {
             // Buscar dados de estoque
-            Page<StockItemDTO> stockPage = stockService.findStocksWithFilters(
-                    refplu, marca, descricao, hasStock, page, size, sortBy, sortDir);
+            StockService.StockSlice slice = stockService.findStockSlice(
+                    refplu, marca, descricao, hasStock, page, size, sortBy, sortDir, after, includeCount);
+
+            // Com cursor a posição absoluta não é conhecida: há página anterior sempre que há cursor
+            boolean hasPrevious = after != null || page > 0;
+            Long totalElements = slice.getTotalElements();
+            Integer totalPages = totalElements != null ? (int) ((totalElements + size - 1) / size) : null;
 
             // Construir resposta
             StockPageResponse response = StockPageResponse.builder()
-                    .content(stockPage.getContent())
-                    .totalElements(stockPage.getTotalElements())
-                    .totalPages(stockPage.getTotalPages())
-                    .currentPage(stockPage.getNumber())
-                    .pageSize(stockPage.getSize())
-                    .hasNext(stockPage.hasNext())
-                    .hasPrevious(stockPage.hasPrevious())
-                    .first(stockPage.isFirst())
-                    .last(stockPage.isLast())
-                    .numberOfElements(stockPage.getNumberOfElements())
+                    .content(slice.getContent())
+                    .totalElements(totalElements)
+                    .totalPages(totalPages)
+                    .currentPage(after != null ? null : page)
+                    .pageSize(size)
+                    .hasNext(slice.isHasNext())
+                    .hasPrevious(hasPrevious)
+                    .first(!hasPrevious)
+                    .last(!slice.isHasNext())
+                    .numberOfElements(slice.getContent().size())
+                    .nextCursor(slice.getNextCursor())
                     .build();
 
             log.info("Resposta de estoque construída - total: {}, página atual: {}, elementos: {}",
@@ -93,6 +112,37 @@ public class StockControllerService {
         }
     }
     
+    /**
+     * Escreve a matriz de estoque no formato NDJSON (um objeto JSON por referência)
+     * diretamente no OutputStream, conforme as linhas são lidas do banco.
+     * 
+     * @param outputStream Stream de saída da resposta HTTP
+     * @throws IOException se houver erro de escrita
+     */
+    public void writeStockMatrixAsNdjson(OutputStream outputStream) throws IOException {
+        log.debug("Iniciando stream NDJSON da matriz de estoque");
+        
+        BufferedOutputStream bufferedOutput = new BufferedOutputStream(outputStream, NDJSON_BUFFER_SIZE);
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(bufferedOutput)) {
+            
+            long total = stockService.streamStockMatrix(row -> {
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            
+            log.info("Stream NDJSON da matriz de estoque concluído. Total: {}", total);
+            
+        } catch (UncheckedIOException e) {
+            log.error("Erro de escrita no stream NDJSON da matriz de estoque: {}", e.getMessage());
+            throw e.getCause();
+        }
+    }
+    
     /**
      * Testa dados sem filtro de loccod
      * 
@@ -1,24 +1,36 @@
 package com.sysconard.legacy.service;
 
+import com.sysconard.legacy.config.CacheConfig;
+import com.sysconard.legacy.dto.StockCursor;
 import com.sysconard.legacy.dto.StockItemDTO;
+import com.sysconard.legacy.dto.StockMatrixRowDTO;
 import com.sysconard.legacy.entity.store.Store;
 import com.sysconard.legacy.repository.StockRepository;
-import com.sysconard.legacy.repository.StoreRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Serviço responsável pelas operações de acesso a dados de estoque
@@ -40,7 +52,10 @@ import java.util.stream.Collectors;
 public class StockService {
 
     private final StockRepository stockRepository;
-    private final StoreRepository storeRepository;
+    private final StoreService storeService;
+    private final CacheManager cacheManager;
+
+    private static final String STORE_CODE_FORMAT = "%06d";
 
     /**
      * Busca estoque com filtros, paginação e ordenação
@@ -73,12 +88,12 @@ public class StockService {
         // Preparar filtros
         StockFilters filters = createStockFilters(refplu, marca, descricao);
 
-        // Buscar lojas ativas para conversão
+        // Buscar lojas ativas uma única vez por requisição (conversão, busca e contagem)
         List<Store> stores = getActiveStores();
         
         // Buscar dados
-        List<Object[]> rows = fetchStockData(filters, hasStock, pageable);
-        Long totalElements = countStockData(filters, hasStock);
+        List<Object[]> rows = fetchStockData(filters, hasStock, pageable, stores);
+        Long totalElements = countStockDataCached(filters, hasStock, stores);
 
         log.info("Linhas retornadas do repositório: {} (página: {}, tamanho solicitado: {})", 
                 rows.size(), pageable.getPageNumber(), pageable.getPageSize());
@@ -93,6 +108,142 @@ public class StockService {
         return new PageImpl<>(dtos, pageable, totalElements);
     }
 
+    /**
+     * Busca uma fatia do estoque, por offset (page) ou por cursor (after)
+     * 
+     * Busca uma linha além do tamanho pedido para saber se há próxima página sem
+     * contar o total. A contagem só é feita quando includeCount = true e fica em
+     * cache por assinatura de filtro (cache stockCounts).
+     * 
+     * Com cursor, a página é buscada a partir da última linha entregue (keyset),
+     * sem percorrer as páginas anteriores; o parâmetro page é ignorado.
+     * 
+     * @param refplu Filtro por refplu (opcional)
+     * @param marca Filtro por marca (opcional)
+     * @param descricao Filtro por descrição (opcional)
+     * @param hasStock Filtrar apenas produtos com estoque total > 0 (padrão: true)
+     * @param page Número da página (0-based), usado sem cursor
+     * @param size Tamanho da página
+     * @param sortBy Campo para ordenação
+     * @param sortDir Direção da ordenação (asc/desc)
+     * @param after Cursor da página anterior (opcional)
+     * @param includeCount Se o total de registros deve ser calculado
+     * @return Fatia com os itens, indicador de próxima página, cursor e total (se pedido)
+     * @throws IllegalArgumentException se parâmetros ou cursor inválidos
+     */
+    public StockSlice findStockSlice(
+            String refplu, String marca, String descricao, Boolean hasStock,
+            int page, int size, String sortBy, String sortDir,
+            String after, boolean includeCount) {
+
+        log.debug("Buscando fatia de estoque: refplu={}, marca={}, descricao={}, hasStock={}, page={}, size={}, sortBy={}, sortDir={}, after={}, includeCount={}",
+                refplu, marca, descricao, hasStock, page, size, sortBy, sortDir, after, includeCount);
+
+        validatePaginationParameters(page, size);
+        validateSortParameters(sortBy, sortDir);
+
+        StockFilters filters = createStockFilters(refplu, marca, descricao);
+        List<Store> stores = getActiveStores();
+        List<Long> storeIds = stores.stream()
+                .map(Store::getId)
+                .collect(Collectors.toList());
+        String sortColumn = resolveSortColumn(sortBy, stores.size());
+        String direction = sortDir.toLowerCase();
+
+        List<Object[]> rows;
+        if (StringUtils.hasText(after)) {
+            StockCursor cursor = StockCursor.decode(after);
+            if (!sortColumn.equals(cursor.getSortBy()) || !direction.equals(cursor.getSortDir())) {
+                throw new IllegalArgumentException("Cursor gerado para outra ordenação: " + cursor.getSortBy() + " " + cursor.getSortDir());
+            }
+            rows = stockRepository.findStocksWithFiltersKeyset(
+                    filters.getRefplu(), filters.getMarca(), filters.getDescricao(),
+                    filters.getRefpluFilter(), filters.getMarcaFilter(),
+                    filters.getDescricaoWords(), filters.getGrupoWords(),
+                    storeIds,
+                    hasStock, sortColumn, direction,
+                    toSortParameter(sortColumn, cursor.getSortValue()), cursor.getRefplu(), size + 1
+            );
+        } else {
+            rows = stockRepository.findStocksWithFiltersDynamic(
+                    filters.getRefplu(), filters.getMarca(), filters.getDescricao(),
+                    filters.getRefpluFilter(), filters.getMarcaFilter(),
+                    filters.getDescricaoWords(), filters.getGrupoWords(),
+                    storeIds,
+                    hasStock, sortColumn, direction, page * size, size + 1
+            );
+        }
+
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+        String nextCursor = hasNext
+                ? createCursor(rows.get(rows.size() - 1), sortColumn, direction, stores.size()).encode()
+                : null;
+        Long totalElements = includeCount ? countStockDataCached(filters, hasStock, stores) : null;
+
+        List<StockItemDTO> dtos = convertToStockDTOs(rows, stores);
+
+        log.info("Fatia de estoque: {} itens (cursor: {}, próxima: {}, total: {})",
+                dtos.size(), StringUtils.hasText(after), hasNext, totalElements);
+
+        return new StockSlice(dtos, hasNext, nextCursor, totalElements);
+    }
+
+    /**
+     * Percorre a matriz de estoque completa (refplu × loja) em modo stream
+     * 
+     * As linhas são lidas por cursor forward-only, ordenadas por refplu, e agrupadas
+     * em uma linha por referência com as quantidades das lojas cadastradas na tabela
+     * LOJA (mesmo conjunto de lojas das colunas lojN da consulta paginada).
+     * O consumo de memória é constante, independentemente do número de referências.
+     * 
+     * @param consumer Consumidor que recebe cada linha da matriz
+     * @return Quantidade de referências entregues ao consumidor
+     */
+    @Transactional(readOnly = true)
+    public long streamStockMatrix(Consumer<StockMatrixRowDTO> consumer) {
+        Set<Long> storeIds = getActiveStores().stream()
+                .map(Store::getId)
+                .collect(Collectors.toSet());
+
+        long delivered = 0;
+        StockMatrixRowDTO current = null;
+
+        try (Stream<Object[]> rows = stockRepository.streamStockMatrix()) {
+            Iterator<Object[]> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                String refplu = (String) row[0];
+
+                if (current == null || !current.getRefplu().equals(refplu)) {
+                    if (current != null) {
+                        consumer.accept(current);
+                        delivered++;
+                    }
+                    current = new StockMatrixRowDTO(refplu, (String) row[1], (String) row[2], new LinkedHashMap<>());
+                }
+
+                Long storeId = convertToLong(row[3]);
+                Long quantity = convertToLong(row[4]);
+                if (storeId != null && quantity != null && storeIds.contains(storeId)) {
+                    Map<String, Long> quantities = current.getQuantities();
+                    quantities.merge(String.format(STORE_CODE_FORMAT, storeId), quantity, Long::sum);
+                }
+            }
+        }
+
+        if (current != null) {
+            consumer.accept(current);
+            delivered++;
+        }
+
+        log.info("Stream da matriz de estoque concluído: {} referências, {} lojas", delivered, storeIds.size());
+
+        return delivered;
+    }
+
     /**
      * Valida parâmetros de paginação
      * 
@@ -217,19 +368,18 @@ public class StockService {
      * @param filters Filtros aplicados
      * @param hasStock Filtrar apenas produtos com estoque total > 0
      * @param pageable Configuração de paginação
+     * @param stores Lojas ativas ordenadas por ID
      * @return Lista de objetos retornados pelo repositório
      */
-    private List<Object[]> fetchStockData(StockFilters filters, Boolean hasStock, Pageable pageable) {
+    private List<Object[]> fetchStockData(StockFilters filters, Boolean hasStock, Pageable pageable, List<Store> stores) {
         int offset = pageable.getPageNumber() * pageable.getPageSize();
         String sortBy = pageable.getSort().iterator().hasNext() ? 
                 pageable.getSort().iterator().next().getProperty() : "refplu";
         String sortDir = pageable.getSort().iterator().hasNext() && 
                 pageable.getSort().iterator().next().isDescending() ? "desc" : "asc";
         
-        // Buscar lojas ativas
-        List<com.sysconard.legacy.entity.store.Store> stores = getActiveStores();
         List<Long> storeIds = stores.stream()
-                .map(com.sysconard.legacy.entity.store.Store::getId)
+                .map(Store::getId)
                 .collect(Collectors.toList());
         
         // Log para debug - verificar mapeamento de lojas
@@ -254,13 +404,12 @@ public class StockService {
      * 
      * @param filters Filtros aplicados
      * @param hasStock Filtrar apenas produtos com estoque total > 0
+     * @param stores Lojas ativas ordenadas por ID
      * @return Total de registros
      */
-    private Long countStockData(StockFilters filters, Boolean hasStock) {
-        // Buscar lojas ativas
-        List<com.sysconard.legacy.entity.store.Store> stores = getActiveStores();
+    private Long countStockData(StockFilters filters, Boolean hasStock, List<Store> stores) {
         List<Long> storeIds = stores.stream()
-                .map(com.sysconard.legacy.entity.store.Store::getId)
+                .map(Store::getId)
                 .collect(Collectors.toList());
         
         return stockRepository.countStocksWithFiltersDynamic(
@@ -272,6 +421,90 @@ public class StockService {
         );
     }
 
+    /**
+     * Conta o total de registros usando o cache stockCounts
+     * 
+     * A chave é a assinatura do filtro (filtros, lojas e hasStock): páginas da mesma
+     * consulta reaproveitam a contagem durante o TTL do cache.
+     * 
+     * @param filters Filtros aplicados
+     * @param hasStock Filtrar apenas produtos com estoque total > 0
+     * @param stores Lojas ativas ordenadas por ID
+     * @return Total de registros
+     */
+    private Long countStockDataCached(StockFilters filters, Boolean hasStock, List<Store> stores) {
+        Cache cache = cacheManager.getCache(CacheConfig.STOCK_COUNTS_CACHE);
+        if (cache == null) {
+            return countStockData(filters, hasStock, stores);
+        }
+        String key = filters.getRefplu() + "|" + filters.getMarca() + "|" + filters.getDescricao() + "|"
+                + (hasStock != null && hasStock) + "|"
+                + stores.stream().map(store -> String.valueOf(store.getId())).collect(Collectors.joining(","));
+        return cache.get(key, () -> countStockData(filters, hasStock, stores));
+    }
+
+    /**
+     * Resolve a coluna de ordenação efetiva
+     * 
+     * Colunas lojN acima do número de lojas ativas não existem na query: como na
+     * paginação por offset, a ordenação recai sobre refplu.
+     * 
+     * @param sortBy Campo de ordenação validado
+     * @param storeCount Número de lojas ativas
+     * @return refplu, marca, descricao, total ou lojN
+     */
+    private String resolveSortColumn(String sortBy, int storeCount) {
+        String column = sortBy.toLowerCase();
+        if (column.matches("loj\\d+")) {
+            int storeIndex = Integer.parseInt(column.substring(3));
+            return storeIndex >= 1 && storeIndex <= storeCount ? column : "refplu";
+        }
+        return column;
+    }
+
+    /**
+     * Cria o cursor a partir da última linha entregue
+     * 
+     * @param row Última linha (refplu, marca, descricao, loj1..lojN, total[, rn])
+     * @param sortColumn Coluna de ordenação
+     * @param sortDir Direção da ordenação
+     * @param storeCount Número de lojas na query
+     * @return Cursor para a próxima página
+     */
+    private StockCursor createCursor(Object[] row, String sortColumn, String sortDir, int storeCount) {
+        Object sortValue;
+        if ("marca".equals(sortColumn)) {
+            sortValue = row[1];
+        } else if ("descricao".equals(sortColumn)) {
+            sortValue = row[2];
+        } else if ("total".equals(sortColumn)) {
+            sortValue = row[3 + storeCount];
+        } else if (sortColumn.startsWith("loj")) {
+            sortValue = row[2 + Integer.parseInt(sortColumn.substring(3))];
+        } else {
+            sortValue = null;
+        }
+        return new StockCursor(sortColumn, sortDir, sortValue != null ? sortValue.toString() : "", (String) row[0]);
+    }
+
+    /**
+     * Converte o valor de ordenação do cursor para o tipo da coluna
+     * 
+     * @param sortColumn Coluna de ordenação
+     * @param sortValue Valor gravado no cursor
+     * @return String para colunas de texto, BigDecimal para quantidades
+     */
+    private Object toSortParameter(String sortColumn, String sortValue) {
+        if ("total".equals(sortColumn) || sortColumn.startsWith("loj")) {
+            try {
+                return new BigDecimal(sortValue);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Cursor de estoque inválido: valor " + sortValue, e);
+            }
+        }
+        return sortValue;
+    }
+
     /**
      * Converte lista de objetos para DTOs de estoque
      * 
@@ -296,7 +529,7 @@ public class StockService {
      * @param stores Lista de lojas para mapeamento dinâmico (ordenadas por ID)
      * @return StockItemDTO ou null se conversão falhar
      */
-    private StockItemDTO convertRowToStockDTO(Object[] row, List<Store> stores) {
+    StockItemDTO convertRowToStockDTO(Object[] row, List<Store> stores) {
         try {
             // Estrutura do array retornado pela query dinâmica:
             // row[0] = refplu
@@ -430,6 +663,19 @@ public class StockService {
         private String grupoWords;
     }
     
+    /**
+     * Fatia do estoque retornada por {@link #findStockSlice}
+     */
+    @lombok.Getter
+    @lombok.AllArgsConstructor
+    public static class StockSlice {
+        private final List<StockItemDTO> content;
+        private final boolean hasNext;
+        private final String nextCursor;
+        /** Total de registros; null quando a contagem não foi pedida */
+        private final Long totalElements;
+    }
+    
     /**
      * Testa dados sem filtro de loccod
      * 
@@ -460,14 +706,11 @@ public class StockService {
     /**
      * Busca todas as lojas ativas ordenadas por LOJCOD
      * 
-     * @return Lista de lojas ordenadas por código
+     * Delega ao catálogo em cache do StoreService.
+     * 
+     * @return Lista imutável de lojas ordenadas por código
      */
     public List<Store> getActiveStores() {
-        log.debug("Buscando lojas ativas");
-        List<Store> stores = storeRepository.findAll();
-        // Ordenar por LOJCOD (id)
-        stores.sort((s1, s2) -> Long.compare(s1.getId(), s2.getId()));
-        log.debug("Lojas encontradas: {}", stores.size());
-        return stores;
+        return storeService.findAllStoresOrderedById();
     }
 }
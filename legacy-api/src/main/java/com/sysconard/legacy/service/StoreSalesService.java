@@ -1,8 +1,10 @@
 package com.sysconard.legacy.service;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -14,6 +16,7 @@ import com.sysconard.legacy.dto.StoreSalesReportDTO;
 import com.sysconard.legacy.dto.StoreSalesReportRequestDTO;
 import com.sysconard.legacy.dto.StoreSalesReportByDayDTO;
 import com.sysconard.legacy.repository.DocumentRepository;
+import com.sysconard.legacy.repository.util.PeriodTimestamps;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,6 +24,8 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Serviço responsável pela lógica de negócio dos relatórios de vendas por loja.
  * Processa dados agregados de documentos para gerar relatórios de performance.
+ * Com o {@link ClosedDaySalesCache} ativo, apenas os dias abertos e os dias fechados
+ * ainda sem cache são consultados no SQL Server.
  * 
  * @author Sysconard Legacy API
  * @version 1.0
@@ -31,6 +36,7 @@ import lombok.extern.slf4j.Slf4j;
 public class StoreSalesService {
     
     private final DocumentRepository documentRepository;
+    private final ClosedDaySalesCache closedDaySalesCache;
     
     /**
      * Gera relatório de vendas por loja com agregações de DANFE, PDV e TROCA3.
@@ -49,16 +55,21 @@ public class StoreSalesService {
         log.debug("Executando query otimizada com filtro de data no banco");
         
         try {
-            // Formatar datas para o formato datetime do SQL Server (ISO 8601)
-            String startDateFormatted = formatDateForSqlServer(request.getStartDate(), true);
-            String endDateFormatted = formatDateForSqlServer(request.getEndDate(), false);
+            // Limites do período como parâmetros tipados
+            Timestamp startTimestamp = PeriodTimestamps.start(request.getStartDate());
+            Timestamp endTimestamp = PeriodTimestamps.end(request.getEndDate());
             
-            // Busca dados já agregados com filtro de data no SQL
-            List<Object[]> aggregatedData = documentRepository.findStoreSalesOptimizedData(
-                request.getStoreCodes(),
-                startDateFormatted, endDateFormatted,
-                request.getDanfeOrigin(), request.getPdvOrigin(), request.getExchangeOrigin(),
-                request.getSellOperation(), request.getExchangeOperation());
+            List<Object[]> aggregatedData;
+            if (closedDaySalesCache.isEnabled()) {
+                aggregatedData = findAggregatedDataWithClosedDays(request);
+            } else {
+                // Busca dados já agregados com filtro de data no SQL
+                aggregatedData = documentRepository.findStoreSalesOptimizedData(
+                    request.getStoreCodes(),
+                    startTimestamp, endTimestamp,
+                    request.getDanfeOrigin(), request.getPdvOrigin(), request.getExchangeOrigin(),
+                    request.getSellOperation(), request.getExchangeOperation());
+            }
             
             log.debug("Dados agregados obtidos: {} lojas", aggregatedData.size());
             
@@ -88,31 +99,6 @@ public class StoreSalesService {
         }
     }
     
-    /**
-     * Formata uma data para o formato datetime do SQL Server.
-     * Usa formato ISO 8601 para garantir compatibilidade.
-     * 
-     * @param dateString Data no formato YYYY-MM-DD
-     * @param isStartDate true para data de início (00:00:00), false para data de fim (23:59:59)
-     * @return String formatada para SQL Server datetime
-     */
-    private String formatDateForSqlServer(String dateString, boolean isStartDate) {
-        if (dateString == null || dateString.trim().isEmpty()) {
-            throw new IllegalArgumentException("Data não pode ser nula ou vazia");
-        }
-        
-        // Validar formato básico YYYY-MM-DD
-        if (!dateString.matches("\\d{4}-\\d{2}-\\d{2}")) {
-            throw new IllegalArgumentException("Data deve estar no formato YYYY-MM-DD: " + dateString);
-        }
-        
-        if (isStartDate) {
-            return dateString + "T00:00:00.000";
-        } else {
-            return dateString + "T23:59:59.997";
-        }
-    }
-    
     /**
      * Converte um objeto para BigDecimal de forma segura.
      * Trata valores nulos retornando BigDecimal.ZERO.
@@ -155,6 +141,16 @@ public class StoreSalesService {
             BigDecimal danfe = convertToBigDecimal(row[4]);
             
             if (storeCode != null) {
+                // Com o cache de dias fechados a mesma loja pode vir dos dias em cache e dos dias abertos
+                StoreSalesReportDTO previous = storeDataMap.get(storeCode);
+                if (previous != null) {
+                    troca = troca.add(previous.getTroca3());
+                    pdv = pdv.add(previous.getPdv());
+                    danfe = danfe.add(previous.getDanfe());
+                    if (storeName == null) {
+                        storeName = previous.getStoreName();
+                    }
+                }
                 storeDataMap.put(storeCode, StoreSalesReportDTO.builder()
                     .storeName(storeName != null ? storeName : "Loja " + storeCode)
                     .storeCode(storeCode)
@@ -300,23 +296,30 @@ public class StoreSalesService {
         log.debug("Executando query otimizada com filtro de data no banco e agrupamento por dia");
         
         try {
-            // Formatar datas para o formato datetime do SQL Server (ISO 8601)
-            String startDateFormatted = formatDateForSqlServer(request.getStartDate(), true);
-            String endDateFormatted = formatDateForSqlServer(request.getEndDate(), false);
+            // Limites do período como parâmetros tipados
+            Timestamp startTimestamp = PeriodTimestamps.start(request.getStartDate());
+            Timestamp endTimestamp = PeriodTimestamps.end(request.getEndDate());
+            
+            // Converter datas string para LocalDate
+            LocalDate startDateParsed = parseStringToLocalDate(request.getStartDate());
+            LocalDate endDateParsed = parseStringToLocalDate(request.getEndDate());
+            
+            if (closedDaySalesCache.isEnabled()) {
+                List<StoreSalesReportByDayDTO> report = toReportByDay(
+                    fillGridWithClosedDays(request, startDateParsed, endDateParsed));
+                log.debug("Relatório por dia gerado com cache de dias fechados: {} registros", report.size());
+                return report;
+            }
             
             // Busca dados já agregados com filtro de data no SQL e agrupamento por dia
             List<Object[]> aggregatedData = documentRepository.findStoreSalesByDayOptimizedData(
                 request.getStoreCodes(),
-                startDateFormatted, endDateFormatted,
+                startTimestamp, endTimestamp,
                 request.getDanfeOrigin(), request.getPdvOrigin(), request.getExchangeOrigin(),
                 request.getSellOperation(), request.getExchangeOperation());
             
             log.debug("Dados agregados por dia obtidos: {} registros", aggregatedData.size());
             
-            // Converter datas string para LocalDate
-            LocalDate startDateParsed = parseStringToLocalDate(request.getStartDate());
-            LocalDate endDateParsed = parseStringToLocalDate(request.getEndDate());
-            
             // Processar dados agregados por loja e por dia
             List<StoreSalesReportByDayDTO> report = processAggregatedDataByDay(
                 aggregatedData, request.getStoreCodes(), startDateParsed, endDateParsed);
@@ -347,7 +350,8 @@ public class StoreSalesService {
     /**
      * Processa dados já agregados pela query otimizada por loja e por dia.
      * Garante que todas as lojas solicitadas apareçam em todas as datas do período,
-     * mesmo que não tenham vendas (valores zerados).
+     * mesmo que não tenham vendas (valores zerados), usando a grade densa loja × dia.
+     * O resultado sai ordenado por nome da loja e data.
      * 
      * @param aggregatedData Dados já agregados pela query SQL: [LOJFAN, LOJCOD, DATA, TROCA, PDV, DANFE]
      * @param requestedStoreCodes Lista de códigos de loja solicitados
@@ -355,141 +359,176 @@ public class StoreSalesService {
      * @param endDate Data de fim do período solicitado
      * @return Lista de DTOs com dados por loja e por dia
      */
-    private List<StoreSalesReportByDayDTO> processAggregatedDataByDay(List<Object[]> aggregatedData, List<String> requestedStoreCodes, LocalDate startDate, LocalDate endDate) {
+    List<StoreSalesReportByDayDTO> processAggregatedDataByDay(List<Object[]> aggregatedData, List<String> requestedStoreCodes, LocalDate startDate, LocalDate endDate) {
         log.debug("Processando {} registros com dados agregados por loja e por dia", aggregatedData.size());
 
-        // Mapa para armazenar dados reais retornados pela query
-        Map<String, StoreSalesReportByDayDTO> realDataMap = new HashMap<>();
-        Map<String, String> storeNamesMap = new HashMap<>();
+        StoreDayGrid grid = new StoreDayGrid(requestedStoreCodes, startDate, endDate);
+        if (grid.size() == 0) {
+            log.warn("Nenhuma loja solicitada ou período de datas inválido para gerar combinações");
+            return new ArrayList<>();
+        }
         
-        // Processar dados retornados pela query e indexar por chave composta
         for (Object[] row : aggregatedData) {
-            String storeName = toSafeString(row[0]);
-            String storeCode = toSafeString(row[1]);
-            LocalDate reportDate = convertToLocalDate(row[2]);
-            BigDecimal troca = convertToBigDecimal(row[3]);
-            BigDecimal pdv = convertToBigDecimal(row[4]);
-            BigDecimal danfe = convertToBigDecimal(row[5]);
-            
-            if (storeCode != null && reportDate != null) {
-                String dataKey = createDataKey(storeCode, reportDate);
-                
-                StoreSalesReportByDayDTO dto = StoreSalesReportByDayDTO.builder()
-                    .storeName(storeName != null ? storeName : "Loja " + storeCode)
-                    .storeCode(storeCode)
-                    .reportDate(reportDate)
-                    .troca3(troca)
-                    .pdv(pdv)
-                    .danfe(danfe)
-                    .build();
-                
-                realDataMap.put(dataKey, dto);
-                
-                // Armazenar nome da loja para usar em registros zerados
-                if (storeName != null) {
-                    storeNamesMap.put(storeCode, storeName);
-                }
-            }
+            grid.put(
+                toSafeString(row[1]),
+                toSafeString(row[0]),
+                convertToLocalDate(row[2]),
+                convertToBigDecimal(row[5]),
+                convertToBigDecimal(row[4]),
+                convertToBigDecimal(row[3]));
         }
         
-        log.debug("Dados reais indexados: {} registros", realDataMap.size());
-        log.debug("Gerando combinações para período solicitado: {} a {}", startDate, endDate);
-        
-        // Gerar todas as combinações de loja + data esperadas usando o período do request
-        List<StoreSalesReportByDayDTO> result = generateAllStoreAndDateCombinations(
-            requestedStoreCodes, startDate, endDate, storeNamesMap, realDataMap);
-        
-        // Ordenar por nome da loja e depois por data
-        result.sort(Comparator.comparing(StoreSalesReportByDayDTO::getStoreName)
-                              .thenComparing(StoreSalesReportByDayDTO::getReportDate));
+        List<StoreSalesReportByDayDTO> result = toReportByDay(grid);
         
         log.debug("Processamento por dia concluído: {} registros no resultado final (incluindo zeros)", result.size());
         return result;
     }
     
     /**
-     * Cria uma chave composta para indexação de dados por loja e data.
-     * Formato: "storeCode_YYYY-MM-DD"
+     * Monta os DTOs do relatório por dia a partir da grade loja × dia.
      * 
-     * @param storeCode Código da loja
-     * @param date Data do relatório
-     * @return String representando a chave composta
+     * @param grid Grade preenchida
+     * @return Lista de DTOs ordenada por nome da loja e data
      */
-    private String createDataKey(String storeCode, LocalDate date) {
-        if (storeCode == null || date == null) {
-            return null;
-        }
-        return storeCode + "_" + date.toString();
+    private List<StoreSalesReportByDayDTO> toReportByDay(StoreDayGrid grid) {
+        return grid.toList((storeCode, storeName, date, danfe, pdv, troca) ->
+            StoreSalesReportByDayDTO.builder()
+                .storeName(storeName)
+                .storeCode(storeCode)
+                .reportDate(date)
+                .troca3(troca)
+                .pdv(pdv)
+                .danfe(danfe)
+                .build());
     }
     
+    /**
+     * Busca os dados agregados por loja usando o cache de dias fechados.
+     * Os dias fechados do período são somados a partir do cache (consultando por dia apenas
+     * os que faltam) e os dias abertos usam a query agregada, como antes.
+     * 
+     * @param request DTO com os parâmetros do relatório
+     * @return Linhas no formato da query agregada: [LOJFAN, LOJCOD, TROCA, PDV, DANFE]
+     */
+    private List<Object[]> findAggregatedDataWithClosedDays(StoreSalesReportRequestDTO request) {
+        LocalDate startDate = parseStringToLocalDate(request.getStartDate());
+        LocalDate endDate = parseStringToLocalDate(request.getEndDate());
+        LocalDate lastClosedDay = closedDaySalesCache.lastClosedDay();
+        List<Object[]> aggregatedData = new ArrayList<>();
+        
+        if (!startDate.isAfter(lastClosedDay)) {
+            LocalDate closedEnd = endDate.isAfter(lastClosedDay) ? lastClosedDay : endDate;
+            StoreDayGrid grid = fillGridWithClosedDays(request, startDate, closedEnd);
+            aggregatedData.addAll(grid.toList((storeCode, storeName, date, danfe, pdv, troca) ->
+                new Object[]{storeName, storeCode, troca, pdv, danfe}));
+        }
+        
+        if (endDate.isAfter(lastClosedDay)) {
+            LocalDate openStart = startDate.isAfter(lastClosedDay) ? startDate : lastClosedDay.plusDays(1);
+            aggregatedData.addAll(documentRepository.findStoreSalesOptimizedData(
+                request.getStoreCodes(),
+                PeriodTimestamps.start(openStart),
+                PeriodTimestamps.end(endDate),
+                request.getDanfeOrigin(), request.getPdvOrigin(), request.getExchangeOrigin(),
+                request.getSellOperation(), request.getExchangeOperation()));
+        }
+        return aggregatedData;
+    }
     
     /**
-     * Gera todas as combinações de loja + data do período solicitado.
-     * Para cada combinação, usa dados reais se disponíveis, senão cria com valores zerados.
+     * Preenche a grade loja × dia do período: dias fechados em cache para todas as lojas
+     * vêm do cache; os demais dias são consultados no SQL Server em faixas contíguas, e os
+     * dias fechados dessas faixas são gravados no cache.
      * 
-     * @param requestedStoreCodes Lista de códigos de loja solicitados
+     * @param request DTO com os parâmetros do relatório
      * @param startDate Data de início do período
      * @param endDate Data de fim do período
-     * @param storeNamesMap Mapa com nomes das lojas
-     * @param realDataMap Mapa com dados reais indexados por chave
-     * @return Lista completa de DTOs com todas as combinações
+     * @return Grade preenchida
      */
-    private List<StoreSalesReportByDayDTO> generateAllStoreAndDateCombinations(
-            List<String> requestedStoreCodes, LocalDate startDate, LocalDate endDate,
-            Map<String, String> storeNamesMap, Map<String, StoreSalesReportByDayDTO> realDataMap) {
-        
-        log.debug("Gerando combinações para {} lojas no período {} a {}", 
-                 requestedStoreCodes.size(), startDate, endDate);
-        
-        List<StoreSalesReportByDayDTO> result = new ArrayList<>();
-        
-        // Validar parâmetros
-        if (requestedStoreCodes == null || requestedStoreCodes.isEmpty()) {
-            log.warn("Nenhuma loja solicitada para gerar combinações");
-            return result;
+    private StoreDayGrid fillGridWithClosedDays(StoreSalesReportRequestDTO request, LocalDate startDate, LocalDate endDate) {
+        StoreDayGrid grid = new StoreDayGrid(request.getStoreCodes(), startDate, endDate);
+        if (grid.size() == 0) {
+            return grid;
+        }
+        
+        String filterKey = ClosedDaySalesCache.filterKey(request);
+        LocalDate missingStart = null;
+        int cachedDays = 0;
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            ClosedDaySalesCache.StoreDaySales cached = closedDaySalesCache.get(filterKey, day, request.getStoreCodes());
+            if (cached == null) {
+                if (missingStart == null) {
+                    missingStart = day;
+                }
+                continue;
+            }
+            if (missingStart != null) {
+                loadMissingDays(grid, request, filterKey, missingStart, day.minusDays(1));
+                missingStart = null;
+            }
+            cached.copyTo(grid, day, request.getStoreCodes());
+            cachedDays++;
         }
-        
-        if (startDate == null || endDate == null) {
-            log.warn("Período de datas inválido para gerar combinações");
-            return result;
+        if (missingStart != null) {
+            loadMissingDays(grid, request, filterKey, missingStart, endDate);
         }
         
-        // Gerar todas as datas do período
-        List<LocalDate> dateRange = generateDateRange(startDate, endDate);
-        
-        // Para cada loja solicitada
-        for (String storeCode : requestedStoreCodes) {
-            String storeName = storeNamesMap.getOrDefault(storeCode, "Loja " + storeCode);
-            
-            // Para cada data do período
-            for (LocalDate date : dateRange) {
-                String dataKey = createDataKey(storeCode, date);
-                
-                // Verificar se temos dados reais para esta combinação
-                StoreSalesReportByDayDTO realData = realDataMap.get(dataKey);
-                
-                StoreSalesReportByDayDTO dto;
-                if (realData != null) {
-                    // Usar dados reais
-                    dto = realData;
-                } else {
-                    // Criar com valores zerados
-                    dto = StoreSalesReportByDayDTO.builder()
-                        .storeName(storeName)
-                        .storeCode(storeCode)
-                        .reportDate(date)
-                        .troca3(BigDecimal.ZERO)
-                        .pdv(BigDecimal.ZERO)
-                        .danfe(BigDecimal.ZERO)
-                        .build();
-                }
-                
-                result.add(dto);
+        log.debug("Grade loja × dia preenchida: {} dias do cache de dias fechados", cachedDays);
+        return grid;
+    }
+    
+    /**
+     * Consulta uma faixa contígua de dias sem cache, grava as linhas na grade e os dias
+     * fechados da faixa no cache (lojas sem venda no dia são gravadas como zeradas).
+     * As gerações dos dias são lidas antes da consulta para descartar dias invalidados durante ela.
+     */
+    private void loadMissingDays(StoreDayGrid grid, StoreSalesReportRequestDTO request, String filterKey,
+                                 LocalDate startDate, LocalDate endDate) {
+        log.debug("Consultando dias sem cache: {} a {}", startDate, endDate);
+        Map<LocalDate, Long> generations = new HashMap<>();
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            generations.put(day, closedDaySalesCache.generation(day));
+        }
+        List<Object[]> rows = documentRepository.findStoreSalesByDayOptimizedData(
+            request.getStoreCodes(),
+            PeriodTimestamps.start(startDate),
+            PeriodTimestamps.end(endDate),
+            request.getDanfeOrigin(), request.getPdvOrigin(), request.getExchangeOrigin(),
+            request.getSellOperation(), request.getExchangeOperation());
+        
+        Map<String, String> storeNames = new HashMap<>();
+        Map<LocalDate, Map<String, BigDecimal[]>> valuesByDay = new HashMap<>();
+        for (Object[] row : rows) {
+            String storeName = toSafeString(row[0]);
+            String storeCode = toSafeString(row[1]);
+            LocalDate date = convertToLocalDate(row[2]);
+            BigDecimal troca = convertToBigDecimal(row[3]);
+            BigDecimal pdv = convertToBigDecimal(row[4]);
+            BigDecimal danfe = convertToBigDecimal(row[5]);
+            if (storeCode == null) {
+                continue;
+            }
+            if (storeName != null) {
+                storeNames.put(storeCode, storeName);
             }
+            if (date == null) {
+                // Loja sem documentos na faixa (LEFT JOIN)
+                grid.putStoreName(storeCode, storeName);
+                continue;
+            }
+            grid.put(storeCode, storeName, date, danfe, pdv, troca);
+            valuesByDay.computeIfAbsent(date, day -> new HashMap<>())
+                .put(storeCode, new BigDecimal[]{danfe, pdv, troca});
         }
         
-        log.debug("Geradas {} combinações de loja + data", result.size());
-        return result;
+        LocalDate lastClosedDay = closedDaySalesCache.lastClosedDay();
+        for (LocalDate day = startDate; !day.isAfter(endDate) && !day.isAfter(lastClosedDay); day = day.plusDays(1)) {
+            Map<String, BigDecimal[]> values = valuesByDay.get(day);
+            closedDaySalesCache.put(filterKey, day, ClosedDaySalesCache.StoreDaySales.of(
+                request.getStoreCodes(), storeNames,
+                values != null ? values : Collections.<String, BigDecimal[]>emptyMap()),
+                generations.get(day));
+        }
     }
     
     /**
@@ -511,35 +550,6 @@ public class StoreSalesService {
         }
     }
     
-    /**
-     * Gera uma lista de datas consecutivas entre startDate e endDate (inclusivos).
-     * 
-     * @param startDate Data de início (inclusiva)
-     * @param endDate Data de fim (inclusiva)
-     * @return Lista de LocalDate do período
-     */
-    private List<LocalDate> generateDateRange(LocalDate startDate, LocalDate endDate) {
-        if (startDate == null || endDate == null) {
-            return new ArrayList<>();
-        }
-        
-        if (startDate.isAfter(endDate)) {
-            log.warn("Data de início {} é posterior à data de fim {}", startDate, endDate);
-            return new ArrayList<>();
-        }
-        
-        List<LocalDate> dates = new ArrayList<>();
-        LocalDate currentDate = startDate;
-        
-        while (!currentDate.isAfter(endDate)) {
-            dates.add(currentDate);
-            currentDate = currentDate.plusDays(1);
-        }
-        
-        log.debug("Período de datas gerado: {} dias de {} a {}", dates.size(), startDate, endDate);
-        return dates;
-    }
-    
     /**
      * Converte um objeto para LocalDate de forma segura.
      * Trata diferentes tipos retornados pelo SQL Server.
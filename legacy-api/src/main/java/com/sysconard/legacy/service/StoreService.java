@@ -1,12 +1,16 @@
 package com.sysconard.legacy.service;
 
+import com.sysconard.legacy.config.CacheConfig;
 import com.sysconard.legacy.dto.StoreDTO;
 import com.sysconard.legacy.entity.store.Store;
 import com.sysconard.legacy.repository.StoreRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -59,6 +63,28 @@ public class StoreService {
         return storeDTOs;
     }
     
+    /**
+     * Busca todas as lojas ordenadas por LOJCOD
+     * 
+     * O resultado é mantido no cache de lojas (TTL configurável), evitando
+     * consultas repetidas à tabela LOJA a cada página de estoque. Alterações
+     * feitas no ERP podem ser aplicadas antes do TTL pela operação clearCache
+     * do endpoint caches via JMX (local; o endpoint não é exposto via HTTP).
+     * 
+     * @return Lista imutável de lojas ordenadas por ID
+     */
+    @Cacheable(cacheNames = CacheConfig.STORES_CACHE, key = "'all'")
+    public List<Store> findAllStoresOrderedById() {
+        log.debug("Buscando lojas ordenadas por ID no banco");
+        
+        List<Store> stores = new ArrayList<>(storeRepository.findAll());
+        stores.sort((s1, s2) -> Long.compare(s1.getId(), s2.getId()));
+        
+        log.debug("Lojas encontradas: {}", stores.size());
+        
+        return Collections.unmodifiableList(stores);
+    }
+    
     /**
      * Busca uma loja específica pelo ID
      * 
@@ -0,0 +1,118 @@
+package com.sysconard.legacy.config;
+
+import com.sysconard.legacy.repository.SalesWindowRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários das métricas de consulta do RepositoryMetricsAspect
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+class RepositoryMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SalesWindowRepository target;
+    private SalesWindowRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        target = mock(SalesWindowRepository.class);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setInterfaces(SalesWindowRepository.class);
+        factory.addAspect(new RepositoryMetricsAspect(meterRegistry));
+        repository = factory.getProxy();
+    }
+
+    @Test
+    void shouldTimeQueryAndRecordRowCount() {
+        when(target.findStockTotals()).thenReturn(Arrays.asList(new Object[]{"0001", 1}, new Object[]{"0002", 2}));
+
+        repository.findStockTotals();
+
+        assertThat(meterRegistry.get(RepositoryMetricsAspect.QUERY_TIMER)
+                .tag("repository", "SalesWindowRepository")
+                .tag("method", "findStockTotals")
+                .tag("outcome", "SUCCESS")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(RepositoryMetricsAspect.ROWS_SUMMARY)
+                .tag("method", "findStockTotals")
+                .summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldTimeMethodsInheritedFromJpaRepository() {
+        when(target.count()).thenReturn(5L);
+
+        repository.count();
+
+        assertThat(meterRegistry.get(RepositoryMetricsAspect.QUERY_TIMER)
+                .tag("repository", "SalesWindowRepository")
+                .tag("method", "count")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldMeasureStreamUntilClosed() {
+        when(target.streamSalesWindow(any(), any(), any(), any(), any()))
+                .thenReturn(Stream.of(new Object[]{"a"}, new Object[]{"b"}, new Object[]{"c"}));
+
+        try (Stream<Object[]> stream = repository.streamSalesWindow(null, null, null, null, null)) {
+            assertThat(meterRegistry.find(RepositoryMetricsAspect.QUERY_TIMER).timer()).isNull();
+            assertThat(stream.collect(Collectors.toList())).hasSize(3);
+        }
+
+        assertThat(meterRegistry.get(RepositoryMetricsAspect.QUERY_TIMER)
+                .tag("method", "streamSalesWindow")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(RepositoryMetricsAspect.ROWS_SUMMARY)
+                .tag("method", "streamSalesWindow")
+                .summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldTagStreamFailedDuringConsumption() {
+        when(target.streamSalesWindow(any(), any(), any(), any(), any()))
+                .thenReturn(Stream.of(new Object[]{"a"}, new Object[]{"b"}).map(row -> {
+                    if ("b".equals(row[0])) {
+                        throw new IllegalStateException("conexão encerrada");
+                    }
+                    return row;
+                }));
+
+        try (Stream<Object[]> stream = repository.streamSalesWindow(null, null, null, null, null)) {
+            assertThatThrownBy(() -> stream.collect(Collectors.toList())).isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(meterRegistry.get(RepositoryMetricsAspect.QUERY_TIMER)
+                .tag("method", "streamSalesWindow")
+                .tag("outcome", "ERROR")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTagFailedQueries() {
+        when(target.findStockTotals()).thenThrow(new IllegalStateException("timeout"));
+
+        assertThatThrownBy(() -> repository.findStockTotals()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get(RepositoryMetricsAspect.QUERY_TIMER)
+                .tag("outcome", "ERROR")
+                .timer().count()).isEqualTo(1);
+    }
+}
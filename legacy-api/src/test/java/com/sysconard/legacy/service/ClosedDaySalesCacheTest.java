@@ -0,0 +1,220 @@
+package com.sysconard.legacy.service;
+
+import com.sysconard.legacy.dto.StoreSalesReportByDayDTO;
+import com.sysconard.legacy.dto.StoreSalesReportDTO;
+import com.sysconard.legacy.dto.StoreSalesReportRequestDTO;
+import com.sysconard.legacy.repository.DocumentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários do cache de dias fechados usado pelo StoreSalesService
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+class ClosedDaySalesCacheTest {
+
+    private static final List<String> STORES = Arrays.asList("000002", "000003");
+
+    @Mock
+    private DocumentRepository documentRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private ClosedDaySalesCache cache;
+    private StoreSalesService storeSalesService;
+
+    @BeforeEach
+    void setUp() {
+        cache = newCache(500000, "");
+        storeSalesService = new StoreSalesService(documentRepository, cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    void shouldServeClosedDaysFromCacheAfterFirstQuery() {
+        // Given
+        when(documentRepository.findStoreSalesByDayOptimizedData(any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(Collections.singletonList(row("Loja Centro", "000002", "2025-01-15", "10.00", "20.00", "30.00")));
+
+        // When
+        List<StoreSalesReportByDayDTO> first = storeSalesService.getStoreSalesReportByDay(request("2025-01-15", "2025-01-16"));
+        List<StoreSalesReportByDayDTO> second = storeSalesService.getStoreSalesReportByDay(request("2025-01-15", "2025-01-16"));
+
+        // Then
+        verify(documentRepository, times(1)).findStoreSalesByDayOptimizedData(any(), any(), any(), any(), any(), any(), any(), any());
+        assertThat(second).hasSize(4);
+        assertThat(second).extracting(StoreSalesReportByDayDTO::getStoreName)
+            .containsExactly("Loja 000003", "Loja 000003", "Loja Centro", "Loja Centro");
+        assertThat(first).hasSize(4);
+        assertThat(second.get(2).getStoreName()).isEqualTo("Loja Centro");
+        assertThat(second.get(2).getDanfe()).isEqualByComparingTo("30.00");
+        assertThat(second.get(2).getTroca3()).isEqualByComparingTo("10.00");
+        assertThat(second.get(3).getDanfe()).isEqualTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    void shouldQueryOnlyContiguousMissingRanges() {
+        // Given
+        when(documentRepository.findStoreSalesByDayOptimizedData(any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(Collections.<Object[]>emptyList());
+        storeSalesService.getStoreSalesReportByDay(request("2025-01-15", "2025-01-16"));
+
+        // When
+        storeSalesService.getStoreSalesReportByDay(request("2025-01-14", "2025-01-18"));
+
+        // Then
+        verify(documentRepository).findStoreSalesByDayOptimizedData(any(),
+            eq(Timestamp.valueOf("2025-01-15 00:00:00")), eq(Timestamp.valueOf("2025-01-17 00:00:00")), any(), any(), any(), any(), any());
+        verify(documentRepository).findStoreSalesByDayOptimizedData(any(),
+            eq(Timestamp.valueOf("2025-01-14 00:00:00")), eq(Timestamp.valueOf("2025-01-15 00:00:00")), any(), any(), any(), any(), any());
+        verify(documentRepository).findStoreSalesByDayOptimizedData(any(),
+            eq(Timestamp.valueOf("2025-01-17 00:00:00")), eq(Timestamp.valueOf("2025-01-19 00:00:00")), any(), any(), any(), any(), any());
+        verifyNoMoreInteractions(documentRepository);
+    }
+
+    @Test
+    void shouldQueryInvalidatedDayAgain() {
+        // Given
+        when(documentRepository.findStoreSalesByDayOptimizedData(any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(Collections.<Object[]>emptyList());
+        storeSalesService.getStoreSalesReportByDay(request("2025-01-15", "2025-01-17"));
+
+        // When
+        int removed = cache.invalidate(LocalDate.of(2025, 1, 16));
+        storeSalesService.getStoreSalesReportByDay(request("2025-01-15", "2025-01-17"));
+
+        // Then
+        assertThat(removed).isEqualTo(1);
+        verify(documentRepository).findStoreSalesByDayOptimizedData(any(),
+            eq(Timestamp.valueOf("2025-01-16 00:00:00")), eq(Timestamp.valueOf("2025-01-17 00:00:00")), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldNotStoreDayInvalidatedDuringQuery() {
+        // Given: geração lida antes da consulta e invalidação concluída antes da gravação
+        LocalDate day = LocalDate.of(2025, 1, 16);
+        String filterKey = ClosedDaySalesCache.filterKey(request("2025-01-16", "2025-01-16"));
+        long generation = cache.generation(day);
+        cache.invalidate(day);
+
+        // When
+        cache.put(filterKey, day, ClosedDaySalesCache.StoreDaySales.of(STORES, Collections.<String, String>emptyMap(),
+            Collections.<String, BigDecimal[]>emptyMap()), generation);
+
+        // Then
+        assertThat(cache.get(filterKey, day, STORES)).isNull();
+        assertThat(cache.generation(day)).isEqualTo(generation + 1);
+    }
+
+    @Test
+    void shouldAlwaysQueryOpenDaysWithAggregatedQuery() {
+        // Given
+        LocalDate today = LocalDate.now();
+        String yesterday = today.minusDays(1).toString();
+        when(documentRepository.findStoreSalesByDayOptimizedData(any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(Collections.singletonList(row("Loja Centro", "000002", yesterday, "1.00", "2.00", "3.00")));
+        when(documentRepository.findStoreSalesOptimizedData(any(), eq(Timestamp.valueOf(today + " 00:00:00")), eq(Timestamp.valueOf(today.plusDays(1) + " 00:00:00")),
+            any(), any(), any(), any(), any()))
+            .thenReturn(Collections.singletonList(new Object[]{"Loja Centro", "000002",
+                new BigDecimal("10.00"), new BigDecimal("20.00"), new BigDecimal("30.00")}));
+
+        // When
+        storeSalesService.getStoreSalesReport(request(yesterday, today.toString()));
+        List<StoreSalesReportDTO> result = storeSalesService.getStoreSalesReport(request(yesterday, today.toString()));
+
+        // Then
+        verify(documentRepository, times(1)).findStoreSalesByDayOptimizedData(any(), any(), any(), any(), any(), any(), any(), any());
+        verify(documentRepository, times(2)).findStoreSalesOptimizedData(any(), any(), any(), any(), any(), any(), any(), any());
+        assertThat(result).hasSize(2);
+        assertThat(result.get(0).getStoreName()).isEqualTo("Loja 000003");
+        assertThat(result.get(1).getStoreName()).isEqualTo("Loja Centro");
+        assertThat(result.get(1).getTroca3()).isEqualByComparingTo("11.00");
+        assertThat(result.get(1).getPdv()).isEqualByComparingTo("22.00");
+        assertThat(result.get(1).getDanfe()).isEqualByComparingTo("33.00");
+    }
+
+    @Test
+    void shouldSpillEvictedDaysAndReloadThemAfterRestart() {
+        // Given: apenas um dia (2 lojas) cabe em memória
+        File spillFile = tempDir.resolve("closed-days.bin").toFile();
+        cache.close();
+        cache = newCache(2, spillFile.getPath());
+        storeSalesService = new StoreSalesService(documentRepository, cache);
+        when(documentRepository.findStoreSalesByDayOptimizedData(any(), any(), any(), any(), any(), any(), any(), any()))
+            .thenReturn(Collections.singletonList(row("Loja Norte", "000003", "2025-01-16", "1.00", "2.00", "3.00")));
+        storeSalesService.getStoreSalesReportByDay(request("2025-01-15", "2025-01-17"));
+        cache.invalidate(LocalDate.of(2025, 1, 15));
+        cache.close();
+
+        // When
+        cache = newCache(2, spillFile.getPath());
+        storeSalesService = new StoreSalesService(documentRepository, cache);
+        List<StoreSalesReportByDayDTO> result = storeSalesService.getStoreSalesReportByDay(request("2025-01-16", "2025-01-17"));
+
+        // Then
+        verify(documentRepository, times(1)).findStoreSalesByDayOptimizedData(any(), any(), any(), any(), any(), any(), any(), any());
+        assertThat(result).hasSize(4);
+        assertThat(result.get(2).getStoreName()).isEqualTo("Loja Norte");
+        assertThat(result.get(2).getDanfe()).isEqualByComparingTo("3.00");
+        assertThat(cache.get(ClosedDaySalesCache.filterKey(request("2025-01-15", "2025-01-15")),
+            LocalDate.of(2025, 1, 15), STORES)).isNull();
+    }
+
+    private static ClosedDaySalesCache newCache(long maxCells, String spillFile) {
+        ClosedDaySalesCache cache = new ClosedDaySalesCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "openDays", 1);
+        ReflectionTestUtils.setField(cache, "settlePeriod", Duration.ofHours(6));
+        ReflectionTestUtils.setField(cache, "maxCells", maxCells);
+        ReflectionTestUtils.setField(cache, "spillFilePath", spillFile);
+        cache.init();
+        return cache;
+    }
+
+    private static StoreSalesReportRequestDTO request(String startDate, String endDate) {
+        return StoreSalesReportRequestDTO.builder()
+            .startDate(startDate)
+            .endDate(endDate)
+            .storeCodes(STORES)
+            .danfeOrigin(Arrays.asList("015", "002"))
+            .pdvOrigin(Arrays.asList("009"))
+            .exchangeOrigin(Arrays.asList("051", "065"))
+            .sellOperation(Arrays.asList("000999", "000007", "000001"))
+            .exchangeOperation(Arrays.asList("000015", "000048"))
+            .build();
+    }
+
+    private static Object[] row(String storeName, String storeCode, String date, String troca, String pdv, String danfe) {
+        return new Object[]{storeName, storeCode, java.sql.Date.valueOf(date),
+            new BigDecimal(troca), new BigDecimal(pdv), new BigDecimal(danfe)};
+    }
+}
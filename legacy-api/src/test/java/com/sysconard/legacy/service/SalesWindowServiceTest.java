@@ -0,0 +1,138 @@
+package com.sysconard.legacy.service;
+
+import com.sysconard.legacy.dto.SalesWindowRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para a janela de vendas em memória do SalesWindowService
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+class SalesWindowServiceTest {
+
+    @Mock
+    private SalesWindowLoader salesWindowLoader;
+
+    @InjectMocks
+    private SalesWindowService salesWindowService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(salesWindowService, "enabled", true);
+    }
+
+    @Test
+    void shouldServeNothingBeforeFirstLoad() {
+        assertThat(salesWindowService.getSnapshot()).isEmpty();
+    }
+
+    @Test
+    void shouldLoadFullWindowOnFirstRefreshAndApplyDeltaAfterwards() {
+        // Given
+        when(salesWindowLoader.loadRows(YearMonth.now())).thenReturn(Arrays.asList(
+                row("0001", "PNEU ARO 13", "PIRELLI", "10", "5", 1),
+                row("0002", "CAMARA DE AR", "LEVORIN", "0", "0", 2)));
+        when(salesWindowLoader.loadCurrentMonthSales(YearMonth.now()))
+                .thenReturn(Collections.singletonMap("0001", new BigDecimal("7")));
+        when(salesWindowLoader.loadStockTotals())
+                .thenReturn(Collections.singletonMap("0002", new BigDecimal("4")));
+
+        // When
+        salesWindowService.scheduledRefresh();
+        salesWindowService.scheduledRefresh();
+
+        // Then
+        verify(salesWindowLoader, times(1)).loadRows(any());
+        List<SalesWindowRow> rows = salesWindowService.getSnapshot().get().getRows();
+        assertThat(rows.get(0).getVendasMesAtual()).isEqualByComparingTo("7");
+        assertThat(rows.get(0).getEstoque()).isEqualByComparingTo("0");
+        assertThat(rows.get(1).getEstoque()).isEqualByComparingTo("4");
+    }
+
+    @Test
+    void shouldFilterByWordsInOrderIgnoringCase() {
+        SalesWindowRow pneu = row("0001", "PNEU ARO 13", "PIRELLI", "10", "5", 1);
+        SalesWindowRow camara = row("0002", "CAMARA DE AR ARO 13", "LEVORIN", "0", "0", 2);
+        List<SalesWindowRow> rows = Arrays.asList(pneu, camara);
+
+        assertThat(filter(rows, "aro 13", null)).containsExactly(pneu, camara);
+        assertThat(filter(rows, "13 aro", null)).isEmpty();
+        assertThat(filter(rows, null, "leVo")).containsExactly(camara);
+        assertThat(filter(rows, "pirelli", null)).containsExactly(pneu);
+    }
+
+    @Test
+    void shouldSortWithNullsFirstAndPageByProductCode() {
+        SalesWindowRow first = row("0003", null, "MARCA", "1", "0", 3);
+        SalesWindowRow second = row("0002", "B", "MARCA", "1", "0", 1);
+        SalesWindowRow third = row("0001", "B", "MARCA", "1", "0", 2);
+        SalesWindowService.SalesWindowSnapshot snapshot = new SalesWindowService.SalesWindowSnapshot(
+                YearMonth.now(), Arrays.asList(third, second, first), null, null);
+
+        List<SalesWindowRow> asc = snapshot.findPage(row -> true,
+                SalesWindowService.comparator("descricaoProduto", "asc"), 0, 10);
+        List<SalesWindowRow> page2 = snapshot.findPage(row -> true,
+                SalesWindowService.comparator("descricaoProduto", "desc"), 1, 1);
+
+        assertThat(asc).containsExactly(first, second, third);
+        assertThat(page2).containsExactly(third);
+    }
+
+    @Test
+    void shouldComputeMonthlyAverageAndDifference() {
+        SalesWindowRow row = SalesWindowRow.builder()
+                .refplu("0001")
+                .vendas90Dias(new BigDecimal("3"))
+                .vendas60Dias(new BigDecimal("4"))
+                .vendas30Dias(new BigDecimal("5"))
+                .vendasMesAtual(BigDecimal.ZERO)
+                .estoque(new BigDecimal("1"))
+                .build();
+
+        assertThat(row.getMediaMensal()).isEqualByComparingTo("4");
+        assertThat(row.getDiferenca()).isEqualByComparingTo("3");
+        assertThat(row.hasClosedMonthSales()).isTrue();
+    }
+
+    private List<SalesWindowRow> filter(List<SalesWindowRow> rows, String descricao, String marca) {
+        return rows.stream()
+                .filter(SalesWindowService.textFilter(null, descricao, null, marca))
+                .collect(Collectors.toList());
+    }
+
+    private SalesWindowRow row(String refplu, String descricao, String marca, String vendas30, String estoque, int procod) {
+        return SalesWindowRow.builder()
+                .descricaoGrupo("GRUPO")
+                .descricaoMarca(marca)
+                .refplu(refplu)
+                .descricaoProduto(descricao)
+                .custoReposicao(BigDecimal.ZERO)
+                .precoVenda(BigDecimal.ZERO)
+                .vendas90Dias(BigDecimal.ZERO)
+                .vendas60Dias(BigDecimal.ZERO)
+                .vendas30Dias(new BigDecimal(vendas30))
+                .vendasMesAtual(BigDecimal.ZERO)
+                .estoque(new BigDecimal(estoque))
+                .procod(String.format("%08d", procod))
+                .build();
+    }
+}
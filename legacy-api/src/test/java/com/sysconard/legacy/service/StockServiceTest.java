@@ -0,0 +1,137 @@
+package com.sysconard.legacy.service;
+
+import com.sysconard.legacy.config.CacheConfig;
+import com.sysconard.legacy.dto.StockCursor;
+import com.sysconard.legacy.entity.store.Store;
+import com.sysconard.legacy.repository.StockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para a paginação por cursor e a contagem opcional do StockService
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+class StockServiceTest {
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private StoreService storeService;
+
+    private StockService stockService;
+
+    @BeforeEach
+    void setUp() {
+        stockService = new StockService(stockRepository, storeService,
+                new ConcurrentMapCacheManager(CacheConfig.STOCK_COUNTS_CACHE));
+        when(storeService.findAllStoresOrderedById()).thenReturn(Arrays.asList(store(1L), store(2L)));
+    }
+
+    @Test
+    void shouldDetectNextPageWithoutCountingAndReturnCursor() {
+        // Given: size 2, repositório retorna 3 linhas (size + 1)
+        when(stockRepository.findStocksWithFiltersDynamic(
+                isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(Arrays.asList(1L, 2L)), eq(true), eq("total"), eq("desc"), eq(0), eq(3)))
+                .thenReturn(Arrays.asList(row("A1", 10, 5, 15, 1), row("B2", 7, 1, 8, 2), row("C3", 1, 1, 2, 3)));
+
+        // When
+        StockService.StockSlice slice = stockService.findStockSlice(
+                null, null, null, true, 0, 2, "total", "desc", null, false);
+
+        // Then
+        assertThat(slice.getContent()).hasSize(2);
+        assertThat(slice.isHasNext()).isTrue();
+        assertThat(slice.getTotalElements()).isNull();
+        StockCursor cursor = StockCursor.decode(slice.getNextCursor());
+        assertThat(cursor.getSortBy()).isEqualTo("total");
+        assertThat(cursor.getSortDir()).isEqualTo("desc");
+        assertThat(cursor.getSortValue()).isEqualTo("8");
+        assertThat(cursor.getRefplu()).isEqualTo("B2");
+        verify(stockRepository, never()).countStocksWithFiltersDynamic(
+                any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldFetchPageAfterCursorWithKeysetQuery() {
+        // Given
+        String after = new StockCursor("total", "desc", "8", "B2").encode();
+        when(stockRepository.findStocksWithFiltersKeyset(
+                isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(Arrays.asList(1L, 2L)), eq(true), eq("total"), eq("desc"),
+                eq(new BigDecimal("8")), eq("B2"), eq(3)))
+                .thenReturn(Arrays.<Object[]>asList(row("C3", 1, 1, 2, null)));
+
+        // When
+        StockService.StockSlice slice = stockService.findStockSlice(
+                null, null, null, true, 5, 2, "total", "desc", after, false);
+
+        // Then
+        assertThat(slice.getContent()).hasSize(1);
+        assertThat(slice.getContent().get(0).getRefplu()).isEqualTo("C3");
+        assertThat(slice.isHasNext()).isFalse();
+        assertThat(slice.getNextCursor()).isNull();
+    }
+
+    @Test
+    void shouldCacheCountPerFilterSignature() {
+        // Given
+        when(stockRepository.findStocksWithFiltersDynamic(
+                any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenReturn(Arrays.<Object[]>asList(row("A1", 10, 5, 15, 1)));
+        when(stockRepository.countStocksWithFiltersDynamic(
+                any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(41L);
+
+        // When
+        StockService.StockSlice first = stockService.findStockSlice(
+                null, "NIKE", null, true, 0, 15, "refplu", "asc", null, true);
+        StockService.StockSlice second = stockService.findStockSlice(
+                null, "NIKE", null, true, 1, 15, "refplu", "asc", null, true);
+
+        // Then
+        assertThat(first.getTotalElements()).isEqualTo(41L);
+        assertThat(second.getTotalElements()).isEqualTo(41L);
+        verify(stockRepository, times(1)).countStocksWithFiltersDynamic(
+                any(), any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldRejectCursorFromAnotherSortOrder() {
+        String after = new StockCursor("marca", "asc", "NIKE", "B2").encode();
+
+        assertThatThrownBy(() -> stockService.findStockSlice(
+                null, null, null, true, 0, 15, "refplu", "asc", after, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Store store(Long id) {
+        Store store = new Store();
+        store.setId(id);
+        store.setName("Loja " + id);
+        return store;
+    }
+
+    private Object[] row(String refplu, int loj1, int loj2, int total, Integer rn) {
+        return rn != null
+                ? new Object[]{refplu, "MARCA", "DESCRICAO", loj1, loj2, total, rn}
+                : new Object[]{refplu, "MARCA", "DESCRICAO", loj1, loj2, total};
+    }
+}
@@ -0,0 +1,72 @@
+package com.sysconard.legacy.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários da grade densa loja × dia
+ *
+ * @author Sysconard Legacy API
+ * @version 1.0
+ */
+class StoreDayGridTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 2, 28);
+    private static final LocalDate END = LocalDate.of(2024, 3, 1);
+
+    @Test
+    void shouldFillMissingCombinationsOrderedByStoreNameAndDate() {
+        StoreDayGrid grid = new StoreDayGrid(Arrays.asList("000002", "000001", "000003"), START, END);
+        grid.put("000001", "Loja Norte", LocalDate.of(2024, 2, 29),
+                new BigDecimal("10.50"), new BigDecimal("20"), BigDecimal.ONE);
+        grid.put("000002", "Loja Centro", START, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE);
+
+        List<String> rows = grid.toList((storeCode, storeName, date, danfe, pdv, troca) ->
+                storeName + "|" + storeCode + "|" + date + "|" + danfe + "|" + pdv + "|" + troca);
+
+        assertThat(grid.size()).isEqualTo(9);
+        assertThat(rows).containsExactly(
+                "Loja 000003|000003|2024-02-28|0|0|0",
+                "Loja 000003|000003|2024-02-29|0|0|0",
+                "Loja 000003|000003|2024-03-01|0|0|0",
+                "Loja Centro|000002|2024-02-28|1.00|1.00|1.00",
+                "Loja Centro|000002|2024-02-29|0|0|0",
+                "Loja Centro|000002|2024-03-01|0|0|0",
+                "Loja Norte|000001|2024-02-28|0|0|0",
+                "Loja Norte|000001|2024-02-29|10.50|20.00|1.00",
+                "Loja Norte|000001|2024-03-01|0|0|0");
+    }
+
+    @Test
+    void shouldIgnoreStoresAndDatesOutsideTheRequest() {
+        StoreDayGrid grid = new StoreDayGrid(Arrays.asList("000001", "000001"), START, END);
+
+        assertThat(grid.put("000009", "Outra", START, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE)).isFalse();
+        assertThat(grid.put("000001", "Loja", END.plusDays(1), BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE)).isFalse();
+        assertThat(grid.put("000001", "Loja", START.minusDays(1), BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE)).isFalse();
+        assertThat(grid.size()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRoundToCents() {
+        StoreDayGrid grid = new StoreDayGrid(Arrays.asList("000001"), START, START);
+        grid.put("000001", "Loja", START, new BigDecimal("1.005"), new BigDecimal("2.0049"), null);
+
+        List<BigDecimal[]> values = grid.toList((storeCode, storeName, date, danfe, pdv, troca) ->
+                new BigDecimal[]{danfe, pdv, troca});
+
+        assertThat(values.get(0)).containsExactly(new BigDecimal("1.01"), new BigDecimal("2.00"), new BigDecimal("0.00"));
+    }
+
+    @Test
+    void shouldBeEmptyForInvalidPeriodOrNoStores() {
+        assertThat(new StoreDayGrid(Arrays.asList("000001"), END, START).toList((c, n, d, a, b, t) -> c)).isEmpty();
+        assertThat(new StoreDayGrid(null, START, END).toList((c, n, d, a, b, t) -> c)).isEmpty();
+    }
+}
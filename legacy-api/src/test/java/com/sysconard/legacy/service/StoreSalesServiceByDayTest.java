@@ -11,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
@@ -35,6 +36,9 @@ class StoreSalesServiceByDayTest {
     @Mock
     private DocumentRepository documentRepository;
     
+    @Mock
+    private ClosedDaySalesCache closedDaySalesCache;
+    
     @InjectMocks
     private StoreSalesService storeSalesService;
     
@@ -68,8 +72,8 @@ class StoreSalesServiceByDayTest {
         
         when(documentRepository.findStoreSalesByDayOptimizedData(
             eq(validRequest.getStoreCodes()),
-            eq("2025-01-15T00:00:00.000"),
-            eq("2025-01-17T23:59:59.997"),
+            eq(Timestamp.valueOf("2025-01-15 00:00:00")),
+            eq(Timestamp.valueOf("2025-01-18 00:00:00")),
             eq(validRequest.getDanfeOrigin()), eq(validRequest.getPdvOrigin()), eq(validRequest.getExchangeOrigin()),
             eq(validRequest.getSellOperation()), eq(validRequest.getExchangeOperation())))
             .thenReturn(mockAggregatedData);
@@ -227,8 +231,8 @@ class StoreSalesServiceByDayTest {
         
         when(documentRepository.findStoreSalesByDayOptimizedData(
             eq(validRequest.getStoreCodes()),
-            eq("2025-01-15T00:00:00.000"), // Verificar formato correto ISO 8601
-            eq("2025-01-17T23:59:59.997"), // Verificar formato correto ISO 8601
+            eq(Timestamp.valueOf("2025-01-15 00:00:00")),
+            eq(Timestamp.valueOf("2025-01-18 00:00:00")),
             any(), any(), any(), any(), any()
         )).thenReturn(mockAggregatedData);
         
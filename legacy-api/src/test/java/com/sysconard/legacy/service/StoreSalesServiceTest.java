@@ -11,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.List;
 
@@ -32,6 +33,9 @@ class StoreSalesServiceTest {
     @Mock
     private DocumentRepository documentRepository;
     
+    @Mock
+    private ClosedDaySalesCache closedDaySalesCache;
+    
     @InjectMocks
     private StoreSalesService storeSalesService;
     
@@ -62,8 +66,8 @@ class StoreSalesServiceTest {
         
         when(documentRepository.findStoreSalesOptimizedData(
             eq(validRequest.getStoreCodes()),
-            eq("2025-01-15T00:00:00.000"),
-            eq("2025-01-15T23:59:59.997"),
+            eq(Timestamp.valueOf("2025-01-15 00:00:00")),
+            eq(Timestamp.valueOf("2025-01-16 00:00:00")),
             eq(validRequest.getDanfeOrigin()),
             eq(validRequest.getPdvOrigin()),
             eq(validRequest.getExchangeOrigin()),
@@ -214,8 +218,8 @@ class StoreSalesServiceTest {
         
         when(documentRepository.findStoreSalesOptimizedData(
             eq(validRequest.getStoreCodes()),
-            eq("2025-01-15T00:00:00.000"), // Verificar formato correto ISO 8601
-            eq("2025-01-15T23:59:59.997"), // Verificar formato correto ISO 8601
+            eq(Timestamp.valueOf("2025-01-15 00:00:00")),
+            eq(Timestamp.valueOf("2025-01-16 00:00:00")),
             any(), any(), any(), any(), any()
         )).thenReturn(mockAggregatedData);
         